@@ -11,6 +11,9 @@ DROP TRIGGER IF EXISTS trg_set_timestamp_ghost_nets ON ghost_nets;
 DROP FUNCTION IF EXISTS set_timestamp();
 DROP TABLE IF EXISTS user_roles CASCADE;
 DROP TABLE IF EXISTS roles CASCADE;
+DROP TABLE IF EXISTS inbox_notifications CASCADE;
+DROP TABLE IF EXISTS region_subscriptions CASCADE;
+DROP TABLE IF EXISTS ghost_nets_archive CASCADE;
 DROP TABLE IF EXISTS ghost_nets CASCADE;
 DROP TABLE IF EXISTS users CASCADE;
 
@@ -34,8 +37,10 @@ CREATE INDEX idx_users_enabled ON users (enabled);
 -- ---------------------------
 -- Tabelle: ghost_nets
 -- ---------------------------
+-- id als Identity-Spalte (nicht BIGSERIAL): bei Sharding stellt GhostNetShardInitializer
+-- Startwert und Schrittweite je Shard per ALTER COLUMN ... RESTART / SET INCREMENT BY ein.
 CREATE TABLE ghost_nets (
-  id                   BIGSERIAL PRIMARY KEY,
+  id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   latitude             NUMERIC(8,5) NOT NULL,
   longitude            NUMERIC(8,5) NOT NULL,
   status               VARCHAR(30) NOT NULL DEFAULT 'REPORTED',
@@ -51,10 +56,115 @@ CREATE TABLE ghost_nets (
   canceld_at           TIMESTAMPTZ,
   created_at           TIMESTAMPTZ,
   updated_at           TIMESTAMPTZ,
-  size                 NUMERIC(10,2)
+  size                 NUMERIC(10,2),
+  region               VARCHAR(100)          -- Meeresgebiet (aus GeoJSON-Polygonen)
 );
 
-CREATE INDEX idx_ghost_nets_status     ON ghost_nets (status);
+-- Status-Index nur über offene Arbeit; abgeschlossene Netze wandern ins Archiv
+CREATE INDEX idx_ghost_nets_status_open ON ghost_nets (status)
+  WHERE status IN ('REPORTED','CONFIRMED','SCHEDULED');
+-- Kandidaten für die Archivierung (klein: nur abgeschlossene, noch nicht archivierte Netze)
+CREATE INDEX idx_ghost_nets_closed      ON ghost_nets (id)
+  WHERE status IN ('RECOVERED','CANCELLED');
 CREATE INDEX idx_ghost_nets_coords     ON ghost_nets (latitude, longitude);
 CREATE INDEX idx_ghost_nets_reporter   ON ghost_nets (reported_by_user_id);
 CREATE INDEX idx_ghost_nets_recoverer  ON ghost_nets (recovered_by_user_id);
+CREATE INDEX idx_ghost_nets_region     ON ghost_nets (region);
+
+-- BRIN-Indizes für Zeitbereichs-Abfragen (Histogramm-Backfill, Reports).
+-- Die Zeitstempel wachsen nahezu monoton mit der Einfügereihenfolge,
+-- daher bleiben BRIN-Indizes auch bei vielen Jahren Daten sehr klein.
+CREATE INDEX idx_ghost_nets_reported_at_brin  ON ghost_nets USING BRIN (reported_at);
+CREATE INDEX idx_ghost_nets_scheduled_at_brin ON ghost_nets USING BRIN (scheduled_at);
+CREATE INDEX idx_ghost_nets_recovered_at_brin ON ghost_nets USING BRIN (recovered_at);
+CREATE INDEX idx_ghost_nets_canceld_at_brin   ON ghost_nets USING BRIN (canceld_at);
+
+-- Nachladen nach einem Snapshot des Spaltenspeichers (created_at/updated_at seit Stand X).
+CREATE INDEX idx_ghost_nets_created_at_brin   ON ghost_nets USING BRIN (created_at);
+CREATE INDEX idx_ghost_nets_updated_at_brin   ON ghost_nets USING BRIN (updated_at);
+
+-- ---------------------------
+-- Tabelle: ghost_nets_archive (abgeschlossene Netze nach Ablauf der Frist)
+-- ---------------------------
+-- Gleiche Spalten wie ghost_nets, ID bleibt erhalten. Keine FKs auf users:
+-- Historie soll das Löschen von Benutzern überdauern.
+CREATE TABLE ghost_nets_archive (
+  id                   BIGINT PRIMARY KEY,
+  latitude             DOUBLE PRECISION NOT NULL,
+  longitude            DOUBLE PRECISION NOT NULL,
+  status               VARCHAR(30) NOT NULL,
+  reported_by_user_id  BIGINT,
+  recovered_by_user_id BIGINT,
+  scheduled_by_user_id BIGINT,
+  canceld_by_user_id   BIGINT,
+  reported_at          TIMESTAMPTZ,
+  recovered_at         TIMESTAMPTZ,
+  scheduled_at         TIMESTAMPTZ,
+  canceld_at           TIMESTAMPTZ,
+  created_at           TIMESTAMPTZ,
+  updated_at           TIMESTAMPTZ,
+  size                 NUMERIC(10,2),
+  region               VARCHAR(100),
+  closed_at            TIMESTAMPTZ,          -- Bergung bzw. Abbruch
+  archived_at          TIMESTAMPTZ NOT NULL
+);
+
+-- Historie: Keyset über id, optional je Status/Gebiet
+CREATE INDEX idx_ghost_nets_archive_status_id ON ghost_nets_archive (status, id);
+CREATE INDEX idx_ghost_nets_archive_region_id ON ghost_nets_archive (region, id);
+-- Wird blockweise in Zeitreihenfolge befüllt – BRIN genügt
+CREATE INDEX idx_ghost_nets_archive_closed_at_brin   ON ghost_nets_archive USING BRIN (closed_at);
+CREATE INDEX idx_ghost_nets_archive_archived_at_brin ON ghost_nets_archive USING BRIN (archived_at);
+
+-- ---------------------------
+-- Tabelle: region_subscriptions (Gebiets-Abos)
+-- ---------------------------
+CREATE TABLE region_subscriptions (
+  id          BIGSERIAL PRIMARY KEY,
+  user_id     BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  name        VARCHAR(255) NOT NULL,
+  polygon     TEXT NOT NULL,                -- JSON [[lat,lon],...]
+  created_at  TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_region_subscriptions_user ON region_subscriptions (user_id);
+
+-- ---------------------------
+-- Tabelle: inbox_notifications (In-App-Postfach)
+-- ---------------------------
+CREATE TABLE inbox_notifications (
+  id               BIGSERIAL PRIMARY KEY,
+  user_id          BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  subscription_id  BIGINT REFERENCES region_subscriptions(id) ON DELETE SET NULL,
+  region_name      VARCHAR(255) NOT NULL,
+  ghost_net_id     BIGINT NOT NULL,          -- ghost_nets oder ghost_nets_archive
+  latitude         DOUBLE PRECISION NOT NULL,
+  longitude        DOUBLE PRECISION NOT NULL,
+  created_at       TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  read_at          TIMESTAMPTZ
+);
+
+-- Postfach: neueste zuerst; ungelesene separat (klein, da meist gelesen)
+CREATE INDEX idx_inbox_user_id     ON inbox_notifications (user_id, id DESC);
+CREATE INDEX idx_inbox_user_unread ON inbox_notifications (user_id, id DESC) WHERE read_at IS NULL;
+
+-- ---------------------------
+-- Trigger: updated_at
+-- ---------------------------
+-- Setzt updated_at bei jeder Änderung – auch für Schreibzugriffe außerhalb der
+-- Anwendung (Bulk-Updates, manuelle Korrekturen). Das Nachladen des Spaltenspeichers
+-- nach einem Snapshot (findChangedSince) verlässt sich darauf.
+CREATE FUNCTION set_timestamp() RETURNS TRIGGER AS $$
+BEGIN
+  NEW.updated_at = NOW();
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_set_timestamp_users
+  BEFORE UPDATE ON users
+  FOR EACH ROW EXECUTE FUNCTION set_timestamp();
+
+CREATE TRIGGER trg_set_timestamp_ghost_nets
+  BEFORE INSERT OR UPDATE ON ghost_nets
+  FOR EACH ROW EXECUTE FUNCTION set_timestamp();
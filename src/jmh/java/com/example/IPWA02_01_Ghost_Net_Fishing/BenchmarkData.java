@@ -0,0 +1,49 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reproduzierbare Testdaten für die Benchmarks.
+ */
+public final class BenchmarkData {
+
+    private static final GhostNetStatus[] STATUSES = GhostNetStatus.values();
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Netze mit gemischten Status und teilweise leeren Feldern (wie in der echten Tabelle).
+     */
+    public static List<GhostNet> ghostNets(int count) {
+        List<GhostNet> nets = new ArrayList<>(count);
+        Instant base = Instant.parse("2025-03-01T08:15:30.123456Z");
+        for (int i = 0; i < count; i++) {
+            GhostNet net = new GhostNet();
+            net.setId((long) i + 1);
+            net.setLatitude(54.0 + (i % 10_000) * 0.0013);
+            net.setLongitude(7.5 + (i % 7_000) * 0.0021);
+            net.setSize(i % 5 == 0 ? null : 10.0 + i % 100);
+            net.setStatus(STATUSES[i % STATUSES.length]);
+            net.setReportedBy(i % 3 == 0 ? null : (long) (i % 50) + 1);
+            net.setReportedAt(base.plusSeconds(i));
+            net.setCreatedAt(base.plusSeconds(i));
+            if (net.getStatus() == GhostNetStatus.SCHEDULED) {
+                net.setScheduledBy((long) (i % 20) + 1);
+                net.setScheduledAt(base.plusSeconds(i + 3_600));
+            }
+            if (net.getStatus() == GhostNetStatus.RECOVERED) {
+                net.setRecoveredBy((long) (i % 20) + 1);
+                net.setRecoveredAt(base.plusSeconds(i + 7_200));
+            }
+            net.setRegion(i % 2 == 0 ? "Nordsee" : null);
+            nets.add(net);
+        }
+        return nets;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.codec;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.BenchmarkData;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetField;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON-Serialisierung von Netzlisten: reflektives Jackson (wie vor dem Streaming-Writer)
+ * vs. {@link GhostNetJsonConverter}, vollständig und mit {@code fields}-Auswahl.
+ * <p>
+ * Die Ausgabe wird verworfen, gemessen wird nur die Serialisierung.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GhostNetSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /** Wie von Spring Boot konfiguriert: Zeitstempel als ISO-8601. */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private List<GhostNet> nets;
+    private GhostNetJson all;
+    private GhostNetJson sparse;
+
+    @Setup
+    public void setUp() {
+        nets = BenchmarkData.ghostNets(size);
+        all = GhostNetJson.list(nets, GhostNetField.ALL);
+        sparse = GhostNetJson.list(nets, GhostNetField.parse("id,latitude,longitude,status"));
+    }
+
+    @Benchmark
+    public void jackson() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), nets);
+    }
+
+    @Benchmark
+    public void streaming() throws IOException {
+        GhostNetJsonConverter.write(objectMapper.getFactory(), all, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void streamingSparseFields() throws IOException {
+        GhostNetJsonConverter.write(objectMapper.getFactory(), sparse, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.controller;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.BenchmarkData;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping {@link GhostNet} → {@link GhostNetResponse} wie in {@code GET /with-users}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GhostNetMappingBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<GhostNet> nets;
+
+    @Setup
+    public void setUp() {
+        nets = BenchmarkData.ghostNets(size);
+    }
+
+    @Benchmark
+    public List<GhostNetResponse> toResponses() {
+        List<GhostNetResponse> responses = new ArrayList<>(nets.size());
+        for (GhostNet net : nets) {
+            responses.add(GhostNetController.toResponse(net));
+        }
+        return responses;
+    }
+}
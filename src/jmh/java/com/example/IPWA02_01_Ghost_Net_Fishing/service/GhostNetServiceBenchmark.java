@@ -0,0 +1,124 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.UpdateGhostNetStatusRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geschäftslogik von {@link GhostNetService} ohne Datenbank: Validierung und Aufbau
+ * in {@code add}, Statusübergänge in {@code updateStatus}.
+ * <p>
+ * Die Repositories sind In-Memory-Stubs ({@code save} gibt die Entity zurück), Events
+ * werden verworfen – gemessen wird nur, was der Service selbst tut, inkl. Gebietszuordnung
+ * und Snapshots.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GhostNetServiceBenchmark {
+
+    /** Zielstatus; jeder Aufruf wechselt dorthin und zurück auf REPORTED. */
+    @Param({"SCHEDULED", "RECOVERED", "CANCELLED"})
+    public GhostNetStatus target;
+
+    private GhostNetService service;
+    private GhostNet net;
+    private GhostNetRequest valid;
+    private GhostNetRequest invalid;
+    private UpdateGhostNetStatusRequest toTarget;
+    private UpdateGhostNetStatusRequest toReported;
+
+    @Setup
+    public void setUp() {
+        net = new GhostNet();
+        net.setId(1L);
+        net.setLatitude(54.1);
+        net.setLongitude(7.9);
+        net.setStatus(GhostNetStatus.REPORTED);
+
+        GhostNetRepository ghostNets = stub(GhostNetRepository.class, net);
+        GhostNetShardRouter shards = new GhostNetShardRouter("", 2, 64, 1);
+        GhostNetRegionService regions = new GhostNetRegionService(ghostNets, shards, event -> { }, new DefaultResourceLoader(),
+                new ObjectMapper(), "classpath:regions/sea-areas.geojson", "name", 0.001, false, 5000);
+        regions.load();
+        service = new GhostNetService(ghostNets, stub(UserRepository.class, null), event -> { }, regions, shards);
+
+        valid = new GhostNetRequest();
+        valid.setLatitude(54.1);
+        valid.setLongitude(7.9);
+        valid.setDepth_meters(12.0);
+        invalid = new GhostNetRequest();
+        invalid.setLatitude(91.0);
+        invalid.setLongitude(7.9);
+
+        toTarget = new UpdateGhostNetStatusRequest();
+        toTarget.setStatus(target);
+        toTarget.setScheduledByUserId(7L);
+        toTarget.setRecoveredByUserId(7L);
+        toTarget.setCancelledByUserId(7L);
+        toReported = new UpdateGhostNetStatusRequest();
+        toReported.setStatus(GhostNetStatus.REPORTED);
+    }
+
+    @Benchmark
+    public GhostNet addValid() {
+        return service.add(valid, 1L);
+    }
+
+    /** Abgelehnte Meldung: Kosten der Exception inkl. Meldungstext und Stacktrace. */
+    @Benchmark
+    public Object addInvalid() {
+        try {
+            return service.add(invalid, 1L);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    /** Zwei Übergänge je Aufruf: REPORTED → {@link #target} → REPORTED. */
+    @Benchmark
+    public GhostNet updateStatus() {
+        service.updateStatus(1L, toTarget);
+        return service.updateStatus(1L, toReported);
+    }
+
+    /**
+     * Minimaler Repository-Stub: {@code save} liefert das Argument, {@code findById}
+     * das vorgegebene Netz; alle anderen Methoden werden nicht aufgerufen.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, GhostNet found) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "save" -> args[0];
+                    case "findById" -> Optional.ofNullable(found);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> type.getSimpleName() + "Stub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -2,8 +2,12 @@ package com.example.IPWA02_01_Ghost_Net_Fishing;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableAsync
 public class Ipwa0201GhostNetFishingApplication {
 
 	public static void main(String[] args) {
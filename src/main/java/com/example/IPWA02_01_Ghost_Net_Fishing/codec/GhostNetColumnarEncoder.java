@@ -0,0 +1,123 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.codec;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Kompaktes, spaltenorientiertes Binärformat für Karten-Marker
+ * ({@value #MEDIA_TYPE}).
+ * <p>
+ * Aufbau (alle Ganzzahlen als LEB128-Varint, "zz" = ZigZag):
+ * <pre>
+ *   "GNC" version                  4 Byte Kopf
+ *   statusCount { len utf8 }       Status-Tabelle (Index = Statusbyte)
+ *   count
+ *   ids        zz(delta)  × count  aufsteigend sortiert
+ *   latitudes  zz(delta)  × count  quantisiert auf 1e-5 Grad (~1 m)
+ *   longitudes zz(delta)  × count  quantisiert auf 1e-5 Grad
+ *   status     byte       × count
+ *   sizes      varint     × count  0 = unbekannt, sonst zz(round(size × 100)) + 1
+ * </pre>
+ * Der passende Decoder liegt in {@code static/js/ghostnet-codec.js}; er rechnet mit
+ * {@code Number} und dekodiert IDs bis {@code 2^53 - 1} exakt.
+ */
+public final class GhostNetColumnarEncoder {
+
+    /** Media-Type für die Content-Negotiation. */
+    public static final String MEDIA_TYPE = "application/vnd.ghostnet.columnar";
+
+    /** Formatversion; bei inkompatiblen Änderungen erhöhen. */
+    public static final int VERSION = 1;
+
+    /** Auflösung der Koordinaten (Schritte pro Grad). */
+    public static final double COORDINATE_SCALE = 1e5;
+
+    /** Auflösung der Größe (Schritte pro m²). */
+    public static final double SIZE_SCALE = 100;
+
+    private GhostNetColumnarEncoder() {
+    }
+
+    /**
+     * Kodiert die Netze; Netze ohne Koordinaten werden ausgelassen.
+     *
+     * @param nets zu kodierende Netze (beliebige Reihenfolge)
+     * @return fertige Nutzlast
+     */
+    public static byte[] encode(List<GhostNet> nets) {
+        List<GhostNet> rows = new ArrayList<>(nets.size());
+        for (GhostNet net : nets) {
+            if (net.getId() != null && net.getLatitude() != null && net.getLongitude() != null) {
+                rows.add(net);
+            }
+        }
+        rows.sort(Comparator.comparing(GhostNet::getId));
+
+        int n = rows.size();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + n * 12);
+        out.write('G');
+        out.write('N');
+        out.write('C');
+        out.write(VERSION);
+
+        GhostNetStatus[] statuses = GhostNetStatus.values();
+        writeVarint(out, statuses.length);
+        for (GhostNetStatus status : statuses) {
+            byte[] name = status.name().getBytes(StandardCharsets.US_ASCII);
+            writeVarint(out, name.length);
+            out.writeBytes(name);
+        }
+
+        writeVarint(out, n);
+
+        long prev = 0;
+        for (GhostNet net : rows) {
+            writeVarint(out, zigZag(net.getId() - prev));
+            prev = net.getId();
+        }
+
+        prev = 0;
+        for (GhostNet net : rows) {
+            long q = Math.round(net.getLatitude() * COORDINATE_SCALE);
+            writeVarint(out, zigZag(q - prev));
+            prev = q;
+        }
+
+        prev = 0;
+        for (GhostNet net : rows) {
+            long q = Math.round(net.getLongitude() * COORDINATE_SCALE);
+            writeVarint(out, zigZag(q - prev));
+            prev = q;
+        }
+
+        for (GhostNet net : rows) {
+            GhostNetStatus status = net.getStatus() != null ? net.getStatus() : GhostNetStatus.REPORTED;
+            out.write(status.ordinal());
+        }
+
+        for (GhostNet net : rows) {
+            Double size = net.getSize();
+            writeVarint(out, size == null ? 0 : zigZag(Math.round(size * SIZE_SCALE)) + 1);
+        }
+
+        return out.toByteArray();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
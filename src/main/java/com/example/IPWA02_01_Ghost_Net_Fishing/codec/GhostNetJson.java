@@ -0,0 +1,60 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.codec;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetField;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rückgabewert für Controller, der per {@link GhostNetJsonConverter} direkt
+ * in den Response-Stream geschrieben wird (ohne Zwischenobjekte).
+ * <p>
+ * Entweder eine Liste (Entity-Namen, z. B. {@code reportedBy}) oder ein
+ * einzelnes Netz im Format von
+ * {@link com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetResponse}.
+ */
+public final class GhostNetJson {
+
+    private final List<GhostNet> nets;
+    private final GhostNet single;
+    private final Set<GhostNetField> fields;
+
+    private GhostNetJson(List<GhostNet> nets, GhostNet single, Set<GhostNetField> fields) {
+        this.nets = nets;
+        this.single = single;
+        this.fields = fields;
+    }
+
+    /**
+     * @param nets   auszugebende Netze
+     * @param fields gewählte Felder (siehe {@link GhostNetField#parse(String)})
+     */
+    public static GhostNetJson list(List<GhostNet> nets, Set<GhostNetField> fields) {
+        return new GhostNetJson(nets, null, fields);
+    }
+
+    /**
+     * Einzelnes Netz mit den Feldern von {@code GhostNetResponse}.
+     */
+    public static GhostNetJson response(GhostNet net) {
+        return new GhostNetJson(null, net, GhostNetField.RESPONSE);
+    }
+
+    /** @return {@code true}, wenn ein einzelnes Netz geschrieben wird */
+    public boolean isSingle() {
+        return single != null;
+    }
+
+    public List<GhostNet> getNets() {
+        return nets;
+    }
+
+    public GhostNet getSingle() {
+        return single;
+    }
+
+    public Set<GhostNetField> getFields() {
+        return fields;
+    }
+}
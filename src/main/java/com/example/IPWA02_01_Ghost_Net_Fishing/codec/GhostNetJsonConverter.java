@@ -0,0 +1,207 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.codec;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetField;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * Schreibt {@link GhostNetJson} per {@link JsonGenerator} direkt in den Response-Stream.
+ * <p>
+ * Ersetzt auf dem Listen-Hotpath die reflektive Bean-Serialisierung: keine
+ * Zwischenobjekte je Zeile, Zeitstempel werden in einen wiederverwendeten Puffer
+ * formatiert. Ausgabe ist identisch zur bisherigen Jackson-Serialisierung
+ * (Instants als ISO-8601, {@code null}-Werte werden mitgeschrieben).
+ */
+@Component
+public class GhostNetJsonConverter extends AbstractHttpMessageConverter<GhostNetJson> {
+
+    private final JsonFactory jsonFactory;
+
+    public GhostNetJsonConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return GhostNetJson.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected GhostNetJson readInternal(Class<? extends GhostNetJson> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("GhostNetJson ist nur zur Ausgabe gedacht", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(GhostNetJson json, HttpOutputMessage outputMessage) throws IOException {
+        // Den Servlet-Stream nicht schließen – das übernimmt der Container
+        write(jsonFactory, json, StreamUtils.nonClosing(outputMessage.getBody()));
+    }
+
+    /**
+     * Schreibt die Ausgabe in einen Stream (auch ohne Spring nutzbar, z. B. im Benchmark).
+     * Der Stream wird am Ende geschlossen.
+     */
+    public static void write(JsonFactory factory, GhostNetJson json, OutputStream out) throws IOException {
+        try (JsonGenerator g = factory.createGenerator(out, JsonEncoding.UTF8)) {
+            InstantBuffer buffer = new InstantBuffer();
+            if (json.isSingle()) {
+                writeNet(g, json.getSingle(), json.getFields(), true, buffer);
+            } else {
+                g.writeStartArray();
+                for (GhostNet net : json.getNets()) {
+                    writeNet(g, net, json.getFields(), false, buffer);
+                }
+                g.writeEndArray();
+            }
+        }
+    }
+
+    private static void writeNet(JsonGenerator g, GhostNet net, Set<GhostNetField> fields,
+                                 boolean responseNames, InstantBuffer buffer) throws IOException {
+        g.writeStartObject();
+        for (GhostNetField field : fields) {
+            g.writeFieldName(responseNames ? field.getResponseName() : field.getEntityName());
+            switch (field) {
+                case ID -> writeLong(g, net.getId());
+                case LATITUDE -> writeDouble(g, net.getLatitude());
+                case LONGITUDE -> writeDouble(g, net.getLongitude());
+                case SIZE -> writeDouble(g, net.getSize());
+                case REPORTED_BY -> writeLong(g, net.getReportedBy());
+                case RECOVERED_BY -> writeLong(g, net.getRecoveredBy());
+                case SCHEDULED_BY -> writeLong(g, net.getScheduledBy());
+                case SCHEDULED_AT -> buffer.write(g, net.getScheduledAt());
+                case REPORTED_AT -> buffer.write(g, net.getReportedAt());
+                case RECOVERED_AT -> buffer.write(g, net.getRecoveredAt());
+                case CANCELD_BY -> writeLong(g, net.getCanceldBy());
+                case CANCELD_AT -> buffer.write(g, net.getCanceldAt());
+                case UPDATED_AT -> buffer.write(g, net.getUpdatedAt());
+                case CREATED_AT -> buffer.write(g, net.getCreatedAt());
+                case STATUS -> {
+                    if (net.getStatus() == null) {
+                        g.writeNull();
+                    } else {
+                        g.writeString(net.getStatus().name());
+                    }
+                }
+                case REGION -> {
+                    if (net.getRegion() == null) {
+                        g.writeNull();
+                    } else {
+                        g.writeString(net.getRegion());
+                    }
+                }
+            }
+        }
+        g.writeEndObject();
+    }
+
+    private static void writeLong(JsonGenerator g, Long value) throws IOException {
+        if (value == null) {
+            g.writeNull();
+        } else {
+            g.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeDouble(JsonGenerator g, Double value) throws IOException {
+        if (value == null) {
+            g.writeNull();
+        } else {
+            g.writeNumber(value.doubleValue());
+        }
+    }
+
+    /**
+     * Formatiert Instants ohne Allokation je Wert, identisch zu
+     * {@link DateTimeFormatter#ISO_INSTANT} (Nachkommastellen in 3er-Gruppen).
+     */
+    private static final class InstantBuffer {
+
+        private static final long SECONDS_PER_DAY = 86_400;
+
+        private final char[] chars = new char[32];
+
+        void write(JsonGenerator g, Instant instant) throws IOException {
+            if (instant == null) {
+                g.writeNull();
+                return;
+            }
+            long epochDay = Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_DAY);
+            int secondOfDay = (int) Math.floorMod(instant.getEpochSecond(), SECONDS_PER_DAY);
+
+            // Kalenderdatum aus Tagen seit 1970 (proleptisch gregorianisch, H. Hinnant)
+            long z = epochDay + 719_468;
+            long era = Math.floorDiv(z, 146_097);
+            int doe = (int) (z - era * 146_097);
+            int yoe = (doe - doe / 1460 + doe / 36_524 - doe / 146_096) / 365;
+            int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+            int mp = (5 * doy + 2) / 153;
+            int day = doy - (153 * mp + 2) / 5 + 1;
+            int month = mp < 10 ? mp + 3 : mp - 9;
+            long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+            if (year < 0 || year > 9999) {
+                // Außerhalb des üblichen Bereichs: Standardformat verwenden
+                g.writeString(DateTimeFormatter.ISO_INSTANT.format(instant));
+                return;
+            }
+
+            int pos = 0;
+            pos = digits(chars, pos, (int) year, 4);
+            chars[pos++] = '-';
+            pos = digits(chars, pos, month, 2);
+            chars[pos++] = '-';
+            pos = digits(chars, pos, day, 2);
+            chars[pos++] = 'T';
+            pos = digits(chars, pos, secondOfDay / 3600, 2);
+            chars[pos++] = ':';
+            pos = digits(chars, pos, secondOfDay / 60 % 60, 2);
+            chars[pos++] = ':';
+            pos = digits(chars, pos, secondOfDay % 60, 2);
+
+            int nano = instant.getNano();
+            if (nano != 0) {
+                chars[pos++] = '.';
+                if (nano % 1_000_000 == 0) {
+                    pos = digits(chars, pos, nano / 1_000_000, 3);
+                } else if (nano % 1_000 == 0) {
+                    pos = digits(chars, pos, nano / 1_000, 6);
+                } else {
+                    pos = digits(chars, pos, nano, 9);
+                }
+            }
+            chars[pos++] = 'Z';
+            g.writeString(chars, 0, pos);
+        }
+
+        private static int digits(char[] out, int pos, int value, int width) {
+            for (int i = pos + width - 1; i >= pos; i--) {
+                out[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            return pos + width;
+        }
+    }
+}
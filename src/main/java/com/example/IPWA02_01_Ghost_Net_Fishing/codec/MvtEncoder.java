@@ -0,0 +1,118 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.codec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kodiert Punkt-Features als Mapbox Vector Tile (Spezifikation 2.1, eine Ebene).
+ * <p>
+ * Attributschlüssel und -werte werden je Kachel dedupliziert, wie vom Format vorgesehen.
+ * Unterstützte Attributtypen: {@link String}, {@link Double} und {@link Long}.
+ */
+public final class MvtEncoder {
+
+    /** Auflösung der Kachel-Koordinaten. */
+    public static final int EXTENT = 4096;
+
+    // Feldnummern laut vector_tile.proto
+    private static final int TILE_LAYERS = 3;
+    private static final int LAYER_VERSION = 15;
+    private static final int LAYER_NAME = 1;
+    private static final int LAYER_FEATURES = 2;
+    private static final int LAYER_KEYS = 3;
+    private static final int LAYER_VALUES = 4;
+    private static final int LAYER_EXTENT = 5;
+    private static final int FEATURE_ID = 1;
+    private static final int FEATURE_TAGS = 2;
+    private static final int FEATURE_TYPE = 3;
+    private static final int FEATURE_GEOMETRY = 4;
+    private static final int VALUE_STRING = 1;
+    private static final int VALUE_DOUBLE = 3;
+    private static final int VALUE_SINT = 6;
+
+    private static final int GEOM_POINT = 1;
+    private static final int CMD_MOVE_TO_ONCE = (1 & 0x7) | (1 << 3);
+
+    private final String layerName;
+    private final ProtobufWriter features = new ProtobufWriter();
+    private final Map<String, Integer> keyIndex = new HashMap<>();
+    private final List<String> keys = new ArrayList<>();
+    private final Map<Object, Integer> valueIndex = new HashMap<>();
+    private final List<Object> values = new ArrayList<>();
+    private int featureCount;
+
+    public MvtEncoder(String layerName) {
+        this.layerName = layerName;
+    }
+
+    /**
+     * Fügt ein Punkt-Feature hinzu.
+     *
+     * @param id         Feature-ID
+     * @param x          Kachel-X in {@code [0, EXTENT)}
+     * @param y          Kachel-Y in {@code [0, EXTENT)} (von oben)
+     * @param properties Attribute; {@code null}-Werte werden weggelassen
+     */
+    public void addPoint(long id, int x, int y, Map<String, Object> properties) {
+        int[] tags = new int[properties.size() * 2];
+        int t = 0;
+        for (Map.Entry<String, Object> e : properties.entrySet()) {
+            if (e.getValue() == null) {
+                continue;
+            }
+            tags[t++] = keyIndex.computeIfAbsent(e.getKey(), k -> { keys.add(k); return keys.size() - 1; });
+            tags[t++] = valueIndex.computeIfAbsent(e.getValue(), v -> { values.add(v); return values.size() - 1; });
+        }
+
+        ProtobufWriter feature = new ProtobufWriter();
+        feature.writeUInt(FEATURE_ID, id);
+        feature.writePacked(FEATURE_TAGS, tags, t);
+        feature.writeUInt(FEATURE_TYPE, GEOM_POINT);
+        feature.writePacked(FEATURE_GEOMETRY,
+                new int[]{CMD_MOVE_TO_ONCE, ProtobufWriter.zigZag(x), ProtobufWriter.zigZag(y)}, 3);
+        features.writeMessage(LAYER_FEATURES, feature);
+        featureCount++;
+    }
+
+    /** @return Anzahl bisher hinzugefügter Features */
+    public int getFeatureCount() {
+        return featureCount;
+    }
+
+    /**
+     * @return die fertige Kachel (leere Kachel ohne Ebene, wenn keine Features vorhanden sind)
+     */
+    public byte[] encode() {
+        ProtobufWriter tile = new ProtobufWriter();
+        if (featureCount == 0) {
+            return tile.toByteArray();
+        }
+
+        ProtobufWriter layer = new ProtobufWriter();
+        layer.writeUInt(LAYER_VERSION, 2);
+        layer.writeString(LAYER_NAME, layerName);
+        layer.writeRaw(features); // enthält bereits je Feature ein LAYER_FEATURES-Feld
+        for (String key : keys) {
+            layer.writeString(LAYER_KEYS, key);
+        }
+        for (Object value : values) {
+            ProtobufWriter v = new ProtobufWriter();
+            if (value instanceof String s) {
+                v.writeString(VALUE_STRING, s);
+            } else if (value instanceof Double d) {
+                v.writeDouble(VALUE_DOUBLE, d);
+            } else if (value instanceof Long l) {
+                v.writeSInt(VALUE_SINT, l);
+            } else {
+                throw new IllegalArgumentException("Nicht unterstützter Attributtyp: " + value.getClass());
+            }
+            layer.writeMessage(LAYER_VALUES, v);
+        }
+        layer.writeUInt(LAYER_EXTENT, EXTENT);
+
+        tile.writeMessage(TILE_LAYERS, layer);
+        return tile.toByteArray();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimaler Protocol-Buffers-Writer (nur die Wire-Types, die für Vector Tiles gebraucht werden).
+ * <p>
+ * Verschachtelte Nachrichten werden in einem eigenen Writer aufgebaut und
+ * mit {@link #writeMessage(int, ProtobufWriter)} längenpräfixiert eingebettet.
+ */
+final class ProtobufWriter {
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+
+    void writeUInt(int field, long value) {
+        writeTag(field, WIRE_VARINT);
+        writeVarint(value);
+    }
+
+    void writeSInt(int field, long value) {
+        writeTag(field, WIRE_VARINT);
+        writeVarint(zigZag(value));
+    }
+
+    void writeDouble(int field, double value) {
+        writeTag(field, WIRE_FIXED64);
+        long bits = Double.doubleToLongBits(value);
+        for (int i = 0; i < 8; i++) {
+            out.write((int) (bits >>> (8 * i)) & 0xff);
+        }
+    }
+
+    void writeString(int field, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeTag(field, WIRE_LENGTH_DELIMITED);
+        writeVarint(bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /** Schreibt ein "packed repeated uint32"-Feld. */
+    void writePacked(int field, int[] values, int length) {
+        ProtobufWriter packed = new ProtobufWriter();
+        for (int i = 0; i < length; i++) {
+            packed.writeVarint(values[i] & 0xffffffffL);
+        }
+        writeBytes(field, packed);
+    }
+
+    void writeMessage(int field, ProtobufWriter message) {
+        writeBytes(field, message);
+    }
+
+    /** Hängt bereits kodierte Felder eines anderen Writers unverändert an. */
+    void writeRaw(ProtobufWriter fields) {
+        out.writeBytes(fields.out.toByteArray());
+    }
+
+    byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void writeBytes(int field, ProtobufWriter nested) {
+        writeTag(field, WIRE_LENGTH_DELIMITED);
+        writeVarint(nested.out.size());
+        out.writeBytes(nested.out.toByteArray());
+    }
+
+    private void writeTag(int field, int wireType) {
+        writeVarint(((long) field << 3) | wireType);
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
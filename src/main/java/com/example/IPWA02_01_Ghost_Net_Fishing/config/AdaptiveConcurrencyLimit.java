@@ -0,0 +1,136 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Parallelitätsgrenze, die sich an der beobachteten Antwortzeit ausrichtet (AIMD).
+ * <ul>
+ *   <li>Als Referenz dient die kleinste beobachtete Antwortzeit (Leerlauf), die langsam
+ *       nach oben nachgeführt wird, damit ein einmaliger Ausreißer sie nicht festhält.</li>
+ *   <li>Liegt eine Antwort über {@code tolerance × Referenz} oder schlägt sie fehl, wird die
+ *       Grenze mit {@code backoff} multipliziert (z. B. 0.9) – höchstens einmal je Antwortzeit,
+ *       damit eine Welle gleichzeitig langsamer Antworten sie nur einmal senkt.</li>
+ *   <li>Sonst wächst sie um {@code 1/Grenze} je Antwort – also um etwa 1 je „Runde“ –,
+ *       aber nur, wenn sie zur Hälfte ausgeschöpft ist.</li>
+ * </ul>
+ * Die Referenz ist je Grenze eigen: ein Login (BCrypt) darf langsamer sein als eine Statusänderung.
+ * Eine Grenze über mehrere Endpunkte (die gemeinsame Grenze) misst daher keine eigene Referenz,
+ * sondern übernimmt mit {@link #releaseJudged} das Urteil der Endpunktgrenze.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    /** Anteil, um den die Referenz je Antwort zu einer langsameren Messung aufschließt. */
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoff;
+    private final LongSupplier nanoTime;
+
+    private double limit;
+    private int inFlight;
+    private double baselineNanos = Double.NaN;
+    private long lastDecreaseNanos;
+
+    /**
+     * @param initialLimit Startwert
+     * @param minLimit     untere Grenze (mindestens 1)
+     * @param maxLimit     obere Grenze
+     * @param tolerance    Faktor über der Referenz-Antwortzeit, ab dem Überlast angenommen wird (> 1)
+     * @param backoff      Faktor bei Überlast (zwischen 0 und 1)
+     * @throws IllegalArgumentException bei unplausiblen Werten
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoff) {
+        this(initialLimit, minLimit, maxLimit, tolerance, backoff, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoff,
+                             LongSupplier nanoTime) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Es muss gelten: 1 <= min <= initial <= max");
+        }
+        if (!(tolerance > 1) || !(backoff > 0 && backoff < 1)) {
+            throw new IllegalArgumentException("tolerance muss > 1 und backoff zwischen 0 und 1 sein");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoff = backoff;
+        this.nanoTime = nanoTime;
+        this.lastDecreaseNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Belegt einen Platz, sofern der erlaubte Anteil der Grenze noch nicht ausgeschöpft ist.
+     *
+     * @param share Anteil der Grenze, den der Aufrufer nutzen darf (0–1, siehe {@link RequestPriority})
+     * @return {@code true}, wenn belegt – dann muss {@link #release} oder {@link #cancel} folgen
+     */
+    public synchronized boolean tryAcquire(double share) {
+        if (inFlight >= Math.max(1, (int) (limit * share))) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Gibt einen Platz frei und passt die Grenze an der eigenen Referenz an.
+     *
+     * @param rttNanos Antwortzeit
+     * @param failed   Fehler (z. B. Timeout beim Warten auf eine DB-Verbindung) – zählt als Überlast
+     * @return {@code true}, wenn die Antwort als Überlast gewertet wurde (Fehler oder langsamer
+     *         als {@code tolerance × Referenz})
+     */
+    public synchronized boolean release(long rttNanos, boolean failed) {
+        if (Double.isNaN(baselineNanos) || rttNanos < baselineNanos) {
+            baselineNanos = rttNanos;
+        } else {
+            baselineNanos += (rttNanos - baselineNanos) * BASELINE_DRIFT;
+        }
+        boolean overloaded = failed || rttNanos > baselineNanos * tolerance;
+        adjust(rttNanos, overloaded);
+        return overloaded;
+    }
+
+    /**
+     * Gibt einen Platz frei und passt die Grenze nach einem fremden Urteil an – ohne eigene
+     * Referenz, z. B. für die gemeinsame Grenze mit dem Ergebnis der Endpunktgrenze.
+     *
+     * @param rttNanos   Antwortzeit (begrenzt Senkungen auf eine je Antwortzeit)
+     * @param overloaded Urteil aus {@link #release(long, boolean)} der zuständigen Grenze
+     */
+    public synchronized void releaseJudged(long rttNanos, boolean overloaded) {
+        adjust(rttNanos, overloaded);
+    }
+
+    private void adjust(long rttNanos, boolean overloaded) {
+        int used = inFlight--;
+        if (overloaded) {
+            long now = nanoTime.getAsLong();
+            if (now - lastDecreaseNanos >= rttNanos) {
+                limit = Math.max(minLimit, limit * backoff);
+                lastDecreaseNanos = now;
+            }
+        } else if (used * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    /**
+     * Gibt einen Platz frei, ohne die Grenze anzupassen (Request kam gar nicht zur Ausführung).
+     */
+    public synchronized void cancel() {
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lastbegrenzung für die API ({@link AdmissionControlInterceptor}).
+ * <p>
+ * Der Postfach-Stream ist ausgenommen: er bleibt bewusst lange offen und würde
+ * sonst dauerhaft Plätze belegen.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ghostnet.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor interceptor;
+
+    public AdmissionControlConfig(MeterRegistry registry,
+                                  @Value("${ghostnet.admission.global.initial-limit:40}") int globalInitial,
+                                  @Value("${ghostnet.admission.global.max-limit:200}") int globalMax,
+                                  @Value("${ghostnet.admission.endpoint.initial-limit:20}") int endpointInitial,
+                                  @Value("${ghostnet.admission.endpoint.max-limit:100}") int endpointMax,
+                                  @Value("${ghostnet.admission.min-limit:4}") int minLimit,
+                                  @Value("${ghostnet.admission.tolerance:2.0}") double tolerance,
+                                  @Value("${ghostnet.admission.backoff:0.9}") double backoff,
+                                  @Value("${ghostnet.admission.retry-after-seconds:1}") long retryAfterSeconds,
+                                  @Value("${ghostnet.admission.critical:PATCH /api/ghostnets/{id}/status,POST /api/ghostnets/add}") List<String> critical,
+                                  @Value("${ghostnet.admission.bulk:GET /api/ghostnets,GET /api/ghostnets/with-users,GET /api/ghostnets/history}") List<String> bulk) {
+        if (retryAfterSeconds < 1) {
+            throw new IllegalArgumentException("ghostnet.admission.retry-after-seconds muss >= 1 sein");
+        }
+        Map<String, RequestPriority> priorities = new HashMap<>();
+        bulk.forEach(endpoint -> priorities.put(endpoint.trim(), RequestPriority.BULK));
+        critical.forEach(endpoint -> priorities.put(endpoint.trim(), RequestPriority.CRITICAL));
+        this.interceptor = new AdmissionControlInterceptor(
+                new AdaptiveConcurrencyLimit(globalInitial, minLimit, globalMax, tolerance, backoff),
+                () -> new AdaptiveConcurrencyLimit(endpointInitial, minLimit, endpointMax, tolerance, backoff),
+                priorities, retryAfterSeconds, registry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/inbox/stream");
+    }
+}
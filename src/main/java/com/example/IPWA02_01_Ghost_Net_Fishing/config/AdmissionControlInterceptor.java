@@ -0,0 +1,106 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Lastbegrenzung je Endpunkt (Methode + Mapping-Muster, z. B. {@code PATCH /api/ghostnets/{id}/status}).
+ * <p>
+ * Ein Request wird nur angenommen, wenn sowohl die Grenze seines Endpunkts als auch der
+ * seiner {@link RequestPriority} zustehende Anteil der gemeinsamen Grenze frei ist.
+ * Andernfalls wird sofort mit 503 und {@code Retry-After} geantwortet, statt ihn warten
+ * zu lassen, bis Tomcat-Threads oder der Verbindungspool erschöpft sind.
+ * Beide Grenzen passen sich an die Antwortzeiten an ({@link AdaptiveConcurrencyLimit}):
+ * die Endpunktgrenze an ihrer eigenen Referenz, die gemeinsame Grenze am Urteil der
+ * Endpunktgrenze. Ein naturgemäß langsamer Endpunkt (Login mit BCrypt) senkt so auch die
+ * gemeinsame Grenze nur, wenn er langsamer wird als üblich.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED = AdmissionControlInterceptor.class.getName() + ".admitted";
+
+    private final AdaptiveConcurrencyLimit globalLimit;
+    private final Supplier<AdaptiveConcurrencyLimit> endpointLimits;
+    private final Map<String, RequestPriority> priorities;
+    private final long retryAfterSeconds;
+    private final MeterRegistry registry;
+    private final LongSupplier nanoTime;
+
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    /**
+     * @param globalLimit       gemeinsame Grenze aller Endpunkte
+     * @param endpointLimits    erzeugt die Grenze für einen neuen Endpunkt
+     * @param priorities        Endpunkt → Prioritätsklasse; nicht enthaltene sind {@link RequestPriority#NORMAL}
+     * @param retryAfterSeconds Wert für {@code Retry-After} bei Ablehnung
+     */
+    public AdmissionControlInterceptor(AdaptiveConcurrencyLimit globalLimit, Supplier<AdaptiveConcurrencyLimit> endpointLimits,
+                                       Map<String, RequestPriority> priorities, long retryAfterSeconds,
+                                       MeterRegistry registry) {
+        this(globalLimit, endpointLimits, priorities, retryAfterSeconds, registry, System::nanoTime);
+    }
+
+    AdmissionControlInterceptor(AdaptiveConcurrencyLimit globalLimit, Supplier<AdaptiveConcurrencyLimit> endpointLimits,
+                                Map<String, RequestPriority> priorities, long retryAfterSeconds,
+                                MeterRegistry registry, LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        this.globalLimit = globalLimit;
+        this.endpointLimits = endpointLimits;
+        this.priorities = Map.copyOf(priorities);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return true;
+        }
+        String endpoint = request.getMethod() + " " + pattern;
+        RequestPriority priority = priorities.getOrDefault(endpoint, RequestPriority.NORMAL);
+        AdaptiveConcurrencyLimit limit = limits.computeIfAbsent(endpoint, k -> endpointLimits.get());
+
+        if (limit.tryAcquire(1.0)) {
+            if (globalLimit.tryAcquire(priority.share())) {
+                request.setAttribute(ADMITTED, new Admission(limit, nanoTime.getAsLong()));
+                return true;
+            }
+            limit.cancel();
+        }
+        rejections.computeIfAbsent(endpoint + "|" + priority, k -> Counter.builder("ghostnet.admission.rejected")
+                .description("Wegen Überlast abgelehnte Requests")
+                .tag("endpoint", endpoint)
+                .tag("priority", priority.name())
+                .register(registry)).increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(ADMITTED) instanceof Admission admission)) {
+            return;
+        }
+        request.removeAttribute(ADMITTED);
+        long rtt = nanoTime.getAsLong() - admission.startNanos();
+        boolean failed = ex != null || response.getStatus() >= 500;
+        globalLimit.releaseJudged(rtt, admission.limit().release(rtt, failed));
+    }
+
+    private record Admission(AdaptiveConcurrencyLimit limit, long startNanos) {
+    }
+}
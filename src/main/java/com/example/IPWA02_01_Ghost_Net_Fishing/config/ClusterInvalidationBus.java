@@ -0,0 +1,404 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetArchivedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetRegionsReassignedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.ReadModelResyncEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.RegionSubscriptionChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.UserChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Hält die In-Memory-Lesemodelle und den Second-Level-Cache mehrerer Instanzen konsistent,
+ * ohne zusätzlichen Broker: Änderungen werden nach dem Commit per PostgreSQL
+ * {@code NOTIFY} verteilt und auf den anderen Instanzen als Event mit
+ * {@code remote = true} erneut veröffentlicht.
+ * <p>
+ * Zustellung:
+ * <ul>
+ *   <li>Jede Instanz nummeriert ihre Nachrichten fortlaufend; ein periodischer Herzschlag
+ *       trägt die zuletzt vergebene Nummer. Lücken (verlorene Nachricht, Sendefehler) lösen
+ *       einen {@link ReadModelResyncEvent} aus – die Lesemodelle bauen sich dann aus der
+ *       Datenbank neu auf, statt still auseinanderzulaufen.</li>
+ *   <li>Duplikate (Nummer bereits gesehen) werden verworfen.</li>
+ *   <li>Bleibt länger als drei Herzschläge jede Nachricht aus – auch die eigenen – gilt die
+ *       Verbindung als tot; nach jeder Neuverbindung folgt ebenfalls ein Resync.</li>
+ * </ul>
+ * Sender und Empfänger nutzen je eine eigene Verbindung am Pool vorbei: {@code LISTEN}
+ * bindet die Sitzung dauerhaft, und {@code NOTIFY} muss im Autocommit laufen, weil die
+ * Pool-Verbindung der gerade committeten Transaktion noch nicht freigegeben ist.
+ * <p>
+ * Der committende Thread vergibt nur die Nummer und reiht die Nachricht ein; gesendet wird
+ * von einem eigenen Thread in Nummernreihenfolge. Eine langsame oder ausgefallene Datenbank
+ * hält so keine Anfrage auf. Läuft die Warteschlange über, wird die Nachricht verworfen –
+ * wie bei einem Sendefehler sehen die Empfänger die Lücke und synchronisieren neu.
+ */
+public class ClusterInvalidationBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterInvalidationBus.class);
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    /** Höchstzahl noch nicht gesendeter Nachrichten. */
+    static final int OUTBOX_CAPACITY = 10_000;
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final long heartbeatMillis;
+    private final long reconnectDelayMillis;
+    private final ApplicationEventPublisher publisher;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    /** Zuletzt vergebene Nummer; nur unter {@code this} geändert. */
+    private long sequence;
+    /** Noch zu sendende Nachrichten; unter {@code this} befüllt, damit die Reihenfolge der Nummern gilt. */
+    private final BlockingQueue<InvalidationMessage> outbox = new LinkedBlockingQueue<>(OUTBOX_CAPACITY);
+    /** Nur vom Sende-Thread benutzt. */
+    private Connection sendConnection;
+
+    /** Zuletzt gesehene Nummer je fremder Instanz; nur vom Empfangs-Thread benutzt. */
+    private final Map<String, Long> lastSeen = new HashMap<>();
+    private volatile long lastReceivedNanos;
+
+    private volatile boolean running;
+    private volatile Thread listener;
+    private volatile Thread sender;
+    private volatile Connection listenConnection;
+
+    /**
+     * @throws IllegalArgumentException bei ungültigem Kanalnamen
+     */
+    public ClusterInvalidationBus(String url, String username, String password, String channel,
+                                  long heartbeatMillis, long reconnectDelayMillis,
+                                  ApplicationEventPublisher publisher) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Ungültiger Kanalname: " + channel);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.heartbeatMillis = heartbeatMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        this.publisher = publisher;
+    }
+
+    // -------------------------------------------------------------------------
+    // Senden
+    // -------------------------------------------------------------------------
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGhostNetChanged(GhostNetChangedEvent event) {
+        if (!event.isRemote()) {
+            send(InvalidationMessage.GHOST_NET, InvalidationMessage.ghostNetBody(event));
+        }
+    }
+
+    /**
+     * Archivierte Netze, in Blöcken zu {@link InvalidationMessage#ARCHIVED_PER_MESSAGE}
+     * (Größengrenze von {@code NOTIFY}).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGhostNetArchived(GhostNetArchivedEvent event) {
+        if (event.isRemote()) {
+            return;
+        }
+        List<GhostNetSnapshot> nets = event.getNets();
+        for (int from = 0; from < nets.size(); from += InvalidationMessage.ARCHIVED_PER_MESSAGE) {
+            List<GhostNetSnapshot> block = nets.subList(from,
+                    Math.min(nets.size(), from + InvalidationMessage.ARCHIVED_PER_MESSAGE));
+            send(InvalidationMessage.ARCHIVED, InvalidationMessage.archivedBody(block));
+        }
+    }
+
+    /**
+     * Bulk-Updates der Gebietszuordnung tragen keine Einzeländerungen – die anderen
+     * Instanzen synchronisieren vollständig neu.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegionsReassigned(GhostNetRegionsReassignedEvent event) {
+        send(InvalidationMessage.REGIONS, Integer.toString(event.getCount()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (!event.isRemote() && event.getUserId() != null) {
+            send(InvalidationMessage.USER, event.getUserId().toString());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegionSubscriptionChanged(RegionSubscriptionChangedEvent event) {
+        if (!event.isRemote() && event.getSubscriptionId() != null) {
+            send(InvalidationMessage.SUBSCRIPTION, event.getSubscriptionId().toString());
+        }
+    }
+
+    /**
+     * Herzschlag mit der zuletzt vergebenen Nummer: Empfänger erkennen so auch den Verlust
+     * der letzten Nachricht vor einer Sendepause.
+     */
+    @Scheduled(fixedDelayString = "${ghostnet.cluster.heartbeat-ms:5000}")
+    public synchronized void heartbeat() {
+        if (!running) {
+            return;
+        }
+        enqueue(new InvalidationMessage(nodeId, sequence, InvalidationMessage.HEARTBEAT, ""));
+    }
+
+    /**
+     * Die Nummer wird auch bei einem Sende- oder Warteschlangenfehler verbraucht – die
+     * Empfänger sehen die Lücke spätestens mit dem nächsten Herzschlag und synchronisieren neu.
+     */
+    private synchronized void send(char kind, String body) {
+        enqueue(new InvalidationMessage(nodeId, ++sequence, kind, body));
+    }
+
+    private void enqueue(InvalidationMessage message) {
+        if (!outbox.offer(message)) {
+            log.warn("Sendewarteschlange voll – Invalidierung {} verworfen", message.sequence());
+        }
+    }
+
+    /**
+     * Sende-Thread: arbeitet die Warteschlange ab und leert sie beim Stoppen.
+     */
+    private void drain() {
+        try {
+            while (running) {
+                InvalidationMessage message = outbox.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (message != null) {
+                    notify(message);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (InvalidationMessage message; !Thread.currentThread().isInterrupted() && (message = outbox.poll()) != null; ) {
+            notify(message);
+        }
+        closeQuietly(sendConnection);
+        sendConnection = null;
+    }
+
+    /**
+     * Sendet eine Nachricht; nur vom Sende-Thread aufgerufen.
+     */
+    void notify(InvalidationMessage message) {
+        try {
+            if (sendConnection == null || sendConnection.isClosed()) {
+                sendConnection = connect();
+            }
+            try (PreparedStatement ps = sendConnection.prepareStatement("select pg_notify(?, ?)")) {
+                ps.setString(1, channel);
+                ps.setString(2, message.encode());
+                ps.execute();
+            }
+        } catch (SQLException e) {
+            log.warn("Invalidierung {} nicht gesendet: {}", message.sequence(), e.getMessage());
+            closeQuietly(sendConnection);
+            sendConnection = null;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Empfangen
+    // -------------------------------------------------------------------------
+
+    private void listen() {
+        boolean first = true;
+        while (running) {
+            try (Connection c = connect()) {
+                listenConnection = c;
+                try (Statement st = c.createStatement()) {
+                    st.execute("LISTEN " + channel);
+                }
+                lastReceivedNanos = System.nanoTime();
+                if (!first) {
+                    lastSeen.clear();
+                    resync("Neuverbindung");
+                }
+                PGConnection pg = c.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications((int) heartbeatMillis);
+                    if (notifications != null) {
+                        for (PGNotification n : notifications) {
+                            receive(n.getParameter());
+                        }
+                    }
+                    if (System.nanoTime() - lastReceivedNanos > 3_000_000L * heartbeatMillis) {
+                        log.warn("Keine Invalidierungen seit {} ms – verbinde neu", 3 * heartbeatMillis);
+                        break;
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("LISTEN {} unterbrochen: {}", channel, e.getMessage());
+                }
+            } finally {
+                listenConnection = null;
+            }
+            first = false;
+            sleep(reconnectDelayMillis);
+        }
+    }
+
+    /**
+     * Verarbeitet eine empfangene Nachricht (eigene dienen nur als Lebenszeichen).
+     */
+    void receive(String payload) {
+        lastReceivedNanos = System.nanoTime();
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn(e.getMessage());
+            return;
+        }
+        if (message.node().equals(nodeId)) {
+            return;
+        }
+
+        Long last = lastSeen.get(message.node());
+        if (message.kind() == InvalidationMessage.HEARTBEAT) {
+            if (last == null) {
+                lastSeen.put(message.node(), message.sequence());
+            } else if (message.sequence() > last) {
+                lastSeen.put(message.node(), message.sequence());
+                resync("Lücke bei " + message.node() + ": " + last + " → " + message.sequence());
+            }
+            return;
+        }
+        if (last != null && message.sequence() <= last) {
+            return; // Duplikat
+        }
+        lastSeen.put(message.node(), message.sequence());
+        if (last != null && message.sequence() > last + 1) {
+            // Resync liest den Stand nach dieser Änderung ohnehin mit
+            resync("Lücke bei " + message.node() + ": " + last + " → " + message.sequence());
+            return;
+        }
+
+        try {
+            switch (message.kind()) {
+                case InvalidationMessage.GHOST_NET ->
+                        publisher.publishEvent(InvalidationMessage.ghostNetEvent(message.body()));
+                case InvalidationMessage.USER ->
+                        publisher.publishEvent(new UserChangedEvent(Long.valueOf(message.body()), true));
+                case InvalidationMessage.SUBSCRIPTION ->
+                        publisher.publishEvent(new RegionSubscriptionChangedEvent(Long.valueOf(message.body()), true));
+                case InvalidationMessage.ARCHIVED ->
+                        publisher.publishEvent(InvalidationMessage.archivedEvent(message.body()));
+                case InvalidationMessage.REGIONS ->
+                        resync("Gebiete neu zugeordnet auf " + message.node() + ": " + message.body() + " Netze");
+                default -> log.warn("Unbekannte Invalidierung: {}", payload);
+            }
+        } catch (IllegalArgumentException e) {
+            resync("Unlesbare Invalidierung: " + payload);
+        }
+    }
+
+    private void resync(String reason) {
+        log.warn("Lesemodelle werden neu aufgebaut: {}", reason);
+        publisher.publishEvent(new ReadModelResyncEvent(reason));
+    }
+
+    // -------------------------------------------------------------------------
+    // Lebenszyklus
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void start() {
+        running = true;
+        sender = startThread(this::drain, "ghostnet-cluster-send");
+        listener = startThread(this::listen, "ghostnet-cluster-listen");
+    }
+
+    /**
+     * Beendet den Empfang und wartet höchstens einen Herzschlag, bis ausstehende
+     * Nachrichten gesendet sind.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        closeQuietly(listenConnection);
+        Thread t = listener;
+        if (t != null) {
+            t.interrupt();
+        }
+        Thread s = sender;
+        if (s != null) {
+            try {
+                s.join(heartbeatMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            s.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** @return Kennung dieser Instanz in den Nachrichten */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static Thread startThread(Runnable task, String name) {
+        Thread t = new Thread(task, name);
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    private Connection connect() throws SQLException {
+        Connection c = DriverManager.getConnection(url, username, password);
+        c.setAutoCommit(true);
+        return c;
+    }
+
+    private static void closeQuietly(Connection c) {
+        if (c != null) {
+            try {
+                c.close();
+            } catch (SQLException ignored) {
+                // Verbindung ist ohnehin unbrauchbar
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
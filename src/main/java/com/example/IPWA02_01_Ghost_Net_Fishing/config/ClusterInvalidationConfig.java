@@ -0,0 +1,28 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Mehrere Instanzen: aktiv mit {@code ghostnet.cluster.enabled=true} (nur PostgreSQL).
+ * Verbindet sich mit der primären Datenbank aus {@code spring.datasource.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ghostnet.cluster.enabled", havingValue = "true")
+public class ClusterInvalidationConfig {
+
+    @Bean
+    public ClusterInvalidationBus clusterInvalidationBus(
+            DataSourceProperties properties,
+            ApplicationEventPublisher publisher,
+            @Value("${ghostnet.cluster.channel:ghostnet_changes}") String channel,
+            @Value("${ghostnet.cluster.heartbeat-ms:5000}") long heartbeatMillis,
+            @Value("${ghostnet.cluster.reconnect-delay-ms:1000}") long reconnectDelayMillis) {
+        return new ClusterInvalidationBus(properties.determineUrl(), properties.determineUsername(),
+                properties.determinePassword(), channel, heartbeatMillis, reconnectDelayMillis, publisher);
+    }
+}
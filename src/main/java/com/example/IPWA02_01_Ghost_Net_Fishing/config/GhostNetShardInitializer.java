@@ -0,0 +1,108 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetShardRouter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.relational.SchemaManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Bereitet die Shards beim Start vor.
+ * <ul>
+ *   <li>Mit {@code spring.jpa.hibernate.ddl-auto=create/create-drop} (z. B. Tests mit
+ *       eingebetteten Datenbanken) legt Hibernate das Schema nur in Shard 0 an – hier wird es
+ *       in die übrigen Shards exportiert. Sonst wird das Schema wie bisher extern gepflegt.</li>
+ *   <li>Die Identity-Spalte {@code ghost_nets.id} jeder Shard wird auf
+ *       {@code INCREMENT BY idStride} und einen Startwert {@code ≡ shard (mod idStride)}
+ *       gestellt, einmalig (erkennbar an der Schrittweite). Das sollte geschehen, bevor eine
+ *       Instanz mit Sharding schreibt; bereits vorhandene Netze werden nicht umverteilt.</li>
+ * </ul>
+ */
+public class GhostNetShardInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(GhostNetShardInitializer.class);
+
+    private final ShardRoutingDataSource routing;
+    private final GhostNetShardRouter router;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean createSchema;
+
+    public GhostNetShardInitializer(ShardRoutingDataSource routing, GhostNetShardRouter router,
+                                    EntityManagerFactory entityManagerFactory, String ddlAuto) {
+        if (routing.getShardCount() != router.getShardCount()) {
+            throw new IllegalStateException("Shard-Anzahl uneinheitlich: " + routing.getShardCount()
+                    + " Datenquellen, " + router.getShardCount() + " im Router");
+        }
+        this.routing = routing;
+        this.router = router;
+        this.entityManagerFactory = entityManagerFactory;
+        this.createSchema = "create".equals(ddlAuto) || "create-drop".equals(ddlAuto);
+    }
+
+    public void initialize() throws SQLException {
+        if (createSchema) {
+            SchemaManager schema = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+            for (int shard = 1; shard < router.getShardCount(); shard++) {
+                router.on(shard, () -> {
+                    schema.dropMappedObjects(false);
+                    schema.exportMappedObjects(false);
+                    return null;
+                });
+            }
+        }
+        for (int shard = 0; shard < router.getShardCount(); shard++) {
+            alignIds(shard);
+        }
+        log.info("{} Shards bereit (ID-Schrittweite {})", router.getShardCount(), router.getIdStride());
+    }
+
+    private void alignIds(int shard) throws SQLException {
+        long stride = router.getIdStride();
+        try (Connection c = routing.getShard(shard).getConnection(); Statement st = c.createStatement()) {
+            Long increment;
+            try (ResultSet rs = st.executeQuery("select identity_increment from information_schema.columns "
+                    + "where lower(table_name) = 'ghost_nets' and lower(column_name) = 'id' "
+                    + "and table_schema = current_schema")) {
+                String value = rs.next() ? rs.getString(1) : null;
+                increment = value == null ? null : Long.valueOf(value.trim());
+            }
+            if (increment == null) {
+                // z. B. BIGSERIAL aus einem älteren Schema
+                throw new IllegalStateException("ghost_nets.id in Shard " + shard + " ist keine Identity-Spalte – "
+                        + "Schema aus initdb/schema.sql verwenden (GENERATED BY DEFAULT AS IDENTITY)");
+            }
+            if (increment == stride) {
+                return;
+            }
+
+            long max;
+            long foreign;
+            try (ResultSet rs = st.executeQuery("select coalesce(max(id), 0), "
+                    + "count(case when mod(id, " + stride + ") <> " + shard + " then 1 end) from ghost_nets")) {
+                rs.next();
+                max = rs.getLong(1);
+                foreign = rs.getLong(2);
+            }
+            long start = max - Math.floorMod(max, stride) + shard;
+            if (start <= max) {
+                start += stride;
+            }
+            st.execute("alter table ghost_nets alter column id restart with " + start);
+            st.execute("alter table ghost_nets alter column id set increment by " + stride);
+            if (!c.getAutoCommit()) {
+                c.commit();
+            }
+            log.info("Shard {}: IDs ab {} in Schritten von {}", shard, start, stride);
+            if (foreign > 0) {
+                log.warn("Shard {} enthält {} Netze mit IDs einer anderen Shard – Bestandsdaten vor dem "
+                        + "Sharding müssen umverteilt werden", shard, foreign);
+            }
+        }
+    }
+}
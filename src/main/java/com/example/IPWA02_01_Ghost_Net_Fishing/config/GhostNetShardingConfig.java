@@ -0,0 +1,86 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sharding von {@code ghost_nets}: aktiv, sobald {@code ghostnet.shards.urls} gesetzt ist.
+ * <p>
+ * Shard 0 kommt wie bisher aus {@code spring.datasource.*}, die weiteren Shards aus
+ * {@code ghostnet.shards.urls} (Benutzer/Passwort wie {@code spring.datasource}, falls nicht
+ * gesetzt). Alle Pools liegen hinter {@link ShardRoutingDataSource}; Poolgrößen usw. gelten
+ * aus {@code spring.datasource.hikari.*} für jeden Pool. Nicht zusammen mit dem
+ * Lese-Replikat ({@code ghostnet.datasource.replica.url}) verwendbar.
+ */
+@Configuration
+@ConditionalOnExpression("!'${ghostnet.shards.urls:}'.isBlank()")
+public class GhostNetShardingConfig {
+
+    @Bean(defaultCandidate = false)
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties properties,
+                                                         Environment environment,
+                                                         MeterRegistry meterRegistry,
+                                                         @Value("${ghostnet.shards.urls}") String urls,
+                                                         @Value("${ghostnet.shards.username:}") String username,
+                                                         @Value("${ghostnet.shards.password:}") String password,
+                                                         @Value("${ghostnet.datasource.replica.url:}") String replicaUrl) {
+        if (!replicaUrl.isBlank()) {
+            throw new IllegalStateException(
+                    "ghostnet.shards.urls und ghostnet.datasource.replica.url schließen sich aus");
+        }
+        List<String> shardUrls = new ArrayList<>();
+        shardUrls.add(properties.determineUrl());
+        shardUrls.addAll(GhostNetShardRouter.shardUrls(urls));
+
+        List<DataSource> shards = new ArrayList<>(shardUrls.size());
+        for (int i = 0; i < shardUrls.size(); i++) {
+            boolean home = i == 0;
+            HikariDataSource ds = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(shardUrls.get(i))
+                    .username(home || username.isBlank() ? properties.determineUsername() : username)
+                    .password(home || password.isBlank() ? properties.determinePassword() : password)
+                    .build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(ds));
+            ds.setPoolName("shard-" + i);
+            ds.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(ds);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("shardRoutingDataSource") ShardRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean(initMethod = "initialize")
+    public GhostNetShardInitializer ghostNetShardInitializer(
+            @Qualifier("shardRoutingDataSource") ShardRoutingDataSource routing,
+            GhostNetShardRouter router,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        return new GhostNetShardInitializer(routing, router, entityManagerFactory, ddlAuto);
+    }
+}
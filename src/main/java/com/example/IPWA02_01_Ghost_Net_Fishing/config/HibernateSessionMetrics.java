@@ -0,0 +1,91 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Zählt SQL-Statements und Flushes je Hibernate-Session und meldet sie beim
+ * Schließen als Verteilung ({@code hibernate.session.statements},
+ * {@code hibernate.session.flushes}). Mit Open-Session-in-View entspricht
+ * eine Session einem HTTP-Request.
+ * <p>
+ * Hibernate erzeugt je Session eine eigene Instanz per Reflection
+ * ({@code hibernate.session.events.auto}); die Zähler selbst werden daher
+ * einmalig über {@link #bindTo(MeterRegistry)} statisch hinterlegt, ebenso der
+ * {@link SqlStatementMonitor} ({@link #monitorWith}), dem die Dauer jedes Statements
+ * gemeldet wird.
+ */
+public class HibernateSessionMetrics implements SessionEventListener {
+
+    private static volatile DistributionSummary statementsPerSession;
+    private static volatile DistributionSummary flushesPerSession;
+    private static volatile SqlStatementMonitor monitor;
+
+    private int statements;
+    private int flushes;
+    private long executeStart;
+
+    /**
+     * Registriert die Verteilungen; vorher erzeugte Sessions werden nicht erfasst.
+     */
+    static void bindTo(MeterRegistry registry) {
+        statementsPerSession = DistributionSummary.builder("hibernate.session.statements")
+                .description("SQL-Statements je Hibernate-Session (≈ Request)")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1_000d)
+                .register(registry);
+        flushesPerSession = DistributionSummary.builder("hibernate.session.flushes")
+                .description("Flushes je Hibernate-Session (≈ Request)")
+                .register(registry);
+    }
+
+    /**
+     * Hinterlegt den Monitor für langsame Statements und N+1-Muster.
+     */
+    static void monitorWith(SqlStatementMonitor sqlMonitor) {
+        monitor = sqlMonitor;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        flushes++;
+    }
+
+    private void executed() {
+        statements++;
+        SqlStatementMonitor m = monitor;
+        if (m != null) {
+            m.executed(System.nanoTime() - executeStart);
+        }
+    }
+
+    @Override
+    public void end() {
+        DistributionSummary s = statementsPerSession;
+        if (s != null) {
+            s.record(statements);
+            flushesPerSession.record(flushes);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetArchivedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Nachricht des {@link ClusterInvalidationBus} – kompakt als Text, weil {@code NOTIFY}
+ * höchstens 8000 Byte transportiert: {@code knoten;nummer;art;inhalt}.
+ * <ul>
+ *   <li>{@code G}: Netz geändert, Inhalt = Zustand vorher und nachher, je als kommagetrennte
+ *       Felder (vorher leer bei Neuanlage)</li>
+ *   <li>{@code U}: Benutzer geändert, Inhalt = ID</li>
+ *   <li>{@code S}: Gebiets-Abo angelegt oder gelöscht, Inhalt = ID</li>
+ *   <li>{@code A}: Netze archiviert, Inhalt = {@code id,lat,lon} je Netz, durch {@code ;} getrennt
+ *       (höchstens {@link #ARCHIVED_PER_MESSAGE} je Nachricht)</li>
+ *   <li>{@code R}: Gebiete per Bulk-Update neu zugeordnet, Inhalt = Anzahl – Empfänger
+ *       synchronisieren vollständig neu</li>
+ *   <li>{@code H}: Herzschlag, Nummer = zuletzt vergebene Nummer des Knotens</li>
+ * </ul>
+ * {@code nummer} zählt je Knoten fortlaufend (außer bei {@code H}); Lücken bedeuten
+ * verlorene Nachrichten.
+ *
+ * @param node     Kennung der sendenden Instanz
+ * @param sequence laufende Nummer
+ * @param kind     {@code G}, {@code U}, {@code S}, {@code A}, {@code R} oder {@code H}
+ * @param body     Inhalt (ohne Trennzeichen-Escaping; Felder enthalten kein {@code ;})
+ */
+record InvalidationMessage(String node, long sequence, char kind, String body) {
+
+    static final char GHOST_NET = 'G';
+    static final char USER = 'U';
+    static final char SUBSCRIPTION = 'S';
+    static final char ARCHIVED = 'A';
+    static final char REGIONS = 'R';
+
+    /** Netze je {@code A}-Nachricht: je höchstens ~60 Byte, {@code NOTIFY} trägt 8000. */
+    static final int ARCHIVED_PER_MESSAGE = 100;
+    static final char HEARTBEAT = 'H';
+
+    String encode() {
+        return node + ";" + sequence + ";" + kind + ";" + body;
+    }
+
+    /**
+     * @throws IllegalArgumentException bei unlesbarer Nachricht
+     */
+    static InvalidationMessage decode(String payload) {
+        String[] parts = payload.split(";", 4);
+        if (parts.length != 4 || parts[2].length() != 1) {
+            throw new IllegalArgumentException("Ungültige Invalidierungsnachricht: " + payload);
+        }
+        try {
+            return new InvalidationMessage(parts[0], Long.parseLong(parts[1]), parts[2].charAt(0), parts[3]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ungültige Invalidierungsnachricht: " + payload, e);
+        }
+    }
+
+    static String ghostNetBody(GhostNetChangedEvent event) {
+        return snapshot(event.getBefore()) + ";" + snapshot(event.getAfter());
+    }
+
+    /**
+     * @return Event mit {@link GhostNetChangedEvent#isRemote()} = {@code true}
+     * @throws IllegalArgumentException bei unlesbarem Inhalt
+     */
+    static GhostNetChangedEvent ghostNetEvent(String body) {
+        int split = body.indexOf(';');
+        if (split < 0) {
+            throw new IllegalArgumentException("Ungültiger Netz-Inhalt: " + body);
+        }
+        String before = body.substring(0, split);
+        return new GhostNetChangedEvent(before.isEmpty() ? null : snapshot(before), snapshot(body.substring(split + 1)), true);
+    }
+
+    static String archivedBody(List<GhostNetSnapshot> nets) {
+        StringJoiner body = new StringJoiner(";");
+        for (GhostNetSnapshot s : nets) {
+            body.add(str(s.getId()) + "," + str(s.getLatitude()) + "," + str(s.getLongitude()));
+        }
+        return body.toString();
+    }
+
+    /**
+     * @return Event mit {@link GhostNetArchivedEvent#isRemote()} = {@code true}; die Netze tragen
+     *         nur ID und Position
+     * @throws IllegalArgumentException bei unlesbarem Inhalt
+     */
+    static GhostNetArchivedEvent archivedEvent(String body) {
+        List<GhostNetSnapshot> nets = new ArrayList<>();
+        for (String entry : body.split(";")) {
+            String[] f = entry.split(",", -1);
+            if (f.length != 3 || f[0].isEmpty()) {
+                throw new IllegalArgumentException("Ungültiger Archiv-Inhalt: " + body);
+            }
+            GhostNet net = new GhostNet();
+            net.setId(Long.valueOf(f[0]));
+            net.setLatitude(parse(f[1], Double::valueOf));
+            net.setLongitude(parse(f[2], Double::valueOf));
+            nets.add(GhostNetSnapshot.of(net));
+        }
+        return new GhostNetArchivedEvent(nets, true);
+    }
+
+    private static String snapshot(GhostNetSnapshot s) {
+        if (s == null) {
+            return "";
+        }
+        return String.join(",", str(s.getId()), str(s.getLatitude()), str(s.getLongitude()), str(s.getSize()),
+                s.getStatus() == null ? "" : s.getStatus().name(),
+                str(s.getReportedBy()), str(s.getScheduledBy()), str(s.getRecoveredBy()), str(s.getCanceldBy()),
+                millis(s.getReportedAt()), millis(s.getScheduledAt()), millis(s.getRecoveredAt()),
+                millis(s.getCanceldAt()), millis(s.getUpdatedAt()));
+    }
+
+    private static GhostNetSnapshot snapshot(String fields) {
+        String[] f = fields.split(",", -1);
+        if (f.length != 14) {
+            throw new IllegalArgumentException("Ungültiger Netz-Zustand: " + fields);
+        }
+        GhostNet net = new GhostNet();
+        net.setId(parse(f[0], Long::valueOf));
+        net.setLatitude(parse(f[1], Double::valueOf));
+        net.setLongitude(parse(f[2], Double::valueOf));
+        net.setSize(parse(f[3], Double::valueOf));
+        net.setStatus(parse(f[4], GhostNetStatus::valueOf));
+        net.setReportedBy(parse(f[5], Long::valueOf));
+        net.setScheduledBy(parse(f[6], Long::valueOf));
+        net.setRecoveredBy(parse(f[7], Long::valueOf));
+        net.setCanceldBy(parse(f[8], Long::valueOf));
+        net.setReportedAt(parse(f[9], InvalidationMessage::instant));
+        net.setScheduledAt(parse(f[10], InvalidationMessage::instant));
+        net.setRecoveredAt(parse(f[11], InvalidationMessage::instant));
+        net.setCanceldAt(parse(f[12], InvalidationMessage::instant));
+        net.setUpdatedAt(parse(f[13], InvalidationMessage::instant));
+        return GhostNetSnapshot.of(net);
+    }
+
+    private static String str(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static String millis(Instant value) {
+        return value == null ? "" : Long.toString(value.toEpochMilli());
+    }
+
+    private static Instant instant(String millis) {
+        return Instant.ofEpochMilli(Long.parseLong(millis));
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        return value.isEmpty() ? null : parser.apply(value);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ergänzt die Actuator-Metriken um Hibernate-Zähler je Session.
+ * <p>
+ * Bereits automatisch vorhanden: {@code http.server.requests} (Controller),
+ * {@code spring.data.repository.invocations} (Repositories), {@code hikaricp.*}
+ * (Pool-Auslastung) und – mit {@code hibernate.generate_statistics} –
+ * {@code hibernate.*} (Queries, Entity-Loads, Flushes gesamt).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSessionMetrics(MeterRegistry registry) {
+        HibernateSessionMetrics.bindTo(registry);
+        return properties -> properties.put("hibernate.session.events.auto", HibernateSessionMetrics.class.getName());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Lese-Replikat: aktiv, sobald {@code ghostnet.datasource.replica.url} gesetzt ist.
+ * <p>
+ * Die primäre Datenbank kommt wie bisher aus {@code spring.datasource.*}. Beide Pools
+ * liegen hinter {@link ReadWriteRoutingDataSource}; die Anwendung sieht nur den
+ * {@link LazyConnectionDataSourceProxy} davor. Schreibzugriffe bleiben immer auf der
+ * primären Datenbank; Lesezugriffe lassen sich über weitere Replikate hinter einem
+ * Load-Balancer horizontal skalieren. Poolgrößen usw. gelten aus
+ * {@code spring.datasource.hikari.*} für beide Pools.
+ */
+@Configuration
+@ConditionalOnExpression("!'${ghostnet.datasource.replica.url:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primary");
+        return ds;
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${ghostnet.datasource.replica.url}") String url,
+                                              @Value("${ghostnet.datasource.replica.username:}") String username,
+                                              @Value("${ghostnet.datasource.replica.password:}") String password) {
+        HikariDataSource ds = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username.isBlank() ? properties.determineUsername() : username)
+                .password(password.isBlank() ? properties.determinePassword() : password)
+                .build();
+        ds.setPoolName("replica");
+        ds.setReadOnly(true);
+        return ds;
+    }
+
+    @Bean(defaultCandidate = false)
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                        @Qualifier("replicaDataSource") DataSource replica) {
+        return new ReadWriteRoutingDataSource(primary, replica);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("routingDataSource") ReadWriteRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean(initMethod = "check")
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Qualifier("routingDataSource") ReadWriteRoutingDataSource routing,
+            @Value("${ghostnet.datasource.replica.lag-query:" + PG_LAG_QUERY + "}") String lagQuery,
+            @Value("${ghostnet.datasource.replica.max-lag-ms:5000}") long maxLagMillis) {
+        return new ReplicaLagMonitor(replica, routing, lagQuery, maxLagMillis);
+    }
+
+    /**
+     * Verzug eines PostgreSQL-Standbys in ms; 0, wenn alles Empfangene eingespielt ist
+     * (sonst würde ein ruhiger Primary als Verzug erscheinen).
+     */
+    static final String PG_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+}
@@ -0,0 +1,79 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Leitet Verbindungen von Read-only-Transaktionen
+ * ({@code @Transactional(readOnly = true)}, auch die Lesemethoden der Spring-Data-Repositories)
+ * an das Lese-Replikat, alle übrigen an die primäre Datenbank.
+ * <p>
+ * Das Replikat wird nur genutzt, solange {@link ReplicaLagMonitor} es für aktuell genug
+ * hält. Schlägt der Verbindungsaufbau zum Replikat fehl, wird es als nicht verfügbar
+ * markiert und die Anfrage auf die primäre Datenbank umgeleitet.
+ * <p>
+ * Muss hinter einem {@code LazyConnectionDataSourceProxy} liegen: Erst beim ersten
+ * Statement – nachdem der Transaktionsmanager das Read-only-Flag gesetzt hat – wird
+ * die tatsächliche Verbindung geholt.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    /** Ziel einer Verbindung. */
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final DataSource primary;
+
+    /** Wird von {@link ReplicaLagMonitor} gepflegt; bis zur ersten Prüfung geht alles an die primäre DB. */
+    private volatile boolean replicaAvailable;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public void setReplicaAvailable(boolean replicaAvailable) {
+        if (this.replicaAvailable != replicaAvailable) {
+            log.info("Lese-Replikat {}", replicaAvailable ? "wird verwendet" : "nicht verfügbar – Lesezugriffe auf primäre DB");
+        }
+        this.replicaAvailable = replicaAvailable;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return replicaAvailable && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Route.REPLICA
+                : Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() != Route.REPLICA) {
+            return primary.getConnection();
+        }
+        try {
+            return super.getConnection();
+        } catch (SQLException e) {
+            log.warn("Verbindung zum Lese-Replikat fehlgeschlagen: {}", e.getMessage());
+            setReplicaAvailable(false);
+            return primary.getConnection();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetArchivedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.ReadModelResyncEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.UserChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entfernt Einträge, die eine andere Instanz geändert hat, aus dem Second-Level-Cache
+ * (lokale Änderungen pflegt Hibernate selbst). Query-Ergebnisse werden dabei komplett
+ * verworfen, weil sich nicht feststellen lässt, welche betroffen sind.
+ */
+@Component
+public class RemoteChangeCacheEvictor {
+
+    private final Cache cache;
+
+    public RemoteChangeCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @EventListener(condition = "#event.remote")
+    public void onGhostNetChanged(GhostNetChangedEvent event) {
+        cache.evictEntityData(GhostNet.class, event.getAfter().getId());
+        cache.evictQueryRegions();
+    }
+
+    @EventListener(condition = "#event.remote")
+    public void onGhostNetArchived(GhostNetArchivedEvent event) {
+        for (GhostNetSnapshot net : event.getNets()) {
+            cache.evictEntityData(GhostNet.class, net.getId());
+        }
+        cache.evictQueryRegions();
+    }
+
+    @EventListener(condition = "#event.remote")
+    public void onUserChanged(UserChangedEvent event) {
+        cache.evictEntityData(User.class, event.getUserId());
+        cache.evictQueryRegions();
+    }
+
+    @EventListener
+    public void onResync(ReadModelResyncEvent event) {
+        cache.evictAllRegions();
+    }
+}
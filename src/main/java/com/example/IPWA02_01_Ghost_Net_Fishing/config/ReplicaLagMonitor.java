@@ -0,0 +1,76 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Prüft periodisch Erreichbarkeit und Replikationsverzug des Lese-Replikats und
+ * schaltet {@link ReadWriteRoutingDataSource} entsprechend um.
+ * <p>
+ * Der Verzug wird per {@code lagQuery} in Millisekunden ermittelt (Standard: PostgreSQL-
+ * Standby). Ohne Abfrage – etwa für eine zweite H2-Instanz in Tests – zählt nur die
+ * Erreichbarkeit.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replica;
+    private final ReadWriteRoutingDataSource routing;
+    private final String lagQuery;
+    private final long maxLagMillis;
+
+    /** Zuletzt gemessener Verzug; {@code -1} = unbekannt/nicht erreichbar. */
+    private volatile long lastLagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource replica, ReadWriteRoutingDataSource routing,
+                             String lagQuery, long maxLagMillis) {
+        this.replica = replica;
+        this.routing = routing;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    /**
+     * Misst den Verzug und gibt das Replikat frei oder sperrt es.
+     */
+    @Scheduled(fixedDelayString = "${ghostnet.datasource.replica.check-interval-ms:2000}")
+    public void check() {
+        long lag;
+        try (Connection c = replica.getConnection()) {
+            lag = lagQuery == null ? (c.isValid(1) ? 0 : -1) : queryLag(c);
+        } catch (SQLException e) {
+            log.debug("Lese-Replikat nicht erreichbar: {}", e.getMessage());
+            lag = -1;
+        }
+        lastLagMillis = lag;
+        boolean usable = lag >= 0 && lag <= maxLagMillis;
+        if (lag > maxLagMillis) {
+            log.debug("Lese-Replikat hängt {} ms hinterher (erlaubt {} ms)", lag, maxLagMillis);
+        }
+        routing.setReplicaAvailable(usable);
+    }
+
+    /** @return zuletzt gemessener Verzug in ms, {@code -1} wenn unbekannt */
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    private long queryLag(Connection c) throws SQLException {
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return -1;
+            }
+            double lag = rs.getDouble(1);
+            // NULL: kein Standby bzw. noch nichts repliziert – als aktuell werten
+            return rs.wasNull() ? 0 : Math.max(0, Math.round(lag));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+/**
+ * Prioritätsklasse eines Endpunkts für die Lastbegrenzung.
+ * <p>
+ * Alle Klassen teilen sich eine gemeinsame Grenze; niedrigere Klassen dürfen nur einen
+ * Teil davon belegen. Der Rest bleibt z. B. für Statusmeldungen von See frei, auch
+ * wenn gerade viele Listen abgerufen werden.
+ */
+public enum RequestPriority {
+
+    /** Statusänderungen und neue Meldungen – dürfen die ganze Grenze nutzen. */
+    CRITICAL(1.0),
+    /** Alles ohne eigene Einstufung. */
+    NORMAL(0.8),
+    /** Große Lesezugriffe und Exporte (Gesamtliste, Historie). */
+    BULK(0.5);
+
+    private final double share;
+
+    RequestPriority(double share) {
+        this.share = share;
+    }
+
+    /** @return Anteil der gemeinsamen Grenze, den diese Klasse belegen darf */
+    public double share() {
+        return share;
+    }
+}
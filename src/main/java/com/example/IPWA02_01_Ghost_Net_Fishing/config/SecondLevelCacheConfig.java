@@ -0,0 +1,102 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.User;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Hibernate-Second-Level-Cache (Ehcache 3 über JCache) für {@link User} und {@link GhostNet}
+ * sowie Query-Cache für die als cachebar markierten Repository-Abfragen.
+ * <p>
+ * Alle Regionen werden hier angelegt und sind begrenzt (Einträge im Heap, optional Off-Heap);
+ * fehlt eine, bricht der Start ab. Die Entities nutzen {@code READ_WRITE}: Schreibzugriffe
+ * über Hibernate sperren den Eintrag bis zum Commit und ersetzen ihn dann – Leser bekommen
+ * nie einen älteren Stand als die DB. Bulk-Updates (JPQL) leeren die ganze Region.
+ * <p>
+ * Die Lebensdauer ist eine Absicherung für Änderungen an Hibernate vorbei (anderer Knoten,
+ * direkte SQL-Änderung, Lesen vom nachlaufenden Replikat). Trefferquoten je Region liefern
+ * die Hibernate-Statistiken ({@code hibernate.second.level.cache.*}, {@code hibernate.query.cache.*}).
+ * <p>
+ * Mit {@code ghostnet.cache.enabled=false} wird der Cache ausdrücklich abgeschaltet –
+ * sonst fände Hibernate die JCache-Anbindung auf dem Klassenpfad selbst.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final String ENABLED = "ghostnet.cache.enabled";
+
+    /** Ein Eintrag je Tabelle – darf nie verdrängt werden, sonst gälten veraltete Query-Ergebnisse als aktuell. */
+    private static final long TIMESTAMP_ENTRIES = 1_000;
+
+    /**
+     * Eigener CacheManager je Anwendungskontext (eindeutige URI), damit mehrere Kontexte
+     * in einer JVM (Tests) sich keine Regionen teilen.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true", matchIfMissing = true)
+    public CacheManager hibernateCacheManager(@Value("${ghostnet.cache.heap-entries:10000}") long heapEntries,
+                                              @Value("${ghostnet.cache.offheap-mb:0}") long offheapMb,
+                                              @Value("${ghostnet.cache.time-to-live-seconds:600}") long ttlSeconds) {
+        if (heapEntries < 1 || offheapMb < 0 || ttlSeconds < 1) {
+            throw new IllegalArgumentException("ghostnet.cache.*: heap-entries und time-to-live-seconds müssen >= 1, offheap-mb >= 0 sein");
+        }
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("ghostnet:" + UUID.randomUUID()),
+                new DefaultConfiguration(provider.getDefaultClassLoader()));
+
+        ResourcePoolsBuilder pools = ResourcePoolsBuilder.heap(heapEntries);
+        if (offheapMb > 0) {
+            pools = pools.offheap(offheapMb, MemoryUnit.MB);
+        }
+        CacheConfigurationBuilder<Object, Object> entries = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, pools)
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds)));
+        for (String region : new String[]{User.class.getName(), GhostNet.class.getName(),
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME}) {
+            cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(entries));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                Eh107Configuration.fromEhcacheCacheConfiguration(CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(TIMESTAMP_ENTRIES))));
+        return cacheManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true", matchIfMissing = true)
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "false")
+    public HibernatePropertiesCustomizer noSecondLevelCache() {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", false);
+            properties.put("hibernate.cache.use_query_cache", false);
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetShardRouter;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitet Verbindungen an die Shard, die {@link GhostNetShardRouter#on} für den aktuellen
+ * Thread gesetzt hat; ohne Angabe an Shard 0.
+ * <p>
+ * Muss wie {@link ReadWriteRoutingDataSource} hinter einem
+ * {@code LazyConnectionDataSourceProxy} liegen, damit die Shard erst beim ersten
+ * Statement einer Transaktion feststehen muss.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final List<DataSource> shards;
+
+    /**
+     * @param shards Datenquellen je Shard, Index = Shard-Nummer
+     */
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /** @return Datenquelle der Shard (am Routing vorbei) */
+    public DataSource getShard(int shard) {
+        return shards.get(shard);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return GhostNetShardRouter.currentShard();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * SQL-Überwachung: {@link SqlStatementMonitor} als Hibernate-{@code StatementInspector}
+ * und ein Filter, der jeden HTTP-Request als Zählbereich klammert.
+ */
+@Configuration
+public class SqlMonitorConfig {
+
+    @Bean
+    public SqlStatementMonitor sqlStatementMonitor(MeterRegistry registry,
+                                                   @Value("${ghostnet.sql.slow-threshold-ms:200}") long slowThresholdMillis,
+                                                   @Value("${ghostnet.sql.sample-rate:0.001}") double sampleRate,
+                                                   @Value("${ghostnet.sql.request-budget:25}") int requestBudget,
+                                                   @Value("${ghostnet.sql.repeat-threshold:10}") int repeatThreshold) {
+        return new SqlStatementMonitor(registry, slowThresholdMillis, sampleRate, requestBudget, repeatThreshold);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspector(SqlStatementMonitor monitor) {
+        HibernateSessionMetrics.monitorWith(monitor);
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", monitor);
+    }
+
+    /**
+     * Äußerster Filter, damit auch Statements aus späteren Filtern (Open-Session-in-View) zählen.
+     */
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> sqlRequestScopeFilter(SqlStatementMonitor monitor) {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                monitor.beginRequest();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    monitor.endRequest(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()));
+                }
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Überwacht die SQL-Statements von Hibernate (Ersatz für {@code spring.jpa.show-sql}).
+ * <ul>
+ *   <li>Statements über {@code slowThresholdMillis} werden mit Muster und Aufrufstelle
+ *       geloggt, von den übrigen nur eine Stichprobe.</li>
+ *   <li>Je HTTP-Request ({@link #beginRequest()}/{@link #endRequest(String)}) wird gezählt;
+ *       überschreitet ein Request das Budget oder wiederholt er dasselbe Statement zu oft
+ *       (typisch N+1), gibt es eine Warnung.</li>
+ * </ul>
+ * Hibernate ruft {@link #inspect(String)} beim Vorbereiten auf; die Dauer liefert
+ * {@link HibernateSessionMetrics} nach der Ausführung über {@link #executed(long)} –
+ * beides im selben Thread. Geloggt wird über den Logger {@code ghostnet.sql}
+ * (asynchron, siehe {@code logback-spring.xml}).
+ */
+public class SqlStatementMonitor implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger("ghostnet.sql");
+
+    private static final String APP_PACKAGE = "com.example.IPWA02_01_Ghost_Net_Fishing.";
+    private static final String CONFIG_PACKAGE = APP_PACKAGE + "config.";
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int requestBudget;
+    private final int repeatThreshold;
+    private final Counter slowStatements;
+    private final Counter requestWarnings;
+
+    private final ThreadLocal<String> currentSql = new ThreadLocal<>();
+    private final ThreadLocal<RequestScope> requestScope = new ThreadLocal<>();
+
+    /**
+     * @param slowThresholdMillis ab dieser Dauer wird jedes Statement geloggt
+     * @param sampleRate          Anteil (0–1) der übrigen Statements, der geloggt wird
+     * @param requestBudget       maximale Statements je Request ohne Warnung
+     * @param repeatThreshold     ab so vielen gleichen Statements je Request: N+1-Warnung
+     * @throws IllegalArgumentException bei negativen Werten oder Stichprobe außerhalb 0–1
+     */
+    public SqlStatementMonitor(MeterRegistry registry, long slowThresholdMillis, double sampleRate,
+                               int requestBudget, int repeatThreshold) {
+        if (slowThresholdMillis < 0 || requestBudget < 0 || repeatThreshold < 2) {
+            throw new IllegalArgumentException("ghostnet.sql.*: Schwellen müssen >= 0 sein (repeat-threshold >= 2)");
+        }
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("ghostnet.sql.sample-rate muss zwischen 0 und 1 liegen");
+        }
+        this.slowThresholdNanos = slowThresholdMillis * 1_000_000;
+        this.sampleRate = sampleRate;
+        this.requestBudget = requestBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.slowStatements = Counter.builder("ghostnet.sql.slow")
+                .description("SQL-Statements über der Langsam-Schwelle")
+                .register(registry);
+        this.requestWarnings = Counter.builder("ghostnet.sql.request.warnings")
+                .description("Requests über dem Statement-Budget oder mit wiederholten Statements")
+                .register(registry);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        currentSql.set(sql);
+        return sql;
+    }
+
+    /**
+     * Nach der Ausführung des zuletzt vorbereiteten Statements.
+     *
+     * @param nanos Ausführungsdauer
+     */
+    void executed(long nanos) {
+        String sql = currentSql.get();
+        if (sql == null) {
+            return;
+        }
+        RequestScope scope = requestScope.get();
+        if (scope != null) {
+            scope.record(sql, repeatThreshold);
+        }
+        if (nanos >= slowThresholdNanos) {
+            slowStatements.increment();
+            log.warn("Langsames SQL ({} ms) in {}: {}", millis(nanos), callSite(), shape(sql));
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("SQL-Stichprobe ({} ms): {}", millis(nanos), shape(sql));
+        }
+    }
+
+    /**
+     * Beginnt die Zählung für den Request im aktuellen Thread.
+     */
+    public void beginRequest() {
+        requestScope.set(new RequestScope());
+    }
+
+    /**
+     * @return bisher gezählte Statements des laufenden Requests (0 außerhalb eines Requests)
+     */
+    public int currentRequestStatements() {
+        RequestScope scope = requestScope.get();
+        return scope == null ? 0 : scope.total;
+    }
+
+    /**
+     * Beendet die Zählung und warnt bei Budgetüberschreitung oder wiederholten Statements.
+     *
+     * @param request Beschreibung für das Log, z. B. {@code GET /api/ghostnets}
+     */
+    public void endRequest(String request) {
+        RequestScope scope = requestScope.get();
+        requestScope.remove();
+        currentSql.remove();
+        if (scope == null) {
+            return;
+        }
+        boolean overBudget = scope.total > requestBudget;
+        boolean repeated = scope.repeatedSql != null;
+        if (overBudget) {
+            log.warn("{}: {} SQL-Statements (Budget {})", request, scope.total, requestBudget);
+        }
+        if (repeated) {
+            log.warn("{}: mögliches N+1 – {}x dasselbe Statement in {}: {}",
+                    request, scope.counts.get(scope.repeatedSql), scope.repeatSite, shape(scope.repeatedSql));
+        }
+        if (overBudget || repeated) {
+            requestWarnings.increment();
+        }
+    }
+
+    /**
+     * Statement-Muster fürs Log: Leerraum zusammengefasst, IN-Listen als {@code (?…)}.
+     */
+    static String shape(String sql) {
+        String s = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(s).replaceAll("(?…)");
+    }
+
+    /**
+     * Erster Aufrufer aus der Anwendung (außerhalb von {@code config}, ohne Spring-Proxys), z. B. {@code GhostNetService.updateStatus:212}.
+     */
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(APP_PACKAGE) && !f.getClassName().startsWith(CONFIG_PACKAGE)
+                        && !f.getClassName().contains("$$"))
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1)
+                        + "." + f.getMethodName() + ":" + f.getLineNumber())
+                .orElse("?"));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+    }
+
+    /** Zähler eines Requests (nur vom Request-Thread benutzt). */
+    private static final class RequestScope {
+
+        /** Schlüssel ist das SQL von Hibernate – gleiche Abfragen liefern denselben String. */
+        final Map<String, Integer> counts = new HashMap<>();
+        int total;
+        String repeatedSql;
+        String repeatSite;
+
+        void record(String sql, int repeatThreshold) {
+            total++;
+            int n = counts.merge(sql, 1, Integer::sum);
+            if (n == repeatThreshold && repeatedSql == null) {
+                repeatedSql = sql;
+                repeatSite = callSite();
+            }
+        }
+    }
+}
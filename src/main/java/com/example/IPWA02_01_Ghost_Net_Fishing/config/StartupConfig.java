@@ -0,0 +1,41 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Start mit {@code spring.main.lazy-initialization=true} (Profil {@code fast-start}):
+ * Beans entstehen erst beim ersten Zugriff bzw. beim Vorwärmen ({@link StartupPrewarmer}).
+ * <p>
+ * Ausgenommen sind Beans, die niemand abruft und die trotzdem laufen müssen – solche mit
+ * {@code @Scheduled}-Methoden (Archiv, Abgleich, Replikat- und Cluster-Überwachung; die
+ * Zeitpläne werden erst beim Anlegen der Bean registriert) und die Vorbereitung der Shards.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBackgroundBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (GhostNetShardInitializer.class.isAssignableFrom(beanType) || hasScheduledMethods(beanType));
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        Class<?> type = ClassUtils.getUserClass(beanType);
+        if (!AnnotationUtils.isCandidateClass(type, List.of(Scheduled.class, Schedules.class))) {
+            return false;
+        }
+        return !MethodIntrospector.selectMethods(type, (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                        || AnnotatedElementUtils.hasAnnotation(method, Schedules.class) ? Boolean.TRUE : null).isEmpty();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.UserRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetShardRouter;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetTileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Wärmt nach dem Start im Hintergrund vor ({@code ghostnet.startup.prewarm=true}, Profil
+ * {@code fast-start}), damit die ersten Requests nicht die Kosten des schnellen Starts tragen:
+ * <ol>
+ *   <li>legt die noch nicht erzeugten Beans an (bei {@code spring.main.lazy-initialization=true}
+ *       u. a. Controller, Kacheldienst, Repositories),</li>
+ *   <li>lädt Benutzer und Netze in den Second-Level-Cache (höchstens
+ *       {@code ghostnet.cache.heap-entries} je Region),</li>
+ *   <li>kodiert die Kacheln bis {@code ghostnet.startup.prewarm-tile-zoom}.</li>
+ * </ol>
+ * Die Lesemodelle werden davon unabhängig wie bisher beim Start befüllt. Fehler beim
+ * Vorwärmen werden nur protokolliert – der betroffene Teil entsteht dann beim ersten Zugriff.
+ * <p>
+ * Wird der Kontext vorher geschlossen, bricht das Vorwärmen beim nächsten Schritt ab; das
+ * Schließen wartet darauf, damit kein Zugriff mehr auf die bereits beendete Persistenz folgt.
+ */
+@Component
+public class StartupPrewarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupPrewarmer.class);
+
+    /** Höchste vorgewärmte Zoomstufe: 4 sind bereits 341 Kacheln. */
+    private static final int MAX_TILE_ZOOM = 4;
+
+    /** Höchstens so lange wartet das Schließen des Kontexts auf das Vorwärmen. */
+    private static final long STOP_TIMEOUT_MILLIS = 5_000;
+
+    private final boolean enabled;
+    private final int tileZoom;
+    private final boolean cacheEnabled;
+    private final int cacheEntries;
+
+    private volatile Thread worker;
+    /** Gesetzt beim Schließen des Kontexts; das Interrupt-Flag kann unterwegs verloren gehen. */
+    private volatile boolean closing;
+
+    public StartupPrewarmer(@Value("${ghostnet.startup.prewarm:false}") boolean enabled,
+                            @Value("${ghostnet.startup.prewarm-tile-zoom:2}") int tileZoom,
+                            @Value("${ghostnet.cache.enabled:true}") boolean cacheEnabled,
+                            @Value("${ghostnet.cache.heap-entries:10000}") long cacheEntries) {
+        if (tileZoom < -1 || tileZoom > MAX_TILE_ZOOM) {
+            throw new IllegalArgumentException("ghostnet.startup.prewarm-tile-zoom muss zwischen -1 und "
+                    + MAX_TILE_ZOOM + " liegen");
+        }
+        this.enabled = enabled;
+        this.tileZoom = tileZoom;
+        this.cacheEnabled = cacheEnabled;
+        this.cacheEntries = (int) Math.min(cacheEntries, Integer.MAX_VALUE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        Thread thread = new Thread(() -> prewarm(context), "ghostnet-prewarm");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    /**
+     * Bricht ein laufendes Vorwärmen ab. {@code context.isActive()} wird erst nach dem
+     * Schließen der Beans {@code false} und genügt daher nicht.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onClosed() {
+        closing = true;
+        Thread thread = worker;
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void prewarm(ConfigurableApplicationContext context) {
+        long start = System.nanoTime();
+        int beans = createRemainingBeans(context);
+        int users = 0;
+        int nets = 0;
+        if (cacheEnabled && !stopped(context)) {
+            try {
+                PageRequest page = PageRequest.of(0, cacheEntries);
+                users = context.getBean(UserRepository.class).findAll(page).getNumberOfElements();
+                GhostNetRepository ghostNets = context.getBean(GhostNetRepository.class);
+                List<GhostNet> loaded = context.getBean(GhostNetShardRouter.class)
+                        .gatherAll(() -> ghostNets.findAll(page).getContent());
+                nets = loaded.size();
+            } catch (RuntimeException e) {
+                warn(context, "Vorwärmen des Second-Level-Caches fehlgeschlagen", e);
+            }
+        }
+        int tiles = 0;
+        if (tileZoom >= 0 && !stopped(context)) {
+            try {
+                GhostNetTileService tileService = context.getBean(GhostNetTileService.class);
+                tiles:
+                for (int z = 0; z <= tileZoom; z++) {
+                    for (int x = 0; x < 1 << z; x++) {
+                        for (int y = 0; y < 1 << z; y++) {
+                            if (stopped(context)) {
+                                break tiles;
+                            }
+                            tileService.getTile(z, x, y);
+                            tiles++;
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                warn(context, "Vorwärmen der Kacheln fehlgeschlagen", e);
+            }
+        }
+        log.info("Vorgewärmt{} in {} ms: {} Beans, {} Benutzer, {} Netze, {} Kacheln",
+                stopped(context) ? " (abgebrochen)" : "", (System.nanoTime() - start) / 1_000_000,
+                beans, users, nets, tiles);
+    }
+
+    /** @return {@code true}, wenn der Kontext geschlossen wird */
+    private boolean stopped(ConfigurableApplicationContext context) {
+        return closing || Thread.currentThread().isInterrupted() || !context.isActive();
+    }
+
+    /** Fehler beim Herunterfahren sind erwartet und werden nur im Debug-Log vermerkt. */
+    private void warn(ConfigurableApplicationContext context, String message, RuntimeException e) {
+        if (stopped(context)) {
+            log.debug(message, e);
+        } else {
+            log.warn(message, e);
+        }
+    }
+
+    private int createRemainingBeans(ConfigurableApplicationContext context) {
+        ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+        int created = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            if (stopped(context)) {
+                break;
+            }
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.isAbstract() || !definition.isSingleton() || !definition.isLazyInit()
+                    || beanFactory.containsSingleton(name)) {
+                continue;
+            }
+            try {
+                beanFactory.getBean(name);
+                created++;
+            } catch (RuntimeException e) {
+                log.debug("Bean {} wird erst beim ersten Zugriff angelegt", name, e);
+            }
+        }
+        return created;
+    }
+}
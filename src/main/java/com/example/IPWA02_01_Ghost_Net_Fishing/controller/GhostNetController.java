@@ -1,14 +1,50 @@
 package com.example.IPWA02_01_Ghost_Net_Fishing.controller;
 
+import com.example.IPWA02_01_Ghost_Net_Fishing.codec.GhostNetColumnarEncoder;
+import com.example.IPWA02_01_Ghost_Net_Fishing.codec.GhostNetJson;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.ArchiveRunResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.DispatchResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetField;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetFilterRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetFilterResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetHeatmapResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetHistogramResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetHistoryResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetListResponse;
 import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetRequest;
 import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetStatsResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.HistogramGranularity;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.HotspotResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.RegionBackfillResponse;
 import com.example.IPWA02_01_Ghost_Net_Fishing.dto.UpdateGhostNetStatusRequest;
 import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetArchiveService;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetColumnStore;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetDensityGridService;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetDispatchService;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetHistogramService;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetRegionService;
 import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetService;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetStatsService;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetTileService;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.HotspotService;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.UserService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * REST-API-Endpunkte für GhostNets.
@@ -17,19 +53,286 @@ import java.util.List;
 @RequestMapping("/api/ghostnets")
 public class GhostNetController {
 
+    private static final MediaType MVT_MEDIA_TYPE = MediaType.parseMediaType("application/vnd.mapbox-vector-tile");
+
     private final GhostNetService service;
+    private final UserService userService;
+    private final GhostNetStatsService statsService;
+    private final GhostNetHistogramService histogramService;
+    private final GhostNetDensityGridService densityGridService;
+    private final HotspotService hotspotService;
+    private final GhostNetTileService tileService;
+    private final GhostNetColumnStore columnStore;
+    private final GhostNetDispatchService dispatchService;
+    private final GhostNetRegionService regionService;
+    private final GhostNetArchiveService archiveService;
 
-    public GhostNetController(GhostNetService service) {
+    public GhostNetController(GhostNetService service, UserService userService,
+                              GhostNetStatsService statsService, GhostNetHistogramService histogramService,
+                              GhostNetDensityGridService densityGridService, HotspotService hotspotService,
+                              GhostNetTileService tileService, GhostNetColumnStore columnStore,
+                              GhostNetDispatchService dispatchService, GhostNetRegionService regionService,
+                              GhostNetArchiveService archiveService) {
         this.service = service;
+        this.userService = userService;
+        this.statsService = statsService;
+        this.histogramService = histogramService;
+        this.densityGridService = densityGridService;
+        this.hotspotService = hotspotService;
+        this.tileService = tileService;
+        this.columnStore = columnStore;
+        this.dispatchService = dispatchService;
+        this.regionService = regionService;
+        this.archiveService = archiveService;
     }
 
     /**
-     * GET /api/ghostnets
-     * Gibt alle Geisternetze zurück.
+     * GET /api/ghostnets[?fields=id,latitude,longitude,status][&region=Nordsee]
+     * Gibt alle Geisternetze zurück, optional nur die eines Meeresgebiets.
+     * <p>
+     * Die Ausgabe wird direkt gestreamt (siehe {@code GhostNetJsonConverter});
+     * mit {@code fields} lassen sich einzelne Felder auswählen.
+     *
+     * @param fields kommagetrennte Feldnamen (optional, Standard: alle)
+     * @param region Meeresgebiet (optional)
      */
     @GetMapping
-    public List<GhostNet> getAllGhostNets() {
-        return service.getAllGhostNets();
+    public ResponseEntity<GhostNetJson> getAllGhostNets(@RequestParam(required = false) String fields,
+                                                        @RequestParam(required = false) String region) {
+        Set<GhostNetField> selected;
+        try {
+            selected = GhostNetField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            // Unbekannter Feldname
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(GhostNetJson.list(findNets(region), selected));
+    }
+
+    /**
+     * GET /api/ghostnets mit {@code Accept: application/vnd.ghostnet.columnar}
+     * Gibt alle Geisternetze im kompakten Binärformat für die Karte zurück
+     * (ID, Koordinaten, Status, Größe – siehe {@link GhostNetColumnarEncoder}).
+     *
+     * @param region Meeresgebiet (optional)
+     */
+    @GetMapping(produces = GhostNetColumnarEncoder.MEDIA_TYPE)
+    public byte[] getAllGhostNetsColumnar(@RequestParam(required = false) String region) {
+        return GhostNetColumnarEncoder.encode(findNets(region));
+    }
+
+    /**
+     * GET /api/ghostnets/regions
+     * Anzahl Netze je Meeresgebiet.
+     */
+    @GetMapping("/regions")
+    public Map<String, Long> getRegions() {
+        return regionService.countByRegion();
+    }
+
+    /**
+     * POST /api/ghostnets/regions/backfill[?all=true]
+     * Ordnet bestehende Netze einem Meeresgebiet zu – standardmäßig nur Netze ohne
+     * Gebiet, mit {@code all=true} alle (z. B. nach Austausch der Gebietsdatei).
+     */
+    @PostMapping("/regions/backfill")
+    public RegionBackfillResponse backfillRegions(@RequestParam(defaultValue = "false") boolean all) {
+        return regionService.backfill(all);
+    }
+
+    /**
+     * GET /api/ghostnets/history?status=RECOVERED&region=..&from=..&to=..&afterId=0&limit=100
+     * Historie archivierter (abgeschlossener) Netze, aufsteigend nach ID.
+     * <p>
+     * Die übrigen Lese-Endpunkte liefern nur die Arbeitstabelle; ältere abgeschlossene
+     * Netze sind ausschließlich hier abrufbar. Für die nächste Seite {@code afterId}
+     * auf {@code nextAfterId} setzen.
+     *
+     * @param from Abschluss ab (ISO-8601, inklusive)
+     * @param to   Abschluss bis (ISO-8601, exklusive)
+     */
+    @GetMapping("/history")
+    public ResponseEntity<GhostNetHistoryResponse> getHistory(
+            @RequestParam(required = false) GhostNetStatus status,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(archiveService.history(status, region, from, to, afterId, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * POST /api/ghostnets/archive/run
+     * Verschiebt abgeschlossene Netze, die älter als die Frist sind, sofort ins Archiv.
+     */
+    @PostMapping("/archive/run")
+    public ArchiveRunResponse runArchive() {
+        return archiveService.run();
+    }
+
+    /**
+     * GET /api/ghostnets/with-users
+     * Gibt alle Geisternetze samt dedupliziertem User-Wörterbuch zurück.
+     * <p>
+     * Alle referenzierten User (Meldende, Bergende) werden mit einer einzigen
+     * Abfrage aufgelöst – keine Einzel-Requests pro Karte nötig.
+     */
+    @GetMapping("/with-users")
+    public GhostNetListResponse getAllGhostNetsWithUsers() {
+        List<GhostNet> nets = service.getAllGhostNets();
+
+        List<GhostNetResponse> responses = new ArrayList<>(nets.size());
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (GhostNet net : nets) {
+            GhostNetResponse response = toResponse(net);
+            responses.add(response);
+            addIfPresent(userIds, response.getReportedByUserId());
+            addIfPresent(userIds, response.getScheduledByUserId());
+            addIfPresent(userIds, response.getRecoveredByUserId());
+        }
+
+        return new GhostNetListResponse(responses, userService.resolveUsers(userIds));
+    }
+
+    /**
+     * GET /api/ghostnets/filter?status=REPORTED,SCHEDULED&minLat=..&minSize=..&from=..&reportedBy=..
+     * Ad-hoc-Filter über alle Netze; beliebige Kriterien kombinierbar.
+     * <p>
+     * Wird aus dem spaltenorientierten In-Memory-Modell bedient (keine DB-Abfrage)
+     * und liefert nur die IDs der Treffer.
+     */
+    @GetMapping("/filter")
+    public GhostNetFilterResponse filter(GhostNetFilterRequest filter) {
+        return columnStore.filter(filter);
+    }
+
+    /**
+     * GET /api/ghostnets/stats
+     * Dashboard-Kennzahlen (Anzahl je Status, Gesamtgröße, Bergungen je User).
+     * <p>
+     * Wird aus In-Memory-Zählern bedient und verursacht keine DB-Abfrage.
+     */
+    @GetMapping("/stats")
+    public GhostNetStatsResponse getStats() {
+        return statsService.getStats();
+    }
+
+    /**
+     * GET /api/ghostnets/histogram?from=...&to=...&granularity=DAY
+     * Anzahl der Statusübergänge je Stunde/Tag/Woche im Zeitraum {@code [from, to)}.
+     * <p>
+     * Ohne Angabe werden die letzten 30 Tage in Tages-Buckets geliefert.
+     *
+     * @param from        Beginn (ISO-8601, optional)
+     * @param to          Ende (ISO-8601, optional, Standard: jetzt)
+     * @param granularity HOUR, DAY oder WEEK
+     * @return nicht-leere Buckets; 400 bei ungültigem Zeitraum
+     */
+    @GetMapping("/histogram")
+    public ResponseEntity<GhostNetHistogramResponse> getHistogram(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "DAY") HistogramGranularity granularity) {
+
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(30));
+        try {
+            return ResponseEntity.ok(histogramService.getHistogram(start, end, granularity));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * GET /api/ghostnets/heatmap?minLat=..&minLon=..&maxLat=..&maxLon=..[&level=..][&weighted=true]
+     * Dichte-Raster der offenen Netze im Ausschnitt (aus vorberechneten Zellen).
+     *
+     * @param level    Rasterstufe (optional, sonst passend zum Ausschnitt)
+     * @param weighted nach Größe gewichten statt zu zählen
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<GhostNetHeatmapResponse> getHeatmap(
+            @RequestParam(defaultValue = "-90") double minLat,
+            @RequestParam(defaultValue = "-180") double minLon,
+            @RequestParam(defaultValue = "90") double maxLat,
+            @RequestParam(defaultValue = "180") double maxLon,
+            @RequestParam(required = false) Integer level,
+            @RequestParam(defaultValue = "false") boolean weighted) {
+        try {
+            return ResponseEntity.ok(densityGridService.getHeatmap(minLat, minLon, maxLat, maxLon, level, weighted));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * GET /api/ghostnets/hotspots
+     * Liefert das Ergebnis der letzten Hotspot-Erkennung.
+     */
+    @GetMapping("/hotspots")
+    public HotspotResponse getHotspots() {
+        return hotspotService.getLatest();
+    }
+
+    /**
+     * POST /api/ghostnets/hotspots/run
+     * Startet die Hotspot-Erkennung sofort und liefert das neue Ergebnis.
+     */
+    @PostMapping("/hotspots/run")
+    public HotspotResponse runHotspots() {
+        return hotspotService.recompute();
+    }
+
+    /**
+     * GET /api/ghostnets/dispatch?limit=10[&vesselLat=..&vesselLon=..]
+     * Die besten offenen Meldungen für die nächste Bergung (Größe, Alter,
+     * Nähe zu weiteren Netzen und optional Entfernung zum Schiff).
+     *
+     * @param limit     Anzahl (1..100)
+     * @param vesselLat Breitengrad des Schiffs (optional)
+     * @param vesselLon Längengrad des Schiffs (optional)
+     */
+    @GetMapping("/dispatch")
+    public ResponseEntity<DispatchResponse> getDispatch(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Double vesselLat,
+            @RequestParam(required = false) Double vesselLon) {
+        try {
+            return ResponseEntity.ok(dispatchService.topN(limit, vesselLat, vesselLon));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * GET /api/ghostnets/tiles/{z}/{x}/{y}.mvt
+     * Liefert eine Vektorkachel (Ebene {@code ghostnets}, Attribute {@code status} und {@code size}).
+     * <p>
+     * Kacheln kommen aus dem Cache; mit {@code If-None-Match} antwortet der Endpunkt mit 304.
+     */
+    @GetMapping("/tiles/{z}/{x}/{y}.mvt")
+    public ResponseEntity<byte[]> getTile(@PathVariable int z, @PathVariable int x, @PathVariable int y,
+                                          WebRequest webRequest) {
+        GhostNetTileService.Tile tile;
+        try {
+            tile = tileService.getTile(z, x, y);
+        } catch (IllegalArgumentException e) {
+            // Kachel liegt außerhalb des Rasters
+            return ResponseEntity.badRequest().build();
+        }
+        if (webRequest.checkNotModified(tile.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MVT_MEDIA_TYPE)
+                .cacheControl(CacheControl.noCache())
+                .eTag(tile.getEtag())
+                .body(tile.getData());
     }
 
     /**
@@ -41,10 +344,10 @@ public class GhostNetController {
      *
      * @param request  Request-DTO mit Koordinaten und Größe
      * @param userId   optionale User-ID des Meldenden aus dem Header {@code X-User-Id}
-     * @return ResponseEntity mit GhostNetResponse und HTTP-Status 200
+     * @return ResponseEntity im Format von GhostNetResponse und HTTP-Status 200
      */
     @PostMapping("/add")
-    public ResponseEntity<GhostNetResponse> addGhostNet(
+    public ResponseEntity<GhostNetJson> addGhostNet(
             @RequestBody GhostNetRequest request,
             @RequestHeader(value = "X-User-Id", required = false) Long userId) {
 
@@ -58,15 +361,7 @@ public class GhostNetController {
             ghostNet = service.add(request);
         }
 
-        GhostNetResponse response = new GhostNetResponse(
-                ghostNet.getId(),
-                ghostNet.getLatitude(),
-                ghostNet.getLongitude(),
-                ghostNet.getSize(),
-                ghostNet.getStatus()
-        );
-
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(GhostNetJson.response(ghostNet));
     }
 
     /**
@@ -77,25 +372,45 @@ public class GhostNetController {
      *
      * @param id      ID des Geisternetzes
      * @param request Request mit neuem Status und optionaler scheduledByUserId
-     * @return aktualisierte GhostNet-Response
+     * @return aktualisiertes Netz im Format von GhostNetResponse
      */
     @PatchMapping("/{id}/status")
-    public ResponseEntity<GhostNetResponse> updateStatus(
+    public ResponseEntity<GhostNetJson> updateStatus(
             @PathVariable Long id,
             @RequestBody UpdateGhostNetStatusRequest request) {
 
         GhostNet updated = service.updateStatus(id, request);
 
+        return ResponseEntity.ok(GhostNetJson.response(updated));
+    }
+
+    /**
+     * Baut die vollständige Response inklusive aller User-Referenzen.
+     * (Paketsichtbar für den Mapping-Benchmark.)
+     */
+    static GhostNetResponse toResponse(GhostNet net) {
         GhostNetResponse response = new GhostNetResponse(
-                updated.getId(),
-                updated.getLatitude(),
-                updated.getLongitude(),
-                updated.getSize(),
-                updated.getStatus(),
-                updated.getScheduledBy()
+                net.getId(),
+                net.getLatitude(),
+                net.getLongitude(),
+                net.getSize(),
+                net.getStatus(),
+                net.getScheduledBy()
         );
+        response.setReportedByUserId(net.getReportedBy());
+        response.setRecoveredByUserId(net.getRecoveredBy());
+        return response;
+    }
 
-        return ResponseEntity.ok(response);
+    private static void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
     }
 
+    private List<GhostNet> findNets(String region) {
+        return region == null || region.isBlank()
+                ? service.getAllGhostNets()
+                : service.getGhostNetsByRegion(region);
+    }
 }
@@ -0,0 +1,66 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.controller;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.InboxNotificationResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.InboxService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * REST-Endpunkte für das In-App-Postfach.
+ */
+@RestController
+@RequestMapping("/api/inbox")
+public class InboxController {
+
+    private final InboxService inboxService;
+
+    public InboxController(InboxService inboxService) {
+        this.inboxService = inboxService;
+    }
+
+    /**
+     * GET /api/inbox?unread=false&limit=50
+     * Neueste Benachrichtigungen des Benutzers ({@code X-User-Id}).
+     */
+    @GetMapping
+    public ResponseEntity<List<InboxNotificationResponse>> getInbox(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(defaultValue = "false") boolean unread,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(inboxService.list(userId, unread, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * POST /api/inbox/{id}/read
+     * Markiert eine Benachrichtigung als gelesen.
+     */
+    @PostMapping("/{id}/read")
+    public ResponseEntity<InboxNotificationResponse> markRead(@RequestHeader("X-User-Id") Long userId,
+                                                              @PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(inboxService.markRead(userId, id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * GET /api/inbox/stream?userId=..
+     * Event-Stream (SSE) mit neuen Benachrichtigungen.
+     * <p>
+     * {@code EventSource} im Browser kann keine eigenen Header senden, daher wird
+     * der Benutzer hier als Query-Parameter übergeben.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam Long userId) {
+        return inboxService.openStream(userId);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.controller;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.RegionSubscriptionRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.RegionSubscriptionResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.RegionSubscriptionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST-Endpunkte für Gebiets-Abos. Der Benutzer wird über den Header
+ * {@code X-User-Id} übermittelt.
+ */
+@RestController
+@RequestMapping("/api/subscriptions")
+public class RegionSubscriptionController {
+
+    private final RegionSubscriptionService regionSubscriptionService;
+
+    public RegionSubscriptionController(RegionSubscriptionService regionSubscriptionService) {
+        this.regionSubscriptionService = regionSubscriptionService;
+    }
+
+    /**
+     * GET /api/subscriptions
+     * Alle Gebiets-Abos des Benutzers.
+     */
+    @GetMapping
+    public List<RegionSubscriptionResponse> getSubscriptions(@RequestHeader("X-User-Id") Long userId) {
+        return regionSubscriptionService.listForUser(userId);
+    }
+
+    /**
+     * POST /api/subscriptions
+     * Legt ein Abo an ({@code {"name": "...", "polygon": [[lat,lon],...]}}).
+     *
+     * @return das Abo, oder 400 bei ungültigem Polygon/Benutzer
+     */
+    @PostMapping
+    public ResponseEntity<RegionSubscriptionResponse> createSubscription(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestBody RegionSubscriptionRequest request) {
+        try {
+            return ResponseEntity.ok(regionSubscriptionService.create(userId, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * DELETE /api/subscriptions/{id}
+     * Löscht ein eigenes Abo.
+     *
+     * @return 204, oder 404 wenn es nicht existiert oder einem anderen Benutzer gehört
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSubscription(@RequestHeader("X-User-Id") Long userId,
+                                                   @PathVariable Long id) {
+        try {
+            regionSubscriptionService.delete(userId, id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/user")
@@ -29,6 +30,18 @@ public class UserController {
         return userService.getAllUsers();
     }
 
+    /**
+     * POST /api/user/resolve
+     * Löst mehrere User-IDs in einem Request in Anzeigenamen auf.
+     *
+     * @param request JSON-Body mit {@code ids}
+     * @return Map id → Kurzinfo (unbekannte IDs fehlen)
+     */
+    @PostMapping("/resolve")
+    public Map<Long, UserSummaryResponse> resolveUsers(@RequestBody ResolveUsersRequest request) {
+        return userService.resolveUsers(request.getIds());
+    }
+
     /**
      * POST /api/register
      * Nimmt Registrierungsdaten an, validiert, hasht Passwort und speichert.
@@ -0,0 +1,40 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import java.time.Instant;
+
+/**
+ * Ergebnis eines Archivierungslaufs ({@code POST /api/ghostnets/archive/run}).
+ */
+public class ArchiveRunResponse {
+
+    private final Instant cutoff;
+    private final int archived;
+    private final int batches;
+    private final long tookMillis;
+
+    public ArchiveRunResponse(Instant cutoff, int archived, int batches, long tookMillis) {
+        this.cutoff = cutoff;
+        this.archived = archived;
+        this.batches = batches;
+        this.tookMillis = tookMillis;
+    }
+
+    /** @return Netze, die vor diesem Zeitpunkt abgeschlossen wurden, sind archiviert */
+    public Instant getCutoff() {
+        return cutoff;
+    }
+
+    /** @return Anzahl verschobener Netze */
+    public int getArchived() {
+        return archived;
+    }
+
+    /** @return Anzahl Transaktionen */
+    public int getBatches() {
+        return batches;
+    }
+
+    public long getTookMillis() {
+        return tookMillis;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Rangliste der als Nächstes zu bergenden Netze ({@code GET /api/ghostnets/dispatch}).
+ */
+public class DispatchResponse {
+
+    private final Instant computedAt;
+    private final int candidateCount;
+    private final int visited;
+    private final List<Candidate> candidates;
+
+    public DispatchResponse(Instant computedAt, int candidateCount, int visited, List<Candidate> candidates) {
+        this.computedAt = computedAt;
+        this.candidateCount = candidateCount;
+        this.visited = visited;
+        this.candidates = candidates;
+    }
+
+    /** @return Zeitpunkt, auf den sich das Alter bezieht */
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+
+    /** @return Anzahl aller offenen Meldungen (REPORTED) */
+    public int getCandidateCount() {
+        return candidateCount;
+    }
+
+    /** @return Anzahl tatsächlich bewerteter Netze */
+    public int getVisited() {
+        return visited;
+    }
+
+    /** @return beste Netze, absteigend nach Score */
+    public List<Candidate> getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Ein Netz mit Score und dessen Bestandteilen.
+     */
+    public static class Candidate {
+
+        private final long id;
+        private final double latitude;
+        private final double longitude;
+        private final Double size;
+        private final Instant reportedAt;
+        private final double ageHours;
+        private final int neighbours;
+        private final Double distanceKm;
+        private final double score;
+
+        public Candidate(long id, double latitude, double longitude, Double size, Instant reportedAt,
+                         double ageHours, int neighbours, Double distanceKm, double score) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.size = size;
+            this.reportedAt = reportedAt;
+            this.ageHours = ageHours;
+            this.neighbours = neighbours;
+            this.distanceKm = distanceKm;
+            this.score = score;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public Double getSize() {
+            return size;
+        }
+
+        public Instant getReportedAt() {
+            return reportedAt;
+        }
+
+        /** @return Stunden seit der Meldung */
+        public double getAgeHours() {
+            return ageHours;
+        }
+
+        /** @return Anzahl weiterer offener Meldungen im Umkreis */
+        public int getNeighbours() {
+            return neighbours;
+        }
+
+        /** @return Entfernung zum Schiff ({@code null} ohne Schiffsposition) */
+        public Double getDistanceKm() {
+            return distanceKm;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
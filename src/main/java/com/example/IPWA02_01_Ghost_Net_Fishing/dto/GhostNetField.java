@@ -0,0 +1,97 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Zentrale Felddefinition für die JSON-Ausgabe von Geisternetzen.
+ * <p>
+ * Jedes Feld kennt seinen Namen in der Listen-Ausgabe ({@code GET /api/ghostnets},
+ * Entity-Form) und – sofern vorhanden – in {@link GhostNetResponse}.
+ * Die Reihenfolge der Konstanten ist die Ausgabereihenfolge.
+ */
+public enum GhostNetField {
+
+    ID("id", "id"),
+    LATITUDE("latitude", "latitude"),
+    LONGITUDE("longitude", "longitude"),
+    SIZE("size", "size"),
+    REPORTED_BY("reportedBy", "reportedByUserId"),
+    RECOVERED_BY("recoveredBy", "recoveredByUserId"),
+    SCHEDULED_BY("scheduledBy", "scheduledByUserId"),
+    SCHEDULED_AT("scheduledAt", null),
+    REPORTED_AT("reportedAt", null),
+    RECOVERED_AT("recoveredAt", null),
+    CANCELD_BY("canceldBy", null),
+    CANCELD_AT("canceldAt", null),
+    UPDATED_AT("updatedAt", null),
+    CREATED_AT("createdAt", null),
+    STATUS("status", "status"),
+    REGION("region", null);
+
+    /** Alle Felder – entspricht der bisherigen Entity-Serialisierung. */
+    public static final Set<GhostNetField> ALL = Collections.unmodifiableSet(EnumSet.allOf(GhostNetField.class));
+
+    /** Felder von {@link GhostNetResponse}. */
+    public static final Set<GhostNetField> RESPONSE = Collections.unmodifiableSet(
+            EnumSet.of(ID, LATITUDE, LONGITUDE, SIZE, STATUS, SCHEDULED_BY, REPORTED_BY, RECOVERED_BY));
+
+    private final String entityName;
+    private final String responseName;
+
+    GhostNetField(String entityName, String responseName) {
+        this.entityName = entityName;
+        this.responseName = responseName;
+    }
+
+    /** @return JSON-Name in der Listen-Ausgabe */
+    public String getEntityName() {
+        return entityName;
+    }
+
+    /** @return JSON-Name in {@link GhostNetResponse} oder {@code null}, falls dort nicht enthalten */
+    public String getResponseName() {
+        return responseName;
+    }
+
+    /**
+     * Parst einen {@code fields=}-Parameter (kommagetrennt, Groß-/Kleinschreibung egal).
+     * <p>
+     * Akzeptiert sowohl die Listen- als auch die Response-Namen, z. B.
+     * {@code id,latitude,longitude,status} oder {@code scheduledByUserId}.
+     *
+     * @param fields Parameterwert; {@code null} oder leer bedeutet "alle Felder"
+     * @return gewählte Felder (in Ausgabereihenfolge)
+     * @throws IllegalArgumentException bei unbekannten Feldnamen
+     */
+    public static Set<GhostNetField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<GhostNetField> selected = EnumSet.noneOf(GhostNetField.class);
+        for (String raw : fields.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            selected.add(byName(name));
+        }
+        if (selected.isEmpty()) {
+            return ALL;
+        }
+        return selected;
+    }
+
+    private static GhostNetField byName(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (GhostNetField field : values()) {
+            if (field.entityName.toLowerCase(Locale.ROOT).equals(lower)
+                    || (field.responseName != null && field.responseName.toLowerCase(Locale.ROOT).equals(lower))) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unbekanntes Feld: " + name);
+    }
+}
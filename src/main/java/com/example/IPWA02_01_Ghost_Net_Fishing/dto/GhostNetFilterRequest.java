@@ -0,0 +1,149 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Filterkriterien für {@code GET /api/ghostnets/filter}.
+ * <p>
+ * Alle Kriterien sind optional und werden UND-verknüpft; nicht gesetzte
+ * Kriterien schränken nicht ein. Bindung erfolgt direkt aus den Query-Parametern,
+ * z. B. {@code ?status=REPORTED,SCHEDULED&minSize=10&reportedBy=3}.
+ */
+public class GhostNetFilterRequest {
+
+    /** Erlaubte Status (leer = alle). */
+    private Set<GhostNetStatus> status;
+
+    /** Ausschnitt (Grenzen inklusive). */
+    private Double minLat;
+    private Double maxLat;
+    private Double minLon;
+    private Double maxLon;
+
+    /** Größenbereich; Netze ohne Größe fallen bei gesetztem Bereich heraus. */
+    private Double minSize;
+    private Double maxSize;
+
+    /** Zeitfenster {@code [from, to)} auf dem Übergangszeitpunkt in {@link #timeField}. */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant to;
+
+    /** Welcher Zeitstempel gefiltert wird (Standard: Meldung). */
+    private GhostNetStatus timeField = GhostNetStatus.REPORTED;
+
+    /** Beteiligte Personen als User-ID. */
+    private Long reportedBy;
+    private Long scheduledBy;
+    private Long recoveredBy;
+
+    public Set<GhostNetStatus> getStatus() {
+        return status;
+    }
+
+    public void setStatus(Set<GhostNetStatus> status) {
+        this.status = status;
+    }
+
+    public Double getMinLat() {
+        return minLat;
+    }
+
+    public void setMinLat(Double minLat) {
+        this.minLat = minLat;
+    }
+
+    public Double getMaxLat() {
+        return maxLat;
+    }
+
+    public void setMaxLat(Double maxLat) {
+        this.maxLat = maxLat;
+    }
+
+    public Double getMinLon() {
+        return minLon;
+    }
+
+    public void setMinLon(Double minLon) {
+        this.minLon = minLon;
+    }
+
+    public Double getMaxLon() {
+        return maxLon;
+    }
+
+    public void setMaxLon(Double maxLon) {
+        this.maxLon = maxLon;
+    }
+
+    public Double getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(Double minSize) {
+        this.minSize = minSize;
+    }
+
+    public Double getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(Double maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    public GhostNetStatus getTimeField() {
+        return timeField;
+    }
+
+    public void setTimeField(GhostNetStatus timeField) {
+        this.timeField = timeField;
+    }
+
+    public Long getReportedBy() {
+        return reportedBy;
+    }
+
+    public void setReportedBy(Long reportedBy) {
+        this.reportedBy = reportedBy;
+    }
+
+    public Long getScheduledBy() {
+        return scheduledBy;
+    }
+
+    public void setScheduledBy(Long scheduledBy) {
+        this.scheduledBy = scheduledBy;
+    }
+
+    public Long getRecoveredBy() {
+        return recoveredBy;
+    }
+
+    public void setRecoveredBy(Long recoveredBy) {
+        this.recoveredBy = recoveredBy;
+    }
+}
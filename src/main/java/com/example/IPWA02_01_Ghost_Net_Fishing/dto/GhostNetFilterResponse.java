@@ -0,0 +1,42 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+/**
+ * Ergebnis von {@code GET /api/ghostnets/filter}.
+ * <p>
+ * Enthält nur die IDs der Treffer; die Details liegen im Client bereits aus
+ * {@code GET /api/ghostnets} vor.
+ */
+public class GhostNetFilterResponse {
+
+    private final int count;
+    private final long[] ids;
+    private final int scanned;
+    private final long tookMicros;
+
+    public GhostNetFilterResponse(int count, long[] ids, int scanned, long tookMicros) {
+        this.count = count;
+        this.ids = ids;
+        this.scanned = scanned;
+        this.tookMicros = tookMicros;
+    }
+
+    /** @return Anzahl Treffer */
+    public int getCount() {
+        return count;
+    }
+
+    /** @return IDs der Treffer */
+    public long[] getIds() {
+        return ids;
+    }
+
+    /** @return Anzahl durchsuchter Netze */
+    public int getScanned() {
+        return scanned;
+    }
+
+    /** @return Dauer des Scans in Mikrosekunden */
+    public long getTookMicros() {
+        return tookMicros;
+    }
+}
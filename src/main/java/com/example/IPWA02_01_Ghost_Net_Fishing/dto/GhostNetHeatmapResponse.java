@@ -0,0 +1,88 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import java.util.List;
+
+/**
+ * Dichte-Raster offener Geisternetze für /api/ghostnets/heatmap.
+ * <p>
+ * Zellen sind achsenparallele Rechtecke der Größe {@code cellWidth × cellHeight} Grad;
+ * es werden nur Zellen mit mindestens einem Netz geliefert.
+ */
+public class GhostNetHeatmapResponse {
+
+    private final int level;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final boolean weighted;
+    private final List<Cell> cells;
+
+    public GhostNetHeatmapResponse(int level, double cellWidth, double cellHeight, boolean weighted, List<Cell> cells) {
+        this.level = level;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.weighted = weighted;
+        this.cells = cells;
+    }
+
+    /** @return Rasterstufe (0 = gröbste) */
+    public int getLevel() {
+        return level;
+    }
+
+    /** @return Zellbreite in Grad Länge */
+    public double getCellWidth() {
+        return cellWidth;
+    }
+
+    /** @return Zellhöhe in Grad Breite */
+    public double getCellHeight() {
+        return cellHeight;
+    }
+
+    /** @return {@code true}, wenn {@code value} die Größensumme statt der Anzahl ist */
+    public boolean isWeighted() {
+        return weighted;
+    }
+
+    public List<Cell> getCells() {
+        return cells;
+    }
+
+    /**
+     * Eine Rasterzelle.
+     */
+    public static class Cell {
+
+        private final double minLat;
+        private final double minLon;
+        private final long count;
+        private final double value;
+
+        public Cell(double minLat, double minLon, long count, double value) {
+            this.minLat = minLat;
+            this.minLon = minLon;
+            this.count = count;
+            this.value = value;
+        }
+
+        /** @return südliche Kante der Zelle */
+        public double getMinLat() {
+            return minLat;
+        }
+
+        /** @return westliche Kante der Zelle */
+        public double getMinLon() {
+            return minLon;
+        }
+
+        /** @return Anzahl offener Netze in der Zelle */
+        public long getCount() {
+            return count;
+        }
+
+        /** @return Anzahl bzw. Größensumme (je nach {@code weighted}) */
+        public double getValue() {
+            return value;
+        }
+    }
+}
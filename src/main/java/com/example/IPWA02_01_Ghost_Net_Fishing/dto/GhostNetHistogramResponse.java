@@ -0,0 +1,67 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Anzahl der Statusübergänge je Zeit-Bucket.
+ * <p>
+ * Es werden nur Buckets mit mindestens einem Übergang geliefert (aufsteigend sortiert).
+ */
+public class GhostNetHistogramResponse {
+
+    private final HistogramGranularity granularity;
+    private final Instant from;
+    private final Instant to;
+    private final List<Bucket> buckets;
+
+    public GhostNetHistogramResponse(HistogramGranularity granularity, Instant from, Instant to, List<Bucket> buckets) {
+        this.granularity = granularity;
+        this.from = from;
+        this.to = to;
+        this.buckets = buckets;
+    }
+
+    public HistogramGranularity getGranularity() {
+        return granularity;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public List<Bucket> getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Ein Zeit-Bucket mit den Übergängen je Zielstatus.
+     */
+    public static class Bucket {
+
+        private final Instant start;
+        private final Map<GhostNetStatus, Long> counts;
+
+        public Bucket(Instant start, Map<GhostNetStatus, Long> counts) {
+            this.start = start;
+            this.counts = counts;
+        }
+
+        /** @return Beginn des Buckets (inklusiv) */
+        public Instant getStart() {
+            return start;
+        }
+
+        /** @return Anzahl Übergänge je Zielstatus */
+        public Map<GhostNetStatus, Long> getCounts() {
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.ArchivedGhostNet;
+
+import java.util.List;
+
+/**
+ * Eine Seite der Historie archivierter Netze ({@code GET /api/ghostnets/history}).
+ */
+public class GhostNetHistoryResponse {
+
+    private final List<ArchivedGhostNet> nets;
+    private final Long nextAfterId;
+
+    public GhostNetHistoryResponse(List<ArchivedGhostNet> nets, Long nextAfterId) {
+        this.nets = nets;
+        this.nextAfterId = nextAfterId;
+    }
+
+    public List<ArchivedGhostNet> getNets() {
+        return nets;
+    }
+
+    /** @return Wert für {@code afterId} der nächsten Seite oder {@code null}, wenn dies die letzte war */
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+}
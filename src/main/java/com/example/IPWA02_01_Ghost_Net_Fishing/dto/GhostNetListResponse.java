@@ -0,0 +1,29 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Netz-Liste inklusive eingebettetem User-Wörterbuch.
+ * <p>
+ * Jede in den Netzen referenzierte User-ID taucht genau einmal in {@code users} auf,
+ * so dass der Client Namen ohne zusätzliche Requests anzeigen kann.
+ */
+public class GhostNetListResponse {
+
+    private final List<GhostNetResponse> nets;
+    private final Map<Long, UserSummaryResponse> users;
+
+    public GhostNetListResponse(List<GhostNetResponse> nets, Map<Long, UserSummaryResponse> users) {
+        this.nets = nets;
+        this.users = users;
+    }
+
+    public List<GhostNetResponse> getNets() {
+        return nets;
+    }
+
+    public Map<Long, UserSummaryResponse> getUsers() {
+        return users;
+    }
+}
@@ -2,6 +2,12 @@ package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
 
 import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
 
+/**
+ * Antwort-DTO für ein einzelnes Geisternetz.
+ * <p>
+ * Die Feldauswahl ist in {@link GhostNetField#RESPONSE} festgelegt; der
+ * Streaming-Writer nutzt dieselbe Definition für Einzel-Antworten.
+ */
 public class GhostNetResponse {
 
     private Long id;
@@ -10,6 +16,8 @@ public class GhostNetResponse {
     private Double size;
     private GhostNetStatus status;
     private Long scheduledByUserId;
+    private Long reportedByUserId;
+    private Long recoveredByUserId;
 
     /**
      * Minimaler Standard-Konstruktor (abwärtskompatibel).
@@ -82,4 +90,20 @@ public class GhostNetResponse {
         this.scheduledByUserId = scheduledByUserId;
     }
 
+    public Long getReportedByUserId() {
+        return reportedByUserId;
+    }
+
+    public void setReportedByUserId(Long reportedByUserId) {
+        this.reportedByUserId = reportedByUserId;
+    }
+
+    public Long getRecoveredByUserId() {
+        return recoveredByUserId;
+    }
+
+    public void setRecoveredByUserId(Long recoveredByUserId) {
+        this.recoveredByUserId = recoveredByUserId;
+    }
+
 }
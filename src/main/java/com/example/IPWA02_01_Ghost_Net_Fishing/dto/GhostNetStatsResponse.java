@@ -0,0 +1,52 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Dashboard-Kennzahlen für /api/ghostnets/stats.
+ */
+public class GhostNetStatsResponse {
+
+    private final long total;
+    private final Map<GhostNetStatus, Long> countsByStatus;
+    private final double totalSize;
+    private final Map<Long, Long> recoveriesByUser;
+    private final Instant reconciledAt;
+
+    public GhostNetStatsResponse(long total, Map<GhostNetStatus, Long> countsByStatus, double totalSize,
+                                 Map<Long, Long> recoveriesByUser, Instant reconciledAt) {
+        this.total = total;
+        this.countsByStatus = countsByStatus;
+        this.totalSize = totalSize;
+        this.recoveriesByUser = recoveriesByUser;
+        this.reconciledAt = reconciledAt;
+    }
+
+    /** @return Gesamtzahl aller Netze */
+    public long getTotal() {
+        return total;
+    }
+
+    /** @return Anzahl Netze je Status (alle Status enthalten, ggf. 0) */
+    public Map<GhostNetStatus, Long> getCountsByStatus() {
+        return countsByStatus;
+    }
+
+    /** @return Summe der gemeldeten Größen */
+    public double getTotalSize() {
+        return totalSize;
+    }
+
+    /** @return Anzahl geborgener Netze je User-ID */
+    public Map<Long, Long> getRecoveriesByUser() {
+        return recoveriesByUser;
+    }
+
+    /** @return Zeitpunkt des letzten Abgleichs mit der Datenbank */
+    public Instant getReconciledAt() {
+        return reconciledAt;
+    }
+}
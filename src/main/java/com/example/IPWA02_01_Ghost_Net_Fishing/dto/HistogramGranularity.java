@@ -0,0 +1,10 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+/**
+ * Zeitliche Auflösung der Übergangs-Histogramme (UTC).
+ */
+public enum HistogramGranularity {
+    HOUR,   // Stunde
+    DAY,    // Kalendertag
+    WEEK    // ISO-Woche (beginnt Montag)
+}
@@ -0,0 +1,110 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Ergebnis der Hotspot-Erkennung (DBSCAN über offene Netze).
+ */
+public class HotspotResponse {
+
+    private final Instant computedAt;
+    private final long durationMillis;
+    private final int pointCount;
+    private final int noiseCount;
+    private final double epsMeters;
+    private final int minPoints;
+    private final List<Hotspot> hotspots;
+
+    public HotspotResponse(Instant computedAt, long durationMillis, int pointCount, int noiseCount,
+                           double epsMeters, int minPoints, List<Hotspot> hotspots) {
+        this.computedAt = computedAt;
+        this.durationMillis = durationMillis;
+        this.pointCount = pointCount;
+        this.noiseCount = noiseCount;
+        this.epsMeters = epsMeters;
+        this.minPoints = minPoints;
+        this.hotspots = hotspots;
+    }
+
+    /** @return Zeitpunkt der Berechnung ({@code null}, falls noch nie gelaufen) */
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+
+    /** @return Laufzeit der Berechnung in Millisekunden */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /** @return Anzahl berücksichtigter Netze */
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    /** @return Anzahl Netze ohne Hotspot-Zuordnung */
+    public int getNoiseCount() {
+        return noiseCount;
+    }
+
+    public double getEpsMeters() {
+        return epsMeters;
+    }
+
+    public int getMinPoints() {
+        return minPoints;
+    }
+
+    /** @return Hotspots, absteigend nach Anzahl Netze */
+    public List<Hotspot> getHotspots() {
+        return hotspots;
+    }
+
+    /**
+     * Ein Hotspot (Cluster) mit Umriss.
+     */
+    public static class Hotspot {
+
+        private final int id;
+        private final int netCount;
+        private final double totalSize;
+        private final double centroidLat;
+        private final double centroidLon;
+        private final List<double[]> polygon;
+
+        public Hotspot(int id, int netCount, double totalSize, double centroidLat, double centroidLon,
+                       List<double[]> polygon) {
+            this.id = id;
+            this.netCount = netCount;
+            this.totalSize = totalSize;
+            this.centroidLat = centroidLat;
+            this.centroidLon = centroidLon;
+            this.polygon = polygon;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getNetCount() {
+            return netCount;
+        }
+
+        public double getTotalSize() {
+            return totalSize;
+        }
+
+        public double getCentroidLat() {
+            return centroidLat;
+        }
+
+        public double getCentroidLon() {
+            return centroidLon;
+        }
+
+        /** @return konvexe Hülle als Liste von {@code [lat, lon]} */
+        public List<double[]> getPolygon() {
+            return polygon;
+        }
+    }
+}
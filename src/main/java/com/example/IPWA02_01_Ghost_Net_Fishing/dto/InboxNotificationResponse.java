@@ -0,0 +1,64 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.InboxNotification;
+
+import java.time.Instant;
+
+/**
+ * Benachrichtigung aus dem Postfach – als JSON-Liste und als SSE-Event.
+ */
+public class InboxNotificationResponse {
+
+    private final Long id;
+    private final Long subscriptionId;
+    private final String regionName;
+    private final Long ghostNetId;
+    private final Double latitude;
+    private final Double longitude;
+    private final Instant createdAt;
+    private final Instant readAt;
+
+    public InboxNotificationResponse(InboxNotification n) {
+        this.id = n.getId();
+        this.subscriptionId = n.getSubscriptionId();
+        this.regionName = n.getRegionName();
+        this.ghostNetId = n.getGhostNetId();
+        this.latitude = n.getLatitude();
+        this.longitude = n.getLongitude();
+        this.createdAt = n.getCreatedAt();
+        this.readAt = n.getReadAt();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    public String getRegionName() {
+        return regionName;
+    }
+
+    public Long getGhostNetId() {
+        return ghostNetId;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /** @return Lesezeitpunkt oder {@code null}, wenn ungelesen */
+    public Instant getReadAt() {
+        return readAt;
+    }
+}
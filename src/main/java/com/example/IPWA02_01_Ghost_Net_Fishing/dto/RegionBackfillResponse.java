@@ -0,0 +1,31 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+/**
+ * Ergebnis eines Laufs der Gebietszuordnung ({@code POST /api/ghostnets/regions/backfill}).
+ */
+public class RegionBackfillResponse {
+
+    private final int scanned;
+    private final int classified;
+    private final long tookMillis;
+
+    public RegionBackfillResponse(int scanned, int classified, long tookMillis) {
+        this.scanned = scanned;
+        this.classified = classified;
+        this.tookMillis = tookMillis;
+    }
+
+    /** @return Anzahl geprüfter Netze */
+    public int getScanned() {
+        return scanned;
+    }
+
+    /** @return davon einem Gebiet zugeordnet */
+    public int getClassified() {
+        return classified;
+    }
+
+    public long getTookMillis() {
+        return tookMillis;
+    }
+}
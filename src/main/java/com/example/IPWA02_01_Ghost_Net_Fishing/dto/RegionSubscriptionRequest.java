@@ -0,0 +1,28 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+/**
+ * Neues Gebiets-Abo ({@code POST /api/subscriptions}).
+ */
+public class RegionSubscriptionRequest {
+
+    private String name;
+
+    /** Ecken als {@code [[lat,lon],...]}, mindestens drei. */
+    private double[][] polygon;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double[][] getPolygon() {
+        return polygon;
+    }
+
+    public void setPolygon(double[][] polygon) {
+        this.polygon = polygon;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import java.time.Instant;
+
+/**
+ * Ein Gebiets-Abo des Benutzers.
+ */
+public class RegionSubscriptionResponse {
+
+    private final Long id;
+    private final String name;
+    private final double[][] polygon;
+    private final Instant createdAt;
+
+    public RegionSubscriptionResponse(Long id, String name, double[][] polygon, Instant createdAt) {
+        this.id = id;
+        this.name = name;
+        this.polygon = polygon;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** @return Ecken als {@code [[lat,lon],...]} */
+    public double[][] getPolygon() {
+        return polygon;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
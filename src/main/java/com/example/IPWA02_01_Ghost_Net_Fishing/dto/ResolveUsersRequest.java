@@ -0,0 +1,16 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Request-Payload für /api/user/resolve.
+ */
+public class ResolveUsersRequest {
+
+    /** Aufzulösende User-IDs (Duplikate werden ignoriert). */
+    private Set<Long> ids = new LinkedHashSet<>();
+
+    public Set<Long> getIds() { return ids; }
+    public void setIds(Set<Long> ids) { this.ids = ids; }
+}
@@ -0,0 +1,34 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.dto;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.UserRole;
+
+/**
+ * Öffentliche Kurzinfo zu einem Benutzer (Anzeigename + Rolle).
+ * <p>
+ * Enthält bewusst keine Kontaktdaten (E-Mail/Telefon), da sie
+ * in Listen für beliebige Netze eingebettet wird.
+ */
+public class UserSummaryResponse {
+
+    private final Long id;
+    private final String username;
+    private final UserRole role;
+
+    public UserSummaryResponse(Long id, String username, UserRole role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+}
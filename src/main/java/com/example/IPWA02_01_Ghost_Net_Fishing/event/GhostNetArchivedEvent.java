@@ -0,0 +1,47 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.event;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+
+import java.util.List;
+
+/**
+ * Wird von {@code GhostNetArchiveService} je Block veröffentlicht, nachdem Netze aus
+ * {@code ghost_nets} ins Archiv verschoben wurden.
+ * <p>
+ * Lesemodelle über der Arbeitstabelle entfernen die Netze daraufhin; Auswertungen
+ * über die gesamte Historie (Statistik, Histogramm) bleiben unverändert.
+ * <p>
+ * Der {@code ClusterInvalidationBus} veröffentlicht das Event auch für Archivierungen anderer
+ * Instanzen ({@link #isRemote()}); die Netze tragen dann nur ID und Position.
+ */
+public class GhostNetArchivedEvent {
+
+    private final List<GhostNetSnapshot> nets;
+    private final boolean remote;
+
+    /**
+     * @param nets Zustand der archivierten Netze zum Zeitpunkt des Verschiebens
+     */
+    public GhostNetArchivedEvent(List<GhostNetSnapshot> nets) {
+        this(nets, false);
+    }
+
+    /**
+     * @param nets   archivierte Netze
+     * @param remote {@code true}, wenn auf einer anderen Instanz archiviert wurde
+     */
+    public GhostNetArchivedEvent(List<GhostNetSnapshot> nets, boolean remote) {
+        this.nets = List.copyOf(nets);
+        this.remote = remote;
+    }
+
+    /** @return archivierte Netze */
+    public List<GhostNetSnapshot> getNets() {
+        return nets;
+    }
+
+    /** @return {@code true}, wenn die Archivierung von einer anderen Instanz stammt */
+    public boolean isRemote() {
+        return remote;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.event;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+
+/**
+ * Wird von {@code GhostNetService} nach jeder Änderung an einem Geisternetz veröffentlicht.
+ * <p>
+ * Listener registrieren sich per {@code @TransactionalEventListener}, damit sie erst
+ * nach erfolgreichem Commit laufen und nie einen zurückgerollten Zustand sehen.
+ * <p>
+ * Änderungen anderer Instanzen kommen über den {@code ClusterInvalidationBus} und werden
+ * lokal erneut veröffentlicht ({@link #isRemote()}); Lesemodelle übernehmen sie genauso.
+ * Wer Nebenwirkungen auslöst (DB-Schreibzugriffe, Metriken), ignoriert sie.
+ */
+public class GhostNetChangedEvent {
+
+    private final GhostNetSnapshot before;
+    private final GhostNetSnapshot after;
+    private final boolean remote;
+
+    /**
+     * @param before Zustand vor der Änderung; {@code null} bei Neuanlage
+     * @param after  Zustand nach der Änderung
+     */
+    public GhostNetChangedEvent(GhostNetSnapshot before, GhostNetSnapshot after) {
+        this(before, after, false);
+    }
+
+    /**
+     * @param remote {@code true}, wenn die Änderung auf einer anderen Instanz committet wurde
+     */
+    public GhostNetChangedEvent(GhostNetSnapshot before, GhostNetSnapshot after, boolean remote) {
+        this.before = before;
+        this.after = after;
+        this.remote = remote;
+    }
+
+    /** @return Zustand vor der Änderung oder {@code null}, wenn das Netz neu angelegt wurde */
+    public GhostNetSnapshot getBefore() {
+        return before;
+    }
+
+    /** @return Zustand nach der Änderung */
+    public GhostNetSnapshot getAfter() {
+        return after;
+    }
+
+    /** @return {@code true}, wenn das Netz neu angelegt wurde */
+    public boolean isCreated() {
+        return before == null;
+    }
+
+    /** @return {@code true}, wenn die Änderung von einer anderen Instanz stammt */
+    public boolean isRemote() {
+        return remote;
+    }
+}
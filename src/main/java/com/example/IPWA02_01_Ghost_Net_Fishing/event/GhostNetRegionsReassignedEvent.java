@@ -0,0 +1,24 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.event;
+
+/**
+ * Wird von {@code GhostNetRegionService} veröffentlicht, nachdem die Gebietszuordnung
+ * per Bulk-Update ({@code updateRegion}) geändert wurde.
+ * <p>
+ * Bulk-Updates erzeugen keine {@link GhostNetChangedEvent}s; der {@code ClusterInvalidationBus}
+ * lässt die anderen Instanzen daher vollständig neu synchronisieren.
+ */
+public class GhostNetRegionsReassignedEvent {
+
+    private final int count;
+
+    /**
+     * @param count Anzahl der neu zugeordneten Netze
+     */
+    public GhostNetRegionsReassignedEvent(int count) {
+        this.count = count;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
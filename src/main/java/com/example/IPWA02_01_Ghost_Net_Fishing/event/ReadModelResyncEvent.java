@@ -0,0 +1,24 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.event;
+
+/**
+ * Fordert alle In-Memory-Lesemodelle und Caches auf, sich vollständig aus der Datenbank
+ * neu aufzubauen.
+ * <p>
+ * Wird vom {@code ClusterInvalidationBus} veröffentlicht, wenn Änderungen anderer Instanzen
+ * verloren gegangen sein können (Lücke in der Nummerierung, Neuverbindung).
+ */
+public class ReadModelResyncEvent {
+
+    private final String reason;
+
+    /**
+     * @param reason Anlass, fürs Log
+     */
+    public ReadModelResyncEvent(String reason) {
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.event;
+
+/**
+ * Wird von {@code RegionSubscriptionService} nach dem Anlegen oder Löschen eines Gebiets-Abos
+ * veröffentlicht bzw. vom {@code ClusterInvalidationBus} für Änderungen anderer Instanzen.
+ */
+public class RegionSubscriptionChangedEvent {
+
+    private final Long subscriptionId;
+    private final boolean remote;
+
+    /**
+     * @param subscriptionId ID des angelegten oder gelöschten Abos
+     * @param remote         {@code true}, wenn die Änderung auf einer anderen Instanz committet wurde
+     */
+    public RegionSubscriptionChangedEvent(Long subscriptionId, boolean remote) {
+        this.subscriptionId = subscriptionId;
+        this.remote = remote;
+    }
+
+    public Long getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    /** @return {@code true}, wenn die Änderung von einer anderen Instanz stammt */
+    public boolean isRemote() {
+        return remote;
+    }
+}
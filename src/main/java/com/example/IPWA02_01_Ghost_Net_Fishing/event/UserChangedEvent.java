@@ -0,0 +1,29 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.event;
+
+/**
+ * Wird von {@code UserService} nach dem Anlegen oder Ändern eines Benutzers veröffentlicht
+ * bzw. vom {@code ClusterInvalidationBus} für Änderungen anderer Instanzen.
+ */
+public class UserChangedEvent {
+
+    private final Long userId;
+    private final boolean remote;
+
+    /**
+     * @param userId ID des geänderten Benutzers
+     * @param remote {@code true}, wenn die Änderung auf einer anderen Instanz committet wurde
+     */
+    public UserChangedEvent(Long userId, boolean remote) {
+        this.userId = userId;
+        this.remote = remote;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /** @return {@code true}, wenn die Änderung von einer anderen Instanz stammt */
+    public boolean isRemote() {
+        return remote;
+    }
+}
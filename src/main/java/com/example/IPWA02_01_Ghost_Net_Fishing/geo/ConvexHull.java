@@ -0,0 +1,63 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.geo;
+
+import java.util.Arrays;
+
+/**
+ * Konvexe Hülle (Andrew's Monotone Chain) in Länge/Breite.
+ * <p>
+ * Für Hotspot-Umrisse in begrenzten Regionen ausreichend genau;
+ * Punkte über die Datumsgrenze hinweg werden nicht gesondert behandelt.
+ */
+public final class ConvexHull {
+
+    private ConvexHull() {
+    }
+
+    /**
+     * Berechnet die Hülle der Punkte {@code (lat[idx[i]], lon[idx[i]])}.
+     *
+     * @param lat Breitengrade
+     * @param lon Längengrade
+     * @param idx Indizes der zu berücksichtigenden Punkte
+     * @return Eckpunkte gegen den Uhrzeigersinn als {@code [lat, lon]}, nicht geschlossen
+     */
+    public static double[][] of(double[] lat, double[] lon, int[] idx) {
+        Integer[] order = new Integer[idx.length];
+        for (int i = 0; i < idx.length; i++) {
+            order[i] = idx[i];
+        }
+        Arrays.sort(order, (a, b) -> lon[a] != lon[b] ? Double.compare(lon[a], lon[b]) : Double.compare(lat[a], lat[b]));
+
+        int n = order.length;
+        if (n < 3) {
+            double[][] out = new double[n][];
+            for (int i = 0; i < n; i++) {
+                out[i] = new double[]{lat[order[i]], lon[order[i]]};
+            }
+            return out;
+        }
+
+        int[] hull = new int[2 * n];
+        int k = 0;
+        for (int i = 0; i < n; i++) {                 // untere Kette
+            while (k >= 2 && cross(lat, lon, hull[k - 2], hull[k - 1], order[i]) <= 0) k--;
+            hull[k++] = order[i];
+        }
+        for (int i = n - 2, lower = k + 1; i >= 0; i--) { // obere Kette
+            while (k >= lower && cross(lat, lon, hull[k - 2], hull[k - 1], order[i]) <= 0) k--;
+            hull[k++] = order[i];
+        }
+
+        int size = Math.max(1, k - 1); // letzter Punkt == erster Punkt
+        double[][] out = new double[size][];
+        for (int i = 0; i < size; i++) {
+            out[i] = new double[]{lat[hull[i]], lon[hull[i]]};
+        }
+        return out;
+    }
+
+    /** Kreuzprodukt (o→a) × (o→b) mit x = Länge, y = Breite. */
+    private static double cross(double[] lat, double[] lon, int o, int a, int b) {
+        return (lon[a] - lon[o]) * (lat[b] - lat[o]) - (lat[a] - lat[o]) * (lon[b] - lon[o]);
+    }
+}
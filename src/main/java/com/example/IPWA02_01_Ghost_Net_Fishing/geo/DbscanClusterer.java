@@ -0,0 +1,369 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.geo;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Paralleles, gitterbasiertes DBSCAN über Haversine-Distanz.
+ * <p>
+ * Die Punkte werden in ein Gitter mit Kantenlänge {@code eps/2} einsortiert
+ * (sortiertes Array + Binärsuche, keine Hash-Map je Zelle). Damit liegen alle Punkte
+ * einer Zelle paarweise innerhalb von {@code eps}, woraus folgt:
+ * <ul>
+ *   <li>Zellen mit mindestens {@code minPoints} Punkten bestehen nur aus Kernpunkten.</li>
+ *   <li>Alle Kernpunkte einer Zelle gehören zum selben Cluster.</li>
+ * </ul>
+ * Cluster werden daher zellweise über ein lock-freies Union-Find verbunden; zwei
+ * Nachbarzellen werden nur verglichen, solange sie noch in verschiedenen Clustern liegen.
+ * Alle Phasen laufen parallel (Fork/Join über {@code parallel()}).
+ * <p>
+ * Der Distanztest vergleicht Sehnenlängen zwischen vorberechneten Einheitsvektoren;
+ * das ist äquivalent zur Haversine-Distanz, kommt aber ohne Winkelfunktionen je Paar aus.
+ * Cluster über die Datumsgrenze hinweg werden nicht zusammengeführt.
+ */
+public final class DbscanClusterer {
+
+    /** Label für Rauschpunkte (keinem Cluster zugeordnet). */
+    public static final int NOISE = -1;
+
+    private final double epsMeters;
+    private final int minPoints;
+
+    /**
+     * @param epsMeters Nachbarschaftsradius in Metern
+     * @param minPoints Mindestanzahl Punkte (inkl. Punkt selbst) für einen Kernpunkt
+     */
+    public DbscanClusterer(double epsMeters, int minPoints) {
+        if (epsMeters <= 0) {
+            throw new IllegalArgumentException("eps muss > 0 sein: " + epsMeters);
+        }
+        if (minPoints < 1) {
+            throw new IllegalArgumentException("minPoints muss >= 1 sein: " + minPoints);
+        }
+        this.epsMeters = epsMeters;
+        this.minPoints = minPoints;
+    }
+
+    /**
+     * Clustert die Punkte {@code (lat[i], lon[i])}.
+     *
+     * @return Cluster-Label je Punkt ({@link #NOISE} oder 0..clusterCount-1)
+     */
+    public Result cluster(double[] lat, double[] lon) {
+        int n = lat.length;
+        if (lon.length != n) {
+            throw new IllegalArgumentException("lat/lon müssen gleich lang sein.");
+        }
+        if (n == 0) {
+            return new Result(new int[0], 0);
+        }
+
+        Grid grid = new Grid(lat, lon, epsMeters);
+        int cells = grid.cellCount();
+
+        // 1) Kernpunkte bestimmen – volle Zellen ohne Distanzrechnung
+        boolean[] core = new boolean[n];
+        IntStream.range(0, cells).parallel().forEach(c -> {
+            int from = grid.cellStart[c], to = grid.cellStart[c + 1];
+            boolean dense = to - from >= minPoints;
+            for (int i = from; i < to; i++) {
+                int p = grid.sorted[i];
+                core[p] = dense || grid.countNeighbours(p, minPoints) >= minPoints;
+            }
+        });
+
+        // 2a) Kernpunkte je Zelle an ihren Repräsentanten hängen (paarweise innerhalb eps)
+        AtomicIntegerArray parent = new AtomicIntegerArray(n);
+        int[] coreRep = new int[cells];
+        IntStream.range(0, cells).parallel().forEach(c -> {
+            int rep = NOISE;
+            for (int i = grid.cellStart[c]; i < grid.cellStart[c + 1]; i++) {
+                int p = grid.sorted[i];
+                if (core[p] && rep == NOISE) {
+                    rep = p;
+                }
+                parent.set(p, core[p] ? rep : p);
+            }
+            coreRep[c] = rep;
+        });
+
+        // 2b) Benachbarte Zellen verbinden, solange sie in verschiedenen Clustern liegen
+        IntStream.range(0, cells).parallel().filter(a -> coreRep[a] != NOISE).forEach(a ->
+                grid.forEachNeighbourCell(a, b -> {
+                    if (b > a && coreRep[b] != NOISE
+                            && find(parent, coreRep[a]) != find(parent, coreRep[b])
+                            && grid.anyCorePairWithinEps(a, b, core)) {
+                        union(parent, coreRep[a], coreRep[b]);
+                    }
+                    return true;
+                }));
+
+        // 3) Randpunkte einem benachbarten Kernpunkt zuordnen
+        int[] root = new int[n];
+        IntStream.range(0, n).parallel().forEach(p -> {
+            if (core[p]) {
+                root[p] = find(parent, p);
+                return;
+            }
+            int[] found = {NOISE};
+            grid.forEachNeighbour(p, q -> {
+                if (core[q]) {
+                    found[0] = q;
+                    return false;
+                }
+                return true;
+            });
+            root[p] = found[0] == NOISE ? NOISE : find(parent, found[0]);
+        });
+
+        // 4) Wurzeln auf fortlaufende Cluster-IDs abbilden
+        int[] clusterOfRoot = new int[n];
+        Arrays.fill(clusterOfRoot, NOISE);
+        int[] labels = new int[n];
+        int clusters = 0;
+        for (int p = 0; p < n; p++) {
+            int r = root[p];
+            if (r == NOISE) {
+                labels[p] = NOISE;
+                continue;
+            }
+            if (clusterOfRoot[r] == NOISE) {
+                clusterOfRoot[r] = clusters++;
+            }
+            labels[p] = clusterOfRoot[r];
+        }
+        return new Result(labels, clusters);
+    }
+
+    private static int find(AtomicIntegerArray parent, int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) {
+                return x;
+            }
+            int gp = parent.get(p);
+            if (p != gp) {
+                parent.compareAndSet(x, p, gp); // Pfadhalbierung
+            }
+            x = gp;
+        }
+    }
+
+    private static void union(AtomicIntegerArray parent, int a, int b) {
+        while (true) {
+            a = find(parent, a);
+            b = find(parent, b);
+            if (a == b) {
+                return;
+            }
+            if (a < b) {
+                int t = a;
+                a = b;
+                b = t;
+            }
+            // größere Wurzel unter die kleinere hängen
+            if (parent.compareAndSet(a, a, b)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ergebnis eines Clustering-Laufs.
+     */
+    public static final class Result {
+
+        private final int[] labels;
+        private final int clusterCount;
+
+        Result(int[] labels, int clusterCount) {
+            this.labels = labels;
+            this.clusterCount = clusterCount;
+        }
+
+        /** @return Label je Eingabepunkt ({@link #NOISE} für Rauschen) */
+        public int[] getLabels() {
+            return labels;
+        }
+
+        /** @return Anzahl gefundener Cluster */
+        public int getClusterCount() {
+            return clusterCount;
+        }
+    }
+
+    /**
+     * Gitter-Index mit Zellhöhe {@code eps/2} (in Grad Breite) und gleicher Zellbreite in Grad Länge.
+     */
+    private static final class Grid {
+
+        /** Einheitsvektoren der Punkte (für den Distanztest). */
+        private final double[] x;
+        private final double[] y;
+        private final double[] z;
+        /** Quadrierte Sehnenlänge, die dem Großkreisabstand {@code eps} entspricht. */
+        private final double maxChordSq;
+        private final double cellDeg;
+        private final long cols;
+        private final long rows;
+
+        /** Punktindizes, nach Zellschlüssel sortiert. */
+        final int[] sorted;
+        /** Schlüssel der belegten Zellen (aufsteigend). */
+        private final long[] cellKeys;
+        /** Start jeder Zelle in {@link #sorted}; {@code cellStart[cellCount]} = n. */
+        final int[] cellStart;
+        /** Zellindex je Punkt. */
+        private final int[] cellOf;
+
+        Grid(double[] lat, double[] lon, double epsMeters) {
+            this.cellDeg = Math.toDegrees(epsMeters / GeoMath.EARTH_RADIUS_M) / 2;
+            this.cols = (long) Math.ceil(360.0 / cellDeg) + 1;
+            this.rows = (long) Math.ceil(180.0 / cellDeg) + 1;
+
+            double chord = 2 * Math.sin(Math.min(Math.PI, epsMeters / GeoMath.EARTH_RADIUS_M) / 2);
+            this.maxChordSq = chord * chord;
+
+            int n = lat.length;
+            this.x = new double[n];
+            this.y = new double[n];
+            this.z = new double[n];
+            long[] keys = new long[n];
+            IntStream.range(0, n).parallel().forEach(i -> {
+                double phi = Math.toRadians(lat[i]);
+                double lambda = Math.toRadians(lon[i]);
+                double cosPhi = Math.cos(phi);
+                x[i] = cosPhi * Math.cos(lambda);
+                y[i] = cosPhi * Math.sin(lambda);
+                z[i] = Math.sin(phi);
+                keys[i] = row(lat[i]) * cols + col(lon[i]);
+            });
+
+            this.sorted = new int[n];
+            long[] sortedKeys = new long[n];
+            if (rows * cols <= Long.MAX_VALUE / n) {
+                // Schlüssel und Index in einen long packen → primitive parallele Sortierung
+                long[] packed = new long[n];
+                for (int i = 0; i < n; i++) {
+                    packed[i] = keys[i] * n + i;
+                }
+                Arrays.parallelSort(packed);
+                for (int i = 0; i < n; i++) {
+                    sorted[i] = (int) (packed[i] % n);
+                    sortedKeys[i] = packed[i] / n;
+                }
+            } else {
+                Integer[] order = new Integer[n];
+                for (int i = 0; i < n; i++) {
+                    order[i] = i;
+                }
+                Arrays.parallelSort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+                for (int i = 0; i < n; i++) {
+                    sorted[i] = order[i];
+                    sortedKeys[i] = keys[order[i]];
+                }
+            }
+
+            // Belegte Zellen verdichten
+            int cells = 0;
+            for (int i = 0; i < n; i++) {
+                if (i == 0 || sortedKeys[i] != sortedKeys[i - 1]) cells++;
+            }
+            this.cellKeys = new long[cells];
+            this.cellStart = new int[cells + 1];
+            this.cellOf = new int[n];
+            for (int i = 0, c = -1; i < n; i++) {
+                if (i == 0 || sortedKeys[i] != sortedKeys[i - 1]) {
+                    cellKeys[++c] = sortedKeys[i];
+                    cellStart[c] = i;
+                }
+                cellOf[sorted[i]] = c;
+            }
+            cellStart[cells] = n;
+        }
+
+        int cellCount() {
+            return cellKeys.length;
+        }
+
+        int countNeighbours(int p, int limit) {
+            int[] count = {0};
+            forEachNeighbour(p, q -> ++count[0] < limit);
+            return count[0];
+        }
+
+        /** Besucht alle Punkte innerhalb {@code eps} um {@code p} (inkl. {@code p}). */
+        void forEachNeighbour(int p, IntPredicate visitor) {
+            forEachNeighbourCell(cellOf[p], c -> {
+                for (int i = cellStart[c]; i < cellStart[c + 1]; i++) {
+                    int q = sorted[i];
+                    if (withinEps(p, q) && !visitor.test(q)) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+        }
+
+        /** Besucht alle belegten Zellen, die Punkte innerhalb {@code eps} zu Zelle {@code c} enthalten können. */
+        void forEachNeighbourCell(int c, IntPredicate visitor) {
+            long r = cellKeys[c] / cols;
+            long col = cellKeys[c] % cols;
+
+            // eps entspricht zwei Zellhöhen; in Polnähe deckt er mehr Längengrad-Zellen ab
+            double edge = Math.max(Math.abs(-90 + r * cellDeg), Math.abs(-90 + (r + 1) * cellDeg));
+            double maxAbsLat = Math.min(89.999, edge + 2 * cellDeg);
+            long dc = Math.min(cols, (long) Math.ceil(2 / Math.cos(Math.toRadians(maxAbsLat))));
+
+            for (long rr = Math.max(0, r - 2); rr <= Math.min(rows - 1, r + 2); rr++) {
+                long from = rr * cols + Math.max(0, col - dc);
+                long to = rr * cols + Math.min(cols - 1, col + dc);
+                for (int i = lowerBound(from); i < cellKeys.length && cellKeys[i] <= to; i++) {
+                    if (!visitor.test(i)) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        /** Prüft, ob ein Kernpunkt aus Zelle {@code a} einen Kernpunkt aus Zelle {@code b} erreicht. */
+        boolean anyCorePairWithinEps(int a, int b, boolean[] core) {
+            for (int i = cellStart[a]; i < cellStart[a + 1]; i++) {
+                int p = sorted[i];
+                if (!core[p]) continue;
+                for (int j = cellStart[b]; j < cellStart[b + 1]; j++) {
+                    int q = sorted[j];
+                    if (core[q] && withinEps(p, q)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean withinEps(int p, int q) {
+            double dx = x[p] - x[q], dy = y[p] - y[q], dz = z[p] - z[q];
+            return dx * dx + dy * dy + dz * dz <= maxChordSq;
+        }
+
+        private int lowerBound(long key) {
+            int lo = 0, hi = cellKeys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cellKeys[mid] < key) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        private long row(double latitude) {
+            return Math.max(0, Math.min(rows - 1, (long) Math.floor((latitude + 90) / cellDeg)));
+        }
+
+        private long col(double longitude) {
+            return Math.max(0, Math.min(cols - 1, (long) Math.floor((longitude + 180) / cellDeg)));
+        }
+    }
+}
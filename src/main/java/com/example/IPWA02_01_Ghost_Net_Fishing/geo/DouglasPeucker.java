@@ -0,0 +1,89 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.geo;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Linienvereinfachung nach Douglas-Peucker.
+ * <p>
+ * Entfernt Stützpunkte, die weniger als {@code tolerance} (in Grad, planar gemessen)
+ * von der Verbindungslinie ihrer Nachbarn abweichen. Für Küstenlinien mit
+ * zehntausenden Punkten reduziert das die Kantenzahl um ein Vielfaches, bei
+ * einem Lagefehler von höchstens {@code tolerance}.
+ */
+public final class DouglasPeucker {
+
+    private DouglasPeucker() {
+    }
+
+    /**
+     * Vereinfacht einen Linienzug bzw. Ring (erster und letzter Punkt bleiben erhalten).
+     *
+     * @param lat       Breitengrade
+     * @param lon       Längengrade
+     * @param tolerance maximale Abweichung in Grad; {@code <= 0} lässt alle Punkte stehen
+     * @return Indizes der verbleibenden Punkte in aufsteigender Reihenfolge
+     */
+    public static int[] simplify(double[] lat, double[] lon, double tolerance) {
+        int n = lat.length;
+        if (n <= 2 || tolerance <= 0) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+        double toleranceSq = tolerance * tolerance;
+
+        // Iterativ statt rekursiv: lange Küstenlinien würden sonst den Stack sprengen
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{0, n - 1});
+        while (!stack.isEmpty()) {
+            int[] range = stack.pop();
+            int from = range[0];
+            int to = range[1];
+            double maxSq = -1;
+            int index = -1;
+            for (int i = from + 1; i < to; i++) {
+                double d = segmentDistanceSq(lat[i], lon[i], lat[from], lon[from], lat[to], lon[to]);
+                if (d > maxSq) {
+                    maxSq = d;
+                    index = i;
+                }
+            }
+            if (index >= 0 && maxSq > toleranceSq) {
+                keep[index] = true;
+                stack.push(new int[]{from, index});
+                stack.push(new int[]{index, to});
+            }
+        }
+
+        int count = 0;
+        for (boolean k : keep) {
+            if (k) {
+                count++;
+            }
+        }
+        int[] result = new int[count];
+        for (int i = 0, j = 0; i < n; i++) {
+            if (keep[i]) {
+                result[j++] = i;
+            }
+        }
+        return result;
+    }
+
+    private static double segmentDistanceSq(double py, double px, double ay, double ax, double by, double bx) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSq = dx * dx + dy * dy;
+        double t = lengthSq == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / lengthSq;
+        t = Math.max(0, Math.min(1, t));
+        double ex = px - (ax + t * dx);
+        double ey = py - (ay + t * dy);
+        return ex * ex + ey * ey;
+    }
+}
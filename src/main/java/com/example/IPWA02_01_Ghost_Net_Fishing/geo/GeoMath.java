@@ -0,0 +1,31 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.geo;
+
+/**
+ * Geodätische Hilfsfunktionen (Kugelmodell).
+ */
+public final class GeoMath {
+
+    /** Mittlerer Erdradius in Metern. */
+    public static final double EARTH_RADIUS_M = 6_371_008.8;
+
+    /** Meter je Grad Breite (Näherung). */
+    public static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    private GeoMath() {
+    }
+
+    /**
+     * Großkreis-Distanz zwischen zwei Punkten (Haversine).
+     *
+     * @return Distanz in Metern
+     */
+    public static double haversineMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_M * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.geo;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Geohash-Zellen als Zahl statt als Base32-Text.
+ * <p>
+ * Bei Genauigkeit {@code p} (Zeichen) besteht eine Zelle aus {@code 5p} Bits, abwechselnd
+ * Länge und Breite, beginnend mit der Länge. Die Zellnummer entspricht der
+ * lexikografischen Reihenfolge der Geohashes (Z-Ordnung): Benachbarte Nummern liegen
+ * meist auch räumlich nah beieinander.
+ */
+public final class Geohash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    /** @return Anzahl Zellen bei der Genauigkeit ({@code 32^precision}) */
+    public static long cellCount(int precision) {
+        return 1L << (5 * precision);
+    }
+
+    /** @return Zellnummer des Punkts, in {@code [0, cellCount(precision))} */
+    public static long cell(double latitude, double longitude, int precision) {
+        int bits = 5 * precision;
+        return interleave(lonIndex(longitude, bits), latIndex(latitude, bits), bits);
+    }
+
+    /** @return Geohash-Text der Zelle, z. B. {@code "u1"} */
+    public static String toString(long cell, int precision) {
+        char[] out = new char[precision];
+        for (int i = precision - 1; i >= 0; i--) {
+            out[i] = BASE32[(int) (cell & 31)];
+            cell >>>= 5;
+        }
+        return new String(out);
+    }
+
+    /**
+     * Ruft {@code action} für jede Zelle auf, die den Ausschnitt schneidet (Grenzen inklusive).
+     */
+    public static void forEachCell(double minLat, double maxLat, double minLon, double maxLon, int precision,
+                                   LongConsumer action) {
+        int bits = 5 * precision;
+        int x0 = lonIndex(minLon, bits);
+        int x1 = lonIndex(maxLon, bits);
+        int y0 = latIndex(minLat, bits);
+        int y1 = latIndex(maxLat, bits);
+        for (int x = x0; x <= x1; x++) {
+            for (int y = y0; y <= y1; y++) {
+                action.accept(interleave(x, y, bits));
+            }
+        }
+    }
+
+    private static int lonIndex(double longitude, int bits) {
+        return index((longitude + 180) / 360, (bits + 1) / 2);
+    }
+
+    private static int latIndex(double latitude, int bits) {
+        return index((latitude + 90) / 180, bits / 2);
+    }
+
+    private static int index(double fraction, int bits) {
+        int n = 1 << bits;
+        return (int) Math.max(0, Math.min(n - 1, Math.floor(fraction * n)));
+    }
+
+    private static long interleave(int x, int y, int bits) {
+        int lonBits = (bits + 1) / 2;
+        int latBits = bits / 2;
+        long cell = 0;
+        for (int b = 0; b < bits; b++) {
+            boolean lon = b % 2 == 0;
+            int bit = lon ? (x >>> (lonBits - 1 - b / 2)) & 1 : (y >>> (latBits - 1 - b / 2)) & 1;
+            cell = (cell << 1) | bit;
+        }
+        return cell;
+    }
+}
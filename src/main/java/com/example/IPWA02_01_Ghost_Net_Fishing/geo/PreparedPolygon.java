@@ -0,0 +1,135 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.geo;
+
+import java.util.Arrays;
+
+/**
+ * Polygon mit vorbereiteten Strukturen für schnelle Punkt-in-Polygon-Tests.
+ * <p>
+ * Die Kanten werden einmalig in horizontale Bänder (nach Breitengrad) einsortiert.
+ * Ein Test prüft zuerst das umschließende Rechteck und zählt dann per Strahlverfahren
+ * nur die Kanten im Band des Punktes – statt aller Kanten.
+ * <p>
+ * Koordinaten in Grad; der Ring wird implizit geschlossen. Polygone über die
+ * Datumsgrenze (±180°) werden nicht unterstützt.
+ */
+public final class PreparedPolygon {
+
+    private final double[] lat;
+    private final double[] lon;
+    private final double minLat;
+    private final double maxLat;
+    private final double minLon;
+    private final double maxLon;
+    private final double bandHeight;
+    /** Je Band die Indizes der Kanten (Kante i verbindet Ecke i mit i+1). */
+    private final int[][] bands;
+
+    /**
+     * @param lat Breitengrade der Ecken
+     * @param lon Längengrade der Ecken
+     * @throws IllegalArgumentException bei weniger als drei Ecken oder ungültigen Koordinaten
+     */
+    public PreparedPolygon(double[] lat, double[] lon) {
+        if (lat.length != lon.length) {
+            throw new IllegalArgumentException("Anzahl Breiten- und Längengrade unterschiedlich");
+        }
+        if (lat.length < 3) {
+            throw new IllegalArgumentException("Polygon braucht mindestens drei Ecken");
+        }
+        double minLa = Double.POSITIVE_INFINITY;
+        double maxLa = Double.NEGATIVE_INFINITY;
+        double minLo = Double.POSITIVE_INFINITY;
+        double maxLo = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < lat.length; i++) {
+            if (!(lat[i] >= -90 && lat[i] <= 90) || !(lon[i] >= -180 && lon[i] <= 180)) {
+                throw new IllegalArgumentException("Ungültige Koordinate: " + lat[i] + ", " + lon[i]);
+            }
+            minLa = Math.min(minLa, lat[i]);
+            maxLa = Math.max(maxLa, lat[i]);
+            minLo = Math.min(minLo, lon[i]);
+            maxLo = Math.max(maxLo, lon[i]);
+        }
+        this.lat = lat.clone();
+        this.lon = lon.clone();
+        this.minLat = minLa;
+        this.maxLat = maxLa;
+        this.minLon = minLo;
+        this.maxLon = maxLo;
+
+        int n = lat.length;
+        int bandCount = Math.max(1, (int) Math.sqrt(n) * 2);
+        this.bandHeight = (maxLa - minLa) / bandCount;
+        int[] counts = new int[bandCount];
+        for (int i = 0; i < n; i++) {
+            int from = band(Math.min(lat[i], lat[(i + 1) % n]), bandCount);
+            int to = band(Math.max(lat[i], lat[(i + 1) % n]), bandCount);
+            for (int b = from; b <= to; b++) {
+                counts[b]++;
+            }
+        }
+        this.bands = new int[bandCount][];
+        for (int b = 0; b < bandCount; b++) {
+            bands[b] = new int[counts[b]];
+        }
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < n; i++) {
+            int from = band(Math.min(lat[i], lat[(i + 1) % n]), bandCount);
+            int to = band(Math.max(lat[i], lat[(i + 1) % n]), bandCount);
+            for (int b = from; b <= to; b++) {
+                bands[b][counts[b]++] = i;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true}, wenn der Punkt im Polygon liegt (Rand: nicht garantiert)
+     */
+    public boolean contains(double pLat, double pLon) {
+        if (pLat < minLat || pLat > maxLat || pLon < minLon || pLon > maxLon) {
+            return false;
+        }
+        int n = lat.length;
+        boolean inside = false;
+        for (int i : bands[band(pLat, bands.length)]) {
+            int j = i + 1 == n ? 0 : i + 1;
+            double latI = lat[i];
+            double latJ = lat[j];
+            if ((latI > pLat) != (latJ > pLat)) {
+                double crossLon = lon[i] + (pLat - latI) * (lon[j] - lon[i]) / (latJ - latI);
+                if (pLon < crossLon) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+
+    public double getMinLat() {
+        return minLat;
+    }
+
+    public double getMaxLat() {
+        return maxLat;
+    }
+
+    public double getMinLon() {
+        return minLon;
+    }
+
+    public double getMaxLon() {
+        return maxLon;
+    }
+
+    /** @return Anzahl Ecken */
+    public int size() {
+        return lat.length;
+    }
+
+    private int band(double value, int bandCount) {
+        if (bandHeight <= 0) {
+            return 0;
+        }
+        int b = (int) ((value - minLat) / bandHeight);
+        return Math.max(0, Math.min(bandCount - 1, b));
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Unveränderlicher R-Baum über Rechtecke, per Sort-Tile-Recursive (STR) in einem
+ * Durchgang aufgebaut.
+ * <p>
+ * Punkt- und Rechteckabfragen kosten etwa O(log n + Treffer). Änderungen erfordern
+ * einen Neuaufbau – gedacht für Daten, die selten geändert und oft abgefragt werden.
+ *
+ * @param <T> gespeicherter Wert
+ */
+public final class StrTree<T> {
+
+    /** Maximale Anzahl Kinder je Knoten. */
+    private static final int NODE_CAPACITY = 16;
+
+    private final Node root;
+    private final int size;
+
+    private StrTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Baut den Baum aus den Einträgen auf.
+     */
+    public static <T> StrTree<T> build(List<Entry<T>> entries) {
+        if (entries.isEmpty()) {
+            return new StrTree<>(null, 0);
+        }
+        List<Node> level = new ArrayList<>(entries.size());
+        for (Entry<T> e : entries) {
+            level.add(new Node(e.minLat, e.minLon, e.maxLat, e.maxLon, null, e.value));
+        }
+        while (level.size() > 1) {
+            level = pack(level);
+        }
+        return new StrTree<>(level.get(0), entries.size());
+    }
+
+    /** @return Anzahl Einträge */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Liefert alle Werte, deren Rechteck den Punkt enthält.
+     */
+    public void query(double lat, double lon, Consumer<T> consumer) {
+        query(lat, lon, lat, lon, consumer);
+    }
+
+    /**
+     * Liefert alle Werte, deren Rechteck das Suchrechteck schneidet.
+     */
+    @SuppressWarnings("unchecked")
+    public void query(double minLat, double minLon, double maxLat, double maxLon, Consumer<T> consumer) {
+        if (root == null) {
+            return;
+        }
+        List<Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            if (node.minLat > maxLat || node.maxLat < minLat || node.minLon > maxLon || node.maxLon < minLon) {
+                continue;
+            }
+            if (node.children == null) {
+                consumer.accept((T) node.value);
+            } else {
+                stack.addAll(node.children);
+            }
+        }
+    }
+
+    /**
+     * Eine Ebene packen: nach Längengrad in Scheiben, je Scheibe nach Breitengrad in Knoten.
+     */
+    private static List<Node> pack(List<Node> nodes) {
+        int n = nodes.size();
+        int parents = (n + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int slices = (int) Math.ceil(Math.sqrt(parents));
+        int perSlice = slices * NODE_CAPACITY;
+
+        List<Node> sorted = new ArrayList<>(nodes);
+        sorted.sort(Comparator.comparingDouble(Node::centerLon));
+
+        List<Node> result = new ArrayList<>(parents);
+        for (int s = 0; s < n; s += perSlice) {
+            List<Node> slice = new ArrayList<>(sorted.subList(s, Math.min(n, s + perSlice)));
+            slice.sort(Comparator.comparingDouble(Node::centerLat));
+            for (int i = 0; i < slice.size(); i += NODE_CAPACITY) {
+                List<Node> children = new ArrayList<>(slice.subList(i, Math.min(slice.size(), i + NODE_CAPACITY)));
+                double minLat = Double.POSITIVE_INFINITY;
+                double minLon = Double.POSITIVE_INFINITY;
+                double maxLat = Double.NEGATIVE_INFINITY;
+                double maxLon = Double.NEGATIVE_INFINITY;
+                for (Node c : children) {
+                    minLat = Math.min(minLat, c.minLat);
+                    minLon = Math.min(minLon, c.minLon);
+                    maxLat = Math.max(maxLat, c.maxLat);
+                    maxLon = Math.max(maxLon, c.maxLon);
+                }
+                result.add(new Node(minLat, minLon, maxLat, maxLon, children, null));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ein Rechteck mit zugehörigem Wert.
+     */
+    public static final class Entry<T> {
+
+        private final double minLat;
+        private final double minLon;
+        private final double maxLat;
+        private final double maxLon;
+        private final T value;
+
+        public Entry(double minLat, double minLon, double maxLat, double maxLon, T value) {
+            this.minLat = minLat;
+            this.minLon = minLon;
+            this.maxLat = maxLat;
+            this.maxLon = maxLon;
+            this.value = value;
+        }
+    }
+
+    private static final class Node {
+
+        final double minLat;
+        final double minLon;
+        final double maxLat;
+        final double maxLon;
+        final List<Node> children;
+        final Object value;
+
+        Node(double minLat, double minLon, double maxLat, double maxLon, List<Node> children, Object value) {
+            this.minLat = minLat;
+            this.minLon = minLon;
+            this.maxLat = maxLat;
+            this.maxLon = maxLon;
+            this.children = children;
+            this.value = value;
+        }
+
+        double centerLat() {
+            return (minLat + maxLat) / 2;
+        }
+
+        double centerLon() {
+            return (minLon + maxLon) / 2;
+        }
+    }
+}
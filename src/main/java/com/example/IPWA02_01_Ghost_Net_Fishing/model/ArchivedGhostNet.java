@@ -0,0 +1,148 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Abgeschlossenes Geisternetz (RECOVERED/CANCELLED) im Archiv.
+ * <p>
+ * Netze werden nach Ablauf einer Frist aus {@code ghost_nets} hierher verschoben
+ * (siehe {@code GhostNetArchiveService}), damit die Arbeitstabelle und ihre
+ * Indizes nur offene und kürzlich abgeschlossene Netze enthalten. Die ID bleibt
+ * erhalten.
+ */
+@Entity
+@Table(name = "ghost_nets_archive")
+public class ArchivedGhostNet {
+
+    /** Primärschlüssel – identisch mit der ursprünglichen {@code ghost_nets.id}. */
+    @Id
+    private Long id;
+
+    @Column(name = "latitude", nullable = false, columnDefinition = "DOUBLE PRECISION")
+    private Double latitude;
+
+    @Column(name = "longitude", nullable = false, columnDefinition = "DOUBLE PRECISION")
+    private Double longitude;
+
+    @Column(name = "size", nullable = true, columnDefinition = "DOUBLE PRECISION")
+    private Double size;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private GhostNetStatus status;
+
+    @Column(name = "region", nullable = true, length = 100)
+    private String region;
+
+    @Column(name = "reported_by_user_id", nullable = true)
+    private Long reportedBy;
+
+    @Column(name = "scheduled_by_user_id", nullable = true)
+    private Long scheduledBy;
+
+    @Column(name = "recovered_by_user_id", nullable = true)
+    private Long recoveredBy;
+
+    @Column(name = "canceld_by_user_id", nullable = true)
+    private Long canceldBy;
+
+    @Column(name = "reported_at", nullable = true)
+    private Instant reportedAt;
+
+    @Column(name = "scheduled_at", nullable = true)
+    private Instant scheduledAt;
+
+    @Column(name = "recovered_at", nullable = true)
+    private Instant recoveredAt;
+
+    @Column(name = "canceld_at", nullable = true)
+    private Instant canceldAt;
+
+    @Column(name = "created_at", nullable = true)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = true)
+    private Instant updatedAt;
+
+    /** Abschlusszeitpunkt (Bergung bzw. Abbruch) – Sortier- und Filterkriterium der Historie. */
+    @Column(name = "closed_at", nullable = true)
+    private Instant closedAt;
+
+    /** Zeitpunkt der Archivierung. */
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public Double getSize() {
+        return size;
+    }
+
+    public GhostNetStatus getStatus() {
+        return status;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public Long getReportedBy() {
+        return reportedBy;
+    }
+
+    public Long getScheduledBy() {
+        return scheduledBy;
+    }
+
+    public Long getRecoveredBy() {
+        return recoveredBy;
+    }
+
+    public Long getCanceldBy() {
+        return canceldBy;
+    }
+
+    public Instant getReportedAt() {
+        return reportedAt;
+    }
+
+    public Instant getScheduledAt() {
+        return scheduledAt;
+    }
+
+    public Instant getRecoveredAt() {
+        return recoveredAt;
+    }
+
+    public Instant getCanceldAt() {
+        return canceldAt;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Instant getClosedAt() {
+        return closedAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
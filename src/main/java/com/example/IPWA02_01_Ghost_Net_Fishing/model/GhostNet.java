@@ -1,14 +1,20 @@
 package com.example.IPWA02_01_Ghost_Net_Fishing.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.Instant;
 
 /**
  * Repräsentiert ein Geisternetz (Ghost Net).
  * <p>
  * Koordinaten werden als DOUBLE PRECISION gespeichert.
+ * Liegt im Second-Level-Cache (siehe {@code SecondLevelCacheConfig}).
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "ghost_nets")
 public class GhostNet {
 
@@ -82,6 +88,14 @@ public class GhostNet {
     @Column(name = "status", nullable = false)
     private GhostNetStatus status = GhostNetStatus.REPORTED;
 
+    /**
+     * Meeresgebiet (z. B. AWZ), beim Anlegen aus den geladenen Gebietspolygonen bestimmt.
+     * <p>
+     * Ist null, wenn der Punkt in keinem bekannten Gebiet liegt.
+     */
+    @Column(name = "region", nullable = true, length = 100)
+    private String region;
+
     // --- Getter/Setter ---
 
     /** @return DB-Primärschlüssel */
@@ -232,4 +246,14 @@ public class GhostNet {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    /** @return Meeresgebiet oder {@code null} */
+    public String getRegion() {
+        return region;
+    }
+
+    /** @param region Meeresgebiet */
+    public void setRegion(String region) {
+        this.region = region;
+    }
 }
@@ -0,0 +1,70 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.model;
+
+import java.time.Instant;
+
+/**
+ * Unveränderliche Momentaufnahme eines {@link GhostNet}.
+ * <p>
+ * Wird in Änderungs-Events verwendet, damit In-Memory-Lesemodelle den Zustand
+ * vor und nach einer Änderung vergleichen können – unabhängig davon, ob die
+ * Entity danach noch vom Persistence-Context verändert wird.
+ */
+public final class GhostNetSnapshot {
+
+    private final Long id;
+    private final Double latitude;
+    private final Double longitude;
+    private final Double size;
+    private final GhostNetStatus status;
+    private final Long reportedBy;
+    private final Long scheduledBy;
+    private final Long recoveredBy;
+    private final Long canceldBy;
+    private final Instant reportedAt;
+    private final Instant scheduledAt;
+    private final Instant recoveredAt;
+    private final Instant canceldAt;
+    private final Instant updatedAt;
+
+    private GhostNetSnapshot(GhostNet net) {
+        this.id = net.getId();
+        this.latitude = net.getLatitude();
+        this.longitude = net.getLongitude();
+        this.size = net.getSize();
+        this.status = net.getStatus();
+        this.reportedBy = net.getReportedBy();
+        this.scheduledBy = net.getScheduledBy();
+        this.recoveredBy = net.getRecoveredBy();
+        this.canceldBy = net.getCanceldBy();
+        this.reportedAt = net.getReportedAt();
+        this.scheduledAt = net.getScheduledAt();
+        this.recoveredAt = net.getRecoveredAt();
+        this.canceldAt = net.getCanceldAt();
+        this.updatedAt = net.getUpdatedAt();
+    }
+
+    /**
+     * Erstellt eine Momentaufnahme der übergebenen Entity.
+     *
+     * @param net Geisternetz (nicht {@code null})
+     * @return Snapshot mit den aktuellen Feldwerten
+     */
+    public static GhostNetSnapshot of(GhostNet net) {
+        return new GhostNetSnapshot(net);
+    }
+
+    public Long getId() { return id; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public Double getSize() { return size; }
+    public GhostNetStatus getStatus() { return status; }
+    public Long getReportedBy() { return reportedBy; }
+    public Long getScheduledBy() { return scheduledBy; }
+    public Long getRecoveredBy() { return recoveredBy; }
+    public Long getCanceldBy() { return canceldBy; }
+    public Instant getReportedAt() { return reportedAt; }
+    public Instant getScheduledAt() { return scheduledAt; }
+    public Instant getRecoveredAt() { return recoveredAt; }
+    public Instant getCanceldAt() { return canceldAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+}
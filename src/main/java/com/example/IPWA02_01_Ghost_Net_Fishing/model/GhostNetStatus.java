@@ -7,5 +7,13 @@ public enum GhostNetStatus {
     REPORTED,      // Gemeldet
     SCHEDULED,     // Bergung bevorstehend
     RECOVERED,     // Geborgen
-    CANCELLED      // Verschollen/abgebrochen
+    CANCELLED;     // Verschollen/abgebrochen
+
+    /**
+     * @return {@code true} für offene Netze (gemeldet oder Bergung geplant),
+     *         {@code false} für abgeschlossene (geborgen/verschollen)
+     */
+    public boolean isActive() {
+        return this == REPORTED || this == SCHEDULED;
+    }
 }
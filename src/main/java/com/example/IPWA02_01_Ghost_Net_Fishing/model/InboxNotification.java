@@ -0,0 +1,121 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Benachrichtigung im In-App-Postfach: ein Geisternetz wurde in einem
+ * abonnierten Gebiet gemeldet.
+ * <p>
+ * Der Gebietsname wird mitgespeichert, damit die Nachricht auch nach dem
+ * Löschen des Abos lesbar bleibt.
+ */
+@Entity
+@Table(name = "inbox_notifications")
+public class InboxNotification {
+
+    /** Primärschlüssel. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Empfänger als FK-ID (users.id). */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** Auslösendes Abo (null, wenn inzwischen gelöscht). */
+    @Column(name = "subscription_id", nullable = true)
+    private Long subscriptionId;
+
+    @Column(name = "region_name", nullable = false)
+    private String regionName;
+
+    @Column(name = "ghost_net_id", nullable = false)
+    private Long ghostNetId;
+
+    @Column(name = "latitude", nullable = false, columnDefinition = "DOUBLE PRECISION")
+    private Double latitude;
+
+    @Column(name = "longitude", nullable = false, columnDefinition = "DOUBLE PRECISION")
+    private Double longitude;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+
+    /** Zeitpunkt des Lesens; null = ungelesen. */
+    @Column(name = "read_at", nullable = true)
+    private Instant readAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    public void setSubscriptionId(Long subscriptionId) {
+        this.subscriptionId = subscriptionId;
+    }
+
+    public String getRegionName() {
+        return regionName;
+    }
+
+    public void setRegionName(String regionName) {
+        this.regionName = regionName;
+    }
+
+    public Long getGhostNetId() {
+        return ghostNetId;
+    }
+
+    public void setGhostNetId(Long ghostNetId) {
+        this.ghostNetId = ghostNetId;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getReadAt() {
+        return readAt;
+    }
+
+    public void setReadAt(Instant readAt) {
+        this.readAt = readAt;
+    }
+}
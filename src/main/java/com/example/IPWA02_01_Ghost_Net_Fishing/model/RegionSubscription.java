@@ -0,0 +1,77 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Abonniertes Seegebiet eines Benutzers.
+ * <p>
+ * Wird ein Geisternetz innerhalb des Polygons gemeldet, erhält der Benutzer
+ * eine Benachrichtigung ({@link InboxNotification}).
+ */
+@Entity
+@Table(name = "region_subscriptions")
+public class RegionSubscription {
+
+    /** Primärschlüssel. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Besitzer als FK-ID (users.id). */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** Anzeigename, z. B. "Hafen Kiel". */
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    /** Ecken als JSON {@code [[lat,lon],...]}; der Ring wird implizit geschlossen. */
+    @Column(name = "polygon", nullable = false, columnDefinition = "TEXT")
+    private String polygon;
+
+    /** Anlagezeitpunkt. */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getPolygon() {
+        return polygon;
+    }
+
+    public void setPolygon(String polygon) {
+        this.polygon = polygon;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.util.Objects;
@@ -13,8 +15,11 @@ import java.util.Objects;
  * <p>
  * Personen können als Meldende ("REPORTER") oder Bergende ("SALVOR") auftreten.
  * Abgebildet wird die Tabelle {@code person} aus schema.sql.
+ * Liegt im Second-Level-Cache (siehe {@code SecondLevelCacheConfig}).
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "users")
 public class User {
 
@@ -0,0 +1,93 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.repository;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.ArchivedGhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository für archivierte Geisternetze ({@code ghost_nets_archive}).
+ */
+@Repository
+public interface ArchivedGhostNetRepository extends JpaRepository<ArchivedGhostNet, Long> {
+
+    /**
+     * Kopiert Netze aus {@code ghost_nets} per INSERT ... SELECT ins Archiv.
+     * Muss in derselben Transaktion wie das anschließende Löschen laufen.
+     */
+    @Modifying
+    @Query("insert into ArchivedGhostNet (id, latitude, longitude, size, status, region, reportedBy, scheduledBy, "
+            + "recoveredBy, canceldBy, reportedAt, scheduledAt, recoveredAt, canceldAt, createdAt, updatedAt, "
+            + "closedAt, archivedAt) "
+            + "select g.id, g.latitude, g.longitude, g.size, g.status, g.region, g.reportedBy, g.scheduledBy, "
+            + "g.recoveredBy, g.canceldBy, g.reportedAt, g.scheduledAt, g.recoveredAt, g.canceldAt, g.createdAt, "
+            + "g.updatedAt, coalesce(g.recoveredAt, g.canceldAt, g.updatedAt, g.createdAt), :archivedAt "
+            + "from GhostNet g where g.id in :ids")
+    int copyFromGhostNets(@Param("ids") Collection<Long> ids, @Param("archivedAt") Instant archivedAt);
+
+    /**
+     * Historie: archivierte Netze mit ID größer {@code afterId} und Abschluss in
+     * {@code [from, to)}, aufsteigend nach ID (Keyset-Paginierung).
+     * {@code status} und {@code region} schränken nur ein, wenn gesetzt.
+     */
+    @Query("select a from ArchivedGhostNet a where a.id > :afterId "
+            + "and (:status is null or a.status = :status) "
+            + "and (:region is null or a.region = :region) "
+            + "and a.closedAt >= :from and a.closedAt < :to "
+            + "order by a.id")
+    List<ArchivedGhostNet> search(@Param("afterId") long afterId,
+                                  @Param("status") GhostNetStatus status,
+                                  @Param("region") String region,
+                                  @Param("from") Instant from,
+                                  @Param("to") Instant to,
+                                  Pageable page);
+
+    /**
+     * IDs der seit {@code since} archivierten Netze (Abgleich nach einem Snapshot).
+     */
+    @Query("select a.id from ArchivedGhostNet a where a.archivedAt >= :since")
+    List<Long> findIdsArchivedSince(@Param("since") Instant since);
+
+    /** Wie {@link GhostNetRepository#aggregateByStatus()}, über das Archiv. */
+    @Query("select a.status as status, count(a) as count, coalesce(sum(a.size), 0) as totalSize "
+            + "from ArchivedGhostNet a group by a.status")
+    List<GhostNetRepository.StatusAggregate> aggregateByStatus();
+
+    /** Wie {@link GhostNetRepository#countRecoveriesByUser()}, über das Archiv. */
+    @Query("select a.recoveredBy as userId, count(a) as count from ArchivedGhostNet a "
+            + "where a.status = com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus.RECOVERED "
+            + "and a.recoveredBy is not null group by a.recoveredBy")
+    List<GhostNetRepository.UserCount> countRecoveriesByUser();
+
+    /** Frühester Abschluss im Archiv ({@code null} ohne Einträge). */
+    @Query("select min(a.closedAt) from ArchivedGhostNet a")
+    Instant findFirstClosedAt();
+
+    /** Spätester Abschluss im Archiv ({@code null} ohne Einträge). */
+    @Query("select max(a.closedAt) from ArchivedGhostNet a")
+    Instant findLastClosedAt();
+
+    /**
+     * Übergangs-Zeitstempel der archivierten Netze mit Abschluss in {@code [from, to)}
+     * (Backfill der Histogramme; nutzt den BRIN-Index auf {@code closed_at}).
+     */
+    @Query("select a.id as id, a.reportedAt as reportedAt, a.scheduledAt as scheduledAt, "
+            + "a.recoveredAt as recoveredAt, a.canceldAt as canceldAt from ArchivedGhostNet a "
+            + "where a.closedAt >= :from and a.closedAt < :to")
+    List<GhostNetRepository.TransitionTimes> findTransitionTimesClosedBetween(@Param("from") Instant from,
+                                                                             @Param("to") Instant to);
+
+    /** Übergangs-Zeitstempel der archivierten Netze ohne Abschlusszeitpunkt (Altbestand). */
+    @Query("select a.id as id, a.reportedAt as reportedAt, a.scheduledAt as scheduledAt, "
+            + "a.recoveredAt as recoveredAt, a.canceldAt as canceldAt from ArchivedGhostNet a "
+            + "where a.closedAt is null")
+    List<GhostNetRepository.TransitionTimes> findTransitionTimesWithoutClosedAt();
+}
@@ -1,12 +1,188 @@
 package com.example.IPWA02_01_Ghost_Net_Fishing.repository;
 
 import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Datenbankzugriff für GhostNets.
  */
 @Repository
 public interface GhostNetRepository extends JpaRepository<GhostNet, Long> {
+
+    /**
+     * Aggregat je Status: Anzahl und Summe der gemeldeten Größen.
+     * <p>
+     * Wird nur zum Seeden/Abgleichen der In-Memory-Statistik verwendet,
+     * nicht pro Dashboard-Request.
+     */
+    @Query("select g.status as status, count(g) as count, coalesce(sum(g.size), 0) as totalSize "
+            + "from GhostNet g group by g.status")
+    List<StatusAggregate> aggregateByStatus();
+
+    /**
+     * Anzahl geborgener Netze je bergender Person.
+     */
+    @Query("select g.recoveredBy as userId, count(g) as count from GhostNet g "
+            + "where g.status = com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus.RECOVERED "
+            + "and g.recoveredBy is not null group by g.recoveredBy")
+    List<UserCount> countRecoveriesByUser();
+
+    /**
+     * Früheste und späteste Übergangs-Zeitstempel – Grenzen für das Backfill der
+     * Histogramme in Zeitabschnitten (ein Aggregat, keine Zeilen).
+     */
+    @Query("select min(g.reportedAt) as minReportedAt, max(g.reportedAt) as maxReportedAt, "
+            + "min(g.scheduledAt) as minScheduledAt, max(g.scheduledAt) as maxScheduledAt, "
+            + "min(g.recoveredAt) as minRecoveredAt, max(g.recoveredAt) as maxRecoveredAt, "
+            + "min(g.canceldAt) as minCanceldAt, max(g.canceldAt) as maxCanceldAt from GhostNet g")
+    TransitionBounds findTransitionBounds();
+
+    /**
+     * Übergangs-Zeitstempel der Netze, bei denen mindestens einer in {@code [from, to)} liegt
+     * (Backfill der Histogramme; nutzt die BRIN-Indizes der vier Spalten).
+     */
+    @Query("select g.id as id, g.reportedAt as reportedAt, g.scheduledAt as scheduledAt, "
+            + "g.recoveredAt as recoveredAt, g.canceldAt as canceldAt from GhostNet g "
+            + "where (g.reportedAt >= :from and g.reportedAt < :to) "
+            + "or (g.scheduledAt >= :from and g.scheduledAt < :to) "
+            + "or (g.recoveredAt >= :from and g.recoveredAt < :to) "
+            + "or (g.canceldAt >= :from and g.canceldAt < :to)")
+    List<TransitionTimes> findTransitionTimesBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Position und Größe aller offenen Netze (REPORTED/SCHEDULED),
+     * z. B. für das Seeden der Heatmap oder die Hotspot-Erkennung.
+     */
+    @Query("select g.id as id, g.latitude as latitude, g.longitude as longitude, g.size as size from GhostNet g "
+            + "where g.status in (com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus.REPORTED, "
+            + "com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus.SCHEDULED)")
+    List<Location> findActiveLocations();
+
+    /**
+     * Alle Netze mit dem angegebenen Status.
+     */
+    List<GhostNet> findByStatus(GhostNetStatus status);
+
+    /**
+     * Alle Netze, die seit {@code since} angelegt oder geändert wurden
+     * (Nachladen nach einem Snapshot). {@code updated_at} pflegt in PostgreSQL der
+     * Trigger {@code trg_set_timestamp_ghost_nets}, auch für Bulk-Updates.
+     */
+    @Query("select g from GhostNet g where g.updatedAt >= :since or g.createdAt >= :since")
+    List<GhostNet> findChangedSince(@Param("since") Instant since);
+
+    /**
+     * Alle Netze innerhalb eines Ausschnitts (Grenzen inklusive), z. B. für Kartenkacheln.
+     */
+    List<GhostNet> findByLatitudeBetweenAndLongitudeBetween(Double minLat, Double maxLat,
+                                                           Double minLon, Double maxLon);
+
+    /**
+     * Alle Netze mit dem angegebenen Meeresgebiet (Gleichheitsabfrage auf {@code region}).
+     */
+    List<GhostNet> findByRegion(String region);
+
+    /**
+     * Position der Netze mit ID größer {@code afterId}, aufsteigend nach ID
+     * (Keyset-Paginierung für die Gebietszuordnung).
+     *
+     * @param all {@code false}: nur Netze ohne Gebiet
+     */
+    @Query("select g.id as id, g.latitude as latitude, g.longitude as longitude, g.size as size from GhostNet g "
+            + "where g.id > :afterId and (:all = true or g.region is null) order by g.id")
+    List<Location> findLocationsAfter(@Param("afterId") long afterId, @Param("all") boolean all, Pageable page);
+
+    /**
+     * Setzt das Meeresgebiet für mehrere Netze in einem Statement.
+     */
+    @Transactional
+    @Modifying
+    @Query("update GhostNet g set g.region = :region where g.id in :ids")
+    int updateRegion(@Param("region") String region, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Anzahl Netze je Meeresgebiet.
+     */
+    @Query("select g.region as region, count(g) as count from GhostNet g "
+            + "where g.region is not null group by g.region order by g.region")
+    List<RegionCount> countByRegion();
+
+    /**
+     * Abgeschlossene Netze (RECOVERED/CANCELLED), deren Abschluss vor {@code cutoff}
+     * liegt – Kandidaten für das Archiv. Sperrt die Zeilen bis zum Ende der Transaktion.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from GhostNet g "
+            + "where g.status in (com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus.RECOVERED, "
+            + "com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus.CANCELLED) "
+            + "and coalesce(g.recoveredAt, g.canceldAt, g.updatedAt, g.createdAt) < :cutoff order by g.id")
+    List<GhostNet> findClosedBeforeForUpdate(@Param("cutoff") Instant cutoff, Pageable page);
+
+    /**
+     * Löscht mehrere Netze in einem Statement (nach dem Kopieren ins Archiv).
+     */
+    @Modifying
+    @Query("delete from GhostNet g where g.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /** Projektion für {@link #aggregateByStatus()}. */
+    interface StatusAggregate {
+        GhostNetStatus getStatus();
+        long getCount();
+        double getTotalSize();
+    }
+
+    /** Projektion für {@link #countRecoveriesByUser()}. */
+    interface UserCount {
+        Long getUserId();
+        long getCount();
+    }
+
+    /** Projektion für {@link #findActiveLocations()}. */
+    interface Location {
+        Long getId();
+        Double getLatitude();
+        Double getLongitude();
+        Double getSize();
+    }
+
+    /** Projektion für {@link #countByRegion()}. */
+    interface RegionCount {
+        String getRegion();
+        long getCount();
+    }
+
+    /** Projektion für {@link #findTransitionBounds()}; alle Werte {@code null} ohne Netze. */
+    interface TransitionBounds {
+        Instant getMinReportedAt();
+        Instant getMaxReportedAt();
+        Instant getMinScheduledAt();
+        Instant getMaxScheduledAt();
+        Instant getMinRecoveredAt();
+        Instant getMaxRecoveredAt();
+        Instant getMinCanceldAt();
+        Instant getMaxCanceldAt();
+    }
+
+    /** Projektion für {@link #findTransitionTimesBetween}. */
+    interface TransitionTimes {
+        Long getId();
+        Instant getReportedAt();
+        Instant getScheduledAt();
+        Instant getRecoveredAt();
+        Instant getCanceldAt();
+    }
 }
@@ -0,0 +1,25 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.repository;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.InboxNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository für das In-App-Postfach.
+ */
+@Repository
+public interface InboxNotificationRepository extends JpaRepository<InboxNotification, Long> {
+
+    /**
+     * Neueste Benachrichtigungen eines Benutzers.
+     */
+    List<InboxNotification> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+
+    /**
+     * Neueste ungelesene Benachrichtigungen eines Benutzers.
+     */
+    List<InboxNotification> findByUserIdAndReadAtIsNullOrderByIdDesc(Long userId, Pageable pageable);
+}
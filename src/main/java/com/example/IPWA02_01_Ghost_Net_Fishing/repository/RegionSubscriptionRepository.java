@@ -0,0 +1,19 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.repository;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.RegionSubscription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository für abonnierte Seegebiete.
+ */
+@Repository
+public interface RegionSubscriptionRepository extends JpaRepository<RegionSubscription, Long> {
+
+    /**
+     * Alle Abos eines Benutzers, älteste zuerst.
+     */
+    List<RegionSubscription> findByUserIdOrderByCreatedAtAsc(Long userId);
+}
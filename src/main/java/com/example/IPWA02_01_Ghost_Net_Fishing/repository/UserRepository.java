@@ -1,13 +1,19 @@
 package com.example.IPWA02_01_Ghost_Net_Fishing.repository;
 
 import com.example.IPWA02_01_Ghost_Net_Fishing.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 /**
  * Repository-Schnittstelle für User (Personen).
+ * <p>
+ * Die Abfragen nach Name/E-Mail (Login, Registrierung) liegen im Query-Cache;
+ * jede Änderung an {@code users} macht die Ergebnisse ungültig.
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -17,15 +23,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param username Name
      * @return Optional Benutzer
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
 
     /**
      * Prüft, ob ein Benutzername bereits existiert.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByUsername(String username);
 
     /**
      * Prüft, ob eine E-Mail bereits existiert.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByEmail(String email);
 }
@@ -0,0 +1,180 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.ArchiveRunResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetHistoryResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetArchivedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.ArchivedGhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.ArchivedGhostNetRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verschiebt abgeschlossene Netze (RECOVERED/CANCELLED) nach Ablauf einer Frist
+ * aus {@code ghost_nets} ins Archiv {@code ghost_nets_archive}.
+ * <p>
+ * Die Arbeitstabelle – und damit {@code findAll()}, Kacheln, Spaltenspeicher und
+ * ihre Indizes – wächst so mit der offenen Arbeit statt mit der gesamten Historie.
+ * Jeder Block läuft in einer eigenen Transaktion: Zeilen sperren, per
+ * INSERT ... SELECT kopieren, löschen, danach {@link GhostNetArchivedEvent}. Das Archiv liegt
+ * in derselben Shard wie die Netze; Shards werden nacheinander abgearbeitet.
+ */
+@Service
+public class GhostNetArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(GhostNetArchiveService.class);
+
+    /** Obergrenze für {@code limit} der Historie. */
+    public static final int MAX_HISTORY_LIMIT = 500;
+
+    /** Offene Grenzen der Historie (closed_at liegt immer dazwischen). */
+    private static final Instant MIN_INSTANT = Instant.parse("0001-01-01T00:00:00Z");
+    private static final Instant MAX_INSTANT = Instant.parse("9999-12-31T00:00:00Z");
+
+    private final GhostNetRepository ghostNetRepository;
+    private final ArchivedGhostNetRepository archivedGhostNetRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GhostNetShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration minAge;
+    private final int batchSize;
+
+    /** Serialisiert Läufe; Lock statt {@code synchronized}, da die Läufe blockierend auf die DB zugreifen. */
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public GhostNetArchiveService(GhostNetRepository ghostNetRepository,
+                                  ArchivedGhostNetRepository archivedGhostNetRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  GhostNetShardRouter shardRouter,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${ghostnet.archive.min-age-days:30}") long minAgeDays,
+                                  @Value("${ghostnet.archive.batch-size:1000}") int batchSize) {
+        if (minAgeDays < 0) {
+            throw new IllegalArgumentException("ghostnet.archive.min-age-days darf nicht negativ sein");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("ghostnet.archive.batch-size muss > 0 sein");
+        }
+        this.ghostNetRepository = ghostNetRepository;
+        this.archivedGhostNetRepository = archivedGhostNetRepository;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAge = Duration.ofDays(minAgeDays);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Periodischer Archivierungslauf.
+     */
+    @Scheduled(fixedDelayString = "${ghostnet.archive.interval-ms:3600000}",
+            initialDelayString = "${ghostnet.archive.interval-ms:3600000}")
+    public void scheduledRun() {
+        ArchiveRunResponse result = run();
+        if (result.getArchived() > 0) {
+            log.info("{} Netze archiviert (abgeschlossen vor {}) in {} ms",
+                    result.getArchived(), result.getCutoff(), result.getTookMillis());
+        }
+    }
+
+    /**
+     * Archiviert alle abgeschlossenen Netze, die älter als die Frist sind.
+     */
+    public ArchiveRunResponse run() {
+        runLock.lock();
+        try {
+            long started = System.nanoTime();
+            Instant cutoff = Instant.now().minus(minAge);
+            int archived = 0;
+            int batches = 0;
+            for (int shard : shardRouter.allShards()) {
+                while (true) {
+                    Integer moved = shardRouter.on(shard,
+                            () -> transactionTemplate.execute(status -> archiveBatch(cutoff)));
+                    if (moved == null || moved == 0) {
+                        break;
+                    }
+                    archived += moved;
+                    batches++;
+                    if (moved < batchSize) {
+                        break;
+                    }
+                }
+            }
+            return new ArchiveRunResponse(cutoff, archived, batches, (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Historie archivierter Netze, seitenweise über {@code afterId}.
+     *
+     * @param status nur dieser Status (optional)
+     * @param region nur dieses Meeresgebiet (optional)
+     * @param from   Abschluss ab (optional, inklusive)
+     * @param to     Abschluss bis (optional, exklusive)
+     * @throws IllegalArgumentException bei ungültigem {@code limit} oder Zeitraum
+     */
+    @Transactional(readOnly = true)
+    public GhostNetHistoryResponse history(GhostNetStatus status, String region, Instant from, Instant to,
+                                           long afterId, int limit) {
+        if (limit < 1 || limit > MAX_HISTORY_LIMIT) {
+            throw new IllegalArgumentException("limit muss zwischen 1 und " + MAX_HISTORY_LIMIT + " liegen");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from muss vor to liegen");
+        }
+        String regionFilter = region == null || region.isBlank() ? null : region;
+        // Je Shard die ersten limit Treffer, zusammen wieder nach ID sortiert (IDs sind global eindeutig)
+        List<ArchivedGhostNet> nets = shardRouter.gatherAll(() -> archivedGhostNetRepository.search(afterId, status,
+                regionFilter, from != null ? from : MIN_INSTANT, to != null ? to : MAX_INSTANT,
+                PageRequest.of(0, limit)));
+        if (shardRouter.isSharded()) {
+            nets.sort(Comparator.comparing(ArchivedGhostNet::getId));
+            nets = new ArrayList<>(nets.subList(0, Math.min(limit, nets.size())));
+        }
+        Long next = nets.size() == limit ? nets.get(nets.size() - 1).getId() : null;
+        return new GhostNetHistoryResponse(nets, next);
+    }
+
+    private int archiveBatch(Instant cutoff) {
+        List<GhostNet> nets = ghostNetRepository.findClosedBeforeForUpdate(cutoff, PageRequest.of(0, batchSize));
+        if (nets.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(nets.size());
+        List<GhostNetSnapshot> snapshots = new ArrayList<>(nets.size());
+        for (GhostNet net : nets) {
+            ids.add(net.getId());
+            snapshots.add(GhostNetSnapshot.of(net));
+        }
+        int copied = archivedGhostNetRepository.copyFromGhostNets(ids, Instant.now());
+        int deleted = ghostNetRepository.deleteByIds(ids);
+        if (copied != ids.size() || deleted != ids.size()) {
+            // Zeilen sind gesperrt – tritt nur bei Inkonsistenz auf; Block zurückrollen
+            throw new IllegalStateException("Archivierung inkonsistent: " + ids.size() + " gesperrt, "
+                    + copied + " kopiert, " + deleted + " gelöscht");
+        }
+        eventPublisher.publishEvent(new GhostNetArchivedEvent(snapshots));
+        return ids.size();
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Liest und schreibt den Spaltenspeicher als memory-mapped Datei.
+ * <p>
+ * Aufbau (Little Endian):
+ * <pre>
+ *   int   MAGIC ("GNCS")
+ *   int   VERSION
+ *   int   Anzahl Status (muss zu {@link GhostNetStatus} passen)
+ *   int   Anzahl Zeilen n
+ *   long  Stand (Epoch-Millis, ab dem beim Start nachgeladen wird)
+ *   long  CRC32 der Nutzdaten
+ *   Nutzdaten: id, latitude, longitude, size, status, times[0..s), reportedBy,
+ *              scheduledBy, recoveredBy – je n Werte
+ * </pre>
+ * Geschrieben wird in eine temporäre Datei, die anschließend atomar umbenannt wird;
+ * eine halb geschriebene Datei ist damit nie sichtbar.
+ */
+final class GhostNetColumnSnapshot {
+
+    private static final int MAGIC = 0x53434E47; // "GNCS" little endian
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 * 4 + 2 * 8;
+
+    private final GhostNetColumnStore.Columns columns;
+    private final long watermark;
+
+    private GhostNetColumnSnapshot(GhostNetColumnStore.Columns columns, long watermark) {
+        this.columns = columns;
+        this.watermark = watermark;
+    }
+
+    /** @return geladene Spalten */
+    GhostNetColumnStore.Columns getColumns() {
+        return columns;
+    }
+
+    /** @return Stand des Snapshots (Epoch-Millis) */
+    long getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Schreibt die Spalten; der Aufrufer übergibt eine Kopie, die sich währenddessen nicht ändert.
+     *
+     * @param file      Zieldatei
+     * @param c         Spalten
+     * @param watermark Stand des Snapshots (Epoch-Millis)
+     */
+    static void write(Path file, GhostNetColumnStore.Columns c, long watermark) throws IOException {
+        int n = c.count;
+        int statuses = c.times.length;
+        long payload = payloadBytes(n, statuses);
+
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + payload);
+                buf.order(ByteOrder.LITTLE_ENDIAN);
+                buf.position(HEADER_BYTES);
+
+                buf.asLongBuffer().put(c.id, 0, n);
+                skip(buf, 8L * n);
+                buf.asDoubleBuffer().put(c.latitude, 0, n);
+                skip(buf, 8L * n);
+                buf.asDoubleBuffer().put(c.longitude, 0, n);
+                skip(buf, 8L * n);
+                buf.asDoubleBuffer().put(c.size, 0, n);
+                skip(buf, 8L * n);
+                buf.put(c.status, 0, n);
+                for (long[] column : c.times) {
+                    buf.asLongBuffer().put(column, 0, n);
+                    skip(buf, 8L * n);
+                }
+                for (long[] column : new long[][]{c.reportedBy, c.scheduledBy, c.recoveredBy}) {
+                    buf.asLongBuffer().put(column, 0, n);
+                    skip(buf, 8L * n);
+                }
+
+                CRC32 crc = new CRC32();
+                crc.update(buf.slice(HEADER_BYTES, (int) payload));
+
+                buf.putInt(0, MAGIC);
+                buf.putInt(4, VERSION);
+                buf.putInt(8, statuses);
+                buf.putInt(12, n);
+                buf.putLong(16, watermark);
+                buf.putLong(24, crc.getValue());
+                buf.force();
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Lädt einen Snapshot.
+     *
+     * @return Snapshot oder {@code null}, wenn keine Datei existiert
+     * @throws IOException bei Lesefehlern, falscher Version oder Prüfsumme
+     */
+    static GhostNetColumnSnapshot read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = ch.size();
+            if (length < HEADER_BYTES) {
+                throw new IOException("Snapshot zu kurz: " + length + " Byte");
+            }
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buf.getInt(0) != MAGIC) {
+                throw new IOException("Keine Snapshot-Datei: " + file);
+            }
+            int version = buf.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Nicht unterstützte Snapshot-Version: " + version);
+            }
+            int statuses = buf.getInt(8);
+            if (statuses != GhostNetStatus.values().length) {
+                throw new IOException("Snapshot passt nicht zu den Status-Werten: " + statuses);
+            }
+            int n = buf.getInt(12);
+            long watermark = buf.getLong(16);
+            long expectedCrc = buf.getLong(24);
+            long payload = payloadBytes(n, statuses);
+            if (n < 0 || HEADER_BYTES + payload != length) {
+                throw new IOException("Snapshot-Länge stimmt nicht: " + length);
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buf.slice(HEADER_BYTES, (int) payload));
+            if (crc.getValue() != expectedCrc) {
+                throw new IOException("Snapshot-Prüfsumme ungültig: " + file);
+            }
+
+            GhostNetColumnStore.Columns c = new GhostNetColumnStore.Columns(Math.max(1024, n));
+            buf.position(HEADER_BYTES);
+            buf.asLongBuffer().get(c.id, 0, n);
+            skip(buf, 8L * n);
+            buf.asDoubleBuffer().get(c.latitude, 0, n);
+            skip(buf, 8L * n);
+            buf.asDoubleBuffer().get(c.longitude, 0, n);
+            skip(buf, 8L * n);
+            buf.asDoubleBuffer().get(c.size, 0, n);
+            skip(buf, 8L * n);
+            buf.get(c.status, 0, n);
+            for (long[] column : c.times) {
+                buf.asLongBuffer().get(column, 0, n);
+                skip(buf, 8L * n);
+            }
+            for (long[] column : new long[][]{c.reportedBy, c.scheduledBy, c.recoveredBy}) {
+                buf.asLongBuffer().get(column, 0, n);
+                skip(buf, 8L * n);
+            }
+            c.count = n;
+            for (int row = 0; row < n; row++) {
+                c.rowById.put(c.id[row], row);
+            }
+            return new GhostNetColumnSnapshot(c, watermark);
+        }
+    }
+
+    private static long payloadBytes(int n, int statuses) {
+        // id, lat, lon, size, Zeitstempel je Status, drei User-Spalten à 8 Byte + Status-Byte
+        return (long) n * (8L * (4 + statuses + 3) + 1);
+    }
+
+    private static void skip(MappedByteBuffer buf, long bytes) {
+        buf.position(buf.position() + (int) bytes);
+    }
+}
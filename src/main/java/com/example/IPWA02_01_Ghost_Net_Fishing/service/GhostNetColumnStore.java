@@ -0,0 +1,579 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetFilterRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetFilterResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetArchivedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.ReadModelResyncEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.ArchivedGhostNetRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Spaltenorientiertes In-Memory-Lesemodell aller Geisternetze der Arbeitstabelle
+ * ({@code ghost_nets}, ohne Archiv) für Ad-hoc-Filter.
+ * <p>
+ * Jedes Attribut liegt in einem eigenen primitiven Array ({@code double[]},
+ * {@code byte[]}, {@code long[]}); fehlende Werte werden als {@code NaN} bzw.
+ * {@link #NONE} kodiert. Gefiltert wird per Scan über alle Zeilen – ohne
+ * Verzweigungen je Kriterium und ab {@link #PARALLEL_THRESHOLD} Zeilen parallel.
+ * <p>
+ * Nach jedem Commit wird über {@link GhostNetChangedEvent} fortgeschrieben;
+ * archivierte Netze entfernt {@link GhostNetArchivedEvent}.
+ * Der Inhalt wird periodisch und beim Herunterfahren als Snapshot
+ * ({@code ghostnet.snapshot.path}) gesichert. Beim Start wird der Snapshot
+ * gemappt und nur um die seitdem geänderten Zeilen ergänzt; fehlt er oder ist
+ * er ungültig, wird die Tabelle vollständig geladen. Das Nachladen setzt voraus,
+ * dass {@code updated_at} bei jeder Änderung gepflegt wird – in PostgreSQL per
+ * Trigger {@code trg_set_timestamp_ghost_nets} (initdb/schema.sql), damit auch
+ * Schreibzugriffe an der Anwendung vorbei erfasst werden. Nur dieser Speicher wird
+ * gesichert; Histogramm, Dichteraster und Einsatzplanung laden beim Start weiterhin
+ * aus der Datenbank. Änderungen, die während
+ * des Ladens committet werden, werden gepuffert und vor dem Austausch in
+ * Commit-Reihenfolge auf die neuen Spalten angewendet.
+ */
+@Service
+public class GhostNetColumnStore {
+
+    private static final Logger log = LoggerFactory.getLogger(GhostNetColumnStore.class);
+
+    /** Kodierung für fehlende Zeitstempel und User-IDs. */
+    static final long NONE = Long.MIN_VALUE;
+
+    /** Ab dieser Zeilenzahl wird parallel gescannt. */
+    static final int PARALLEL_THRESHOLD = 65_536;
+
+    /** Zeilen je paralleler Teilaufgabe. */
+    private static final int CHUNK = 16_384;
+
+    private static final GhostNetStatus[] STATUSES = GhostNetStatus.values();
+
+    private final GhostNetRepository ghostNetRepository;
+    private final GhostNetShardRouter shardRouter;
+    private final ArchivedGhostNetRepository archivedGhostNetRepository;
+
+    /** Snapshot-Datei; {@code null} = Snapshots deaktiviert. */
+    private final Path snapshotPath;
+
+    /** Sicherheitsabstand beim Nachladen (Transaktionen, die vor dem Snapshot begonnen haben). */
+    private final long replayMarginMillis;
+
+    /** Serialisiert Ladevorgänge; Lock statt {@code synchronized}, damit virtuelle Threads beim DB-Zugriff nicht gepinnt werden. */
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    /** Schreiber (Events, Seed) exklusiv, Scans geteilt. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Columns columns = new Columns(1024);
+
+    /** Änderungen während eines Ladevorgangs; {@code null} außerhalb. Nur unter dem Schreib-Lock. */
+    private List<Consumer<Columns>> changedDuringLoad;
+
+    /** Erst nach dem Befüllen darf ein Snapshot geschrieben werden. */
+    private volatile boolean seeded;
+
+    public GhostNetColumnStore(GhostNetRepository ghostNetRepository,
+                               ArchivedGhostNetRepository archivedGhostNetRepository,
+                               GhostNetShardRouter shardRouter,
+                               @Value("${ghostnet.snapshot.path:}") String snapshotPath,
+                               @Value("${ghostnet.snapshot.replay-margin-ms:60000}") long replayMarginMillis) {
+        this.ghostNetRepository = ghostNetRepository;
+        this.shardRouter = shardRouter;
+        this.archivedGhostNetRepository = archivedGhostNetRepository;
+        this.snapshotPath = snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.replayMarginMillis = replayMarginMillis;
+    }
+
+    /**
+     * Befüllt das Lesemodell nach dem Start – aus dem Snapshot plus Delta,
+     * sonst vollständig aus der Datenbank.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        load(true);
+    }
+
+    /**
+     * Lädt das Lesemodell bei einem Resync vollständig aus der Datenbank
+     * (der Snapshot könnte Änderungen anderer Instanzen nicht enthalten).
+     */
+    @EventListener(ReadModelResyncEvent.class)
+    public void resync() {
+        load(false);
+    }
+
+    private void load(boolean fromSnapshot) {
+        loadLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                changedDuringLoad = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Columns fresh = null;
+            try {
+                if (fromSnapshot) {
+                    fresh = loadSnapshot();
+                }
+                if (fresh == null) {
+                    fresh = loadFromDatabase();
+                }
+            } finally {
+                replace(fresh);
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Columns loadFromDatabase() {
+        Columns fresh = new Columns(1024);
+        for (GhostNet net : shardRouter.gatherAll(ghostNetRepository::findAll)) {
+            fresh.upsert(GhostNetSnapshot.of(net));
+        }
+        log.info("Spaltenspeicher aus der Datenbank geladen: {} Netze", fresh.count);
+        return fresh;
+    }
+
+    /**
+     * Wendet die während des Ladens gepufferten Änderungen an und tauscht die Spalten aus.
+     *
+     * @param fresh geladene Spalten; {@code null} = Laden fehlgeschlagen, bisherige behalten
+     */
+    private void replace(Columns fresh) {
+        lock.writeLock().lock();
+        try {
+            if (fresh != null) {
+                changedDuringLoad.forEach(change -> change.accept(fresh));
+                log.debug("{} während des Ladens eingetroffene Änderungen übernommen", changedDuringLoad.size());
+                columns = fresh;
+                seeded = true;
+            }
+            changedDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sichert den Spaltenspeicher periodisch.
+     */
+    @Scheduled(fixedDelayString = "${ghostnet.snapshot.interval-ms:300000}",
+            initialDelayString = "${ghostnet.snapshot.interval-ms:300000}")
+    public void writeSnapshot() {
+        if (snapshotPath == null || !seeded) {
+            return;
+        }
+        long started = System.nanoTime();
+        // Stand vor dem Kopieren: alles, was danach committet wird, wird beim Start nachgeladen
+        long watermark = Instant.now().toEpochMilli();
+        // Nur das Kopieren blockiert Schreiber; Datei und force() laufen ohne Lock
+        Columns copy;
+        lock.readLock().lock();
+        try {
+            copy = new Columns(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            GhostNetColumnSnapshot.write(snapshotPath, copy, watermark);
+            log.debug("Snapshot geschrieben: {} Netze in {} ms", copy.count, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Snapshot konnte nicht geschrieben werden: {}", snapshotPath, e);
+        }
+    }
+
+    /**
+     * Sichert den Spaltenspeicher beim Herunterfahren.
+     */
+    @PreDestroy
+    public void writeSnapshotOnShutdown() {
+        writeSnapshot();
+    }
+
+    /**
+     * Lädt den Snapshot und ergänzt alle seitdem angelegten oder geänderten Netze.
+     *
+     * @return Spalten oder {@code null}, wenn kein gültiger Snapshot vorliegt
+     */
+    private Columns loadSnapshot() {
+        if (snapshotPath == null) {
+            return null;
+        }
+        GhostNetColumnSnapshot snapshot;
+        try {
+            snapshot = GhostNetColumnSnapshot.read(snapshotPath);
+        } catch (IOException e) {
+            log.warn("Snapshot wird ignoriert: {}", e.getMessage());
+            return null;
+        }
+        if (snapshot == null) {
+            return null;
+        }
+
+        Columns c = snapshot.getColumns();
+        int loaded = c.count;
+        Instant since = Instant.ofEpochMilli(snapshot.getWatermark() - replayMarginMillis);
+        int replayed = 0;
+        for (GhostNet net : shardRouter.gatherAll(() -> ghostNetRepository.findChangedSince(since))) {
+            c.upsert(GhostNetSnapshot.of(net));
+            replayed++;
+        }
+        // Seit dem Snapshot archivierte Netze stehen noch im Snapshot
+        int removed = c.removeAll(shardRouter.gatherAll(() -> archivedGhostNetRepository.findIdsArchivedSince(since)));
+        log.info("Spaltenspeicher aus Snapshot geladen: {} Netze, {} seit {} nachgeladen, {} archiviert",
+                loaded, replayed, since, removed);
+        return c;
+    }
+
+    /**
+     * Übernimmt eine Änderung nach dem Commit.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGhostNetChanged(GhostNetChangedEvent event) {
+        GhostNetSnapshot after = event.getAfter();
+        lock.writeLock().lock();
+        try {
+            columns.upsert(after);
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(c -> c.upsert(after));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Entfernt archivierte Netze nach dem Commit.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGhostNetArchived(GhostNetArchivedEvent event) {
+        List<Long> ids = new ArrayList<>(event.getNets().size());
+        event.getNets().forEach(net -> ids.add(net.getId()));
+        lock.writeLock().lock();
+        try {
+            columns.removeAll(ids);
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(c -> c.removeAll(ids));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Liefert die IDs aller Netze, die sämtliche gesetzten Kriterien erfüllen.
+     *
+     * @param filter Kriterien (nicht gesetzte schränken nicht ein)
+     * @return Treffer in Einfügereihenfolge
+     */
+    public GhostNetFilterResponse filter(GhostNetFilterRequest filter) {
+        Predicate p = Predicate.of(filter);
+        long started = System.nanoTime();
+
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            int n = c.count;
+            long[] ids;
+            if (n < PARALLEL_THRESHOLD) {
+                int[] rows = new int[n];
+                int hits = scan(c, p, 0, n, rows);
+                ids = toIds(c, rows, hits);
+            } else {
+                int chunks = (n + CHUNK - 1) / CHUNK;
+                int[][] rows = new int[chunks][];
+                int[] hits = new int[chunks];
+                IntStream.range(0, chunks).parallel().forEach(k -> {
+                    int from = k * CHUNK;
+                    int to = Math.min(n, from + CHUNK);
+                    rows[k] = new int[to - from];
+                    hits[k] = scan(c, p, from, to, rows[k]);
+                });
+                int total = 0;
+                for (int h : hits) {
+                    total += h;
+                }
+                ids = new long[total];
+                int pos = 0;
+                for (int k = 0; k < chunks; k++) {
+                    for (int i = 0; i < hits[k]; i++) {
+                        ids[pos++] = c.id[rows[k][i]];
+                    }
+                }
+            }
+            long tookMicros = (System.nanoTime() - started) / 1_000;
+            return new GhostNetFilterResponse(ids.length, ids, n, tookMicros);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** @return Anzahl gespeicherter Netze */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Prüft die Zeilen {@code [from, to)} und schreibt Treffer nach {@code out}.
+     * <p>
+     * Die Kriterien werden mit {@code &} (nicht {@code &&}) verknüpft und der Index
+     * immer geschrieben, der Zähler aber nur bei Treffer erhöht – so entsteht
+     * kein datenabhängiger Sprung je Zeile.
+     */
+    private static int scan(Columns c, Predicate p, int from, int to, int[] out) {
+        byte[] status = c.status;
+        double[] lat = c.latitude;
+        double[] lon = c.longitude;
+        double[] size = c.size;
+        long[] time = c.times[p.timeField];
+        long[] reportedBy = c.reportedBy;
+        long[] scheduledBy = c.scheduledBy;
+        long[] recoveredBy = c.recoveredBy;
+
+        int hits = 0;
+        for (int i = from; i < to; i++) {
+            boolean match = ((p.statusMask >>> status[i]) & 1) != 0
+                    & lat[i] >= p.minLat & lat[i] <= p.maxLat
+                    & lon[i] >= p.minLon & lon[i] <= p.maxLon
+                    & (!p.sizeFiltered | (size[i] >= p.minSize & size[i] <= p.maxSize))
+                    & time[i] >= p.from & time[i] < p.to
+                    & (p.reportedBy == NONE | reportedBy[i] == p.reportedBy)
+                    & (p.scheduledBy == NONE | scheduledBy[i] == p.scheduledBy)
+                    & (p.recoveredBy == NONE | recoveredBy[i] == p.recoveredBy);
+            out[hits] = i;
+            hits += match ? 1 : 0;
+        }
+        return hits;
+    }
+
+    private static long[] toIds(Columns c, int[] rows, int hits) {
+        long[] ids = new long[hits];
+        for (int i = 0; i < hits; i++) {
+            ids[i] = c.id[rows[i]];
+        }
+        return ids;
+    }
+
+    private static long millis(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : NONE;
+    }
+
+    private static long user(Long id) {
+        return id != null ? id : NONE;
+    }
+
+    /**
+     * Vorbereitete Kriterien in primitiver Form.
+     */
+    private static final class Predicate {
+
+        int statusMask;
+        double minLat;
+        double maxLat;
+        double minLon;
+        double maxLon;
+        boolean sizeFiltered;
+        double minSize;
+        double maxSize;
+        int timeField;
+        long from;
+        long to;
+        long reportedBy;
+        long scheduledBy;
+        long recoveredBy;
+
+        static Predicate of(GhostNetFilterRequest f) {
+            Predicate p = new Predicate();
+            if (f.getStatus() == null || f.getStatus().isEmpty()) {
+                p.statusMask = (1 << STATUSES.length) - 1;
+            } else {
+                for (GhostNetStatus s : f.getStatus()) {
+                    p.statusMask |= 1 << s.ordinal();
+                }
+            }
+            p.minLat = f.getMinLat() != null ? f.getMinLat() : Double.NEGATIVE_INFINITY;
+            p.maxLat = f.getMaxLat() != null ? f.getMaxLat() : Double.POSITIVE_INFINITY;
+            p.minLon = f.getMinLon() != null ? f.getMinLon() : Double.NEGATIVE_INFINITY;
+            p.maxLon = f.getMaxLon() != null ? f.getMaxLon() : Double.POSITIVE_INFINITY;
+
+            p.sizeFiltered = f.getMinSize() != null || f.getMaxSize() != null;
+            p.minSize = f.getMinSize() != null ? f.getMinSize() : Double.NEGATIVE_INFINITY;
+            p.maxSize = f.getMaxSize() != null ? f.getMaxSize() : Double.POSITIVE_INFINITY;
+
+            p.timeField = (f.getTimeField() != null ? f.getTimeField() : GhostNetStatus.REPORTED).ordinal();
+            // Ohne Zeitfenster auch Netze ohne Zeitstempel (NONE) zulassen, mit nur "to" nicht
+            p.from = f.getFrom() != null ? f.getFrom().toEpochMilli()
+                    : f.getTo() != null ? NONE + 1 : Long.MIN_VALUE;
+            p.to = f.getTo() != null ? f.getTo().toEpochMilli() : Long.MAX_VALUE;
+
+            p.reportedBy = user(f.getReportedBy());
+            p.scheduledBy = user(f.getScheduledBy());
+            p.recoveredBy = user(f.getRecoveredBy());
+            return p;
+        }
+    }
+
+    /**
+     * Die eigentlichen Spalten. Zeile {@code i} beschreibt ein Netz;
+     * nur unter dem Schreib-Lock verändern.
+     */
+    static final class Columns {
+
+        final LongIntHashMap rowById;
+        int count;
+
+        long[] id;
+        double[] latitude;
+        double[] longitude;
+        double[] size;
+        byte[] status;
+        /** Übergangszeitpunkte in Epoch-Millis, Index = Status-Ordinal. */
+        long[][] times;
+        long[] reportedBy;
+        long[] scheduledBy;
+        long[] recoveredBy;
+
+        Columns(int capacity) {
+            rowById = new LongIntHashMap(capacity);
+            id = new long[capacity];
+            latitude = new double[capacity];
+            longitude = new double[capacity];
+            size = new double[capacity];
+            status = new byte[capacity];
+            times = new long[STATUSES.length][capacity];
+            reportedBy = new long[capacity];
+            scheduledBy = new long[capacity];
+            recoveredBy = new long[capacity];
+        }
+
+        /** Kopie der belegten Zeilen für den Snapshot; ohne ID-Index, nur zum Schreiben. */
+        Columns(Columns source) {
+            int n = source.count;
+            rowById = null;
+            count = n;
+            id = Arrays.copyOf(source.id, n);
+            latitude = Arrays.copyOf(source.latitude, n);
+            longitude = Arrays.copyOf(source.longitude, n);
+            size = Arrays.copyOf(source.size, n);
+            status = Arrays.copyOf(source.status, n);
+            times = new long[source.times.length][];
+            for (int s = 0; s < times.length; s++) {
+                times[s] = Arrays.copyOf(source.times[s], n);
+            }
+            reportedBy = Arrays.copyOf(source.reportedBy, n);
+            scheduledBy = Arrays.copyOf(source.scheduledBy, n);
+            recoveredBy = Arrays.copyOf(source.recoveredBy, n);
+        }
+
+        void upsert(GhostNetSnapshot net) {
+            int row = rowById.get(net.getId());
+            if (row == LongIntHashMap.MISSING) {
+                if (count == id.length) {
+                    grow(count * 2);
+                }
+                row = count++;
+                rowById.put(net.getId(), row);
+            }
+
+            id[row] = net.getId();
+            latitude[row] = net.getLatitude() != null ? net.getLatitude() : Double.NaN;
+            longitude[row] = net.getLongitude() != null ? net.getLongitude() : Double.NaN;
+            size[row] = net.getSize() != null ? net.getSize() : Double.NaN;
+            status[row] = (byte) net.getStatus().ordinal();
+            times[GhostNetStatus.REPORTED.ordinal()][row] = millis(net.getReportedAt());
+            times[GhostNetStatus.SCHEDULED.ordinal()][row] = millis(net.getScheduledAt());
+            times[GhostNetStatus.RECOVERED.ordinal()][row] = millis(net.getRecoveredAt());
+            times[GhostNetStatus.CANCELLED.ordinal()][row] = millis(net.getCanceldAt());
+            reportedBy[row] = user(net.getReportedBy());
+            scheduledBy[row] = user(net.getScheduledBy());
+            recoveredBy[row] = user(net.getRecoveredBy());
+        }
+
+        /**
+         * Entfernt die Zeilen und schiebt die übrigen nach vorn (Reihenfolge bleibt erhalten).
+         *
+         * @return Anzahl tatsächlich entfernter Zeilen
+         */
+        int removeAll(Collection<Long> ids) {
+            boolean[] drop = new boolean[count];
+            int removed = 0;
+            for (Long netId : ids) {
+                int row = rowById.remove(netId);
+                if (row != LongIntHashMap.MISSING) {
+                    drop[row] = true;
+                    removed++;
+                }
+            }
+            if (removed == 0) {
+                return 0;
+            }
+            int to = 0;
+            for (int from = 0; from < count; from++) {
+                if (drop[from]) {
+                    continue;
+                }
+                if (to != from) {
+                    id[to] = id[from];
+                    latitude[to] = latitude[from];
+                    longitude[to] = longitude[from];
+                    size[to] = size[from];
+                    status[to] = status[from];
+                    for (long[] t : times) {
+                        t[to] = t[from];
+                    }
+                    reportedBy[to] = reportedBy[from];
+                    scheduledBy[to] = scheduledBy[from];
+                    recoveredBy[to] = recoveredBy[from];
+                    rowById.put(id[to], to);
+                }
+                to++;
+            }
+            count = to;
+            return removed;
+        }
+
+        private void grow(int capacity) {
+            id = Arrays.copyOf(id, capacity);
+            latitude = Arrays.copyOf(latitude, capacity);
+            longitude = Arrays.copyOf(longitude, capacity);
+            size = Arrays.copyOf(size, capacity);
+            status = Arrays.copyOf(status, capacity);
+            for (int s = 0; s < times.length; s++) {
+                times[s] = Arrays.copyOf(times[s], capacity);
+            }
+            reportedBy = Arrays.copyOf(reportedBy, capacity);
+            scheduledBy = Arrays.copyOf(scheduledBy, capacity);
+            recoveredBy = Arrays.copyOf(recoveredBy, capacity);
+        }
+    }
+}
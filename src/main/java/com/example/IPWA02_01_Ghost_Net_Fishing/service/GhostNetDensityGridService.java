@@ -0,0 +1,271 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetHeatmapResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.ReadModelResyncEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mehrstufiges Dichte-Raster der offenen Geisternetze (REPORTED/SCHEDULED).
+ * <p>
+ * Stufe {@code z} teilt die Welt in {@code 2^z × 2^z} Zellen
+ * ({@code 360/2^z} Grad Länge × {@code 180/2^z} Grad Breite). Jede Stufe hält
+ * Anzahl und Größensumme je belegter Zelle; Schreibzugriffe aktualisieren alle
+ * Stufen inkrementell nach dem Commit. Eine Heatmap-Abfrage liest damit nur
+ * die Zellen im Ausschnitt statt aller Einzelpunkte.
+ * <p>
+ * Änderungen, die während des Aufbaus committet werden, werden gepuffert und
+ * nach dem Laden auf das neue Raster angewendet – unabhängig davon, ob die
+ * Abfrage sie bereits gesehen hat.
+ */
+@Service
+public class GhostNetDensityGridService {
+
+    private static final Logger log = LoggerFactory.getLogger(GhostNetDensityGridService.class);
+
+    /** Ziel-Anzahl Zellen über die Breite des Ausschnitts bei automatischer Stufenwahl. */
+    private static final int TARGET_CELLS_ACROSS = 64;
+
+    private final GhostNetRepository ghostNetRepository;
+    private final GhostNetShardRouter shardRouter;
+    private final int maxLevel;
+
+    private volatile Grid grid;
+
+    /** Serialisiert Aufbauten; Lock statt {@code synchronized}, damit virtuelle Threads beim DB-Zugriff nicht gepinnt werden. */
+    private final ReentrantLock seedLock = new ReentrantLock();
+
+    /** Schützt den Tausch des Rasters und {@link #changedDuringSeed}. */
+    private final Object lock = new Object();
+
+    /** Letzter Stand je während des Aufbaus geänderten Netzes; {@code null} außerhalb des Aufbaus. */
+    private Map<Long, GhostNetSnapshot> changedDuringSeed;
+
+    public GhostNetDensityGridService(GhostNetRepository ghostNetRepository,
+                                      GhostNetShardRouter shardRouter,
+                                      @Value("${ghostnet.heatmap.max-level:12}") int maxLevel) {
+        if (maxLevel < 0 || maxLevel > 24) {
+            throw new IllegalArgumentException("ghostnet.heatmap.max-level muss zwischen 0 und 24 liegen: " + maxLevel);
+        }
+        this.ghostNetRepository = ghostNetRepository;
+        this.shardRouter = shardRouter;
+        this.maxLevel = maxLevel;
+        this.grid = new Grid(maxLevel);
+    }
+
+    /**
+     * Liefert das Dichte-Raster für einen Ausschnitt.
+     *
+     * @param minLat   südliche Grenze
+     * @param minLon   westliche Grenze
+     * @param maxLat   nördliche Grenze
+     * @param maxLon   östliche Grenze
+     * @param level    Rasterstufe; {@code null} = passend zur Ausschnittsbreite
+     * @param weighted {@code true} = nach Größe gewichten, sonst Anzahl
+     * @return belegte Zellen im Ausschnitt
+     * @throws IllegalArgumentException bei ungültigem Ausschnitt oder Stufe
+     */
+    public GhostNetHeatmapResponse getHeatmap(double minLat, double minLon, double maxLat, double maxLon,
+                                              Integer level, boolean weighted) {
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("Ungültige Bounding-Box (min > max).");
+        }
+        int z = level != null ? level : levelFor(maxLon - minLon);
+        if (z < 0 || z > maxLevel) {
+            throw new IllegalArgumentException("Stufe außerhalb des erlaubten Bereichs [0, " + maxLevel + "]: " + z);
+        }
+
+        Map<Long, Cell> cells = grid.levels[z];
+        double cellWidth = cellWidth(z);
+        double cellHeight = cellHeight(z);
+
+        int r0 = row(minLat, z), r1 = row(maxLat, z);
+        int c0 = col(minLon, z), c1 = col(maxLon, z);
+        long candidates = (long) (r1 - r0 + 1) * (c1 - c0 + 1);
+
+        List<GhostNetHeatmapResponse.Cell> out = new ArrayList<>();
+        if (candidates <= cells.size()) {
+            // Kleiner Ausschnitt: gezielt nachschlagen
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    Cell cell = cells.get(key(r, c));
+                    if (cell != null) {
+                        addCell(out, r, c, cell, cellWidth, cellHeight, weighted);
+                    }
+                }
+            }
+        } else {
+            // Großer Ausschnitt: nur belegte Zellen durchlaufen
+            cells.forEach((k, cell) -> {
+                int r = (int) (k >>> 32);
+                int c = (int) (long) k;
+                if (r >= r0 && r <= r1 && c >= c0 && c <= c1) {
+                    addCell(out, r, c, cell, cellWidth, cellHeight, weighted);
+                }
+            });
+        }
+        return new GhostNetHeatmapResponse(z, cellWidth, cellHeight, weighted, out);
+    }
+
+    /**
+     * Baut das Raster nach dem Start (und bei einem Resync) aus den offenen Netzen auf.
+     * <p>
+     * Für Netze, die sich während des Ladens geändert haben, wird der geladene Stand
+     * verworfen und der zuletzt gemeldete übernommen.
+     */
+    @EventListener({ApplicationReadyEvent.class, ReadModelResyncEvent.class})
+    public void seed() {
+        seedLock.lock();
+        try {
+            load();
+        } finally {
+            seedLock.unlock();
+        }
+    }
+
+    private void load() {
+        synchronized (lock) {
+            changedDuringSeed = new HashMap<>();
+        }
+        Grid fresh = new Grid(maxLevel);
+        List<GhostNetRepository.Location> locations;
+        try {
+            locations = shardRouter.gatherAll(ghostNetRepository::findActiveLocations);
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                changedDuringSeed = null;
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            for (GhostNetRepository.Location l : locations) {
+                if (!changedDuringSeed.containsKey(l.getId())) {
+                    fresh.add(l.getLatitude(), l.getLongitude(), l.getSize(), 1);
+                }
+            }
+            for (GhostNetSnapshot changed : changedDuringSeed.values()) {
+                if (changed.getStatus().isActive()) {
+                    fresh.add(changed.getLatitude(), changed.getLongitude(), changed.getSize(), 1);
+                }
+            }
+            log.info("Heatmap-Raster aufgebaut: {} offene Netze, {} während des Ladens geändert, Stufen 0..{}",
+                    locations.size(), changedDuringSeed.size(), maxLevel);
+            grid = fresh;
+            changedDuringSeed = null;
+        }
+    }
+
+    /**
+     * Aktualisiert das Raster nach einem Commit (nur offene Netze zählen).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGhostNetChanged(GhostNetChangedEvent event) {
+        GhostNetSnapshot before = event.getBefore();
+        GhostNetSnapshot after = event.getAfter();
+        synchronized (lock) {
+            if (changedDuringSeed != null) {
+                changedDuringSeed.put(after.getId(), after);
+            }
+            Grid g = grid;
+            if (before != null && before.getStatus().isActive()) {
+                g.add(before.getLatitude(), before.getLongitude(), before.getSize(), -1);
+            }
+            if (after.getStatus().isActive()) {
+                g.add(after.getLatitude(), after.getLongitude(), after.getSize(), 1);
+            }
+        }
+    }
+
+    private int levelFor(double widthDeg) {
+        if (widthDeg <= 0) {
+            return maxLevel;
+        }
+        int z = (int) Math.floor(Math.log(360.0 * TARGET_CELLS_ACROSS / widthDeg) / Math.log(2));
+        return Math.max(0, Math.min(maxLevel, z));
+    }
+
+    private static void addCell(List<GhostNetHeatmapResponse.Cell> out, int r, int c, Cell cell,
+                                double cellWidth, double cellHeight, boolean weighted) {
+        long count = cell.count.sum();
+        if (count <= 0) {
+            return;
+        }
+        double value = weighted ? cell.size.sum() : count;
+        out.add(new GhostNetHeatmapResponse.Cell(-90 + r * cellHeight, -180 + c * cellWidth, count, value));
+    }
+
+    private static double cellWidth(int z) {
+        return 360.0 / (1 << z);
+    }
+
+    private static double cellHeight(int z) {
+        return 180.0 / (1 << z);
+    }
+
+    private static int row(double lat, int z) {
+        int n = 1 << z;
+        return Math.max(0, Math.min(n - 1, (int) Math.floor((lat + 90) / cellHeight(z))));
+    }
+
+    private static int col(double lon, int z) {
+        int n = 1 << z;
+        return Math.max(0, Math.min(n - 1, (int) Math.floor((lon + 180) / cellWidth(z))));
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * Alle Stufen des Rasters.
+     */
+    private static final class Grid {
+        final Map<Long, Cell>[] levels;
+
+        @SuppressWarnings("unchecked")
+        Grid(int maxLevel) {
+            levels = new Map[maxLevel + 1];
+            for (int z = 0; z <= maxLevel; z++) {
+                levels[z] = new ConcurrentHashMap<>();
+            }
+        }
+
+        void add(Double lat, Double lon, Double size, int sign) {
+            if (lat == null || lon == null) {
+                return;
+            }
+            for (int z = 0; z < levels.length; z++) {
+                Cell cell = levels[z].computeIfAbsent(key(row(lat, z), col(lon, z)), k -> new Cell());
+                cell.count.add(sign);
+                if (size != null) {
+                    cell.size.add(sign * size);
+                }
+            }
+        }
+    }
+
+    /**
+     * Zähler einer Rasterzelle.
+     */
+    private static final class Cell {
+        final LongAdder count = new LongAdder();
+        final DoubleAdder size = new DoubleAdder();
+    }
+}
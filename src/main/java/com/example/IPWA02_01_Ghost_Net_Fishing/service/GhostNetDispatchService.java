@@ -0,0 +1,344 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.DispatchResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.ReadModelResyncEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.geo.GeoMath;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dispositions-Rangliste: "Welches gemeldete Netz als Nächstes bergen?"
+ * <p>
+ * Score je Netz (Gewichte über {@code ghostnet.dispatch.*}):
+ * <pre>
+ *   score = wSize · Größe + wAge · Alter[h] + wProximity · Nachbarn − wDistance · Entfernung[km]
+ * </pre>
+ * Größe, Meldezeitpunkt und Nachbarn ändern sich nur bei Schreibvorgängen. Daraus
+ * wird ein zeitunabhängiger Basis-Score gebildet (das Alter geht als
+ * {@code −wAge · reportedAt} ein – für alle Netze wächst es gleich schnell) und in
+ * einem indizierten Heap gehalten, der bei jeder Änderung in O(log n) angepasst wird.
+ * <p>
+ * Die Entfernung zum Schiff kennt erst die Anfrage. Da sie den Score nur senken kann,
+ * wird der Heap in absteigender Basis-Reihenfolge durchlaufen, bis kein weiteres Netz
+ * die aktuelle Top-N mehr erreichen kann.
+ */
+@Service
+public class GhostNetDispatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(GhostNetDispatchService.class);
+
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    /** Obergrenze für {@code limit}. */
+    public static final int MAX_LIMIT = 100;
+
+    private final GhostNetRepository ghostNetRepository;
+    private final GhostNetShardRouter shardRouter;
+    private final double weightSize;
+    private final double weightAgePerHour;
+    private final double weightProximity;
+    private final double weightDistancePerKm;
+    private final double proximityMeters;
+    private final double cellDeg;
+
+    private final IndexedMaxHeap heap = new IndexedMaxHeap();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, List<Entry>> grid = new HashMap<>();
+
+    /** Serialisiert Ladevorgänge; Lock statt {@code synchronized}, damit virtuelle Threads beim DB-Zugriff nicht gepinnt werden. */
+    private final ReentrantLock seedLock = new ReentrantLock();
+
+    /** Letzter Stand je während des Ladens geänderten Netzes; {@code null} außerhalb. Nur unter dem Monitor. */
+    private Map<Long, GhostNetSnapshot> changedDuringSeed;
+
+    public GhostNetDispatchService(GhostNetRepository ghostNetRepository,
+                                   GhostNetShardRouter shardRouter,
+                                   @Value("${ghostnet.dispatch.weight-size:1.0}") double weightSize,
+                                   @Value("${ghostnet.dispatch.weight-age-per-hour:0.5}") double weightAgePerHour,
+                                   @Value("${ghostnet.dispatch.weight-proximity:5.0}") double weightProximity,
+                                   @Value("${ghostnet.dispatch.weight-distance-per-km:0.2}") double weightDistancePerKm,
+                                   @Value("${ghostnet.dispatch.proximity-meters:5000}") double proximityMeters) {
+        if (weightDistancePerKm < 0) {
+            throw new IllegalArgumentException("ghostnet.dispatch.weight-distance-per-km darf nicht negativ sein");
+        }
+        if (proximityMeters <= 0) {
+            throw new IllegalArgumentException("ghostnet.dispatch.proximity-meters muss > 0 sein");
+        }
+        this.ghostNetRepository = ghostNetRepository;
+        this.shardRouter = shardRouter;
+        this.weightSize = weightSize;
+        this.weightAgePerHour = weightAgePerHour;
+        this.weightProximity = weightProximity;
+        this.weightDistancePerKm = weightDistancePerKm;
+        this.proximityMeters = proximityMeters;
+        // Zellhöhe = Suchradius als Winkel: Nachbarn liegen höchstens eine Zeile entfernt
+        this.cellDeg = Math.toDegrees(proximityMeters / GeoMath.EARTH_RADIUS_M);
+    }
+
+    /**
+     * Befüllt Heap und Nachbarschaftsraster mit allen offenen Meldungen.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        load();
+    }
+
+    /**
+     * Baut Heap und Nachbarschaftsraster bei einem Resync neu auf.
+     */
+    @EventListener(ReadModelResyncEvent.class)
+    public void resync() {
+        load();
+    }
+
+    /**
+     * Liest die offenen Meldungen außerhalb des Monitors und ersetzt danach den Bestand.
+     * Für Netze, die sich währenddessen geändert haben, gilt der zuletzt gemeldete Stand.
+     */
+    private void load() {
+        seedLock.lock();
+        try {
+            synchronized (this) {
+                changedDuringSeed = new HashMap<>();
+            }
+            List<GhostNet> open;
+            try {
+                open = shardRouter.gatherAll(() -> ghostNetRepository.findByStatus(GhostNetStatus.REPORTED));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    changedDuringSeed = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                for (Long id : new ArrayList<>(entries.keySet())) {
+                    delete(id);
+                }
+                for (GhostNet net : open) {
+                    if (!changedDuringSeed.containsKey(net.getId())) {
+                        insert(GhostNetSnapshot.of(net));
+                    }
+                }
+                for (GhostNetSnapshot changed : changedDuringSeed.values()) {
+                    if (changed.getStatus() == GhostNetStatus.REPORTED) {
+                        insert(changed);
+                    }
+                }
+                log.debug("Dispositions-Heap befüllt: {} Netze, {} während des Ladens geändert",
+                        heap.size(), changedDuringSeed.size());
+                changedDuringSeed = null;
+            }
+        } finally {
+            seedLock.unlock();
+        }
+    }
+
+    /**
+     * Hält Heap und Nachbarzahlen nach jedem Commit aktuell.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGhostNetChanged(GhostNetChangedEvent event) {
+        GhostNetSnapshot after = event.getAfter();
+        if (changedDuringSeed != null) {
+            changedDuringSeed.put(after.getId(), after);
+        }
+        boolean open = after.getStatus() == GhostNetStatus.REPORTED;
+        boolean known = entries.containsKey(after.getId());
+        if (open && !known) {
+            insert(after);
+        } else if (!open && known) {
+            delete(after.getId());
+        } else if (open) {
+            // Position ändert sich nicht; Größe ggf. schon
+            Entry e = entries.get(after.getId());
+            e.size = after.getSize();
+            heap.put(e.id, baseScore(e));
+        }
+    }
+
+    /**
+     * Liefert die besten {@code limit} offenen Meldungen.
+     *
+     * @param limit     Anzahl (1..{@value #MAX_LIMIT})
+     * @param vesselLat Schiffsposition (optional, nur zusammen mit {@code vesselLon})
+     * @param vesselLon Schiffsposition (optional)
+     * @throws IllegalArgumentException bei ungültigen Parametern
+     */
+    public synchronized DispatchResponse topN(int limit, Double vesselLat, Double vesselLon) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit muss zwischen 1 und " + MAX_LIMIT + " liegen");
+        }
+        if ((vesselLat == null) != (vesselLon == null)) {
+            throw new IllegalArgumentException("vesselLat und vesselLon nur gemeinsam angeben");
+        }
+
+        Instant now = Instant.now();
+        double ageOffset = weightAgePerHour * now.toEpochMilli() / MILLIS_PER_HOUR;
+        boolean withVessel = vesselLat != null;
+
+        // Min-Heap der bisher besten Ergebnisse (Wurzel = schwächster Kandidat)
+        PriorityQueue<DispatchResponse.Candidate> best =
+                new PriorityQueue<>(Comparator.comparingDouble(DispatchResponse.Candidate::getScore));
+        int[] visited = {0};
+
+        heap.visitDescending((id, base) -> {
+            double upperBound = base + ageOffset;
+            if (best.size() == limit && upperBound <= best.peek().getScore()) {
+                return false;
+            }
+            visited[0]++;
+            Entry e = entries.get(id);
+            Double distanceKm = null;
+            double score = upperBound;
+            if (withVessel) {
+                distanceKm = GeoMath.haversineMeters(vesselLat, vesselLon, e.latitude, e.longitude) / 1000.0;
+                score -= weightDistancePerKm * distanceKm;
+            }
+            double ageHours = (now.toEpochMilli() - e.reportedAtMillis) / MILLIS_PER_HOUR;
+            best.add(new DispatchResponse.Candidate(e.id, e.latitude, e.longitude, e.size,
+                    Instant.ofEpochMilli(e.reportedAtMillis), ageHours, e.neighbours, distanceKm, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+            return true;
+        });
+
+        List<DispatchResponse.Candidate> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.comparingDouble(DispatchResponse.Candidate::getScore).reversed());
+        return new DispatchResponse(now, heap.size(), visited[0], ranked);
+    }
+
+    private double baseScore(Entry e) {
+        double size = e.size != null ? e.size : 0;
+        return weightSize * size
+                - weightAgePerHour * e.reportedAtMillis / MILLIS_PER_HOUR
+                + weightProximity * e.neighbours;
+    }
+
+    private void insert(GhostNetSnapshot net) {
+        if (net.getLatitude() == null || net.getLongitude() == null) {
+            return;
+        }
+        Entry e = new Entry();
+        e.id = net.getId();
+        e.latitude = net.getLatitude();
+        e.longitude = net.getLongitude();
+        e.size = net.getSize();
+        e.reportedAtMillis = net.getReportedAt() != null ? net.getReportedAt().toEpochMilli() : System.currentTimeMillis();
+
+        for (Entry other : neighboursOf(e)) {
+            other.neighbours++;
+            heap.put(other.id, baseScore(other));
+            e.neighbours++;
+        }
+        entries.put(e.id, e);
+        grid.computeIfAbsent(cellKey(cellRow(e.latitude), cellCol(e.longitude)), k -> new ArrayList<>()).add(e);
+        heap.put(e.id, baseScore(e));
+    }
+
+    private void delete(long id) {
+        Entry e = entries.remove(id);
+        heap.remove(id);
+        long key = cellKey(cellRow(e.latitude), cellCol(e.longitude));
+        List<Entry> cell = grid.get(key);
+        cell.remove(e);
+        if (cell.isEmpty()) {
+            grid.remove(key);
+        }
+        for (Entry other : neighboursOf(e)) {
+            other.neighbours--;
+            heap.put(other.id, baseScore(other));
+        }
+    }
+
+    /**
+     * Alle anderen offenen Netze im Umkreis {@code proximityMeters}.
+     */
+    private List<Entry> neighboursOf(Entry e) {
+        List<Entry> result = new ArrayList<>();
+        int colsTotal = (int) Math.ceil(360 / cellDeg);
+        int row = cellRow(e.latitude);
+
+        // Größter Längenunterschied im Umkreis (wird zu den Polen hin größer)
+        double sinRadius = Math.sin(proximityMeters / GeoMath.EARTH_RADIUS_M);
+        double cosLat = Math.cos(Math.toRadians(e.latitude));
+        double dLon = cosLat <= sinRadius ? 180 : Math.toDegrees(Math.asin(sinRadius / cosLat));
+        double west = e.longitude - dLon;
+        double east = e.longitude + dLon;
+        if (west >= -180 && east < 180) {
+            collect(e, row, cellCol(west), cellCol(east), result);
+            return result;
+        }
+        // Über die Datumsgrenze: zwei Spaltenbereiche. Die letzte Spalte ist ggf. schmaler,
+        // daher wird die Länge normalisiert und nicht der Spaltenindex umgebrochen.
+        int fromCol = cellCol(west < -180 ? west + 360 : west);
+        int toCol = cellCol(east >= 180 ? east - 360 : east);
+        if (dLon >= 180 || toCol >= fromCol) {
+            collect(e, row, 0, colsTotal - 1, result);
+        } else {
+            collect(e, row, fromCol, colsTotal - 1, result);
+            collect(e, row, 0, toCol, result);
+        }
+        return result;
+    }
+
+    private void collect(Entry e, int row, int fromCol, int toCol, List<Entry> result) {
+        for (int r = row - 1; r <= row + 1; r++) {
+            for (int c = fromCol; c <= toCol; c++) {
+                List<Entry> cell = grid.get(cellKey(r, c));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry other : cell) {
+                    if (other.id != e.id && GeoMath.haversineMeters(e.latitude, e.longitude,
+                            other.latitude, other.longitude) <= proximityMeters) {
+                        result.add(other);
+                    }
+                }
+            }
+        }
+    }
+
+    private int cellRow(double lat) {
+        return (int) Math.floor(lat / cellDeg);
+    }
+
+    private int cellCol(double lon) {
+        return Math.floorMod((int) Math.floor((lon + 180) / cellDeg), (int) Math.ceil(360 / cellDeg));
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * Offene Meldung mit den für den Score nötigen Werten.
+     */
+    private static final class Entry {
+        long id;
+        double latitude;
+        double longitude;
+        Double size;
+        long reportedAtMillis;
+        int neighbours;
+    }
+}
@@ -0,0 +1,351 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetHistogramResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.HistogramGranularity;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.ReadModelResyncEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.ArchivedGhostNetRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Zeit-Histogramme der Statusübergänge (REPORTED/SCHEDULED/RECOVERED/CANCELLED).
+ * <p>
+ * Grundlage sind die Zeitstempel {@code reported_at}, {@code scheduled_at},
+ * {@code recovered_at} und {@code canceld_at}. Gezählt wird in zwei In-Memory-Rollups
+ * (Stunde und Tag, UTC), die nach jedem Commit inkrementell fortgeschrieben werden.
+ * Wochen werden aus den Tages-Buckets verdichtet. Eine Abfrage über mehrere Jahre
+ * liest damit höchstens einige tausend Buckets statt aller Netze.
+ * <p>
+ * Das Backfill liest in Zeitabschnitten ({@code ghostnet.histogram.backfill-chunk-days})
+ * über die BRIN-indizierten Zeitstempel – nie die ganze Tabelle auf einmal.
+ * Während des Backfills committete Änderungen werden gepuffert und beim Tausch der
+ * Rollups nachgetragen.
+ */
+@Service
+public class GhostNetHistogramService {
+
+    private static final Logger log = LoggerFactory.getLogger(GhostNetHistogramService.class);
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+
+    /** Reihenfolge der Slots in den Buckets; entspricht {@link GhostNetStatus#values()}. */
+    private static final GhostNetStatus[] SLOTS = GhostNetStatus.values();
+
+    private final GhostNetRepository ghostNetRepository;
+    private final GhostNetShardRouter shardRouter;
+    private final ArchivedGhostNetRepository archivedGhostNetRepository;
+    private final long chunkMillis;
+
+    private volatile Rollups rollups = new Rollups();
+
+    /** Serialisiert Backfills; Lock statt {@code synchronized}, damit virtuelle Threads beim DB-Zugriff nicht gepinnt werden. */
+    private final ReentrantLock backfillLock = new ReentrantLock();
+
+    /** Schützt den Tausch der Rollups und {@link #changedDuringBackfill}. */
+    private final Object lock = new Object();
+
+    /** Letzter Stand je während des Backfills geänderten Netzes; {@code null} außerhalb des Backfills. */
+    private Map<Long, GhostNetSnapshot> changedDuringBackfill;
+
+    public GhostNetHistogramService(GhostNetRepository ghostNetRepository,
+                                    ArchivedGhostNetRepository archivedGhostNetRepository,
+                                    GhostNetShardRouter shardRouter,
+                                    @Value("${ghostnet.histogram.backfill-chunk-days:30}") int chunkDays) {
+        if (chunkDays < 1) {
+            throw new IllegalArgumentException("ghostnet.histogram.backfill-chunk-days muss > 0 sein");
+        }
+        this.ghostNetRepository = ghostNetRepository;
+        this.shardRouter = shardRouter;
+        this.archivedGhostNetRepository = archivedGhostNetRepository;
+        this.chunkMillis = chunkDays * MILLIS_PER_DAY;
+    }
+
+    /**
+     * Liefert die Übergänge je Bucket im Zeitraum {@code [from, to)}.
+     * <p>
+     * {@code from} wird auf den Beginn seines Buckets abgerundet.
+     *
+     * @param from        Beginn (inklusiv)
+     * @param to          Ende (exklusiv)
+     * @param granularity Bucket-Größe
+     * @return nicht-leere Buckets, aufsteigend sortiert
+     * @throws IllegalArgumentException wenn der Zeitraum ungültig ist
+     */
+    public GhostNetHistogramResponse getHistogram(Instant from, Instant to, HistogramGranularity granularity) {
+        Objects.requireNonNull(granularity, "granularity");
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Ungültiger Zeitraum: from muss vor to liegen.");
+        }
+
+        Rollups r = rollups;
+        List<GhostNetHistogramResponse.Bucket> buckets = new ArrayList<>();
+
+        if (granularity == HistogramGranularity.HOUR) {
+            NavigableMap<Long, AtomicLongArray> range = r.hourly.subMap(
+                    Math.floorDiv(from.toEpochMilli(), MILLIS_PER_HOUR), true,
+                    Math.floorDiv(to.toEpochMilli() - 1, MILLIS_PER_HOUR), true);
+            range.forEach((hour, counts) -> addBucket(buckets, hour * MILLIS_PER_HOUR, counts));
+            return new GhostNetHistogramResponse(granularity, from, to, buckets);
+        }
+
+        NavigableMap<Long, AtomicLongArray> days = r.daily.subMap(
+                Math.floorDiv(from.toEpochMilli(), MILLIS_PER_DAY), true,
+                Math.floorDiv(to.toEpochMilli() - 1, MILLIS_PER_DAY), true);
+
+        if (granularity == HistogramGranularity.DAY) {
+            days.forEach((day, counts) -> addBucket(buckets, day * MILLIS_PER_DAY, counts));
+            return new GhostNetHistogramResponse(granularity, from, to, buckets);
+        }
+
+        // WEEK: Tages-Buckets auf den Montag der ISO-Woche verdichten
+        TreeMap<Long, long[]> weeks = new TreeMap<>();
+        days.forEach((day, counts) -> {
+            long monday = day - Math.floorMod(day + 3, 7); // 1970-01-01 war ein Donnerstag
+            long[] sum = weeks.computeIfAbsent(monday, k -> new long[SLOTS.length]);
+            for (int i = 0; i < SLOTS.length; i++) {
+                sum[i] += counts.get(i);
+            }
+        });
+        weeks.forEach((monday, sum) -> addBucket(buckets, monday * MILLIS_PER_DAY, new AtomicLongArray(sum)));
+        return new GhostNetHistogramResponse(granularity, from, to, buckets);
+    }
+
+    /**
+     * Baut die Rollups nach dem Start aus den Zeitstempeln aller Netze auf
+     * (inklusive Archiv – das Archivieren ändert die Historie nicht); ebenso bei einem Resync.
+     * <p>
+     * {@code ghost_nets}: je Abschnitt die Netze, bei denen ein Zeitstempel hineinfällt;
+     * gezählt werden nur diese Zeitstempel, damit jeder genau einmal zählt. Archiv: je
+     * Abschnitt von {@code closed_at} alle Zeitstempel der Zeilen.
+     * <p>
+     * Die Zeilen aus {@code ghost_nets} werden erst beim Tausch gezählt: Für Netze, die sich
+     * während des Backfills geändert haben, wird der gelesene Stand verworfen und der zuletzt
+     * gemeldete übernommen – ein Abschnitt kann den Stand vor oder nach dem Commit gelesen haben.
+     */
+    @EventListener({ApplicationReadyEvent.class, ReadModelResyncEvent.class})
+    public void backfill() {
+        backfillLock.lock();
+        try {
+            synchronized (lock) {
+                changedDuringBackfill = new HashMap<>();
+            }
+            Loaded loaded;
+            try {
+                loaded = load();
+            } catch (RuntimeException e) {
+                synchronized (lock) {
+                    changedDuringBackfill = null;
+                }
+                throw e;
+            }
+            Rollups fresh = loaded.rollups();
+            synchronized (lock) {
+                for (LoadedChunk chunk : loaded.pending()) {
+                    for (GhostNetRepository.TransitionTimes t : chunk.times()) {
+                        if (!changedDuringBackfill.containsKey(t.getId())) {
+                            fresh.addWithin(t.getReportedAt(), GhostNetStatus.REPORTED, chunk.from(), chunk.to());
+                            fresh.addWithin(t.getScheduledAt(), GhostNetStatus.SCHEDULED, chunk.from(), chunk.to());
+                            fresh.addWithin(t.getRecoveredAt(), GhostNetStatus.RECOVERED, chunk.from(), chunk.to());
+                            fresh.addWithin(t.getCanceldAt(), GhostNetStatus.CANCELLED, chunk.from(), chunk.to());
+                        }
+                    }
+                }
+                for (GhostNetSnapshot changed : changedDuringBackfill.values()) {
+                    fresh.add(changed.getReportedAt(), GhostNetStatus.REPORTED, 1);
+                    fresh.add(changed.getScheduledAt(), GhostNetStatus.SCHEDULED, 1);
+                    fresh.add(changed.getRecoveredAt(), GhostNetStatus.RECOVERED, 1);
+                    fresh.add(changed.getCanceldAt(), GhostNetStatus.CANCELLED, 1);
+                }
+                log.info("Histogramm-Rollups aufgebaut: {} Zeilen in {} Abschnitten, {} während des Backfills "
+                                + "geändert, {} Stunden-Buckets",
+                        loaded.rows(), loaded.chunks(), changedDuringBackfill.size(), fresh.hourly.size());
+                rollups = fresh;
+                changedDuringBackfill = null;
+            }
+        } finally {
+            backfillLock.unlock();
+        }
+    }
+
+    /**
+     * Liest alle Abschnitte; das Archiv ist bereits gezählt, die Abschnitte aus
+     * {@code ghost_nets} noch nicht.
+     */
+    private Loaded load() {
+        Rollups fresh = new Rollups();
+        List<LoadedChunk> pending = new ArrayList<>();
+        long rows = 0;
+        int chunks = 0;
+
+        Instant first = null;
+        Instant last = null;
+        for (GhostNetRepository.TransitionBounds b
+                : shardRouter.gatherAll(() -> List.of(ghostNetRepository.findTransitionBounds()))) {
+            first = earliest(first, b.getMinReportedAt(), b.getMinScheduledAt(), b.getMinRecoveredAt(), b.getMinCanceldAt());
+            last = latest(last, b.getMaxReportedAt(), b.getMaxScheduledAt(), b.getMaxRecoveredAt(), b.getMaxCanceldAt());
+        }
+        for (long start = chunkStart(first); first != null && start <= last.toEpochMilli(); start += chunkMillis) {
+            Instant from = Instant.ofEpochMilli(start);
+            Instant to = Instant.ofEpochMilli(start + chunkMillis);
+            List<GhostNetRepository.TransitionTimes> times =
+                    shardRouter.gatherAll(() -> ghostNetRepository.findTransitionTimesBetween(from, to));
+            pending.add(new LoadedChunk(from, to, times));
+            rows += times.size();
+            chunks++;
+        }
+
+        first = null;
+        last = null;
+        for (Instant closed : shardRouter.gatherAll(
+                () -> Collections.singletonList(archivedGhostNetRepository.findFirstClosedAt()))) {
+            first = earliest(first, closed);
+        }
+        for (Instant closed : shardRouter.gatherAll(
+                () -> Collections.singletonList(archivedGhostNetRepository.findLastClosedAt()))) {
+            last = latest(last, closed);
+        }
+        for (long start = chunkStart(first); first != null && start <= last.toEpochMilli(); start += chunkMillis) {
+            Instant from = Instant.ofEpochMilli(start);
+            Instant to = Instant.ofEpochMilli(start + chunkMillis);
+            rows += addAll(fresh, shardRouter.gatherAll(
+                    () -> archivedGhostNetRepository.findTransitionTimesClosedBetween(from, to)));
+            chunks++;
+        }
+        rows += addAll(fresh, shardRouter.gatherAll(archivedGhostNetRepository::findTransitionTimesWithoutClosedAt));
+        return new Loaded(fresh, pending, rows, chunks);
+    }
+
+    /**
+     * Schreibt die Rollups nach einem Commit fort.
+     * <p>
+     * Geänderte Zeitstempel werden im alten Bucket abgezogen und im neuen gezählt,
+     * damit das Ergebnis immer dem Backfill aus den Spalten entspricht.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGhostNetChanged(GhostNetChangedEvent event) {
+        GhostNetSnapshot before = event.getBefore();
+        GhostNetSnapshot after = event.getAfter();
+        synchronized (lock) {
+            if (changedDuringBackfill != null) {
+                changedDuringBackfill.put(after.getId(), after);
+            }
+            Rollups r = rollups;
+            move(r, before == null ? null : before.getReportedAt(), after.getReportedAt(), GhostNetStatus.REPORTED);
+            move(r, before == null ? null : before.getScheduledAt(), after.getScheduledAt(), GhostNetStatus.SCHEDULED);
+            move(r, before == null ? null : before.getRecoveredAt(), after.getRecoveredAt(), GhostNetStatus.RECOVERED);
+            move(r, before == null ? null : before.getCanceldAt(), after.getCanceldAt(), GhostNetStatus.CANCELLED);
+        }
+    }
+
+    private static long addAll(Rollups r, List<GhostNetRepository.TransitionTimes> times) {
+        for (GhostNetRepository.TransitionTimes t : times) {
+            r.add(t.getReportedAt(), GhostNetStatus.REPORTED, 1);
+            r.add(t.getScheduledAt(), GhostNetStatus.SCHEDULED, 1);
+            r.add(t.getRecoveredAt(), GhostNetStatus.RECOVERED, 1);
+            r.add(t.getCanceldAt(), GhostNetStatus.CANCELLED, 1);
+        }
+        return times.size();
+    }
+
+    /** Beginn des ersten Abschnitts: Tagesgrenze (UTC) vor {@code first}. */
+    private static long chunkStart(Instant first) {
+        return first == null ? 0 : Math.floorDiv(first.toEpochMilli(), MILLIS_PER_DAY) * MILLIS_PER_DAY;
+    }
+
+    private static Instant earliest(Instant current, Instant... candidates) {
+        for (Instant c : candidates) {
+            if (c != null && (current == null || c.isBefore(current))) {
+                current = c;
+            }
+        }
+        return current;
+    }
+
+    private static Instant latest(Instant current, Instant... candidates) {
+        for (Instant c : candidates) {
+            if (c != null && (current == null || c.isAfter(current))) {
+                current = c;
+            }
+        }
+        return current;
+    }
+
+    private static void move(Rollups r, Instant oldTs, Instant newTs, GhostNetStatus status) {
+        if (Objects.equals(oldTs, newTs)) {
+            return;
+        }
+        r.add(oldTs, status, -1);
+        r.add(newTs, status, 1);
+    }
+
+    private static void addBucket(List<GhostNetHistogramResponse.Bucket> buckets, long startMillis, AtomicLongArray counts) {
+        Map<GhostNetStatus, Long> byStatus = new EnumMap<>(GhostNetStatus.class);
+        long total = 0;
+        for (int i = 0; i < SLOTS.length; i++) {
+            long c = counts.get(i);
+            byStatus.put(SLOTS[i], c);
+            total += c;
+        }
+        if (total > 0) {
+            buckets.add(new GhostNetHistogramResponse.Bucket(Instant.ofEpochMilli(startMillis), byStatus));
+        }
+    }
+
+    /** Abschnitt {@code [from, to)} aus {@code ghost_nets}. */
+    private record LoadedChunk(Instant from, Instant to, List<GhostNetRepository.TransitionTimes> times) {
+    }
+
+    /** Ergebnis von {@link #load()}: Rollups mit Archiv und die noch nicht gezählten Abschnitte. */
+    private record Loaded(Rollups rollups, List<LoadedChunk> pending, long rows, int chunks) {
+    }
+
+    /**
+     * Stunden- und Tages-Rollup; Schlüssel sind Stunden bzw. Tage seit Epoch (UTC).
+     */
+    private static final class Rollups {
+        final ConcurrentSkipListMap<Long, AtomicLongArray> hourly = new ConcurrentSkipListMap<>();
+        final ConcurrentSkipListMap<Long, AtomicLongArray> daily = new ConcurrentSkipListMap<>();
+
+        void add(Instant ts, GhostNetStatus status, int delta) {
+            if (ts == null) {
+                return;
+            }
+            long millis = ts.toEpochMilli();
+            int slot = status.ordinal();
+            hourly.computeIfAbsent(Math.floorDiv(millis, MILLIS_PER_HOUR), k -> new AtomicLongArray(SLOTS.length))
+                    .addAndGet(slot, delta);
+            daily.computeIfAbsent(Math.floorDiv(millis, MILLIS_PER_DAY), k -> new AtomicLongArray(SLOTS.length))
+                    .addAndGet(slot, delta);
+        }
+
+        void addWithin(Instant ts, GhostNetStatus status, Instant from, Instant to) {
+            if (ts != null && !ts.isBefore(from) && ts.isBefore(to)) {
+                add(ts, status, 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Zählt Statusübergänge ({@code ghostnet.status.transitions}, Tags {@code from}/{@code to};
+ * {@code from=NEW} für neue Meldungen). Gezählt wird erst nach dem Commit.
+ * <p>
+ * Alle Zähler werden beim Start angelegt – pro Event nur ein Array-Zugriff.
+ */
+@Service
+public class GhostNetMetrics {
+
+    private static final GhostNetStatus[] STATUSES = GhostNetStatus.values();
+
+    /** [from][to]; from = Ordinalzahl, {@code STATUSES.length} = NEW. */
+    private final Counter[][] transitions = new Counter[STATUSES.length + 1][STATUSES.length];
+
+    public GhostNetMetrics(MeterRegistry registry) {
+        for (int from = 0; from <= STATUSES.length; from++) {
+            for (GhostNetStatus to : STATUSES) {
+                transitions[from][to.ordinal()] = Counter.builder("ghostnet.status.transitions")
+                        .description("Statusübergänge von Geisternetzen")
+                        .tag("from", from == STATUSES.length ? "NEW" : STATUSES[from].name())
+                        .tag("to", to.name())
+                        .register(registry);
+            }
+        }
+    }
+
+    /**
+     * Zählt neue Meldungen und echte Statuswechsel (gleicher Status wird ignoriert).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGhostNetChanged(GhostNetChangedEvent event) {
+        if (event.isRemote() || event.getAfter() == null || event.getAfter().getStatus() == null) {
+            return;
+        }
+        GhostNetStatus to = event.getAfter().getStatus();
+        if (event.isCreated()) {
+            transitions[STATUSES.length][to.ordinal()].increment();
+            return;
+        }
+        GhostNetStatus from = event.getBefore().getStatus();
+        if (from != null && from != to) {
+            transitions[from.ordinal()][to.ordinal()].increment();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.RegionBackfillResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetRegionsReassignedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.geo.DouglasPeucker;
+import com.example.IPWA02_01_Ghost_Net_Fishing.geo.PreparedPolygon;
+import com.example.IPWA02_01_Ghost_Net_Fishing.geo.StrTree;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Ordnet Geisternetze einem Meeresgebiet (AWZ, Seegebiet o. Ä.) zu.
+ * <p>
+ * Die Gebiete stammen aus einer lokalen GeoJSON-Datei ({@code Polygon} und
+ * {@code MultiPolygon}, Löcher werden berücksichtigt). Beim Laden werden die Ringe
+ * per Douglas-Peucker vereinfacht und als {@link PreparedPolygon} in einen
+ * STR-Baum gelegt; eine Zuordnung prüft nur die Polygone, deren Rechteck den Punkt
+ * enthält.
+ * <p>
+ * Das Ergebnis steht in der indizierten Spalte {@code ghost_nets.region}, sodass
+ * Gebietsfilter reine Gleichheitsabfragen sind. Bestehende Zeilen werden per
+ * {@link #backfill(boolean)} nachgetragen.
+ */
+@Service
+public class GhostNetRegionService {
+
+    private static final Logger log = LoggerFactory.getLogger(GhostNetRegionService.class);
+
+    private final GhostNetRepository ghostNetRepository;
+    private final GhostNetShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final String geojsonLocation;
+    private final String nameProperty;
+    private final double simplifyTolerance;
+    private final boolean backfillOnStartup;
+    private final int batchSize;
+
+    private volatile StrTree<Area> index = StrTree.build(List.of());
+
+    public GhostNetRegionService(GhostNetRepository ghostNetRepository,
+                                 GhostNetShardRouter shardRouter,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ResourceLoader resourceLoader,
+                                 ObjectMapper objectMapper,
+                                 @Value("${ghostnet.regions.geojson:classpath:regions/sea-areas.geojson}") String geojsonLocation,
+                                 @Value("${ghostnet.regions.name-property:name}") String nameProperty,
+                                 @Value("${ghostnet.regions.simplify-tolerance-deg:0.001}") double simplifyTolerance,
+                                 @Value("${ghostnet.regions.backfill-on-startup:true}") boolean backfillOnStartup,
+                                 @Value("${ghostnet.regions.backfill-batch-size:5000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("ghostnet.regions.backfill-batch-size muss > 0 sein");
+        }
+        this.ghostNetRepository = ghostNetRepository;
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.geojsonLocation = geojsonLocation;
+        this.nameProperty = nameProperty;
+        this.simplifyTolerance = simplifyTolerance;
+        this.backfillOnStartup = backfillOnStartup;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Lädt die Gebiete – vor dem ersten Request, damit {@code add} sofort zuordnen kann.
+     */
+    @PostConstruct
+    public void load() {
+        if (geojsonLocation.isBlank()) {
+            log.info("Keine Meeresgebiete konfiguriert (ghostnet.regions.geojson)");
+            return;
+        }
+        Resource resource = resourceLoader.getResource(geojsonLocation);
+        try (InputStream in = resource.getInputStream()) {
+            List<StrTree.Entry<Area>> entries = parse(objectMapper.readTree(in));
+            index = StrTree.build(entries);
+            log.info("Meeresgebiete geladen: {} Polygone aus {}", entries.size(), geojsonLocation);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Meeresgebiete nicht lesbar: " + geojsonLocation, e);
+        }
+    }
+
+    /**
+     * Trägt beim Start die Gebiete für noch nicht zugeordnete Netze nach.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup && index.size() > 0) {
+            RegionBackfillResponse result = backfill(false);
+            log.info("Gebietszuordnung nachgetragen: {} von {} Netzen in {} ms",
+                    result.getClassified(), result.getScanned(), result.getTookMillis());
+        }
+    }
+
+    /**
+     * Liefert das Gebiet für einen Punkt.
+     * <p>
+     * Überlappen sich Gebiete, gewinnt das kleinste (z. B. Hafenbecken vor AWZ).
+     *
+     * @return Gebietsname oder {@code null}, wenn der Punkt in keinem Gebiet liegt
+     */
+    public String classify(double latitude, double longitude) {
+        Area[] best = {null};
+        index.query(latitude, longitude, area -> {
+            if ((best[0] == null || area.bboxArea < best[0].bboxArea) && area.contains(latitude, longitude)) {
+                best[0] = area;
+            }
+        });
+        return best[0] != null ? best[0].name : null;
+    }
+
+    /**
+     * Ordnet bestehende Netze in Blöcken zu (Keyset-Paginierung über die ID).
+     * <p>
+     * Die Punkt-in-Polygon-Tests eines Blocks laufen parallel; geschrieben wird je
+     * Gebiet mit einem einzigen {@code UPDATE ... WHERE id IN (...)}. Shards werden
+     * nacheinander abgearbeitet. Wurde etwas zugeordnet, folgt ein
+     * {@link GhostNetRegionsReassignedEvent} (Bulk-Updates erzeugen keine Einzeländerungen).
+     *
+     * @param all {@code true}: alle Netze neu zuordnen (z. B. nach Austausch der Datei);
+     *            {@code false}: nur Netze ohne Gebiet
+     */
+    public RegionBackfillResponse backfill(boolean all) {
+        long started = System.nanoTime();
+        int scanned = 0;
+        int classified = 0;
+        for (int shard : shardRouter.allShards()) {
+            int[] counts = shardRouter.on(shard, () -> backfillShard(all));
+            scanned += counts[0];
+            classified += counts[1];
+        }
+        if (classified > 0) {
+            eventPublisher.publishEvent(new GhostNetRegionsReassignedEvent(classified));
+        }
+        return new RegionBackfillResponse(scanned, classified, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** @return {@code [gelesen, zugeordnet]} der aktuellen Shard */
+    private int[] backfillShard(boolean all) {
+        long afterId = 0;
+        int scanned = 0;
+        int classified = 0;
+        while (true) {
+            List<GhostNetRepository.Location> batch =
+                    ghostNetRepository.findLocationsAfter(afterId, all, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            String[] regions = new String[batch.size()];
+            IntStream.range(0, batch.size()).parallel().forEach(i -> {
+                GhostNetRepository.Location l = batch.get(i);
+                regions[i] = classify(l.getLatitude(), l.getLongitude());
+            });
+
+            Map<String, List<Long>> byRegion = new HashMap<>();
+            for (int i = 0; i < regions.length; i++) {
+                // Ohne Treffer nur beim vollständigen Lauf zurücksetzen (sonst ist die Spalte schon null)
+                if (regions[i] != null || all) {
+                    byRegion.computeIfAbsent(regions[i] != null ? regions[i] : "", k -> new ArrayList<>())
+                            .add(batch.get(i).getId());
+                }
+                if (regions[i] != null) {
+                    classified++;
+                }
+            }
+            for (Map.Entry<String, List<Long>> e : byRegion.entrySet()) {
+                ghostNetRepository.updateRegion(e.getKey().isEmpty() ? null : e.getKey(), e.getValue());
+            }
+            scanned += batch.size();
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        return new int[]{scanned, classified};
+    }
+
+    /**
+     * Anzahl Netze je Gebiet (ohne nicht zugeordnete).
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> countByRegion() {
+        Map<String, Long> result = new TreeMap<>();
+        for (GhostNetRepository.RegionCount c : shardRouter.gatherAll(ghostNetRepository::countByRegion)) {
+            result.merge(c.getRegion(), c.getCount(), Long::sum);
+        }
+        return result;
+    }
+
+    private List<StrTree.Entry<Area>> parse(JsonNode root) {
+        List<StrTree.Entry<Area>> entries = new ArrayList<>();
+        int pointsBefore = 0;
+        int pointsAfter = 0;
+        for (JsonNode feature : root.path("features")) {
+            String name = feature.path("properties").path(nameProperty).asText(null);
+            JsonNode geometry = feature.path("geometry");
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            List<JsonNode> polygons = new ArrayList<>();
+            switch (geometry.path("type").asText()) {
+                case "Polygon" -> polygons.add(geometry.path("coordinates"));
+                case "MultiPolygon" -> geometry.path("coordinates").forEach(polygons::add);
+                default -> {
+                    continue;
+                }
+            }
+            for (JsonNode rings : polygons) {
+                List<PreparedPolygon> prepared = new ArrayList<>(rings.size());
+                try {
+                    for (JsonNode ring : rings) {
+                        pointsBefore += ring.size();
+                        PreparedPolygon p = ring(ring);
+                        pointsAfter += p.size();
+                        prepared.add(p);
+                    }
+                } catch (IllegalArgumentException e) {
+                    log.warn("Polygon von Gebiet '{}' übersprungen: {}", name, e.getMessage());
+                    continue;
+                }
+                if (prepared.isEmpty()) {
+                    continue;
+                }
+                Area area = new Area(name, prepared.get(0), prepared.subList(1, prepared.size()));
+                PreparedPolygon outer = area.outer;
+                entries.add(new StrTree.Entry<>(outer.getMinLat(), outer.getMinLon(),
+                        outer.getMaxLat(), outer.getMaxLon(), area));
+            }
+        }
+        log.debug("Vereinfachung: {} -> {} Punkte (Toleranz {}°)", pointsBefore, pointsAfter, simplifyTolerance);
+        return entries;
+    }
+
+    /**
+     * GeoJSON-Ring ({@code [[lon,lat],...]}) vereinfachen und vorbereiten.
+     */
+    private PreparedPolygon ring(JsonNode ring) {
+        int n = ring.size();
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            lon[i] = ring.get(i).get(0).asDouble();
+            lat[i] = ring.get(i).get(1).asDouble();
+        }
+        int[] keep = DouglasPeucker.simplify(lat, lon, simplifyTolerance);
+        // Mindestens ein Dreieck (plus Schlusspunkt) übrig lassen
+        if (keep.length < 4) {
+            return new PreparedPolygon(lat, lon);
+        }
+        double[] sLat = new double[keep.length];
+        double[] sLon = new double[keep.length];
+        for (int i = 0; i < keep.length; i++) {
+            sLat[i] = lat[keep[i]];
+            sLon[i] = lon[keep[i]];
+        }
+        return new PreparedPolygon(sLat, sLon);
+    }
+
+    /**
+     * Ein Polygon eines Gebiets: äußerer Ring und Löcher.
+     */
+    private static final class Area {
+
+        final String name;
+        final PreparedPolygon outer;
+        final List<PreparedPolygon> holes;
+        final double bboxArea;
+
+        Area(String name, PreparedPolygon outer, List<PreparedPolygon> holes) {
+            this.name = name;
+            this.outer = outer;
+            this.holes = List.copyOf(holes);
+            this.bboxArea = (outer.getMaxLat() - outer.getMinLat()) * (outer.getMaxLon() - outer.getMinLon());
+        }
+
+        boolean contains(double lat, double lon) {
+            if (!outer.contains(lat, lon)) {
+                return false;
+            }
+            for (PreparedPolygon hole : holes) {
+                if (hole.contains(lat, lon)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
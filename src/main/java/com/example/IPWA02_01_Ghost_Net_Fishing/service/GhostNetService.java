@@ -2,11 +2,15 @@ package com.example.IPWA02_01_Ghost_Net_Fishing.service;
 
 import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetRequest;
 import com.example.IPWA02_01_Ghost_Net_Fishing.dto.UpdateGhostNetStatusRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
 import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
 import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
 import com.example.IPWA02_01_Ghost_Net_Fishing.model.User;
 import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
 import com.example.IPWA02_01_Ghost_Net_Fishing.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,22 +27,38 @@ import java.util.List;
  *   <li>Serverseitige Vorgaben setzen (z. B. Default-Status REPORTED)</li>
  *   <li>Validierung eingehender Daten</li>
  *   <li>Optional: Reporter setzen (aus Login-Context), niemals aus dem Request übernehmen</li>
+ *   <li>Jede Änderung als {@link GhostNetChangedEvent} veröffentlichen (für In-Memory-Lesemodelle)</li>
+ *   <li>Schreibzugriffe an die zuständige Shard leiten, Listen über alle Shards sammeln
+ *       (siehe {@link GhostNetShardRouter})</li>
  * </ul>
+ * Alle öffentlichen Methoden werden als {@code ghostnet.service} gemessen.
  */
 @Service
+@Timed("ghostnet.service")
 public class GhostNetService {
 
     private final GhostNetRepository ghostNetRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GhostNetRegionService regionService;
+    private final GhostNetShardRouter shardRouter;
 
     /**
      * Konstruktor-Injektion des Repositories.
      *
      * @param ghostNetRepository JPA-Repository für {@link GhostNet}
+     * @param eventPublisher     veröffentlicht {@link GhostNetChangedEvent}s
+     * @param regionService      ordnet neue Netze einem Meeresgebiet zu
+     * @param shardRouter        bestimmt die Shard eines Netzes
      */
-    public GhostNetService(GhostNetRepository ghostNetRepository, UserRepository userRepository) {
+    public GhostNetService(GhostNetRepository ghostNetRepository, UserRepository userRepository,
+                           ApplicationEventPublisher eventPublisher, GhostNetRegionService regionService,
+                           GhostNetShardRouter shardRouter) {
         this.ghostNetRepository = ghostNetRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.regionService = regionService;
+        this.shardRouter = shardRouter;
     }
 
     /**
@@ -46,8 +66,19 @@ public class GhostNetService {
      *
      * @return Liste aller {@link GhostNet}-Entities
      */
+    @Transactional(readOnly = true)
     public List<GhostNet> getAllGhostNets() {
-        return ghostNetRepository.findAll();
+        return shardRouter.gatherAll(ghostNetRepository::findAll);
+    }
+
+    /**
+     * Liefert alle Geisternetze eines Meeresgebiets.
+     *
+     * @param region Gebietsname (siehe {@link GhostNetRegionService})
+     */
+    @Transactional(readOnly = true)
+    public List<GhostNet> getGhostNetsByRegion(String region) {
+        return shardRouter.gatherAll(() -> ghostNetRepository.findByRegion(region));
     }
 
     /**
@@ -61,6 +92,7 @@ public class GhostNetService {
      * @return persistiertes {@link GhostNet}
      * @throws IllegalArgumentException bei Validierungsfehlern
      */
+    @Transactional
     public GhostNet add(GhostNetRequest request) {
         // delegiere an Variante mit explizitem Reporter (hier: keiner)
         return add(request, null);
@@ -82,6 +114,7 @@ public class GhostNetService {
      * @return persistiertes {@link GhostNet}
      * @throws IllegalArgumentException bei Validierungs- oder Integritätsfehlern
      */
+    @Transactional
     public GhostNet add(GhostNetRequest request, Long currentUserId) {
         // 1) Eingaben prüfen
         requireNonNullInRange(request.getLatitude(), -90d, 90d, "latitude");
@@ -96,6 +129,7 @@ public class GhostNetService {
         ghostNet.setStatus(GhostNetStatus.REPORTED); // Client-Status ignorieren
         ghostNet.setReportedAt(Instant.now());
         ghostNet.setCreatedAt(Instant.now());
+        ghostNet.setRegion(regionService.classify(request.getLatitude(), request.getLongitude()));
 
         // 3) Reporter NUR serverseitig setzen (niemals aus Request!)
         if (currentUserId != null) {
@@ -108,9 +142,12 @@ public class GhostNetService {
             ghostNet.setReportedBy(currentUserId);
         }
 
-        // 4) Persistieren
+        // 4) Persistieren – in der Shard, der die Position gehört
         try {
-            return ghostNetRepository.save(ghostNet);
+            GhostNet saved = shardRouter.on(shardRouter.shardFor(request.getLatitude(), request.getLongitude()),
+                    () -> ghostNetRepository.save(ghostNet));
+            eventPublisher.publishEvent(new GhostNetChangedEvent(null, GhostNetSnapshot.of(saved)));
+            return saved;
         } catch (DataIntegrityViolationException ex) {
             // Typische Ursachen:
             // - NOT NULL-Verletzung bei reported_by_user_id
@@ -159,6 +196,7 @@ public class GhostNetService {
      * @return aktualisiertes Geisternetz
      * @throws IllegalArgumentException wenn Request oder Status ungültig sind
      */
+    @Transactional
     public GhostNet updateStatus(Long id, UpdateGhostNetStatusRequest request) {
         if (request == null) {
             throw new IllegalArgumentException("Request darf nicht null sein.");
@@ -167,11 +205,19 @@ public class GhostNetService {
             throw new IllegalArgumentException("Neuer Status darf nicht null sein.");
         }
 
+        return shardRouter.on(shardRouter.shardOf(id), () -> applyStatus(id, request));
+    }
+
+    /**
+     * Lädt, ändert und speichert das Netz (in der Shard, die {@link #updateStatus} gewählt hat).
+     */
+    private GhostNet applyStatus(Long id, UpdateGhostNetStatusRequest request) {
         GhostNetStatus newStatus = request.getStatus();
 
         GhostNet net = ghostNetRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("GhostNet nicht gefunden: " + id));
 
+        GhostNetSnapshot before = GhostNetSnapshot.of(net);
         GhostNetStatus oldStatus = net.getStatus();
         net.setStatus(newStatus);
         net.setUpdatedAt(Instant.now());
@@ -216,6 +262,8 @@ public class GhostNetService {
             }
         }
 
-        return ghostNetRepository.save(net);
+        GhostNet saved = ghostNetRepository.save(net);
+        eventPublisher.publishEvent(new GhostNetChangedEvent(before, GhostNetSnapshot.of(saved)));
+        return saved;
     }
 }
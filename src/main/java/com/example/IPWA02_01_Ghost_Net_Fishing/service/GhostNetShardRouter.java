@@ -0,0 +1,237 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.geo.Geohash;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Verteilt {@code ghost_nets} nach Geohash-Zelle auf mehrere Datenbanken (Shards).
+ * <p>
+ * Shard 0 ist die Datenbank aus {@code spring.datasource.*} (dort liegen auch Benutzer,
+ * Abos und Postfach), weitere Shards kommen aus {@code ghostnet.shards.urls}. Die Zellen
+ * einer groben Geohash-Genauigkeit werden in Z-Ordnung in gleich große, zusammenhängende
+ * Bereiche aufgeteilt – ein Kartenausschnitt berührt so meist nur eine oder wenige Shards.
+ * <p>
+ * IDs sind global eindeutig: Jede Shard vergibt nur IDs mit {@code id % idStride == shard}
+ * (siehe {@code GhostNetShardInitializer}), daher lässt sich die Shard einer ID ohne
+ * Nachschlagen bestimmen.
+ * <p>
+ * Ohne weitere Shards gibt es nur Shard 0 und alle Methoden laufen direkt im
+ * aufrufenden Thread.
+ */
+@Service
+public class GhostNetShardRouter {
+
+    /** Shard des aktuellen Threads; ausgewertet von {@code ShardRoutingDataSource}. */
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final int shardCount;
+    private final int precision;
+    private final long cellCount;
+    private final int idStride;
+    private final List<Integer> allShards;
+
+    /** Für Scatter-Gather; {@code null} ohne weitere Shards. */
+    private final ExecutorService executor;
+
+    public GhostNetShardRouter(@Value("${ghostnet.shards.urls:}") String urls,
+                               @Value("${ghostnet.shards.geohash-precision:2}") int precision,
+                               @Value("${ghostnet.shards.id-stride:64}") int idStride,
+                               @Value("${ghostnet.shards.query-threads:16}") int queryThreads) {
+        if (precision < 1 || precision > 3) {
+            throw new IllegalArgumentException("ghostnet.shards.geohash-precision muss zwischen 1 und 3 liegen");
+        }
+        this.shardCount = 1 + shardUrls(urls).size();
+        if (idStride < shardCount) {
+            throw new IllegalArgumentException("ghostnet.shards.id-stride muss mindestens der Shard-Anzahl ("
+                    + shardCount + ") entsprechen");
+        }
+        if (queryThreads < 1) {
+            throw new IllegalArgumentException("ghostnet.shards.query-threads muss > 0 sein");
+        }
+        this.precision = precision;
+        this.cellCount = Geohash.cellCount(precision);
+        this.idStride = idStride;
+        this.allShards = IntStream.range(0, shardCount).boxed().toList();
+        this.executor = shardCount == 1 ? null : Executors.newFixedThreadPool(queryThreads, daemonThreads());
+    }
+
+    /**
+     * Zerlegt {@code ghostnet.shards.urls} (kommagetrennt, leere Einträge werden ignoriert).
+     */
+    public static List<String> shardUrls(String urls) {
+        if (urls == null || urls.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(urls.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    /** @return Shard des aktuellen Threads (0, wenn keine gesetzt ist) */
+    public static int currentShard() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int getIdStride() {
+        return idStride;
+    }
+
+    /** @return alle Shards, aufsteigend */
+    public List<Integer> allShards() {
+        return allShards;
+    }
+
+    /** @return Shard, der die Position gehört */
+    public int shardFor(double latitude, double longitude) {
+        return shardOfCell(Geohash.cell(latitude, longitude, precision));
+    }
+
+    /**
+     * @return Shard, die die ID vergeben hat
+     * @throws IllegalArgumentException wenn keine Shard solche IDs vergibt
+     */
+    public int shardOf(long id) {
+        if (!isSharded()) {
+            return 0;
+        }
+        int shard = (int) Math.floorMod(id, (long) idStride);
+        if (shard >= shardCount) {
+            throw new IllegalArgumentException("GhostNet nicht gefunden: " + id);
+        }
+        return shard;
+    }
+
+    /**
+     * @return alle Shards, deren Zellen den Ausschnitt schneiden (Grenzen inklusive), aufsteigend
+     */
+    public List<Integer> shardsFor(double minLat, double maxLat, double minLon, double maxLon) {
+        if (!isSharded()) {
+            return allShards;
+        }
+        BitSet hit = new BitSet(shardCount);
+        Geohash.forEachCell(minLat, maxLat, minLon, maxLon, precision, cell -> hit.set(shardOfCell(cell)));
+        return hit.stream().boxed().toList();
+    }
+
+    /**
+     * Führt {@code action} im aktuellen Thread gegen eine Shard aus.
+     * <p>
+     * Innerhalb einer Transaktion muss das vor dem ersten Statement geschehen: Die
+     * Verbindung wird beim ersten Statement geholt und gilt dann für die ganze Transaktion.
+     * Die Shard bleibt deshalb bis zu deren Ende gesetzt – auch Statements, die Hibernate
+     * erst beim Commit ausführt (Flush nach einem Cache-Treffer), gehen an sie.
+     */
+    public <T> T on(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    restore(previous);
+                }
+            });
+            return action.get();
+        }
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Führt {@code query} parallel gegen die Shards aus und hängt die Ergebnisse in
+     * Shard-Reihenfolge aneinander.
+     * <p>
+     * Jede Shard läuft in einem eigenen Thread und damit in einer eigenen Transaktion;
+     * gelieferte Entities sind detached.
+     */
+    public <T> List<T> gather(Collection<Integer> shards, Supplier<? extends Collection<? extends T>> query) {
+        if (executor == null) {
+            return new ArrayList<>(query.get());
+        }
+        List<Future<? extends Collection<? extends T>>> futures = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            futures.add(executor.submit(() -> on(shard, query)));
+        }
+        List<T> result = new ArrayList<>();
+        try {
+            for (Future<? extends Collection<? extends T>> f : futures) {
+                result.addAll(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Shard-Abfrage unterbrochen", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return result;
+    }
+
+    /** {@link #gather} über alle Shards. */
+    public <T> List<T> gatherAll(Supplier<? extends Collection<? extends T>> query) {
+        return gather(allShards, query);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    private int shardOfCell(long cell) {
+        return (int) (cell * shardCount / cellCount);
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "ghostnet-shard-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetStatsResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.ReadModelResyncEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.ArchivedGhostNetRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Inkrementell gepflegte Dashboard-Statistik für Geisternetze.
+ * <p>
+ * Die Zähler liegen im Speicher und werden nach jedem Commit über
+ * {@link GhostNetChangedEvent} fortgeschrieben. Die Datenbank wird nur beim Start
+ * und beim periodischen Abgleich ({@code ghostnet.stats.reconcile-interval-ms})
+ * per Aggregat-Abfrage gelesen – nie pro Dashboard-Request.
+ * <p>
+ * Die Kennzahlen umfassen auch archivierte Netze; das Archivieren selbst ändert
+ * sie nicht.
+ */
+@Service
+public class GhostNetStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(GhostNetStatsService.class);
+
+    private final GhostNetRepository ghostNetRepository;
+    private final GhostNetShardRouter shardRouter;
+    private final ArchivedGhostNetRepository archivedGhostNetRepository;
+
+    /** Aktueller Zählerstand; wird beim Abgleich komplett ersetzt. */
+    private volatile Counters counters = new Counters(Instant.EPOCH);
+
+    public GhostNetStatsService(GhostNetRepository ghostNetRepository,
+                                ArchivedGhostNetRepository archivedGhostNetRepository,
+                                GhostNetShardRouter shardRouter) {
+        this.ghostNetRepository = ghostNetRepository;
+        this.shardRouter = shardRouter;
+        this.archivedGhostNetRepository = archivedGhostNetRepository;
+    }
+
+    /**
+     * Liefert die aktuellen Kennzahlen (reiner Speicherzugriff).
+     */
+    public GhostNetStatsResponse getStats() {
+        Counters c = counters;
+
+        Map<GhostNetStatus, Long> byStatus = new EnumMap<>(GhostNetStatus.class);
+        long total = 0;
+        for (GhostNetStatus status : GhostNetStatus.values()) {
+            long count = c.byStatus.get(status).sum();
+            byStatus.put(status, count);
+            total += count;
+        }
+
+        Map<Long, Long> recoveries = new LinkedHashMap<>();
+        c.recoveriesByUser.forEach((userId, adder) -> {
+            long count = adder.sum();
+            if (count > 0) {
+                recoveries.put(userId, count);
+            }
+        });
+
+        return new GhostNetStatsResponse(total, byStatus, c.totalSize.sum(), recoveries, c.reconciledAt);
+    }
+
+    /**
+     * Initiales Seeden nach dem Start; ebenso bei einem Resync.
+     */
+    @EventListener({ApplicationReadyEvent.class, ReadModelResyncEvent.class})
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Gleicht die Zähler periodisch mit der Datenbank ab.
+     * <p>
+     * Änderungen, die zwischen Abfrage und Austausch committet werden, können bis zum
+     * nächsten Abgleich fehlen – für ein Dashboard ist das ausreichend.
+     */
+    @Scheduled(fixedDelayString = "${ghostnet.stats.reconcile-interval-ms:300000}",
+            initialDelayString = "${ghostnet.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Counters fresh = new Counters(Instant.now());
+        addAggregates(fresh, shardRouter.gatherAll(ghostNetRepository::aggregateByStatus),
+                shardRouter.gatherAll(ghostNetRepository::countRecoveriesByUser));
+        addAggregates(fresh, shardRouter.gatherAll(archivedGhostNetRepository::aggregateByStatus),
+                shardRouter.gatherAll(archivedGhostNetRepository::countRecoveriesByUser));
+        counters = fresh;
+        log.debug("GhostNet-Statistik abgeglichen: {}", fresh.reconciledAt);
+    }
+
+    /**
+     * Schreibt die Zähler nach einem Commit fort.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGhostNetChanged(GhostNetChangedEvent event) {
+        Counters c = counters;
+        if (event.getBefore() != null) {
+            apply(c, event.getBefore(), -1);
+        }
+        apply(c, event.getAfter(), 1);
+    }
+
+    private static void addAggregates(Counters c, List<GhostNetRepository.StatusAggregate> byStatus,
+                                      List<GhostNetRepository.UserCount> recoveries) {
+        for (GhostNetRepository.StatusAggregate row : byStatus) {
+            c.byStatus.get(row.getStatus()).add(row.getCount());
+            c.totalSize.add(row.getTotalSize());
+        }
+        for (GhostNetRepository.UserCount row : recoveries) {
+            c.recoveriesByUser.computeIfAbsent(row.getUserId(), k -> new LongAdder()).add(row.getCount());
+        }
+    }
+
+    private static void apply(Counters c, GhostNetSnapshot net, int sign) {
+        c.byStatus.get(net.getStatus()).add(sign);
+        if (net.getSize() != null) {
+            c.totalSize.add(sign * net.getSize());
+        }
+        if (net.getStatus() == GhostNetStatus.RECOVERED && net.getRecoveredBy() != null) {
+            c.recoveriesByUser.computeIfAbsent(net.getRecoveredBy(), k -> new LongAdder()).add(sign);
+        }
+    }
+
+    /**
+     * Ein vollständiger Satz Zähler.
+     */
+    private static final class Counters {
+        final Map<GhostNetStatus, LongAdder> byStatus = new EnumMap<>(GhostNetStatus.class);
+        final DoubleAdder totalSize = new DoubleAdder();
+        final Map<Long, LongAdder> recoveriesByUser = new ConcurrentHashMap<>();
+        final Instant reconciledAt;
+
+        Counters(Instant reconciledAt) {
+            this.reconciledAt = reconciledAt;
+            for (GhostNetStatus status : GhostNetStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+        }
+    }
+}
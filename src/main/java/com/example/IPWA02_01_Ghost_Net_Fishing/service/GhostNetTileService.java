@@ -0,0 +1,242 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.codec.MvtEncoder;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetArchivedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.ReadModelResyncEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Liefert Geisternetze als Mapbox Vector Tiles (Web-Mercator, z/x/y).
+ * <p>
+ * Kodierte Kacheln liegen in einem LRU-Cache ({@code ghostnet.tiles.cache-size}).
+ * Nach jedem Commit werden genau die Kacheln verworfen, die den geänderten Punkt
+ * enthalten (eine je Zoomstufe, auf Kachelkanten bis zu vier, weil die Abfrage die
+ * Grenzen einschließt) – alle anderen bleiben gültig. Wird eine Kachel
+ * verworfen, während sie gerade kodiert wird, landet das Ergebnis nicht im Cache:
+ * Es kann noch den Stand vor dem Commit enthalten.
+ */
+@Service
+public class GhostNetTileService {
+
+    /** Höchste unterstützte Zoomstufe. */
+    public static final int MAX_ZOOM = 22;
+
+    /** Name der Ebene in jeder Kachel. */
+    public static final String LAYER_NAME = "ghostnets";
+
+    /** Web-Mercator deckt nur diesen Breitenbereich ab. */
+    private static final double MAX_MERCATOR_LAT = 85.0511287798066;
+
+    private final GhostNetRepository ghostNetRepository;
+    private final GhostNetShardRouter shardRouter;
+    private final Map<Long, Tile> cache;
+
+    /** Laufende Kodierungen je Kachel; Verwerfen entfernt das Token. Nur unter {@code cache} ändern. */
+    private final Map<Long, Object> encoding = new HashMap<>();
+
+    public GhostNetTileService(GhostNetRepository ghostNetRepository,
+                               GhostNetShardRouter shardRouter,
+                               @Value("${ghostnet.tiles.cache-size:2048}") int cacheSize) {
+        this.ghostNetRepository = ghostNetRepository;
+        this.shardRouter = shardRouter;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Tile> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Liefert eine Kachel aus dem Cache oder kodiert sie neu.
+     *
+     * @throws IllegalArgumentException bei ungültigen Kachelkoordinaten
+     */
+    public Tile getTile(int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM) {
+            throw new IllegalArgumentException("Zoomstufe außerhalb [0, " + MAX_ZOOM + "]: " + z);
+        }
+        int n = 1 << z;
+        if (x < 0 || x >= n || y < 0 || y >= n) {
+            throw new IllegalArgumentException("Kachel außerhalb des Rasters: " + z + "/" + x + "/" + y);
+        }
+
+        long key = key(z, x, y);
+        Object token = new Object();
+        synchronized (cache) {
+            Tile cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            encoding.put(key, token);
+        }
+
+        Tile tile;
+        try {
+            tile = encode(z, x, y);
+        } catch (RuntimeException e) {
+            synchronized (cache) {
+                encoding.remove(key, token);
+            }
+            throw e;
+        }
+        synchronized (cache) {
+            // Token fehlt: seit Beginn verworfen oder von einer späteren Kodierung abgelöst
+            if (encoding.remove(key, token)) {
+                cache.put(key, tile);
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * Verwirft nach einem Commit die Kacheln, die das Netz enthalten.
+     * <p>
+     * Die Position eines Netzes ändert sich nicht; der Zustand nach der Änderung genügt.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGhostNetChanged(GhostNetChangedEvent event) {
+        evict(event.getAfter());
+    }
+
+    /**
+     * Verwirft nach dem Archivieren die Kacheln der verschobenen Netze.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGhostNetArchived(GhostNetArchivedEvent event) {
+        event.getNets().forEach(this::evict);
+    }
+
+    /**
+     * Verwirft bei einem Resync alle Kacheln.
+     */
+    @EventListener(ReadModelResyncEvent.class)
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+            encoding.clear();
+        }
+    }
+
+    private void evict(GhostNetSnapshot net) {
+        if (net.getLatitude() == null || net.getLongitude() == null) {
+            return;
+        }
+        double lat = net.getLatitude();
+        double lon = net.getLongitude();
+        synchronized (cache) {
+            for (int z = 0; z <= MAX_ZOOM; z++) {
+                int n = 1 << z;
+                int tx = tileX(lon, z);
+                int ty = tileY(lat, z);
+                // Nachbarn nur, wenn ihre (inklusiven) Abfragegrenzen aus encode den Punkt enthalten
+                for (int x = Math.max(0, tx - 1); x <= Math.min(n - 1, tx + 1); x++) {
+                    if (x != tx && (lon < tileLon(x, z) || lon > tileLon(x + 1, z))) {
+                        continue;
+                    }
+                    for (int y = Math.max(0, ty - 1); y <= Math.min(n - 1, ty + 1); y++) {
+                        if (y != ty && (lat < tileLat(y + 1, z) || lat > tileLat(y, z))) {
+                            continue;
+                        }
+                        long key = key(z, x, y);
+                        cache.remove(key);
+                        encoding.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private Tile encode(int z, int x, int y) {
+        double minLon = tileLon(x, z);
+        double maxLon = tileLon(x + 1, z);
+        double maxLat = tileLat(y, z);
+        double minLat = tileLat(y + 1, z);
+
+        int n = 1 << z;
+        MvtEncoder encoder = new MvtEncoder(LAYER_NAME);
+        List<GhostNet> nets = shardRouter.gather(shardRouter.shardsFor(minLat, maxLat, minLon, maxLon),
+                () -> ghostNetRepository.findByLatitudeBetweenAndLongitudeBetween(minLat, maxLat, minLon, maxLon));
+        for (GhostNet net : nets) {
+            double px = ((net.getLongitude() + 180) / 360 * n - x) * MvtEncoder.EXTENT;
+            double py = (mercatorY(net.getLatitude()) * n - y) * MvtEncoder.EXTENT;
+
+            Map<String, Object> properties = new LinkedHashMap<>();
+            properties.put("status", net.getStatus().name());
+            properties.put("size", net.getSize());
+            encoder.addPoint(net.getId(), (int) Math.round(px), (int) Math.round(py), properties);
+        }
+
+        byte[] data = encoder.encode();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return new Tile(data, Long.toHexString(crc.getValue()));
+    }
+
+    private static long key(int z, int x, int y) {
+        return ((long) z << 58) | ((long) x << 29) | y;
+    }
+
+    /** Web-Mercator-Y in {@code [0, 1]} (0 = Norden). */
+    private static double mercatorY(double lat) {
+        double clamped = Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, lat));
+        double rad = Math.toRadians(clamped);
+        return (1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2;
+    }
+
+    private static int tileX(double lon, int z) {
+        int n = 1 << z;
+        return Math.max(0, Math.min(n - 1, (int) Math.floor((lon + 180) / 360 * n)));
+    }
+
+    private static int tileY(double lat, int z) {
+        int n = 1 << z;
+        return Math.max(0, Math.min(n - 1, (int) Math.floor(mercatorY(lat) * n)));
+    }
+
+    private static double tileLon(int x, int z) {
+        return x / (double) (1 << z) * 360 - 180;
+    }
+
+    private static double tileLat(int y, int z) {
+        double n = Math.PI * (1 - 2.0 * y / (1 << z));
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    /**
+     * Eine kodierte Kachel samt ETag.
+     */
+    public static final class Tile {
+
+        private final byte[] data;
+        private final String etag;
+
+        Tile(byte[] data, String etag) {
+            this.data = data;
+            this.etag = etag;
+        }
+
+        /** @return Protobuf-kodierte Kachel */
+        public byte[] getData() {
+            return data;
+        }
+
+        /** @return Prüfsumme des Inhalts für HTTP-Caching */
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
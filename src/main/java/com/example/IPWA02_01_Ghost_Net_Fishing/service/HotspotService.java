@@ -0,0 +1,184 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.HotspotResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.ReadModelResyncEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.geo.ConvexHull;
+import com.example.IPWA02_01_Ghost_Net_Fishing.geo.DbscanClusterer;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hotspot-Erkennung über alle offenen Netze (DBSCAN, Haversine-Distanz).
+ * <p>
+ * Läuft im Hintergrund, sobald seit dem letzten Lauf Netze geändert wurden
+ * (geprüft alle {@code ghostnet.hotspots.refresh-interval-ms}), sowie auf Anforderung.
+ * Das letzte Ergebnis (inkl. Umrisse) wird im Speicher gehalten und beim Start
+ * einmal berechnet. Es wird bewusst nicht gespeichert: Es ist vollständig aus den
+ * offenen Netzen ableitbar, die Neuberechnung kostet weniger als das Laden eines
+ * gespeicherten Stands samt Prüfung, ob er noch aktuell ist, und jede Instanz
+ * rechnet auf ihrem eigenen, per Event fortgeschriebenen Stand.
+ */
+@Service
+public class HotspotService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotspotService.class);
+
+    private final GhostNetRepository ghostNetRepository;
+    private final GhostNetShardRouter shardRouter;
+    private final DbscanClusterer clusterer;
+    private final double epsMeters;
+    private final int minPoints;
+
+    /** Wird bei jeder Änderung gesetzt und vom Hintergrundlauf zurückgesetzt. */
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+
+    /** Serialisiert Läufe; Lock statt {@code synchronized}, damit virtuelle Threads beim DB-Zugriff nicht gepinnt werden. */
+    private final ReentrantLock recomputeLock = new ReentrantLock();
+
+    private volatile HotspotResponse latest;
+
+    public HotspotService(GhostNetRepository ghostNetRepository,
+                          GhostNetShardRouter shardRouter,
+                          @Value("${ghostnet.hotspots.eps-meters:2000}") double epsMeters,
+                          @Value("${ghostnet.hotspots.min-points:5}") int minPoints) {
+        this.ghostNetRepository = ghostNetRepository;
+        this.shardRouter = shardRouter;
+        this.clusterer = new DbscanClusterer(epsMeters, minPoints);
+        this.epsMeters = epsMeters;
+        this.minPoints = minPoints;
+        this.latest = new HotspotResponse(null, 0, 0, 0, epsMeters, minPoints, List.of());
+    }
+
+    /**
+     * @return Ergebnis des letzten Laufs (kann veraltet sein)
+     */
+    public HotspotResponse getLatest() {
+        return latest;
+    }
+
+    /**
+     * Erste Berechnung nach dem Start, damit {@link #getLatest()} nicht bis zum ersten
+     * Hintergrundlauf leer bleibt.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        dirty.set(false);
+        recompute();
+    }
+
+    /**
+     * Hintergrundlauf: rechnet nur neu, wenn sich seit dem letzten Lauf etwas geändert hat.
+     */
+    @Scheduled(fixedDelayString = "${ghostnet.hotspots.refresh-interval-ms:60000}",
+            initialDelayString = "${ghostnet.hotspots.refresh-interval-ms:60000}")
+    public void refreshIfDirty() {
+        if (dirty.getAndSet(false)) {
+            recompute();
+        }
+    }
+
+    /**
+     * Berechnet die Hotspots sofort neu.
+     * <p>
+     * Parallelität entsteht innerhalb des Clusterings; gleichzeitige Läufe werden serialisiert.
+     *
+     * @return neues Ergebnis
+     */
+    public HotspotResponse recompute() {
+        recomputeLock.lock();
+        try {
+            long start = System.nanoTime();
+
+            List<GhostNetRepository.Location> locations = shardRouter.gatherAll(ghostNetRepository::findActiveLocations);
+            int n = locations.size();
+            double[] lat = new double[n];
+            double[] lon = new double[n];
+            double[] size = new double[n];
+            for (int i = 0; i < n; i++) {
+                GhostNetRepository.Location l = locations.get(i);
+                lat[i] = l.getLatitude();
+                lon[i] = l.getLongitude();
+                size[i] = l.getSize() != null ? l.getSize() : 0d;
+            }
+
+            DbscanClusterer.Result result = clusterer.cluster(lat, lon);
+            List<HotspotResponse.Hotspot> hotspots = buildHotspots(result, lat, lon, size);
+            int noise = (int) Arrays.stream(result.getLabels()).filter(l -> l == DbscanClusterer.NOISE).count();
+
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            HotspotResponse response = new HotspotResponse(Instant.now(), millis, n, noise, epsMeters, minPoints, hotspots);
+            latest = response;
+            log.info("Hotspots berechnet: {} Netze, {} Hotspots in {} ms", n, hotspots.size(), millis);
+            return response;
+        } finally {
+            recomputeLock.unlock();
+        }
+    }
+
+    /**
+     * Markiert das Ergebnis nach einem Commit als veraltet.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGhostNetChanged(GhostNetChangedEvent event) {
+        dirty.set(true);
+    }
+
+    /**
+     * Markiert das Ergebnis bei einem Resync als veraltet.
+     */
+    @EventListener(ReadModelResyncEvent.class)
+    public void onResync() {
+        dirty.set(true);
+    }
+
+    private static List<HotspotResponse.Hotspot> buildHotspots(DbscanClusterer.Result result,
+                                                               double[] lat, double[] lon, double[] size) {
+        int clusters = result.getClusterCount();
+        int[] labels = result.getLabels();
+
+        // Punkte je Cluster gruppieren (Counting Sort über die Labels)
+        int[] counts = new int[clusters + 1];
+        for (int label : labels) {
+            if (label != DbscanClusterer.NOISE) counts[label + 1]++;
+        }
+        for (int c = 0; c < clusters; c++) {
+            counts[c + 1] += counts[c];
+        }
+        int[] members = new int[counts[clusters]];
+        int[] fill = Arrays.copyOf(counts, clusters);
+        for (int p = 0; p < labels.length; p++) {
+            if (labels[p] != DbscanClusterer.NOISE) members[fill[labels[p]]++] = p;
+        }
+
+        List<HotspotResponse.Hotspot> hotspots = new ArrayList<>(clusters);
+        for (int c = 0; c < clusters; c++) {
+            int[] idx = Arrays.copyOfRange(members, counts[c], counts[c + 1]);
+            double sumLat = 0, sumLon = 0, sumSize = 0;
+            for (int p : idx) {
+                sumLat += lat[p];
+                sumLon += lon[p];
+                sumSize += size[p];
+            }
+            hotspots.add(new HotspotResponse.Hotspot(c, idx.length, sumSize,
+                    sumLat / idx.length, sumLon / idx.length, Arrays.asList(ConvexHull.of(lat, lon, idx))));
+        }
+        hotspots.sort(Comparator.comparingInt(HotspotResponse.Hotspot::getNetCount).reversed());
+        return hotspots;
+    }
+}
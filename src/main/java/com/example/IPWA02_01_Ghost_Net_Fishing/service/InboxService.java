@@ -0,0 +1,126 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.InboxNotificationResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.InboxNotification;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.InboxNotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-App-Postfach: speichert Benachrichtigungen und schiebt sie an offene
+ * Event-Streams (Server-Sent Events) des Empfängers.
+ */
+@Service
+public class InboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(InboxService.class);
+
+    /** Obergrenze für {@code limit} beim Abruf. */
+    public static final int MAX_LIMIT = 200;
+
+    /** Name des SSE-Events für neue Benachrichtigungen. */
+    public static final String EVENT_NAME = "notification";
+
+    private final InboxNotificationRepository inboxNotificationRepository;
+    private final long streamTimeoutMs;
+
+    /** Offene Streams je Benutzer (mehrere Tabs möglich). */
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public InboxService(InboxNotificationRepository inboxNotificationRepository,
+                        @Value("${ghostnet.inbox.stream-timeout-ms:1800000}") long streamTimeoutMs) {
+        this.inboxNotificationRepository = inboxNotificationRepository;
+        this.streamTimeoutMs = streamTimeoutMs;
+    }
+
+    /**
+     * Speichert die Benachrichtigungen gesammelt und verteilt sie an offene Streams.
+     */
+    public void deliver(List<InboxNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        for (InboxNotification saved : inboxNotificationRepository.saveAll(notifications)) {
+            push(saved.getUserId(), new InboxNotificationResponse(saved));
+        }
+    }
+
+    /**
+     * Neueste Benachrichtigungen eines Benutzers.
+     *
+     * @throws IllegalArgumentException bei ungültigem {@code limit}
+     */
+    @Transactional(readOnly = true)
+    public List<InboxNotificationResponse> list(Long userId, boolean unreadOnly, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit muss zwischen 1 und " + MAX_LIMIT + " liegen");
+        }
+        PageRequest page = PageRequest.of(0, limit);
+        List<InboxNotification> result = unreadOnly
+                ? inboxNotificationRepository.findByUserIdAndReadAtIsNullOrderByIdDesc(userId, page)
+                : inboxNotificationRepository.findByUserIdOrderByIdDesc(userId, page);
+        return result.stream().map(InboxNotificationResponse::new).toList();
+    }
+
+    /**
+     * Markiert eine Benachrichtigung als gelesen.
+     *
+     * @throws IllegalArgumentException wenn sie nicht existiert oder einem anderen Benutzer gehört
+     */
+    @Transactional
+    public InboxNotificationResponse markRead(Long userId, Long id) {
+        InboxNotification n = inboxNotificationRepository.findById(id)
+                .filter(x -> x.getUserId().equals(userId))
+                .orElseThrow(() -> new IllegalArgumentException("Benachrichtigung nicht gefunden: " + id));
+        if (n.getReadAt() == null) {
+            n.setReadAt(Instant.now());
+        }
+        return new InboxNotificationResponse(n);
+    }
+
+    /**
+     * Öffnet einen Event-Stream für den Benutzer.
+     */
+    public SseEmitter openStream(Long userId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        List<SseEmitter> list = emitters.computeIfAbsent(userId, k -> new CopyOnWriteArrayList<>());
+        list.add(emitter);
+        Runnable remove = () -> list.remove(emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    private void push(Long userId, InboxNotificationResponse payload) {
+        List<SseEmitter> list = emitters.get(userId);
+        if (list == null) {
+            return;
+        }
+        for (SseEmitter emitter : list) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(payload.getId()))
+                        .name(EVENT_NAME)
+                        .data(payload, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // Client weg – Nachricht liegt trotzdem im Postfach
+                log.debug("Event-Stream für Benutzer {} geschlossen: {}", userId, e.getMessage());
+                list.remove(emitter);
+            }
+        }
+    }
+}
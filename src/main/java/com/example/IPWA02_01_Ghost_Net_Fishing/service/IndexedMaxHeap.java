@@ -0,0 +1,141 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Binärer Max-Heap über {@code (id, score)} mit Positionsindex
+ * ({@link LongIntHashMap}, ohne Boxing).
+ * <p>
+ * Einfügen, Ändern und Entfernen einer beliebigen ID kosten O(log n).
+ * Nicht threadsicher – der Aufrufer synchronisiert.
+ */
+final class IndexedMaxHeap {
+
+    private long[] ids = new long[64];
+    private double[] scores = new double[64];
+    private final LongIntHashMap positions = new LongIntHashMap();
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long id) {
+        return positions.containsKey(id);
+    }
+
+    /**
+     * Fügt die ID ein oder ändert ihren Score.
+     */
+    void put(long id, double score) {
+        int pos = positions.get(id);
+        if (pos == LongIntHashMap.MISSING) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            ids[size] = id;
+            scores[size] = score;
+            positions.put(id, size);
+            siftUp(size++);
+            return;
+        }
+        double old = scores[pos];
+        scores[pos] = score;
+        if (score > old) {
+            siftUp(pos);
+        } else if (score < old) {
+            siftDown(pos);
+        }
+    }
+
+    /**
+     * Entfernt die ID (ohne Wirkung, falls nicht enthalten).
+     */
+    void remove(long id) {
+        int pos = positions.remove(id);
+        if (pos == LongIntHashMap.MISSING) {
+            return;
+        }
+        int last = --size;
+        if (pos == last) {
+            return;
+        }
+        ids[pos] = ids[last];
+        scores[pos] = scores[last];
+        positions.put(ids[pos], pos);
+        siftDown(pos);
+        siftUp(pos);
+    }
+
+    /**
+     * Besucht die Einträge in absteigender Score-Reihenfolge, ohne den Heap zu verändern.
+     * <p>
+     * Kosten O(k log k) für k besuchte Einträge.
+     *
+     * @param visitor liefert {@code false}, um abzubrechen
+     */
+    void visitDescending(Visitor visitor) {
+        if (size == 0) {
+            return;
+        }
+        PriorityQueue<Integer> frontier = new PriorityQueue<>((a, b) -> Double.compare(scores[b], scores[a]));
+        frontier.add(0);
+        while (!frontier.isEmpty()) {
+            int pos = frontier.poll();
+            if (!visitor.visit(ids[pos], scores[pos])) {
+                return;
+            }
+            int left = 2 * pos + 1;
+            if (left < size) {
+                frontier.add(left);
+            }
+            if (left + 1 < size) {
+                frontier.add(left + 1);
+            }
+        }
+    }
+
+    private void siftUp(int pos) {
+        while (pos > 0) {
+            int parent = (pos - 1) / 2;
+            if (scores[parent] >= scores[pos]) {
+                return;
+            }
+            swap(pos, parent);
+            pos = parent;
+        }
+    }
+
+    private void siftDown(int pos) {
+        while (true) {
+            int left = 2 * pos + 1;
+            if (left >= size) {
+                return;
+            }
+            int best = left + 1 < size && scores[left + 1] > scores[left] ? left + 1 : left;
+            if (scores[pos] >= scores[best]) {
+                return;
+            }
+            swap(pos, best);
+            pos = best;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        double score = scores[a];
+        ids[a] = ids[b];
+        scores[a] = scores[b];
+        ids[b] = id;
+        scores[b] = score;
+        positions.put(ids[a], a);
+        positions.put(ids[b], b);
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        boolean visit(long id, double score);
+    }
+}
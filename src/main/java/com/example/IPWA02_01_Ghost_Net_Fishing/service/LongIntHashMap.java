@@ -0,0 +1,149 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import java.util.Arrays;
+
+/**
+ * Hash-Map von {@code long} auf nicht-negative {@code int} ohne Boxing
+ * (offene Adressierung, lineares Sondieren).
+ * <p>
+ * Schlüssel und Werte liegen in zwei parallelen Arrays; ein freier Platz ist am Wert
+ * {@link #MISSING} erkennbar, daher sind alle {@code long}-Schlüssel erlaubt. Entfernen
+ * rückt nachfolgende Einträge auf (keine Grabsteine), die Suchwege bleiben kurz.
+ * Nicht threadsicher – der Aufrufer synchronisiert.
+ */
+final class LongIntHashMap {
+
+    /** Rückgabe für fehlende Schlüssel; zugleich Markierung freier Plätze. */
+    static final int MISSING = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    /** {@code 64 - log2(Kapazität)}: Verschiebung für den Hash. */
+    private int shift;
+    private int size;
+
+    LongIntHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expected erwartete Anzahl Einträge (bis dahin ohne Vergrößern)
+     */
+    LongIntHashMap(int expected) {
+        allocate(capacityFor(expected));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** @return Wert zum Schlüssel oder {@link #MISSING} */
+    int get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            int value = values[slot];
+            if (value == MISSING || keys[slot] == key) {
+                return value;
+            }
+        }
+    }
+
+    boolean containsKey(long key) {
+        return get(key) != MISSING;
+    }
+
+    /**
+     * @param value nicht-negativer Wert
+     * @return vorheriger Wert oder {@link #MISSING}
+     */
+    int put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Wert muss >= 0 sein: " + value);
+        }
+        int slot = slot(key);
+        while (values[slot] != MISSING) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        // Füllgrad höchstens 1/2
+        if (++size * 2 > values.length) {
+            rehash(values.length * 2);
+        }
+        return MISSING;
+    }
+
+    /** @return entfernter Wert oder {@link #MISSING} */
+    int remove(long key) {
+        int slot = slot(key);
+        while (values[slot] != MISSING && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        int removed = values[slot];
+        if (removed == MISSING) {
+            return MISSING;
+        }
+        // Nachfolger aufrücken lassen, sofern die Lücke auf ihrem Suchweg liegt
+        int gap = slot;
+        for (int i = (gap + 1) & mask; values[i] != MISSING; i = (i + 1) & mask) {
+            int home = slot(keys[i]);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = MISSING;
+        size--;
+        return removed;
+    }
+
+    void clear() {
+        Arrays.fill(values, MISSING);
+        size = 0;
+    }
+
+    private int slot(long key) {
+        // Fibonacci-Hashing: obere Bits des Produkts, damit auch Schrittweiten (Shard-IDs) streuen
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != MISSING) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != MISSING) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private static int capacityFor(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2L * expected && capacity < 1 << 30) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
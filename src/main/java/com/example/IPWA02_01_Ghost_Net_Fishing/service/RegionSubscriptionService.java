@@ -0,0 +1,346 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.RegionSubscriptionRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.RegionSubscriptionResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.ReadModelResyncEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.RegionSubscriptionChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.geo.PreparedPolygon;
+import com.example.IPWA02_01_Ghost_Net_Fishing.geo.StrTree;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.InboxNotification;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.RegionSubscription;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.RegionSubscriptionRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gebiets-Abos ("Geofencing"): Benutzer hinterlegen Polygone und werden
+ * benachrichtigt, sobald darin ein Geisternetz gemeldet wird.
+ * <p>
+ * Alle Abos liegen als {@link PreparedPolygon} in einem STR-Baum über ihren
+ * umschließenden Rechtecken. Eine neue Meldung prüft damit nur die wenigen Polygone,
+ * deren Rechteck den Punkt enthält – die Kosten bleiben auch bei zehntausenden
+ * Abos nahezu konstant.
+ * <p>
+ * Der Baum ist unveränderlich und wird bei Änderungen an den (seltenen) Abos neu
+ * aufgebaut; Abfragen lesen ihn ohne Sperre.
+ * <p>
+ * Benachrichtigungen legt nur die Instanz an, auf der eine Meldung eingeht – jede
+ * Instanz braucht daher alle Abos. Änderungen anderer Instanzen kommen als
+ * {@link RegionSubscriptionChangedEvent} über den {@code ClusterInvalidationBus};
+ * nach einem {@link ReadModelResyncEvent} werden alle Abos neu geladen.
+ */
+@Service
+public class RegionSubscriptionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RegionSubscriptionService.class);
+
+    private final RegionSubscriptionRepository regionSubscriptionRepository;
+    private final UserRepository userRepository;
+    private final InboxService inboxService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxVertices;
+
+    /** Alle Abos nach ID; Schreibzugriffe synchronisiert. */
+    private final Map<Long, Region> regions = new HashMap<>();
+
+    /** Serialisiert Ladevorgänge; Lock statt {@code synchronized}, damit virtuelle Threads beim DB-Zugriff nicht gepinnt werden. */
+    private final ReentrantLock seedLock = new ReentrantLock();
+
+    /**
+     * Während des Ladens geänderte Abos ({@code null}-Wert = gelöscht); {@code null} außerhalb
+     * des Ladens. Nur unter {@code synchronized (this)}.
+     */
+    private Map<Long, Region> changedDuringSeed;
+    private volatile StrTree<Region> index = StrTree.build(List.of());
+
+    public RegionSubscriptionService(RegionSubscriptionRepository regionSubscriptionRepository,
+                                     UserRepository userRepository,
+                                     InboxService inboxService,
+                                     ObjectMapper objectMapper,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${ghostnet.subscriptions.max-vertices:1000}") int maxVertices) {
+        this.regionSubscriptionRepository = regionSubscriptionRepository;
+        this.userRepository = userRepository;
+        this.inboxService = inboxService;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.maxVertices = maxVertices;
+    }
+
+    /**
+     * Lädt alle Abos und baut den Index auf (beim Start und nach einem Resync).
+     * <p>
+     * Die Datenbank wird außerhalb des Monitors gelesen; Abos, die sich währenddessen
+     * ändern, überschreiben den geladenen Stand.
+     */
+    @EventListener({ApplicationReadyEvent.class, ReadModelResyncEvent.class})
+    public void seed() {
+        seedLock.lock();
+        try {
+            synchronized (this) {
+                changedDuringSeed = new HashMap<>();
+            }
+            Map<Long, Region> loaded = new HashMap<>();
+            try {
+                for (RegionSubscription s : regionSubscriptionRepository.findAll()) {
+                    Region r = toRegion(s);
+                    if (r != null) {
+                        loaded.put(r.id, r);
+                    }
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    changedDuringSeed = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                regions.clear();
+                regions.putAll(loaded);
+                changedDuringSeed.forEach(this::put);
+                changedDuringSeed = null;
+                rebuildIndex();
+                log.debug("Gebiets-Abos geladen: {}", regions.size());
+            }
+        } finally {
+            seedLock.unlock();
+        }
+    }
+
+    /**
+     * Übernimmt ein auf einer anderen Instanz angelegtes oder gelöschtes Abo.
+     */
+    @EventListener
+    public void onRegionSubscriptionChanged(RegionSubscriptionChangedEvent event) {
+        if (!event.isRemote()) {
+            return;
+        }
+        Region r = regionSubscriptionRepository.findById(event.getSubscriptionId()).map(this::toRegion).orElse(null);
+        synchronized (this) {
+            apply(event.getSubscriptionId(), r);
+        }
+    }
+
+    /**
+     * Legt ein Abo an.
+     *
+     * @throws IllegalArgumentException bei unbekanntem Benutzer, fehlendem Namen oder ungültigem Polygon
+     */
+    public RegionSubscriptionResponse create(Long userId, RegionSubscriptionRequest request) {
+        if (userId == null || !userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("Unbekannter Benutzer: " + userId);
+        }
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("Name fehlt");
+        }
+        double[][] polygon = request.getPolygon();
+        if (polygon == null || polygon.length > maxVertices) {
+            throw new IllegalArgumentException("Polygon braucht 3 bis " + maxVertices + " Ecken");
+        }
+        PreparedPolygon prepared = prepare(polygon);
+
+        RegionSubscription s = new RegionSubscription();
+        s.setUserId(userId);
+        s.setName(request.getName().trim());
+        s.setPolygon(format(polygon));
+        RegionSubscription saved = regionSubscriptionRepository.save(s);
+
+        synchronized (this) {
+            apply(saved.getId(), new Region(saved.getId(), userId, saved.getName(), prepared));
+        }
+        eventPublisher.publishEvent(new RegionSubscriptionChangedEvent(saved.getId(), false));
+        return toResponse(saved);
+    }
+
+    /**
+     * Alle Abos des Benutzers.
+     */
+    @Transactional(readOnly = true)
+    public List<RegionSubscriptionResponse> listForUser(Long userId) {
+        return regionSubscriptionRepository.findByUserIdOrderByCreatedAtAsc(userId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /**
+     * Löscht ein Abo des Benutzers.
+     *
+     * @throws IllegalArgumentException wenn es nicht existiert oder einem anderen Benutzer gehört
+     */
+    public void delete(Long userId, Long id) {
+        RegionSubscription s = regionSubscriptionRepository.findById(id)
+                .filter(x -> x.getUserId().equals(userId))
+                .orElseThrow(() -> new IllegalArgumentException("Abo nicht gefunden: " + id));
+        regionSubscriptionRepository.delete(s);
+        synchronized (this) {
+            apply(id, null);
+        }
+        eventPublisher.publishEvent(new RegionSubscriptionChangedEvent(id, false));
+    }
+
+    /**
+     * Alle Abos, deren Polygon den Punkt enthält.
+     */
+    public List<Region> match(double latitude, double longitude) {
+        List<Region> result = new ArrayList<>();
+        index.query(latitude, longitude, r -> {
+            if (r.polygon.contains(latitude, longitude)) {
+                result.add(r);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Prüft neue Meldungen gegen alle Abos und benachrichtigt die Besitzer.
+     * <p>
+     * Läuft nach dem Commit in einem eigenen Thread, damit {@code GhostNetService.add}
+     * nicht auf Abgleich und Zustellung wartet.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGhostNetChanged(GhostNetChangedEvent event) {
+        if (!event.isCreated() || event.isRemote()) {
+            // Benachrichtigungen legt nur die Instanz an, auf der die Meldung einging
+            return;
+        }
+        GhostNetSnapshot net = event.getAfter();
+        if (net.getLatitude() == null || net.getLongitude() == null) {
+            return;
+        }
+        List<InboxNotification> notifications = new ArrayList<>();
+        for (Region r : match(net.getLatitude(), net.getLongitude())) {
+            InboxNotification n = new InboxNotification();
+            n.setUserId(r.userId);
+            n.setSubscriptionId(r.id);
+            n.setRegionName(r.name);
+            n.setGhostNetId(net.getId());
+            n.setLatitude(net.getLatitude());
+            n.setLongitude(net.getLongitude());
+            notifications.add(n);
+        }
+        inboxService.deliver(notifications);
+    }
+
+    /** @return Abo für den Index oder {@code null}, wenn das Polygon unbrauchbar ist */
+    private Region toRegion(RegionSubscription s) {
+        try {
+            return new Region(s.getId(), s.getUserId(), s.getName(), prepare(parse(s.getPolygon())));
+        } catch (IllegalArgumentException e) {
+            log.warn("Gebiets-Abo {} übersprungen: {}", s.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Übernimmt ein Abo ({@code null} = gelöscht) und baut den Index neu auf. Nur unter
+     * {@code synchronized (this)}.
+     */
+    private void apply(long id, Region r) {
+        if (changedDuringSeed != null) {
+            changedDuringSeed.put(id, r);
+        }
+        put(id, r);
+        rebuildIndex();
+    }
+
+    private void put(long id, Region r) {
+        if (r != null) {
+            regions.put(id, r);
+        } else {
+            regions.remove(id);
+        }
+    }
+
+    private void rebuildIndex() {
+        List<StrTree.Entry<Region>> entries = new ArrayList<>(regions.size());
+        for (Region r : regions.values()) {
+            PreparedPolygon p = r.polygon;
+            entries.add(new StrTree.Entry<>(p.getMinLat(), p.getMinLon(), p.getMaxLat(), p.getMaxLon(), r));
+        }
+        index = StrTree.build(entries);
+    }
+
+    private RegionSubscriptionResponse toResponse(RegionSubscription s) {
+        return new RegionSubscriptionResponse(s.getId(), s.getName(), parse(s.getPolygon()), s.getCreatedAt());
+    }
+
+    private static PreparedPolygon prepare(double[][] polygon) {
+        double[] lat = new double[polygon.length];
+        double[] lon = new double[polygon.length];
+        for (int i = 0; i < polygon.length; i++) {
+            if (polygon[i] == null || polygon[i].length != 2) {
+                throw new IllegalArgumentException("Ecke " + i + " muss [lat, lon] sein");
+            }
+            lat[i] = polygon[i][0];
+            lon[i] = polygon[i][1];
+        }
+        return new PreparedPolygon(lat, lon);
+    }
+
+    private double[][] parse(String json) {
+        try {
+            return objectMapper.readValue(json, double[][].class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Polygon nicht lesbar", e);
+        }
+    }
+
+    private String format(double[][] polygon) {
+        try {
+            return objectMapper.writeValueAsString(polygon);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Abo im Index: Besitzer, Name und vorbereitetes Polygon.
+     */
+    public static final class Region {
+
+        private final long id;
+        private final long userId;
+        private final String name;
+        private final PreparedPolygon polygon;
+
+        Region(long id, long userId, String name, PreparedPolygon polygon) {
+            this.id = id;
+            this.userId = userId;
+            this.name = name;
+            this.polygon = polygon;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
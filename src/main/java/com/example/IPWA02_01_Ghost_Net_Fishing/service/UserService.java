@@ -3,37 +3,120 @@ package com.example.IPWA02_01_Ghost_Net_Fishing.service;
 import com.example.IPWA02_01_Ghost_Net_Fishing.dto.LoginRequest;
 import com.example.IPWA02_01_Ghost_Net_Fishing.dto.RegisterRequest;
 import com.example.IPWA02_01_Ghost_Net_Fishing.dto.UpdateUserRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.UserSummaryResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.UserChangedEvent;
 import com.example.IPWA02_01_Ghost_Net_Fishing.model.User;
 import com.example.IPWA02_01_Ghost_Net_Fishing.model.UserRole;
 import com.example.IPWA02_01_Ghost_Net_Fishing.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service-Klasse für User-Operationen.
+ * <p>
+ * Alle öffentlichen Methoden werden als {@code ghostnet.service} gemessen,
+ * BCrypt zusätzlich als {@code ghostnet.password.hash} (Tag {@code operation}).
+ * Anlegen und Ändern wird als {@link UserChangedEvent} veröffentlicht.
  */
 @Service
+@Timed("ghostnet.service")
 public class UserService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
-    public UserService(UserRepository userRepository) {
+    /** Obergrenze für den Namens-Cache; bei Überschreitung wird er komplett geleert. */
+    private static final int SUMMARY_CACHE_MAX_SIZE = 10_000;
+
+    /**
+     * Cache id → Anzeigename/Rolle.
+     * <p>
+     * Benutzername und Rolle sind nach der Registrierung unveränderlich,
+     * daher ist keine Invalidierung bei {@link #updateUser} nötig.
+     */
+    private final Map<Long, UserSummaryResponse> summaryCache = new ConcurrentHashMap<>();
+
+    private final Timer hashEncodeTimer;
+    private final Timer hashMatchTimer;
+
+    public UserService(UserRepository userRepository, ApplicationEventPublisher eventPublisher,
+                       MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.hashEncodeTimer = hashTimer(meterRegistry, "encode");
+        this.hashMatchTimer = hashTimer(meterRegistry, "matches");
     }
 
     /**
      * Liefert alle User zurück.
      */
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    /**
+     * Löst eine Menge von User-IDs in Anzeigenamen auf.
+     * <p>
+     * Bereits bekannte IDs kommen aus dem Cache, alle übrigen werden
+     * mit genau einer Abfrage ({@code WHERE id IN (...)}) nachgeladen.
+     * Unbekannte IDs fehlen im Ergebnis.
+     *
+     * @param ids aufzulösende IDs ({@code null}-Einträge werden ignoriert)
+     * @return Map id → Kurzinfo, in Reihenfolge der angefragten IDs
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, UserSummaryResponse> resolveUsers(Collection<Long> ids) {
+        Map<Long, UserSummaryResponse> result = new LinkedHashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return result;
+        }
+
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (id == null || result.containsKey(id)) {
+                continue;
+            }
+            UserSummaryResponse cached = summaryCache.get(id);
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                result.put(id, null); // Platzhalter hält die Reihenfolge
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            if (summaryCache.size() + missing.size() > SUMMARY_CACHE_MAX_SIZE) {
+                summaryCache.clear();
+            }
+            for (User u : userRepository.findAllById(missing)) {
+                UserSummaryResponse summary = new UserSummaryResponse(u.getId(), u.getUsername(), u.getRole());
+                summaryCache.put(u.getId(), summary);
+                result.put(u.getId(), summary);
+            }
+        }
+
+        result.values().removeIf(Objects::isNull);
+        return result;
+    }
+
     /**
      * Registriert einen neuen Benutzer.
      * @param req RegisterRequest mit username, email, password, confirm, role
@@ -56,10 +139,12 @@ public class UserService {
         u.setUsername(req.getUsername().trim());
         u.setEmail(req.getEmail().trim().toLowerCase());
         u.setRole(req.getRole() == null ? UserRole.REPORTER : req.getRole());
-        u.setPasswordHash(passwordEncoder.encode(req.getPassword()));
+        u.setPasswordHash(hashEncodeTimer.record(() -> passwordEncoder.encode(req.getPassword())));
 
         try {
-            return userRepository.save(u);
+            User saved = userRepository.save(u);
+            eventPublisher.publishEvent(new UserChangedEvent(saved.getId(), false));
+            return saved;
         } catch (DataIntegrityViolationException ex) {
             // Fallback, falls DB-Constraints anschlagen
             throw new IllegalArgumentException("Benutzername oder E-Mail existieren bereits.", ex);
@@ -71,7 +156,7 @@ public class UserService {
         User user = userRepository.findByUsername(req.getUsername())
                 .orElse(null);
 
-        if (user != null && passwordEncoder.matches(req.getPassword(), user.getPasswordHash())) {
+        if (user != null && hashMatchTimer.record(() -> passwordEncoder.matches(req.getPassword(), user.getPasswordHash()))) {
             return user;
         }
         return null; // Falsche Daten
@@ -105,7 +190,15 @@ public class UserService {
         user.setPhoneNumber(phoneNumber);
 
         // 4) Speichern (führt ein UPDATE aus) und aktualisierten User zurückgeben
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId(), false));
+        return saved;
     }
 
-}
\ No newline at end of file
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("ghostnet.password.hash")
+                .description("Dauer von BCrypt-Operationen")
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * ghostnet-codec.js
+ * Decoder für das kompakte Marker-Format "application/vnd.ghostnet.columnar"
+ * (Gegenstück zu GhostNetColumnarEncoder im Backend).
+ *
+ * Das Format ist spaltenorientiert: IDs und Koordinaten als Delta-Varints,
+ * Status als Byte, Größe quantisiert. Gegenüber JSON spart das vor allem bei
+ * langsamen/teuren Verbindungen (Satellit) deutlich Bytes.
+ *
+ * Globale Referenz:
+ *   window.GhostNetCodec.MEDIA_TYPE
+ *   window.GhostNetCodec.decode(arrayBuffer) → Array<{id, latitude, longitude, status, size}>
+ */
+(() => {
+  const MEDIA_TYPE = "application/vnd.ghostnet.columnar";
+  const VERSION = 1;
+  const COORDINATE_SCALE = 1e5;
+  const SIZE_SCALE = 100;
+
+  /**
+   * Dekodiert eine Nutzlast.
+   *
+   * @param {ArrayBuffer} buffer Antwort-Body
+   * @returns {Array<{id:number, latitude:number, longitude:number, status:string, size:number|null}>}
+   */
+  function decode(buffer) {
+    const bytes = new Uint8Array(buffer);
+    let pos = 0;
+
+    // Number-Arithmetik: IDs sind aufsteigend, ihre Deltas also >= 0 und die ZigZag-Werte
+    // gerade – bis 2^54 exakt darstellbar. IDs bis Number.MAX_SAFE_INTEGER bleiben damit exakt.
+    const readVarint = () => {
+      let result = 0;
+      let factor = 1;
+      let b;
+      do {
+        b = bytes[pos++];
+        result += (b & 0x7f) * factor;
+        factor *= 128;
+      } while (b & 0x80);
+      return result;
+    };
+    const readZigZag = () => {
+      const v = readVarint();
+      return v % 2 === 0 ? v / 2 : -(v + 1) / 2;
+    };
+
+    if (bytes[0] !== 0x47 || bytes[1] !== 0x4e || bytes[2] !== 0x43) {
+      throw new Error("ghostnet-codec: unbekanntes Format");
+    }
+    if (bytes[3] !== VERSION) {
+      throw new Error(`ghostnet-codec: nicht unterstützte Version ${bytes[3]}`);
+    }
+    pos = 4;
+
+    const statusNames = new Array(readVarint());
+    const textDecoder = new TextDecoder();
+    for (let i = 0; i < statusNames.length; i++) {
+      const len = readVarint();
+      statusNames[i] = textDecoder.decode(bytes.subarray(pos, pos + len));
+      pos += len;
+    }
+
+    const count = readVarint();
+    const nets = new Array(count);
+
+    let acc = 0;
+    for (let i = 0; i < count; i++) {
+      acc += readZigZag();
+      nets[i] = { id: acc, latitude: 0, longitude: 0, status: null, size: null };
+    }
+    acc = 0;
+    for (let i = 0; i < count; i++) {
+      acc += readZigZag();
+      nets[i].latitude = acc / COORDINATE_SCALE;
+    }
+    acc = 0;
+    for (let i = 0; i < count; i++) {
+      acc += readZigZag();
+      nets[i].longitude = acc / COORDINATE_SCALE;
+    }
+    for (let i = 0; i < count; i++) {
+      nets[i].status = statusNames[bytes[pos++]];
+    }
+    for (let i = 0; i < count; i++) {
+      const v = readVarint();
+      if (v !== 0) {
+        const q = v - 1;
+        nets[i].size = (q % 2 === 0 ? q / 2 : -(q + 1) / 2) / SIZE_SCALE;
+      }
+    }
+
+    return nets;
+  }
+
+  window.GhostNetCodec = { MEDIA_TYPE, decode };
+})();
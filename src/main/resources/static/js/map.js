@@ -94,9 +94,16 @@ document.addEventListener("DOMContentLoaded", async () => {
  */
 async function loadAndRenderGhostNets(map) {
   try {
-    const res = await fetch("/api/ghostnets");
+    // Kompaktes Binärformat bevorzugen, falls der Decoder geladen ist
+    const codec = window.GhostNetCodec;
+    const res = await fetch("/api/ghostnets", {
+      headers: codec ? { Accept: `${codec.MEDIA_TYPE}, application/json;q=0.5` } : {},
+    });
     if (!res.ok) throw new Error(`HTTP ${res.status}`);
-    const nets = await res.json();
+    const contentType = res.headers.get("Content-Type") || "";
+    const nets = codec && contentType.startsWith(codec.MEDIA_TYPE)
+      ? codec.decode(await res.arrayBuffer())
+      : await res.json();
     renderGhostNetMarkers(map, nets);
   } catch (e) {
     console.error("map.js: Konnte GhostNets nicht laden:", e);
@@ -3,7 +3,7 @@
  * Listet Ghost Nets in der Sidebar als kompakte Cards:
  *  Zeile 1: "#<id> <STATUS>"
  *  Zeile 2: "<lat>, <lng>"
- *  Zeile 3 (optional): "Übernommen von User-ID #<id>"
+ *  Zeile 3 (optional): "Übernommen von <Benutzername>"
  *
  * Klick fokussiert die Map (map.js), sonst keine Auto-Zooms.
  *
@@ -20,6 +20,11 @@
  * @property {number=} size
  * @property {string=} updatedAt
  * @property {number|null|undefined} scheduledByUserId - ID der bergenden Person (optional)
+ *
+ * @typedef {Object} UserSummary
+ * @property {number} id
+ * @property {string} username
+ * @property {string=} role
  */
 
 document.addEventListener("DOMContentLoaded", () => {
@@ -34,6 +39,8 @@ document.addEventListener("DOMContentLoaded", () => {
 
   /** @type {GhostNet[]} */
   let allNets = [];
+  /** @type {Record<string, UserSummary>} User-Wörterbuch aus /api/ghostnets/with-users */
+  let users = {};
   /** @type {string} Aktuelle Such-Query */
   let currentQuery = "";
 
@@ -47,20 +54,31 @@ document.addEventListener("DOMContentLoaded", () => {
   // --- Hilfsfunktionen -------------------------------------------------------
 
   /**
-   * Lädt alle GhostNets vom Backend.
-   * @returns {Promise<GhostNet[]>}
+   * Lädt alle GhostNets inkl. User-Wörterbuch vom Backend (ein Request).
+   * @returns {Promise<{nets: GhostNet[], users: Record<string, UserSummary>}>}
    */
   async function fetchGhostNets() {
     try {
-      const res = await fetch("/api/ghostnets", { method: "GET" });
+      const res = await fetch("/api/ghostnets/with-users", { method: "GET" });
       if (!res.ok) throw new Error(`HTTP ${res.status}`);
-      return /** @type {GhostNet[]} */ (await res.json());
+      const body = await res.json();
+      return { nets: body.nets ?? [], users: body.users ?? {} };
     } catch (e) {
       console.error("sidebar.js: Konnte Ghost Nets nicht laden:", e);
-      return [];
+      return { nets: [], users: {} };
     }
   }
 
+  /**
+   * Liefert den Anzeigenamen zu einer User-ID (Fallback: "User-ID #<id>").
+   * @param {number|string} id
+   * @returns {string}
+   */
+  function displayName(id) {
+    const user = users[String(id)];
+    return user?.username ?? `User-ID #${id}`;
+  }
+
   /**
    * Formatiert Zahl mit 3 Nachkommastellen, sonst "–".
    * @param {unknown} n
@@ -108,8 +126,8 @@ document.addEventListener("DOMContentLoaded", () => {
       return "";
     }
 
-    const idText = escapeHtml(String(net.scheduledByUserId));
-    return `<div class="gn-row3 small text-muted">Übernommen von User-ID #${idText}</div>`;
+    const nameText = escapeHtml(displayName(net.scheduledByUserId));
+    return `<div class="gn-row3 small text-muted">Übernommen von ${nameText}</div>`;
   }
 
   /**
@@ -176,7 +194,9 @@ document.addEventListener("DOMContentLoaded", () => {
       const status = (n.status ?? "").toLowerCase();
       // Optional: ID/Übernehmer in Textsuche einbeziehen
       const idText = String(n.id ?? "").toLowerCase();
-      const scheduledText = n.scheduledByUserId != null ? String(n.scheduledByUserId).toLowerCase() : "";
+      const scheduledText = n.scheduledByUserId != null
+        ? `${n.scheduledByUserId} ${displayName(n.scheduledByUserId)}`.toLowerCase()
+        : "";
 
       return (
         name.includes(q) ||
@@ -192,7 +212,9 @@ document.addEventListener("DOMContentLoaded", () => {
    * Beibehaltung der globalen Variablen `allNets` und `currentQuery`.
    */
   async function reloadSidebar() {
-    allNets = await fetchGhostNets();
+    const data = await fetchGhostNets();
+    allNets = data.nets;
+    users = data.users;
 
     // LISTE NACH ID SORTIEREN (aufsteigend)
     allNets.sort((a, b) => Number(a.id) - Number(b.id));
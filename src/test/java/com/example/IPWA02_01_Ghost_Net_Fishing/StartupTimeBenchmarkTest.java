@@ -0,0 +1,244 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Misst Kaltstarts in eigenen JVMs – vorher (Standard) und nachher (Schnellstart), jeweils
+ * den Median über mehrere Starts:
+ * <ul>
+ *   <li>{@code Started}: von Spring Boot gemeldete Prozesslaufzeit, bis der Kontext steht,</li>
+ *   <li>erste Antwort: vom Prozessstart bis {@code /api/ghostnets/stats} mit 200 antwortet.</li>
+ * </ul>
+ * Die Schnellstart-Stufen bauen aufeinander auf: Profil {@code fast-start} (Lazy-Init,
+ * Vorwärmen), dazu AOT-Bean-Definitionen (nur wenn generiert, also mit {@code -Pfast-start})
+ * und ein CDS-Archiv, das vorab in einem Trainingslauf mit denselben Optionen entsteht.
+ * Jede JVM nutzt eine eigene, leere H2-Datenbank. Klassenverzeichnisse werden vorab in Jars
+ * gepackt – CDS archiviert nur Klassen aus Jars.
+ * <p>
+ * Dauert einige Minuten und läuft daher nur auf Anforderung:
+ * {@code mvn -Pfast-start test -Dtest=StartupTimeBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StartupTimeBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeBenchmarkTest.class);
+
+    private static final int RUNS = 3;
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+    private static final Path WORK = Path.of("target", "startup-benchmark");
+    private static final Path ARCHIVE = WORK.resolve("application.jsa");
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in [\\d.]+ seconds \\(process running for ([\\d.]+)\\)");
+
+    private static final List<String> FAST_START = List.of(
+            "-Dspring.profiles.active=fast-start",
+            // H2 statt PostgreSQL; application-fast-start.properties legt den Dialekt fest
+            "-Dspring.jpa.database-platform=org.hibernate.dialect.H2Dialect");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private String classPath;
+
+    @Test
+    void compareStartupTimes() throws Exception {
+        classPath = jarredClassPath();
+        List<String> fastStart = new ArrayList<>(FAST_START);
+        List<Result> results = new ArrayList<>();
+        results.add(measure("Standard", List.of()));
+        results.add(measure("fast-start", fastStart));
+        if (ClassUtils.isPresent(Ipwa0201GhostNetFishingApplication.class.getName()
+                + "__ApplicationContextInitializer", null)) {
+            fastStart.add("-Dspring.aot.enabled=true");
+            results.add(measure("+ AOT", fastStart));
+        } else {
+            log.info("AOT: übersprungen (keine generierten Klassen, mit -Pfast-start bauen)");
+        }
+        train(fastStart);
+        fastStart.add("-XX:SharedArchiveFile=" + ARCHIVE);
+        results.add(measure("+ CDS", fastStart));
+
+        Result before = results.get(0);
+        Result after = results.get(results.size() - 1);
+        results.forEach(result -> log.info("{}", result));
+        log.info(String.format(Locale.ROOT, "Vorher/nachher: Started %.2f s -> %.2f s, erste Antwort %.2f s -> %.2f s",
+                before.startedSeconds(), after.startedSeconds(), before.firstResponseSeconds(), after.firstResponseSeconds()));
+    }
+
+    /** Trainingslauf für das CDS-Archiv: endet, sobald der Kontext aufgebaut ist. */
+    private void train(List<String> jvmArguments) throws Exception {
+        Files.deleteIfExists(ARCHIVE);
+        List<String> arguments = new ArrayList<>(jvmArguments);
+        arguments.add("-XX:ArchiveClassesAtExit=" + ARCHIVE);
+        arguments.add("-Xlog:cds=error");
+        arguments.add("-Dspring.context.exit=onRefresh");
+        Path log = Files.createTempFile("startup-training", ".log");
+        Process process = start(arguments, freePort(), "training", log);
+        assertTrue(process.waitFor(START_TIMEOUT.toSeconds(), TimeUnit.SECONDS), "Trainingslauf hängt");
+        assertTrue(Files.exists(ARCHIVE), () -> "Kein CDS-Archiv erzeugt:\n" + read(log));
+        Files.delete(log);
+    }
+
+    private Result measure(String variant, List<String> jvmArguments) throws Exception {
+        double[] started = new double[RUNS];
+        double[] firstResponse = new double[RUNS];
+        // erster Start nur zum Füllen des Dateisystem-Caches
+        for (int run = -1; run < RUNS; run++) {
+            int port = freePort();
+            Path log = Files.createTempFile("startup", ".log");
+            long t = System.nanoTime();
+            Process process = start(jvmArguments, port, variant.replaceAll("\\W", "") + run, log);
+            try {
+                awaitFirstResponse(process, port, log);
+                double response = (System.nanoTime() - t) / 1e9;
+                if (run >= 0) {
+                    firstResponse[run] = response;
+                    started[run] = startedSeconds(log);
+                }
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+                Files.delete(log);
+            }
+        }
+        return new Result(variant, median(started), median(firstResponse));
+    }
+
+    private Process start(List<String> jvmArguments, int port, String database, Path log) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArguments);
+        command.add("-cp");
+        command.add(classPath);
+        command.add(Ipwa0201GhostNetFishingApplication.class.getName());
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup-" + database + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        command.add("--ghostnet.sql.sample-rate=0");
+        command.add("--ghostnet.snapshot.path=");
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private void awaitFirstResponse(Process process, int port, Path log) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/ghostnets/stats"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertTrue(process.isAlive(), () -> "Anwendung beendet:\n" + read(log));
+            try {
+                assertEquals(200, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                return;
+            } catch (IOException notYetListening) {
+                Thread.sleep(5);
+            }
+        }
+        throw new AssertionError("Keine Antwort nach " + START_TIMEOUT + ":\n" + read(log));
+    }
+
+    /** Klassenpfad der Tests, Verzeichnisse durch Jars mit demselben Inhalt ersetzt. */
+    private static String jarredClassPath() throws IOException {
+        Files.createDirectories(WORK);
+        String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        List<String> entries = new ArrayList<>();
+        for (String entry : classPath.split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (Files.isDirectory(path)) {
+                Path jar = WORK.resolve(path.getFileName() + ".jar");
+                jar(path, jar);
+                entries.add(jar.toString());
+            } else {
+                entries.add(entry);
+            }
+        }
+        return entries.stream().collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private static void jar(Path directory, Path jar) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+             Stream<Path> files = Files.walk(directory)) {
+            // mit Verzeichniseinträgen, sonst findet der Komponenten-Scan nichts
+            for (Path file : (Iterable<Path>) files.filter(f -> !f.equals(directory)).sorted()::iterator) {
+                String name = directory.relativize(file).toString().replace(File.separatorChar, '/');
+                boolean isDirectory = Files.isDirectory(file);
+                out.putNextEntry(new JarEntry(isDirectory ? name + "/" : name));
+                if (!isDirectory) {
+                    Files.copy(file, (OutputStream) out);
+                }
+                out.closeEntry();
+            }
+        }
+    }
+
+    private static double startedSeconds(Path log) {
+        Matcher m = STARTED.matcher(read(log));
+        assertTrue(m.find(), "Keine Started-Meldung im Log");
+        return Double.parseDouble(m.group(1));
+    }
+
+    private static String read(Path log) {
+        try {
+            return Files.readString(log);
+        } catch (IOException e) {
+            return e.toString();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private record Result(String variant, double startedSeconds, double firstResponseSeconds) {
+
+        @Override
+        public String toString() {
+            return String.format("%-11s Started %.2f s, erste Antwort %.2f s (Median aus %d Starts)",
+                    variant, startedSeconds, firstResponseSeconds, RUNS);
+        }
+    }
+}
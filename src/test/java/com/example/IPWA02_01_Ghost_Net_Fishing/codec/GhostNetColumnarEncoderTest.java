@@ -0,0 +1,199 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.codec;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Kodieren und Dekodieren des Marker-Formats: in Java und – falls Node.js installiert
+ * ist – mit dem Browser-Decoder {@code static/js/ghostnet-codec.js}.
+ */
+class GhostNetColumnarEncoderTest {
+
+    private static final Path JS_CODEC = Path.of("src", "main", "resources", "static", "js", "ghostnet-codec.js");
+
+    /** Größte ID, die der Browser-Decoder (Number) exakt darstellt. */
+    private static final long MAX_SAFE_INTEGER = (1L << 53) - 1;
+
+    @Test
+    void roundTripPreservesNets() {
+        List<GhostNet> nets = sampleNets(MAX_SAFE_INTEGER);
+        nets.add(net(Long.MAX_VALUE, 0.0, 0.0, null, GhostNetStatus.REPORTED));
+        nets.add(net(Long.MAX_VALUE - 1, -0.000004, 0.000006, -1.5, GhostNetStatus.CANCELLED));
+
+        assertMatches(decode(GhostNetColumnarEncoder.encode(nets)), nets);
+    }
+
+    @Test
+    void emptyListAndNetsWithoutCoordinates() {
+        assertThat(decode(GhostNetColumnarEncoder.encode(List.of()))).isEmpty();
+
+        GhostNet withoutPosition = net(5, 1.0, 2.0, 3.0, GhostNetStatus.REPORTED);
+        withoutPosition.setLongitude(null);
+        assertThat(decode(GhostNetColumnarEncoder.encode(List.of(withoutPosition)))).isEmpty();
+    }
+
+    @Test
+    void browserDecoderMatches() throws Exception {
+        assumeTrue(nodeAvailable(), "Node.js nicht installiert");
+        List<GhostNet> nets = sampleNets(MAX_SAFE_INTEGER);
+
+        assertMatches(decodeWithNode(GhostNetColumnarEncoder.encode(nets)), nets);
+        assertThat(decodeWithNode(GhostNetColumnarEncoder.encode(List.of()))).isEmpty();
+    }
+
+    /** Negative Koordinaten, fehlende Größe, unsortierte und große IDs. */
+    private static List<GhostNet> sampleNets(long largeId) {
+        List<GhostNet> nets = new ArrayList<>();
+        nets.add(net(42, -54.123456, -8.5, null, GhostNetStatus.SCHEDULED));
+        nets.add(net(7, 89.99999, 179.99999, 12.34, GhostNetStatus.RECOVERED));
+        nets.add(net(largeId, -89.99999, -179.99999, 0.0, GhostNetStatus.REPORTED));
+        nets.add(net(1_000_000, 0.0, -0.00001, 0.004, null));
+        nets.add(net(43, 10.0, 20.0, 1e6, GhostNetStatus.CANCELLED));
+        return nets;
+    }
+
+    private static void assertMatches(List<Decoded> decoded, List<GhostNet> nets) {
+        List<GhostNet> expected = new ArrayList<>(nets);
+        expected.sort(Comparator.comparing(GhostNet::getId));
+        assertThat(decoded).hasSize(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            GhostNet net = expected.get(i);
+            Decoded d = decoded.get(i);
+            assertThat(d.id()).isEqualTo(net.getId());
+            assertThat(d.latitude()).isCloseTo(net.getLatitude(), within(0.5 / GhostNetColumnarEncoder.COORDINATE_SCALE));
+            assertThat(d.longitude()).isCloseTo(net.getLongitude(), within(0.5 / GhostNetColumnarEncoder.COORDINATE_SCALE));
+            assertThat(d.status()).isEqualTo(net.getStatus() != null ? net.getStatus().name() : "REPORTED");
+            if (net.getSize() == null) {
+                assertThat(d.size()).isNull();
+            } else {
+                assertThat(d.size()).isCloseTo(net.getSize(), within(0.5 / GhostNetColumnarEncoder.SIZE_SCALE));
+            }
+        }
+    }
+
+    /** Java-Decoder mit exakter long-Arithmetik. */
+    private static List<Decoded> decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        assertThat(new String(bytes(in, 3), StandardCharsets.US_ASCII)).isEqualTo("GNC");
+        assertThat(in.get()).isEqualTo((byte) GhostNetColumnarEncoder.VERSION);
+
+        String[] statuses = new String[(int) varint(in)];
+        for (int i = 0; i < statuses.length; i++) {
+            statuses[i] = new String(bytes(in, (int) varint(in)), StandardCharsets.US_ASCII);
+        }
+        int count = (int) varint(in);
+        long[] ids = deltas(in, count);
+        long[] lat = deltas(in, count);
+        long[] lon = deltas(in, count);
+        byte[] status = bytes(in, count);
+        List<Decoded> nets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long size = varint(in);
+            nets.add(new Decoded(ids[i],
+                    lat[i] / GhostNetColumnarEncoder.COORDINATE_SCALE,
+                    lon[i] / GhostNetColumnarEncoder.COORDINATE_SCALE,
+                    statuses[status[i]],
+                    size == 0 ? null : unZigZag(size - 1) / GhostNetColumnarEncoder.SIZE_SCALE));
+        }
+        assertThat(in.hasRemaining()).isFalse();
+        return nets;
+    }
+
+    private static byte[] bytes(ByteBuffer in, int length) {
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    private static long[] deltas(ByteBuffer in, int count) {
+        long[] values = new long[count];
+        long acc = 0;
+        for (int i = 0; i < count; i++) {
+            acc += unZigZag(varint(in));
+            values[i] = acc;
+        }
+        return values;
+    }
+
+    private static long varint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.get() & 0xff;
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static List<Decoded> decodeWithNode(byte[] payload) throws IOException, InterruptedException {
+        String script = "globalThis.window = {};"
+                + "eval(require('fs').readFileSync(process.argv[1], 'utf8'));"
+                + "const bytes = new Uint8Array(Buffer.from(process.argv[2], 'base64'));"
+                + "const nets = window.GhostNetCodec.decode(bytes.buffer);"
+                + "console.log(JSON.stringify(nets.map(n => ({...n, id: String(n.id)}))));";
+        Process process = new ProcessBuilder("node", "-e", script, JS_CODEC.toAbsolutePath().toString(),
+                Base64.getEncoder().encodeToString(payload))
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(process.waitFor(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(process.exitValue()).as(output).isZero();
+
+        List<Decoded> nets = new ArrayList<>();
+        for (JsonNode n : new ObjectMapper().readTree(output)) {
+            nets.add(new Decoded(Long.parseLong(n.get("id").asText()), n.get("latitude").asDouble(),
+                    n.get("longitude").asDouble(), n.get("status").asText(),
+                    n.get("size").isNull() ? null : n.get("size").asDouble()));
+        }
+        return nets;
+    }
+
+    private static boolean nodeAvailable() {
+        if (!Files.exists(JS_CODEC)) {
+            return false;
+        }
+        try {
+            Process process = new ProcessBuilder("node", "--version").redirectErrorStream(true).start();
+            process.getInputStream().readAllBytes();
+            return process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0;
+        } catch (IOException | InterruptedException e) {
+            return false;
+        }
+    }
+
+    private static GhostNet net(long id, Double lat, Double lon, Double size, GhostNetStatus status) {
+        GhostNet net = new GhostNet();
+        net.setId(id);
+        net.setLatitude(lat);
+        net.setLongitude(lon);
+        net.setSize(size);
+        net.setStatus(status);
+        return net;
+    }
+
+    private record Decoded(long id, double latitude, double longitude, String status, Double size) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.codec;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetField;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Vergleicht die Allokation je Request: reflektive Jackson-Serialisierung der
+ * Entity-Liste vs. {@link GhostNetJsonConverter}.
+ */
+class GhostNetJsonConverterBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(GhostNetJsonConverterBenchmarkTest.class);
+
+    private static final int NETS = 2_000;
+    private static final int WARMUP = 200;
+    private static final int ROUNDS = 200;
+
+    /** Gemessen wird etwa Faktor 20; die Grenze lässt Spielraum für andere JVMs. */
+    private static final int MIN_ALLOCATION_RATIO = 4;
+
+    /** Wie von Spring Boot konfiguriert: Zeitstempel als ISO-8601. */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void streamingWriterMatchesJacksonAndAllocatesLess() throws IOException {
+        List<GhostNet> nets = sampleNets();
+        GhostNetJson json = GhostNetJson.list(nets, GhostNetField.ALL);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        objectMapper.writeValue(expected, nets);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        GhostNetJsonConverter.write(objectMapper.getFactory(), json, actual);
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray(), "Ausgabe muss identisch sein");
+
+        long jackson = bytesPerRequest(() -> objectMapper.writeValue(OutputStream.nullOutputStream(), nets));
+        long streaming = bytesPerRequest(() -> GhostNetJsonConverter.write(objectMapper.getFactory(), json, OutputStream.nullOutputStream()));
+        long sparse = bytesPerRequest(() -> GhostNetJsonConverter.write(objectMapper.getFactory(),
+                GhostNetJson.list(nets, GhostNetField.parse("id,latitude,longitude,status")), OutputStream.nullOutputStream()));
+
+        log.debug("Allokation je Request ({} Netze): Jackson {} B, Streaming {} B, fields=4 {} B",
+                NETS, jackson, streaming, sparse);
+        assertTrue(streaming * MIN_ALLOCATION_RATIO <= jackson, () -> "Streaming-Writer sollte höchstens 1/"
+                + MIN_ALLOCATION_RATIO + " allokieren: " + streaming + " B vs. Jackson " + jackson + " B");
+        assertTrue(sparse < streaming, () -> "Weniger Felder sollten weniger allokieren: " + sparse + " B vs. " + streaming + " B");
+    }
+
+    /** Ausgabe wird verworfen, damit nur die Serialisierung gemessen wird. */
+    private static long bytesPerRequest(IoRunnable request) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            request.run();
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ROUNDS; i++) {
+            request.run();
+        }
+        return (threads.getThreadAllocatedBytes(thread) - before) / ROUNDS;
+    }
+
+    private static List<GhostNet> sampleNets() {
+        List<GhostNet> nets = new ArrayList<>(NETS);
+        Instant base = Instant.parse("2025-03-01T08:15:30.123456Z");
+        for (int i = 0; i < NETS; i++) {
+            GhostNet net = new GhostNet();
+            net.setId((long) i + 1);
+            net.setLatitude(54.0 + i * 0.0013);
+            net.setLongitude(7.5 + i * 0.0021);
+            net.setSize(i % 5 == 0 ? null : 10.0 + i);
+            net.setReportedBy(i % 3 == 0 ? null : (long) (i % 17));
+            net.setReportedAt(base.plusSeconds(i * 60L));
+            net.setCreatedAt(Instant.ofEpochSecond(base.getEpochSecond() - i * 86_400L * 97));
+            net.setUpdatedAt(base.plusSeconds(i * 90L).plusNanos(i * 1_000_007L));
+            if (i % 2 == 0) {
+                net.setStatus(GhostNetStatus.SCHEDULED);
+                net.setScheduledBy((long) (i % 11));
+                net.setScheduledAt(base.plusSeconds(i * 75L));
+            }
+            nets.add(net);
+        }
+        return nets;
+    }
+
+    @FunctionalInterface
+    private interface IoRunnable {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dekodiert erzeugte Kacheln mit einem unabhängigen Protobuf-Leser (vector_tile.proto 2.1)
+ * und vergleicht Geometrie, IDs und die deduplizierten Schlüssel-/Werttabellen.
+ */
+class MvtEncoderTest {
+
+    @Test
+    void pointsAndPropertiesRoundTrip() {
+        MvtEncoder encoder = new MvtEncoder("ghostnets");
+        encoder.addPoint(1, 0, 0, properties("status", "REPORTED", "size", 2.5));
+        // außerhalb der Kachel (Puffer) und an den Grenzen der ZigZag-Kodierung
+        encoder.addPoint(2, -1, -4096, properties("status", "REPORTED", "size", null));
+        encoder.addPoint(Long.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                properties("status", "RECOVERED", "count", Long.MIN_VALUE));
+        encoder.addPoint(4, MvtEncoder.EXTENT - 1, 4097, properties("size", 2.5, "count", 7L));
+
+        Layer layer = Layer.decode(encoder.encode());
+
+        assertThat(layer.version).isEqualTo(2);
+        assertThat(layer.name).isEqualTo("ghostnets");
+        assertThat(layer.extent).isEqualTo(MvtEncoder.EXTENT);
+        assertThat(layer.keys).containsExactly("status", "size", "count");
+        assertThat(layer.values).containsExactly("REPORTED", 2.5, "RECOVERED", Long.MIN_VALUE, 7L);
+
+        assertThat(layer.features).hasSize(4);
+        assertFeature(layer, 0, 1, 0, 0, properties("status", "REPORTED", "size", 2.5));
+        assertFeature(layer, 1, 2, -1, -4096, properties("status", "REPORTED"));
+        assertFeature(layer, 2, Long.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                properties("status", "RECOVERED", "count", Long.MIN_VALUE));
+        assertFeature(layer, 3, 4, MvtEncoder.EXTENT - 1, 4097, properties("size", 2.5, "count", 7L));
+    }
+
+    @Test
+    void emptyTileHasNoLayer() {
+        MvtEncoder encoder = new MvtEncoder("ghostnets");
+        assertThat(encoder.encode()).isEmpty();
+        assertThat(encoder.getFeatureCount()).isZero();
+    }
+
+    @Test
+    void zigZagMatchesSpecification() {
+        int[] values = {0, -1, 1, -2, 2, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        long[] expected = {0, 1, 2, 3, 4, 4294967294L, 4294967295L};
+        for (int i = 0; i < values.length; i++) {
+            assertThat(ProtobufWriter.zigZag(values[i]) & 0xffffffffL).isEqualTo(expected[i]);
+            assertThat(unZigZag(expected[i])).isEqualTo(values[i]);
+        }
+    }
+
+    private static void assertFeature(Layer layer, int index, long id, int x, int y, Map<String, Object> expected) {
+        Feature f = layer.features.get(index);
+        assertThat(f.id).isEqualTo(id);
+        assertThat(f.type).isEqualTo(1);
+        // MoveTo (1) mit Anzahl 1, danach x/y als ZigZag
+        assertThat(f.geometry).hasSize(3);
+        assertThat(f.geometry.get(0)).isEqualTo(1 | 1 << 3);
+        assertThat(unZigZag(f.geometry.get(1))).isEqualTo(x);
+        assertThat(unZigZag(f.geometry.get(2))).isEqualTo(y);
+
+        Map<String, Object> decoded = new LinkedHashMap<>();
+        for (int t = 0; t < f.tags.size(); t += 2) {
+            decoded.put(layer.keys.get(f.tags.get(t).intValue()), layer.values.get(f.tags.get(t + 1).intValue()));
+        }
+        assertThat(decoded).containsExactlyEntriesOf(expected);
+    }
+
+    private static Map<String, Object> properties(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+
+    private static int unZigZag(long value) {
+        int v = (int) value;
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /** Gelesene Ebene. */
+    private static final class Layer {
+        long version;
+        String name;
+        long extent;
+        final List<String> keys = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+        final List<Feature> features = new ArrayList<>();
+
+        static Layer decode(byte[] tile) {
+            Reader tileReader = new Reader(tile);
+            assertThat(tileReader.tag()).isEqualTo(3 << 3 | 2);
+            Reader r = tileReader.nested();
+            assertThat(tileReader.hasMore()).isFalse();
+
+            Layer layer = new Layer();
+            while (r.hasMore()) {
+                int tag = r.tag();
+                switch (tag) {
+                    case 15 << 3 -> layer.version = r.varint();
+                    case 1 << 3 | 2 -> layer.name = r.string();
+                    case 2 << 3 | 2 -> layer.features.add(Feature.decode(r.nested()));
+                    case 3 << 3 | 2 -> layer.keys.add(r.string());
+                    case 4 << 3 | 2 -> layer.values.add(value(r.nested()));
+                    case 5 << 3 -> layer.extent = r.varint();
+                    default -> throw new AssertionError("Unerwartetes Feld in Layer: " + tag);
+                }
+            }
+            return layer;
+        }
+
+        private static Object value(Reader r) {
+            int tag = r.tag();
+            Object value = switch (tag) {
+                case 1 << 3 | 2 -> r.string();
+                case 3 << 3 | 1 -> r.fixedDouble();
+                case 6 << 3 -> {
+                    long v = r.varint();
+                    yield (v >>> 1) ^ -(v & 1);
+                }
+                default -> throw new AssertionError("Unerwarteter Werttyp: " + tag);
+            };
+            assertThat(r.hasMore()).isFalse();
+            return value;
+        }
+    }
+
+    /** Gelesenes Feature. */
+    private static final class Feature {
+        long id;
+        long type;
+        List<Long> tags = List.of();
+        List<Long> geometry = List.of();
+
+        static Feature decode(Reader r) {
+            Feature f = new Feature();
+            while (r.hasMore()) {
+                int tag = r.tag();
+                switch (tag) {
+                    case 1 << 3 -> f.id = r.varint();
+                    case 2 << 3 | 2 -> f.tags = r.nested().packed();
+                    case 3 << 3 -> f.type = r.varint();
+                    case 4 << 3 | 2 -> f.geometry = r.nested().packed();
+                    default -> throw new AssertionError("Unerwartetes Feld in Feature: " + tag);
+                }
+            }
+            return f;
+        }
+    }
+
+    /** Minimaler Protobuf-Leser. */
+    private static final class Reader {
+        private final ByteBuffer buffer;
+
+        Reader(byte[] data) {
+            this(ByteBuffer.wrap(data));
+        }
+
+        private Reader(ByteBuffer buffer) {
+            this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        boolean hasMore() {
+            return buffer.hasRemaining();
+        }
+
+        int tag() {
+            return (int) varint();
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7f) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        double fixedDouble() {
+            return buffer.getDouble();
+        }
+
+        String string() {
+            byte[] bytes = new byte[(int) varint()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        Reader nested() {
+            int length = (int) varint();
+            ByteBuffer slice = buffer.slice();
+            slice.limit(length);
+            buffer.position(buffer.position() + length);
+            return new Reader(slice);
+        }
+
+        List<Long> packed() {
+            List<Long> values = new ArrayList<>();
+            while (hasMore()) {
+                values.add(varint());
+            }
+            return values;
+        }
+    }
+}
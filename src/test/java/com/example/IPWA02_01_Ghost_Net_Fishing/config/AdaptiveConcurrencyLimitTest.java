@@ -0,0 +1,73 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    void rejectsBeyondLimitAndShare() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0, 0.9);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limit.tryAcquire(RequestPriority.BULK.share())).isTrue();
+        }
+        assertThat(limit.tryAcquire(RequestPriority.BULK.share())).isFalse();
+        for (int i = 0; i < 5; i++) {
+            assertThat(limit.tryAcquire(RequestPriority.CRITICAL.share())).isTrue();
+        }
+        assertThat(limit.tryAcquire(RequestPriority.CRITICAL.share())).isFalse();
+
+        limit.cancel();
+        assertThat(limit.tryAcquire(RequestPriority.CRITICAL.share())).isTrue();
+        assertThat(limit.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void shrinksOnSlowResponsesAndFailuresOncePerRoundTrip() {
+        long[] now = {0};
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100, 2.0, 0.5, () -> now[0]);
+        roundTrip(limit, 10 * MS, false);
+
+        now[0] += 50 * MS;
+        roundTrip(limit, 50 * MS, false);
+        assertThat(limit.getLimit()).isEqualTo(10);
+        roundTrip(limit, 50 * MS, false);
+        assertThat(limit.getLimit()).as("zweite Antwort derselben Welle").isEqualTo(10);
+
+        now[0] += 10 * MS;
+        roundTrip(limit, 10 * MS, true);
+        assertThat(limit.getLimit()).isEqualTo(5);
+        now[0] += 10 * MS;
+        roundTrip(limit, 10 * MS, true);
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void growsOnlyWhenUtilized() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 5, 2.0, 0.9);
+        for (int i = 0; i < 50; i++) {
+            roundTrip(limit, 10 * MS, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        for (int round = 0; round < 20; round++) {
+            int admitted = 0;
+            while (limit.tryAcquire(1.0)) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limit.release(10 * MS, false);
+            }
+        }
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    private static void roundTrip(AdaptiveConcurrencyLimit limit, long rttNanos, boolean failed) {
+        assertThat(limit.tryAcquire(1.0)).isTrue();
+        limit.release(rttNanos, failed);
+    }
+}
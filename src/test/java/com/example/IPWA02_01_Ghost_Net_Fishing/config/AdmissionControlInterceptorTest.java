@@ -0,0 +1,67 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gemeinsame Grenze bei Endpunkten mit unterschiedlicher Antwortzeit: nur Verlangsamung
+ * gegenüber der eigenen Referenz eines Endpunkts zählt als Überlast.
+ */
+class AdmissionControlInterceptorTest {
+
+    private static final long MS = 1_000_000;
+    private static final String READ = "/api/ghostnets/{id}";
+    private static final String LOGIN = "/api/auth/login";
+
+    private final long[] now = {0};
+    private final AdaptiveConcurrencyLimit global = new AdaptiveConcurrencyLimit(40, 4, 200, 2.0, 0.9, () -> now[0]);
+    private final AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(global,
+            () -> new AdaptiveConcurrencyLimit(20, 4, 100, 2.0, 0.9, () -> now[0]),
+            Map.of(), 1, new SimpleMeterRegistry(), () -> now[0]);
+
+    @Test
+    void naturallySlowEndpointDoesNotShrinkGlobalLimit() {
+        Random random = new Random(46);
+        // einzeln nacheinander: 90 % Lesezugriffe mit 3 ms, 10 % Logins (BCrypt) mit 80 ms
+        for (int i = 0; i < 5_000; i++) {
+            boolean login = random.nextInt(10) == 0;
+            long rtt = (login ? 80 * MS : 3 * MS) + random.nextInt((int) (MS / 2));
+            assertThat(request(login ? "POST" : "GET", login ? LOGIN : READ, rtt)).isTrue();
+        }
+        assertThat(global.getLimit()).isEqualTo(40);
+        assertThat(global.getInFlight()).isZero();
+    }
+
+    @Test
+    void endpointSlowingDownShrinksGlobalLimit() {
+        for (int i = 0; i < 50; i++) {
+            request("GET", READ, 3 * MS);
+        }
+        for (int i = 0; i < 20; i++) {
+            request("GET", READ, 30 * MS);
+        }
+        assertThat(global.getLimit()).isLessThan(40);
+    }
+
+    /** Ein Request mit der angegebenen Antwortzeit; {@code false}, wenn abgelehnt. */
+    private boolean request(String method, String pattern, long rttNanos) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if (!interceptor.preHandle(request, response, new Object())) {
+            return false;
+        }
+        now[0] += rttNanos;
+        interceptor.afterCompletion(request, response, new Object(), null);
+        now[0] += MS;
+        return true;
+    }
+}
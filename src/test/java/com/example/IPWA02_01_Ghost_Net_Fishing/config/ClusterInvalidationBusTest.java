@@ -0,0 +1,243 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetArchivedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetRegionsReassignedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.ReadModelResyncEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.RegionSubscriptionChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.UserChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterInvalidationBusTest {
+
+    private final List<Object> published = new ArrayList<>();
+    private final ClusterInvalidationBus bus = new ClusterInvalidationBus(
+            "jdbc:postgresql://unused/db", "", "", "ghostnet_changes", 5000, 1000, published::add);
+
+    @Test
+    void ghostNetChangeRoundTripsAsRemoteEvent() {
+        GhostNet net = new GhostNet();
+        net.setId(7L);
+        net.setLatitude(54.1);
+        net.setLongitude(7.5);
+        net.setStatus(GhostNetStatus.REPORTED);
+        net.setReportedBy(3L);
+        net.setReportedAt(Instant.ofEpochMilli(1_700_000_000_000L));
+        GhostNetSnapshot before = GhostNetSnapshot.of(net);
+        net.setStatus(GhostNetStatus.SCHEDULED);
+        net.setScheduledBy(4L);
+        net.setScheduledAt(Instant.ofEpochMilli(1_700_000_100_000L));
+        GhostNetChangedEvent local = new GhostNetChangedEvent(before, GhostNetSnapshot.of(net));
+
+        bus.receive(message(1, InvalidationMessage.GHOST_NET, InvalidationMessage.ghostNetBody(local)));
+
+        assertThat(published).singleElement().isInstanceOfSatisfying(GhostNetChangedEvent.class, e -> {
+            assertThat(e.isRemote()).isTrue();
+            assertThat(e.getBefore()).usingRecursiveComparison().isEqualTo(before);
+            assertThat(e.getAfter()).usingRecursiveComparison().isEqualTo(local.getAfter());
+        });
+    }
+
+    @Test
+    void creationHasNoBeforeState() {
+        GhostNet net = new GhostNet();
+        net.setId(8L);
+        net.setLatitude(-12.0);
+        net.setLongitude(130.25);
+        net.setStatus(GhostNetStatus.REPORTED);
+
+        bus.receive(message(1, InvalidationMessage.GHOST_NET,
+                InvalidationMessage.ghostNetBody(new GhostNetChangedEvent(null, GhostNetSnapshot.of(net)))));
+
+        GhostNetChangedEvent e = (GhostNetChangedEvent) published.get(0);
+        assertThat(e.isCreated()).isTrue();
+        assertThat(e.getAfter().getLongitude()).isEqualTo(130.25);
+        assertThat(e.getAfter().getSize()).isNull();
+    }
+
+    @Test
+    void ignoresDuplicatesAndOwnMessages() {
+        bus.receive(message(1, InvalidationMessage.USER, "5"));
+        bus.receive(message(1, InvalidationMessage.USER, "5"));
+        bus.receive(bus.getNodeId() + ";1;U;6");
+
+        assertThat(published).singleElement().isInstanceOfSatisfying(UserChangedEvent.class, e -> {
+            assertThat(e.getUserId()).isEqualTo(5L);
+            assertThat(e.isRemote()).isTrue();
+        });
+    }
+
+    @Test
+    void resyncsOnGapInSequenceOrHeartbeat() {
+        bus.receive(message(1, InvalidationMessage.USER, "5"));
+        bus.receive(message(3, InvalidationMessage.USER, "6"));
+        assertThat(published).hasSize(2);
+        assertThat(published.get(1)).isInstanceOf(ReadModelResyncEvent.class);
+
+        bus.receive(message(3, InvalidationMessage.HEARTBEAT, ""));
+        assertThat(published).hasSize(2);
+        bus.receive(message(4, InvalidationMessage.HEARTBEAT, ""));
+        assertThat(published).hasSize(3);
+        assertThat(published.get(2)).isInstanceOf(ReadModelResyncEvent.class);
+
+        bus.receive(message(5, InvalidationMessage.USER, "7"));
+        assertThat(published.get(3)).isInstanceOf(UserChangedEvent.class);
+    }
+
+    @Test
+    void subscriptionChangeRoundTripsAsRemoteEvent() {
+        bus.receive(message(1, InvalidationMessage.SUBSCRIPTION, "12"));
+
+        assertThat(published).singleElement().isInstanceOfSatisfying(RegionSubscriptionChangedEvent.class, e -> {
+            assertThat(e.getSubscriptionId()).isEqualTo(12L);
+            assertThat(e.isRemote()).isTrue();
+        });
+    }
+
+    @Test
+    void archivedNetsRoundTripAsRemoteEvent() {
+        List<GhostNetSnapshot> nets = List.of(archived(21L, 54.125, 7.5), archived(22L, -33.0, -70.75));
+
+        bus.receive(message(1, InvalidationMessage.ARCHIVED, InvalidationMessage.archivedBody(nets)));
+
+        assertThat(published).singleElement().isInstanceOfSatisfying(GhostNetArchivedEvent.class, e -> {
+            assertThat(e.isRemote()).isTrue();
+            assertThat(e.getNets()).extracting(GhostNetSnapshot::getId).containsExactly(21L, 22L);
+            assertThat(e.getNets()).extracting(GhostNetSnapshot::getLatitude).containsExactly(54.125, -33.0);
+            assertThat(e.getNets()).extracting(GhostNetSnapshot::getLongitude).containsExactly(7.5, -70.75);
+        });
+    }
+
+    @Test
+    void regionReassignmentTriggersResync() {
+        bus.receive(message(1, InvalidationMessage.REGIONS, "1200"));
+
+        assertThat(published).singleElement().isInstanceOf(ReadModelResyncEvent.class);
+    }
+
+    @Test
+    void sendsArchivedNetsInBlocksBelowNotifyLimit() throws Exception {
+        List<InvalidationMessage> sent = new CopyOnWriteArrayList<>();
+        ClusterInvalidationBus sending = new ClusterInvalidationBus(
+                "jdbc:postgresql://unused/db", "", "", "ghostnet_changes", 5000, 60_000, published::add) {
+            @Override
+            void notify(InvalidationMessage message) {
+                sent.add(message);
+            }
+        };
+        List<GhostNetSnapshot> nets = new ArrayList<>();
+        for (long id = 1; id <= 250; id++) {
+            nets.add(archived(1_000_000_000L + id, -89.123456789, -179.123456789));
+        }
+        sending.start();
+        try {
+            sending.onGhostNetArchived(new GhostNetArchivedEvent(nets));
+            // von anderen Instanzen empfangene Archivierungen werden nicht weitergesendet
+            sending.onGhostNetArchived(new GhostNetArchivedEvent(nets, true));
+            sending.onRegionsReassigned(new GhostNetRegionsReassignedEvent(40));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (sent.size() < 4 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            sending.stop();
+        }
+
+        assertThat(sent).extracting(InvalidationMessage::kind).containsExactly(InvalidationMessage.ARCHIVED,
+                InvalidationMessage.ARCHIVED, InvalidationMessage.ARCHIVED, InvalidationMessage.REGIONS);
+        assertThat(sent).extracting(InvalidationMessage::sequence).containsExactly(1L, 2L, 3L, 4L);
+        List<Long> ids = new ArrayList<>();
+        for (InvalidationMessage message : sent.subList(0, 3)) {
+            assertThat(message.encode().getBytes(StandardCharsets.UTF_8).length).isLessThan(8000);
+            InvalidationMessage.archivedEvent(message.body()).getNets().forEach(n -> ids.add(n.getId()));
+        }
+        assertThat(ids).containsExactlyElementsOf(nets.stream().map(GhostNetSnapshot::getId).toList());
+    }
+
+    @Test
+    void sendsFromOwnThreadInSequenceOrder() throws Exception {
+        CountDownLatch databaseSlow = new CountDownLatch(1);
+        List<InvalidationMessage> sent = new CopyOnWriteArrayList<>();
+        List<String> senderThreads = new CopyOnWriteArrayList<>();
+        ClusterInvalidationBus sending = new ClusterInvalidationBus(
+                "jdbc:postgresql://unused/db", "", "", "ghostnet_changes", 5000, 60_000, published::add) {
+            @Override
+            void notify(InvalidationMessage message) {
+                try {
+                    databaseSlow.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                senderThreads.add(Thread.currentThread().getName());
+                sent.add(message);
+            }
+        };
+        sending.start();
+        try {
+            // Commits aus mehreren Threads, während NOTIFY hängt – keiner darf blockieren
+            Thread[] writers = new Thread[4];
+            for (int w = 0; w < writers.length; w++) {
+                long user = w;
+                writers[w] = new Thread(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        sending.onUserChanged(new UserChangedEvent(user, false));
+                    }
+                });
+                writers[w].start();
+            }
+            for (Thread writer : writers) {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+                assertThat(writer.isAlive()).isFalse();
+            }
+            sending.onRegionSubscriptionChanged(new RegionSubscriptionChangedEvent(9L, false));
+            sending.onUserChanged(new UserChangedEvent(5L, true));
+            sending.heartbeat();
+            assertThat(sent).isEmpty();
+
+            databaseSlow.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (sent.size() < 1_002 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            databaseSlow.countDown();
+            sending.stop();
+        }
+
+        assertThat(sent).hasSize(1_002);
+        for (int i = 0; i < 1_001; i++) {
+            assertThat(sent.get(i).sequence()).isEqualTo(i + 1);
+        }
+        assertThat(sent.get(999).kind()).isEqualTo(InvalidationMessage.USER);
+        assertThat(sent.get(1_000).kind()).isEqualTo(InvalidationMessage.SUBSCRIPTION);
+        assertThat(sent.get(1_001)).isEqualTo(new InvalidationMessage(sending.getNodeId(), 1_001,
+                InvalidationMessage.HEARTBEAT, ""));
+        assertThat(senderThreads).containsOnly("ghostnet-cluster-send");
+    }
+
+    private static GhostNetSnapshot archived(long id, double latitude, double longitude) {
+        GhostNet net = new GhostNet();
+        net.setId(id);
+        net.setLatitude(latitude);
+        net.setLongitude(longitude);
+        net.setStatus(GhostNetStatus.RECOVERED);
+        return GhostNetSnapshot.of(net);
+    }
+
+    private static String message(long sequence, char kind, String body) {
+        return new InvalidationMessage("other", sequence, kind, body).encode();
+    }
+}
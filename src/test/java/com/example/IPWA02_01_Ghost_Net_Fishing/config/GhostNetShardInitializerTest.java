@@ -0,0 +1,97 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetShardRouter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * ID-Ausrichtung der Shards auf Tabellen aus {@code initdb/schema.sql} (nicht aus dem
+ * Hibernate-DDL): Startwert und Schrittweite je Shard, auch mit Bestandsdaten und bei
+ * wiederholtem Start.
+ */
+class GhostNetShardInitializerTest {
+
+    private static final Path SCHEMA = Path.of("initdb", "schema.sql");
+    private static final int STRIDE = 8;
+
+    @Test
+    void schemaDeclaresIdentityColumn() throws IOException {
+        // H2 legt auch BIGSERIAL als Identity an – PostgreSQL nicht
+        assertThat(createTable("ghost_nets")).containsPattern("(?i)\\bid\\s+BIGINT\\s+GENERATED BY DEFAULT AS IDENTITY");
+    }
+
+    @Test
+    void alignsIdsOfSchemaTables() throws Exception {
+        List<DataSource> shards = new ArrayList<>();
+        List<JdbcTemplate> jdbc = new ArrayList<>();
+        for (int shard = 0; shard < 3; shard++) {
+            DataSource ds = new DriverManagerDataSource("jdbc:h2:mem:align" + shard + "_" + UUID.randomUUID()
+                    + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+            JdbcTemplate j = new JdbcTemplate(ds);
+            j.execute(createTable("users"));
+            j.execute(createTable("ghost_nets"));
+            shards.add(ds);
+            jdbc.add(j);
+        }
+        // Bestandsdaten in Shard 1 vor dem Sharding
+        for (int i = 0; i < 5; i++) {
+            insert(jdbc.get(1));
+        }
+
+        initializer(shards).initialize();
+        // zweiter Start: Schrittweite passt bereits, nichts wird zurückgesetzt
+        initializer(shards).initialize();
+
+        for (int shard = 0; shard < shards.size(); shard++) {
+            long previous = jdbc.get(shard).queryForObject("select coalesce(max(id), 0) from ghost_nets", Long.class);
+            for (int i = 0; i < 3; i++) {
+                long id = insert(jdbc.get(shard));
+                assertThat(Math.floorMod(id, STRIDE)).as("Shard %d", shard).isEqualTo(shard);
+                assertThat(id).isGreaterThan(previous);
+                previous = id;
+            }
+        }
+    }
+
+    private static GhostNetShardInitializer initializer(List<DataSource> shards) {
+        String urls = String.join(",", shards.subList(1, shards.size()).stream().map(s -> "jdbc:unused").toList());
+        return new GhostNetShardInitializer(new ShardRoutingDataSource(shards),
+                new GhostNetShardRouter(urls, 2, STRIDE, 1), mock(EntityManagerFactory.class), "none");
+    }
+
+    private static long insert(JdbcTemplate jdbc) {
+        jdbc.update("insert into ghost_nets (latitude, longitude) values (54.1, 7.9)");
+        return jdbc.queryForObject("select max(id) from ghost_nets", Long.class);
+    }
+
+    /**
+     * {@code CREATE TABLE}-Anweisung aus {@code initdb/schema.sql}, ohne Kommentare;
+     * {@code TIMESTAMPTZ} (PostgreSQL-Kurzform) ausgeschrieben, weil H2 sie nicht kennt.
+     */
+    private static String createTable(String table) throws IOException {
+        StringBuilder sql = new StringBuilder();
+        for (String line : Files.readAllLines(SCHEMA)) {
+            int comment = line.indexOf("--");
+            sql.append(comment >= 0 ? line.substring(0, comment) : line).append('\n');
+        }
+        for (String statement : sql.toString().split(";")) {
+            if (statement.trim().startsWith("CREATE TABLE " + table + " ")) {
+                return statement.trim().replaceAll("(?i)\\bTIMESTAMPTZ\\b", "TIMESTAMP WITH TIME ZONE");
+            }
+        }
+        throw new AssertionError("CREATE TABLE " + table + " fehlt in " + SCHEMA);
+    }
+}
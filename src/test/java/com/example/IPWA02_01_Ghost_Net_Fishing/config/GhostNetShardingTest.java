@@ -0,0 +1,111 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.UpdateGhostNetStatusRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.geo.Geohash;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetService;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetShardRouter;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drei eingebettete H2-Datenbanken als Shards: Schreibzugriffe landen in der Shard der
+ * Position, IDs sind global eindeutig, Listen und Statistik sammeln über alle Shards.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + GhostNetShardingTest.SHARD_0,
+        "ghostnet.shards.urls=" + GhostNetShardingTest.SHARD_1 + "," + GhostNetShardingTest.SHARD_2
+})
+class GhostNetShardingTest {
+
+    static final String SHARD_0 = "jdbc:h2:mem:shard0;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    static final String SHARD_1 = "jdbc:h2:mem:shard1;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    static final String SHARD_2 = "jdbc:h2:mem:shard2;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    /** Südatlantik, Indischer Ozean, Nordsee – je eine andere Shard. */
+    private static final double[][] POSITIONS = {{-30, -20}, {-20, 70}, {54.2, 7.9}};
+
+    @Autowired
+    private GhostNetService ghostNetService;
+    @Autowired
+    private GhostNetShardRouter router;
+    @Autowired
+    private GhostNetStatsService statsService;
+
+    private final List<JdbcTemplate> shards = List.of(jdbc(SHARD_0), jdbc(SHARD_1), jdbc(SHARD_2));
+
+    @Test
+    void writesGoToTheOwningShardWithGloballyUniqueIds() {
+        assertThat(Geohash.toString(Geohash.cell(54.2, 7.9, 2), 2)).isEqualTo("u1");
+
+        for (int shard = 0; shard < POSITIONS.length; shard++) {
+            double[] p = POSITIONS[shard];
+            assertThat(router.shardFor(p[0], p[1])).isEqualTo(shard);
+
+            GhostNet net = ghostNetService.add(request(p[0], p[1]), null);
+            assertThat(router.shardOf(net.getId())).isEqualTo(shard);
+            int[] onlyHere = new int[POSITIONS.length];
+            onlyHere[shard] = 1;
+            assertThat(rowsWithId(net.getId())).containsExactly(onlyHere);
+
+            // Zweite Änderung: Netz kommt aus dem Second-Level-Cache, das UPDATE erst beim Commit
+            for (GhostNetStatus status : List.of(GhostNetStatus.SCHEDULED, GhostNetStatus.RECOVERED)) {
+                UpdateGhostNetStatusRequest update = new UpdateGhostNetStatusRequest();
+                update.setStatus(status);
+                ghostNetService.updateStatus(net.getId(), update);
+                assertThat(shards.get(shard).queryForObject("select status from ghost_nets where id = ?",
+                        String.class, net.getId())).isEqualTo(status.name());
+            }
+        }
+    }
+
+    @Test
+    void listsAndAggregatesGatherAllShards() {
+        List<Long> ids = new ArrayList<>();
+        for (double[] p : POSITIONS) {
+            ids.add(ghostNetService.add(request(p[0], p[1]), null).getId());
+        }
+
+        assertThat(ghostNetService.getAllGhostNets()).extracting(GhostNet::getId).containsAll(ids).doesNotHaveDuplicates();
+
+        statsService.reconcile();
+        long total = shards.stream().mapToLong(j -> j.queryForObject("select count(*) from ghost_nets", Long.class)).sum();
+        assertThat(statsService.getStats().getTotal()).isEqualTo(total);
+    }
+
+    @Test
+    void bboxQueriesOnlyTouchOverlappingShards() {
+        assertThat(router.shardsFor(53, 56, 3, 10)).containsExactly(2);
+        assertThat(router.shardsFor(-35, -25, -25, -15)).containsExactly(0);
+        assertThat(router.shardsFor(-90, 90, -180, 180)).containsExactly(0, 1, 2);
+    }
+
+    private int[] rowsWithId(long id) {
+        return shards.stream()
+                .mapToInt(j -> j.queryForObject("select count(*) from ghost_nets where id = ?", Integer.class, id))
+                .toArray();
+    }
+
+    private static GhostNetRequest request(double lat, double lon) {
+        GhostNetRequest r = new GhostNetRequest();
+        r.setLatitude(lat);
+        r.setLongitude(lon);
+        r.setDepth_meters(12.0);
+        return r;
+    }
+
+    private static JdbcTemplate jdbc(String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcDataSource primary;
+    private JdbcDataSource replica;
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("rw_primary");
+        replica = h2("rw_replica");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        primaryJdbc.execute("create table node(name varchar(20))");
+        primaryJdbc.update("insert into node values ('primary')");
+        replicaJdbc.execute("create table node(name varchar(20))");
+        replicaJdbc.update("insert into node values ('replica')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        primaryJdbc.execute("drop all objects");
+        replicaJdbc.execute("drop all objects");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaWritesToPrimary() {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica);
+        routing.setReplicaAvailable(true);
+
+        assertThat(nodeIn(routing, true)).isEqualTo("replica");
+        assertThat(nodeIn(routing, false)).isEqualTo("primary");
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToPrimary() {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica);
+
+        assertThat(nodeIn(routing, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void failingReplicaConnectionFallsBackToPrimary() {
+        DataSource broken = new DriverManagerDataSource("jdbc:h2:mem:rw_offline;IFEXISTS=TRUE");
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, broken);
+        routing.setReplicaAvailable(true);
+
+        assertThat(nodeIn(routing, true)).isEqualTo("primary");
+        assertThat(routing.isReplicaAvailable()).isFalse();
+    }
+
+    @Test
+    void monitorDisablesReplicaAboveMaxLag() {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica);
+
+        new ReplicaLagMonitor(replica, routing, "select 10000", 5000).check();
+        assertThat(routing.isReplicaAvailable()).isFalse();
+
+        ReplicaLagMonitor inTime = new ReplicaLagMonitor(replica, routing, "select 200", 5000);
+        inTime.check();
+        assertThat(routing.isReplicaAvailable()).isTrue();
+        assertThat(inTime.getLastLagMillis()).isEqualTo(200);
+
+        new ReplicaLagMonitor(replica, routing, "", 5000).check();
+        assertThat(routing.isReplicaAvailable()).isTrue();
+    }
+
+    /** Liest den Knotennamen über den Lazy-Proxy in einer (read-only) Transaktion. */
+    private static String nodeIn(ReadWriteRoutingDataSource routing, boolean readOnly) {
+        DataSource ds = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(ds));
+        tx.setReadOnly(readOnly);
+        return tx.execute(s -> new JdbcTemplate(ds).queryForObject("select name from node", String.class));
+    }
+
+    private static JdbcDataSource h2(String name) {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        ds.setUser("sa");
+        return ds;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.UpdateGhostNetStatusRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.User;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.UserRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetService;
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wiederholte Lesezugriffe kommen aus dem Cache, Schreibzugriffe über die Services
+ * sind danach sofort sichtbar – nie ein veralteter Stand.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SecondLevelCacheConfigTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GhostNetService ghostNetService;
+    @Autowired
+    private GhostNetRepository ghostNetRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertThat(statistics.isStatisticsEnabled()).isTrue();
+    }
+
+    @Test
+    void repeatedFindByIdIsServedFromCache() {
+        Long id = newUser("cache-read").getId();
+        userRepository.findById(id);
+
+        assertThat(statementsDuring(() -> userRepository.findById(id))).isZero();
+    }
+
+    @Test
+    void updateUserIsNeverServedStale() {
+        Long id = newUser("cache-user").getId();
+        assertThat(userRepository.findById(id)).get().extracting(User::getEmail).isEqualTo("cache-user@example.org");
+        assertThat(userRepository.existsByEmail("neu@example.org")).isFalse();
+
+        userService.updateUser(id, "neu@example.org", "0401234");
+
+        assertThat(userRepository.findById(id)).get()
+                .extracting(User::getEmail, User::getPhoneNumber)
+                .containsExactly("neu@example.org", "0401234");
+        assertThat(userRepository.existsByEmail("neu@example.org")).isTrue();
+        assertThat(userRepository.existsByEmail("cache-user@example.org")).isFalse();
+    }
+
+    @Test
+    void updateStatusIsNeverServedStale() {
+        Long id = newNet().getId();
+        assertThat(ghostNetRepository.findById(id)).get().extracting(GhostNet::getStatus).isEqualTo(GhostNetStatus.REPORTED);
+
+        UpdateGhostNetStatusRequest request = new UpdateGhostNetStatusRequest();
+        request.setStatus(GhostNetStatus.SCHEDULED);
+        ghostNetService.updateStatus(id, request);
+
+        long statements = statementsDuring(() -> assertThat(ghostNetRepository.findById(id)).get()
+                .extracting(GhostNet::getStatus).isEqualTo(GhostNetStatus.SCHEDULED));
+        assertThat(statements).as("neuer Stand kommt aus dem Cache").isZero();
+    }
+
+    @Test
+    void bulkUpdateEvictsCachedNets() {
+        Long id = newNet().getId();
+        ghostNetRepository.findById(id);
+
+        ghostNetRepository.updateRegion("Testgebiet", List.of(id));
+
+        assertThat(ghostNetRepository.findById(id)).get().extracting(GhostNet::getRegion).isEqualTo("Testgebiet");
+    }
+
+    private User newUser(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.org");
+        user.setPasswordHash("x");
+        user.setPhoneNumber("");
+        return userRepository.save(user);
+    }
+
+    private GhostNet newNet() {
+        GhostNetRequest request = new GhostNetRequest();
+        request.setLatitude(54.2);
+        request.setLongitude(7.8);
+        request.setDepth_meters(12.0);
+        return ghostNetService.add(request);
+    }
+
+    private long statementsDuring(Runnable action) {
+        long before = statistics.getPrepareStatementCount();
+        action.run();
+        return statistics.getPrepareStatementCount() - before;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Langsam-Schwelle, Stichprobe, Budget- und N+1-Warnungen je Request samt Zähler,
+ * Statement-Muster und Aufräumen am Request-Ende.
+ */
+class SqlStatementMonitorTest {
+
+    private static final String SELECT_NET = "select g.id, g.status from ghost_nets g where g.id = ?";
+    private static final String SELECT_USER = "select u.id, u.name from users u where u.id = ?";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Logger sqlLog = (Logger) LoggerFactory.getLogger("ghostnet.sql");
+    private final ListAppender<ILoggingEvent> logged = new ListAppender<>();
+
+    @BeforeEach
+    void captureLog() {
+        logged.start();
+        sqlLog.addAppender(logged);
+    }
+
+    @AfterEach
+    void releaseLog() {
+        sqlLog.detachAppender(logged);
+    }
+
+    @Test
+    void statementsFromTheThresholdOnAreLoggedAsSlow() {
+        SqlStatementMonitor monitor = monitor(5, 0, 100, 10);
+
+        monitor.inspect(SELECT_NET);
+        monitor.executed(4_999_999);
+        assertThat(logged.list).isEmpty();
+        assertThat(registry.get("ghostnet.sql.slow").counter().count()).isZero();
+
+        monitor.inspect("select *\n  from   ghost_nets where id in (?, ?,?)");
+        monitor.executed(5_000_000);
+        assertThat(logged.list).singleElement().satisfies(e -> {
+            assertThat(e.getLevel()).isEqualTo(Level.WARN);
+            assertThat(e.getFormattedMessage()).startsWith("Langsames SQL (5.0 ms)")
+                    .endsWith("select * from ghost_nets where id in (?…)");
+        });
+        assertThat(registry.get("ghostnet.sql.slow").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sampleRateControlsLoggingOfFastStatements() {
+        SqlStatementMonitor never = monitor(200, 0, 100, 10);
+        for (int i = 0; i < 100; i++) {
+            never.inspect(SELECT_NET);
+            never.executed(1_000);
+        }
+        assertThat(logged.list).isEmpty();
+
+        SqlStatementMonitor always = monitor(200, 1, 100, 10);
+        always.inspect(SELECT_NET);
+        always.executed(1_500_000);
+        assertThat(logged.list).singleElement().satisfies(e -> {
+            assertThat(e.getLevel()).isEqualTo(Level.INFO);
+            assertThat(e.getFormattedMessage()).isEqualTo("SQL-Stichprobe (1.5 ms): " + SELECT_NET);
+        });
+        assertThat(registry.get("ghostnet.sql.slow").counter().count()).isZero();
+    }
+
+    @Test
+    void requestOverBudgetWarnsOnce() {
+        SqlStatementMonitor monitor = monitor(200, 0, 3, 10);
+
+        request(monitor, "GET /api/ghostnets", SELECT_NET, SELECT_USER, SELECT_NET);
+        assertThat(logged.list).isEmpty();
+        assertThat(warnings()).isZero();
+
+        request(monitor, "GET /api/ghostnets", SELECT_NET, SELECT_USER, SELECT_NET, SELECT_USER);
+        assertThat(messages()).containsExactly("GET /api/ghostnets: 4 SQL-Statements (Budget 3)");
+        assertThat(warnings()).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedStatementWarnsAsPossibleNPlusOne() {
+        SqlStatementMonitor monitor = monitor(200, 0, 100, 3);
+
+        request(monitor, "GET /api/users", SELECT_USER, SELECT_USER, SELECT_NET);
+        assertThat(logged.list).isEmpty();
+
+        request(monitor, "GET /api/users", SELECT_USER, SELECT_NET, SELECT_USER, SELECT_USER, SELECT_USER);
+        assertThat(messages()).singleElement().asString()
+                .startsWith("GET /api/users: mögliches N+1 – 4x dasselbe Statement in ")
+                .endsWith(SELECT_USER);
+        assertThat(warnings()).isEqualTo(1);
+    }
+
+    @Test
+    void budgetAndRepeatInOneRequestCountAsOneWarning() {
+        SqlStatementMonitor monitor = monitor(200, 0, 2, 2);
+
+        request(monitor, "POST /api/ghostnets", SELECT_NET, SELECT_NET, SELECT_NET);
+
+        assertThat(messages()).hasSize(2);
+        assertThat(logged.list).allSatisfy(e -> assertThat(e.getLevel()).isEqualTo(Level.WARN));
+        assertThat(warnings()).isEqualTo(1);
+    }
+
+    @Test
+    void shapeCollapsesWhitespaceAndInLists() {
+        assertThat(SqlStatementMonitor.shape("  select id\n\tfrom ghost_nets  where id in ( ?,?, ? ) and status in (?,?) "))
+                .isEqualTo("select id from ghost_nets where id in (?…) and status in (?…)");
+        assertThat(SqlStatementMonitor.shape("select id from ghost_nets where id = ? and size in (?)"))
+                .as("ein einzelner Parameter ist keine Liste")
+                .isEqualTo("select id from ghost_nets where id = ? and size in (?)");
+        assertThat(SqlStatementMonitor.shape("insert into t (a, b) values (?, ?)"))
+                .isEqualTo("insert into t (a, b) values (?…)");
+    }
+
+    @Test
+    void endRequestClearsCountersAndLastStatement() {
+        SqlStatementMonitor monitor = monitor(1, 0, 1, 2);
+        monitor.beginRequest();
+        monitor.inspect(SELECT_NET);
+        assertThat(monitor.currentRequestStatements()).isZero();
+        monitor.executed(0);
+        monitor.inspect(SELECT_NET);
+        monitor.executed(0);
+        assertThat(monitor.currentRequestStatements()).isEqualTo(2);
+
+        monitor.endRequest("GET /api/ghostnets");
+        logged.list.clear();
+
+        assertThat(monitor.currentRequestStatements()).isZero();
+        // Ohne neues inspect() gibt es kein Statement, dem die Dauer gehört
+        monitor.executed(10_000_000);
+        monitor.beginRequest();
+        assertThat(monitor.currentRequestStatements()).isZero();
+        monitor.endRequest("GET /api/ghostnets");
+        // Ende ohne Beginn
+        monitor.endRequest("GET /api/ghostnets");
+
+        assertThat(logged.list).isEmpty();
+        assertThat(warnings()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidSettingsAreRejected() {
+        assertThatThrownBy(() -> monitor(-1, 0, 25, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> monitor(200, 0, -1, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> monitor(200, 0, 25, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> monitor(200, 1.5, 25, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> monitor(200, Double.NaN, 25, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private SqlStatementMonitor monitor(long slowMillis, double sampleRate, int budget, int repeat) {
+        return new SqlStatementMonitor(registry, slowMillis, sampleRate, budget, repeat);
+    }
+
+    private static void request(SqlStatementMonitor monitor, String name, String... statements) {
+        monitor.beginRequest();
+        for (String sql : statements) {
+            monitor.inspect(sql);
+            monitor.executed(1_000);
+        }
+        assertThat(monitor.currentRequestStatements()).isEqualTo(statements.length);
+        monitor.endRequest(name);
+    }
+
+    private List<String> messages() {
+        return logged.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    private double warnings() {
+        return registry.get("ghostnet.sql.request.warnings").counter().count();
+    }
+}
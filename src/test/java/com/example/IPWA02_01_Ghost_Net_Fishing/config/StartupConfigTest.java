@@ -0,0 +1,63 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Lazy-Init wie im Profil {@code fast-start}: Beans mit Zeitplänen entstehen trotzdem beim
+ * Start, alles andere erst beim ersten Zugriff oder beim Vorwärmen.
+ */
+@SpringBootTest(properties = "spring.main.lazy-initialization=true")
+class StartupConfigTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void scheduledBeansStayEagerOthersAreDeferred() {
+        assertThat(context.getBeanFactory().containsSingleton("ghostNetArchiveService")).isTrue();
+        assertThat(context.getBeanFactory().containsSingleton("hotspotService")).isTrue();
+        assertThat(context.getBeanFactory().containsSingleton("ghostNetController")).isFalse();
+    }
+
+    @Test
+    @DirtiesContext
+    void prewarmCreatesRemainingBeansInTheBackground() {
+        Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        ListAppender<ILoggingEvent> logged = new ListAppender<>();
+        logged.start();
+        root.addAppender(logged);
+        try {
+            StartupPrewarmer prewarmer = new StartupPrewarmer(true, 1, true, 100);
+            prewarmer.onReady(new ApplicationReadyEvent(new SpringApplication(), new String[0], context, Duration.ZERO));
+
+            await().atMost(Duration.ofSeconds(30))
+                    .until(() -> context.getBeanFactory().containsSingleton("ghostNetController"));
+
+            // Von Hand angelegt, also nicht als Listener registriert: vor dem Schließen durch
+            // @DirtiesContext selbst beenden und auf den Hintergrund-Thread warten
+            prewarmer.onClosed();
+        } finally {
+            root.detachAppender(logged);
+        }
+
+        assertThat(logged.list).filteredOn(e -> e.getLevel().isGreaterOrEqual(Level.WARN))
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .isEmpty();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.config;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.service.GhostNetTileService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Das Schließen des Kontexts beendet ein laufendes Vorwärmen, bevor die Beans zerstört werden.
+ */
+class StartupPrewarmerTest {
+
+    @Test
+    void contextCloseStopsPrewarming() throws Exception {
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        ConfigurableListableBeanFactory beanFactory = mock(ConfigurableListableBeanFactory.class);
+        GhostNetTileService tileService = mock(GhostNetTileService.class);
+        when(context.isActive()).thenReturn(true);
+        when(context.getBeanFactory()).thenReturn(beanFactory);
+        when(beanFactory.getBeanDefinitionNames()).thenReturn(new String[0]);
+        when(context.getBean(GhostNetTileService.class)).thenReturn(tileService);
+
+        CountDownLatch encoding = new CountDownLatch(1);
+        AtomicInteger tiles = new AtomicInteger();
+        doAnswer(invocation -> {
+            tiles.incrementAndGet();
+            encoding.countDown();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }).when(tileService).getTile(anyInt(), anyInt(), anyInt());
+        ApplicationReadyEvent ready = mock(ApplicationReadyEvent.class);
+        when(ready.getApplicationContext()).thenReturn(context);
+
+        StartupPrewarmer prewarmer = new StartupPrewarmer(true, 4, false, 10);
+        prewarmer.onReady(ready);
+        assertThat(encoding.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // isActive() bleibt wie beim echten Schließen zunächst true
+        prewarmer.onClosed();
+        int afterClose = tiles.get();
+        Thread.sleep(100);
+
+        assertThat(tiles.get()).isEqualTo(afterClose).isLessThan(341);
+    }
+
+    @Test
+    void closeWithoutPrewarmingDoesNothing() {
+        new StartupPrewarmer(false, 2, true, 10).onClosed();
+    }
+}
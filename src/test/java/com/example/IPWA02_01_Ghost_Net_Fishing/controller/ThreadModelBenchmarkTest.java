@@ -0,0 +1,169 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.controller;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.Ipwa0201GhostNetFishingApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Vergleicht Durchsatz und Antwortzeiten (p50/p99) der bestehenden Endpunkte bei
+ * hoher Parallelität: Plattform-Threads (Standard) vs. virtuelle Threads
+ * ({@code spring.threads.virtual.enabled=true}, nur ab Java 21 – sonst nur Plattform).
+ * <p>
+ * Je Modus startet eine eigene Anwendung mit eigener H2-Datenbank. Der Mix besteht aus
+ * Listen-, Statistik- und Benutzerabfragen sowie einigen Logins (BCrypt).
+ * <p>
+ * Dauert einige Minuten und läuft daher nur auf Anforderung:
+ * {@code mvn test -Dtest=ThreadModelBenchmarkTest -Dbenchmark=true} (für beide Modi mit {@code -Pjava21}).
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ThreadModelBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadModelBenchmarkTest.class);
+
+    private static final int CLIENTS = 400;
+    private static final int WARMUP = 500;
+    private static final int REQUESTS = 4_000;
+    private static final int NETS = 500;
+    private static final String PASSWORD = "geheim123";
+
+    private static final String[] PATHS = {
+            "/api/ghostnets", "/api/ghostnets/stats", "/api/ghostnets/filter?status=REPORTED", "/api/user"
+    };
+
+    @Test
+    void compareThreadModels() throws Exception {
+        Result platform = run(false);
+        log.info("{}", platform);
+        if (Runtime.version().feature() >= 21) {
+            log.info("{}", run(true));
+        } else {
+            log.info("Virtuelle Threads: übersprungen (Java {}, benötigt 21)", Runtime.version().feature());
+        }
+    }
+
+    private static Result run(boolean virtual) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(Ipwa0201GhostNetFishingApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:bench-" + mode + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--ghostnet.sql.sample-rate=0")) {
+            int port = ((WebServerApplicationContext) ctx).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newFixedThreadPool(16))
+                    .build();
+            seed(ctx.getBean(JdbcTemplate.class), client, port);
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            try {
+                load(client, clients, port, WARMUP);
+                long start = System.nanoTime();
+                long[] latencies = load(client, clients, port, REQUESTS);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                Arrays.sort(latencies);
+                return new Result(mode, REQUESTS / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99));
+            } finally {
+                clients.shutdownNow();
+            }
+        }
+    }
+
+    /** @return Antwortzeit je Request in Mikrosekunden */
+    private static long[] load(HttpClient client, ExecutorService clients, int port, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+        Future<?>[] futures = new Future<?>[requests];
+        for (int i = 0; i < requests; i++) {
+            int n = i;
+            futures[i] = clients.submit(() -> {
+                HttpRequest request = request(port, n);
+                long t = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        failures.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+                latencies[n] = (System.nanoTime() - t) / 1_000;
+            });
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        assertEquals(0, failures.get(), "Fehlgeschlagene Requests");
+        return latencies;
+    }
+
+    /** Jeder 50. Request ist ein Login, der Rest verteilt sich auf die Lese-Endpunkte. */
+    private static HttpRequest request(int port, int n) {
+        String base = "http://localhost:" + port;
+        if (n % 50 == 0) {
+            return HttpRequest.newBuilder(URI.create(base + "/api/user/login"))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"username\":\"bench\",\"password\":\"" + PASSWORD + "\"}"))
+                    .build();
+        }
+        return HttpRequest.newBuilder(URI.create(base + PATHS[n % PATHS.length]))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    /** Benutzer direkt in der DB, Netze über die API (damit alle Lesemodelle sie kennen). */
+    private static void seed(JdbcTemplate jdbc, HttpClient client, int port) throws Exception {
+        jdbc.update("insert into users(username, email, password_hash, role, created_at, phone_number) "
+                        + "values ('bench', 'bench@example.org', ?, 'SALVOR', ?, '')",
+                new BCryptPasswordEncoder().encode(PASSWORD), Timestamp.from(Instant.now()));
+        Long userId = jdbc.queryForObject("select id from users where username = 'bench'", Long.class);
+        for (int i = 0; i < NETS; i++) {
+            HttpRequest add = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/ghostnets/add"))
+                    .header("Content-Type", "application/json")
+                    .header("X-User-Id", String.valueOf(userId))
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(Locale.ROOT,
+                            "{\"latitude\":%.4f,\"longitude\":%.4f,\"depth_meters\":%d}",
+                            54.0 + i * 0.001, 7.5 + i * 0.001, 10 + i % 7)))
+                    .build();
+            assertEquals(200, client.send(add, HttpResponse.BodyHandlers.discarding()).statusCode());
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1_000.0;
+    }
+
+    private record Result(String mode, double throughput, double p50Millis, double p99Millis) {
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %d Clients: %,.0f Requests/s, p50 %.1f ms, p99 %.1f ms",
+                    mode, CLIENTS, throughput, p50Millis, p99Millis);
+        }
+    }
+}
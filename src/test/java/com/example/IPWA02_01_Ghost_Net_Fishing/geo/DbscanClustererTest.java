@@ -0,0 +1,181 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vergleich mit einem naiven DBSCAN (alle Paare, Haversine) auf Zufallsdaten.
+ * <p>
+ * Randpunkte, die mehrere Cluster erreichen, darf DBSCAN jedem dieser Cluster zuordnen;
+ * verglichen werden daher Rauschen, die Aufteilung der Kernpunkte und ob jeder Randpunkt
+ * einem Cluster eines benachbarten Kernpunkts angehört. Punkte an der Datumsgrenze
+ * werden ausgespart – dort führt {@link DbscanClusterer} bewusst nicht zusammen.
+ */
+class DbscanClustererTest {
+
+    @Test
+    void matchesNaiveDbscanOnRandomInputs() {
+        Random random = new Random(42);
+        for (int run = 0; run < 12; run++) {
+            double eps = run % 3 == 0 ? 50_000 : 2_000;
+            int minPoints = 1 + random.nextInt(6);
+            // jeder vierte Lauf in Polnähe, wo eine Zelle viele Längengrad-Zellen überspannt
+            double centreLat = run % 4 == 3 ? 80 : 0;
+            Points points = randomPoints(random, 1_500, eps, centreLat);
+
+            assertMatchesNaive(points.lat, points.lon, eps, minPoints);
+        }
+    }
+
+    @Test
+    void pointsOnCellBoundariesMatchNaiveDbscan() {
+        double eps = 2_000;
+        double cellDeg = Math.toDegrees(eps / GeoMath.EARTH_RADIUS_M) / 2;
+        Random random = new Random(7);
+        int n = 1_200;
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            // Gitterlinien wie im Clusterer: -90 + k·cellDeg bzw. -180 + k·cellDeg
+            long row = (long) ((54.0 + 90) / cellDeg) + random.nextInt(30);
+            long col = (long) ((8.0 + 180) / cellDeg) + random.nextInt(30);
+            lat[i] = -90 + row * cellDeg + (random.nextInt(3) == 0 ? random.nextDouble() * cellDeg : 0);
+            lon[i] = -180 + col * cellDeg + (random.nextInt(3) == 0 ? random.nextDouble() * cellDeg : 0);
+        }
+        for (int minPoints = 1; minPoints <= 8; minPoints++) {
+            assertMatchesNaive(lat, lon, eps, minPoints);
+        }
+    }
+
+    @Test
+    void borderPointReachableFromTwoClustersJoinsOneOfThem() {
+        double eps = 2_000;
+        // Positionen entlang des Äquators in Vielfachen von eps; M bei 0.5 ist kein Kernpunkt
+        double[] x = {-0.8, -0.7, -0.6, -0.3, 0.5, 1.3, 1.6, 1.7, 1.8, 40};
+        double[] lat = new double[x.length];
+        double[] lon = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            lon[i] = Math.toDegrees(x[i] * eps / GeoMath.EARTH_RADIUS_M);
+        }
+
+        DbscanClusterer.Result result = new DbscanClusterer(eps, 4).cluster(lat, lon);
+        int[] labels = result.getLabels();
+
+        assertThat(result.getClusterCount()).isEqualTo(2);
+        assertThat(labels[3]).isNotEqualTo(labels[5]);
+        assertThat(labels[4]).isIn(labels[3], labels[5]);
+        assertThat(labels[9]).isEqualTo(DbscanClusterer.NOISE);
+        assertMatchesNaive(lat, lon, eps, 4);
+    }
+
+    @Test
+    void emptyInputHasNoClusters() {
+        DbscanClusterer.Result result = new DbscanClusterer(2_000, 5).cluster(new double[0], new double[0]);
+        assertThat(result.getClusterCount()).isZero();
+        assertThat(result.getLabels()).isEmpty();
+    }
+
+    private static void assertMatchesNaive(double[] lat, double[] lon, double eps, int minPoints) {
+        int n = lat.length;
+        List<int[]> neighbours = new ArrayList<>(n);
+        boolean[] core = new boolean[n];
+        for (int p = 0; p < n; p++) {
+            int[] found = new int[n];
+            int count = 0;
+            for (int q = 0; q < n; q++) {
+                if (GeoMath.haversineMeters(lat[p], lon[p], lat[q], lon[q]) <= eps) {
+                    found[count++] = q;
+                }
+            }
+            neighbours.add(Arrays.copyOf(found, count));
+            core[p] = count >= minPoints;
+        }
+        // Zusammenhangskomponenten der Kernpunkte
+        int[] component = new int[n];
+        Arrays.fill(component, -1);
+        int components = 0;
+        for (int p = 0; p < n; p++) {
+            if (!core[p] || component[p] >= 0) {
+                continue;
+            }
+            Deque<Integer> queue = new ArrayDeque<>();
+            component[p] = components;
+            queue.add(p);
+            while (!queue.isEmpty()) {
+                for (int q : neighbours.get(queue.poll())) {
+                    if (core[q] && component[q] < 0) {
+                        component[q] = components;
+                        queue.add(q);
+                    }
+                }
+            }
+            components++;
+        }
+
+        DbscanClusterer.Result result = new DbscanClusterer(eps, minPoints).cluster(lat, lon);
+        int[] labels = result.getLabels();
+        String context = "eps=" + eps + ", minPoints=" + minPoints;
+
+        assertThat(result.getClusterCount()).as(context).isEqualTo(components);
+        Map<Integer, Integer> labelOfComponent = new HashMap<>();
+        Map<Integer, Integer> componentOfLabel = new HashMap<>();
+        for (int p = 0; p < n; p++) {
+            if (core[p]) {
+                int label = labels[p];
+                int c = component[p];
+                assertThat(label).as(context).isNotEqualTo(DbscanClusterer.NOISE);
+                assertThat(labelOfComponent.computeIfAbsent(c, k -> label)).as(context).isEqualTo(label);
+                assertThat(componentOfLabel.computeIfAbsent(label, k -> c)).as(context).isEqualTo(c);
+                continue;
+            }
+            List<Integer> reachable = new ArrayList<>();
+            for (int q : neighbours.get(p)) {
+                if (core[q]) {
+                    reachable.add(labels[q]);
+                }
+            }
+            if (reachable.isEmpty()) {
+                assertThat(labels[p]).as(context + ", Rauschen %d", p).isEqualTo(DbscanClusterer.NOISE);
+            } else {
+                assertThat(labels[p]).as(context + ", Randpunkt %d", p).isIn(reachable);
+            }
+        }
+    }
+
+    /** Mehrere dichte Gruppen plus gleichverteiltes Rauschen um {@code centreLat}. */
+    private static Points randomPoints(Random random, int n, double eps, double centreLat) {
+        double epsDeg = Math.toDegrees(eps / GeoMath.EARTH_RADIUS_M);
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        double[][] groups = new double[8][2];
+        for (double[] g : groups) {
+            g[0] = centreLat + (random.nextDouble() - 0.5) * 40 * epsDeg;
+            g[1] = (random.nextDouble() - 0.5) * 40 * epsDeg;
+        }
+        for (int i = 0; i < n; i++) {
+            if (i % 5 == 0) {
+                lat[i] = centreLat + (random.nextDouble() - 0.5) * 60 * epsDeg;
+                lon[i] = (random.nextDouble() - 0.5) * 60 * epsDeg;
+            } else {
+                double[] g = groups[random.nextInt(groups.length)];
+                lat[i] = g[0] + random.nextGaussian() * 1.5 * epsDeg;
+                lon[i] = g[1] + random.nextGaussian() * 1.5 * epsDeg / Math.cos(Math.toRadians(g[0]));
+            }
+            lat[i] = Math.max(-89.9, Math.min(89.9, lat[i]));
+        }
+        return new Points(lat, lon);
+    }
+
+    private record Points(double[] lat, double[] lon) {
+    }
+}
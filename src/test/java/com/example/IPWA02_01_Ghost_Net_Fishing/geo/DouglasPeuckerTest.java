@@ -0,0 +1,96 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fehlerschranke der Vereinfachung: Jeder entfernte Punkt liegt höchstens {@code tolerance}
+ * vom Segment der ihn umschließenden verbleibenden Punkte entfernt.
+ */
+class DouglasPeuckerTest {
+
+    @Test
+    void removedPointsStayWithinTolerance() {
+        Random random = new Random(38);
+        for (int round = 0; round < 50; round++) {
+            int n = 3 + random.nextInt(2_000);
+            double[] lat = new double[n];
+            double[] lon = new double[n];
+            double y = 0;
+            double x = 0;
+            for (int i = 0; i < n; i++) {
+                y += random.nextGaussian() * 0.01;
+                x += 0.001 + random.nextDouble() * 0.01;
+                lat[i] = y;
+                lon[i] = x;
+            }
+            double tolerance = random.nextDouble() * 0.05;
+
+            int[] keep = DouglasPeucker.simplify(lat, lon, tolerance);
+
+            assertThat(keep[0]).isZero();
+            assertThat(keep[keep.length - 1]).isEqualTo(n - 1);
+            for (int k = 1; k < keep.length; k++) {
+                assertThat(keep[k]).isGreaterThan(keep[k - 1]);
+                for (int i = keep[k - 1] + 1; i < keep[k]; i++) {
+                    double d = distance(lat[i], lon[i], lat[keep[k - 1]], lon[keep[k - 1]], lat[keep[k]], lon[keep[k]]);
+                    assertThat(d).as("Runde %d, Punkt %d", round, i).isLessThanOrEqualTo(tolerance + 1e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    void collinearPointsAreRemovedAndCornersKept() {
+        double[] lat = {0, 0, 0, 0, 1, 2, 2};
+        double[] lon = {0, 1, 2, 3, 3, 3, 4};
+
+        assertThat(DouglasPeucker.simplify(lat, lon, 0.001)).containsExactly(0, 3, 5, 6);
+    }
+
+    @Test
+    void closedRingKeepsEndpointsAndShape() {
+        // Quadrat mit Zwischenpunkten auf den Kanten, erster = letzter Punkt
+        double[] lat = {0, 0, 0, 1, 2, 2, 2, 1, 0};
+        double[] lon = {0, 1, 2, 2, 2, 1, 0, 0, 0};
+
+        int[] keep = DouglasPeucker.simplify(lat, lon, 0.01);
+
+        assertThat(keep).containsExactly(0, 2, 4, 6, 8);
+    }
+
+    @Test
+    void nonPositiveToleranceKeepsEveryPoint() {
+        double[] lat = {0, 0, 0, 0};
+        double[] lon = {0, 1, 2, 3};
+
+        assertThat(DouglasPeucker.simplify(lat, lon, 0)).containsExactly(0, 1, 2, 3);
+        assertThat(DouglasPeucker.simplify(lat, lon, -1)).containsExactly(0, 1, 2, 3);
+        assertThat(DouglasPeucker.simplify(new double[]{5, 6}, new double[]{7, 8}, 1)).containsExactly(0, 1);
+    }
+
+    @Test
+    void longCoastlineDoesNotOverflowStack() {
+        // Treppe, bei der jede Teilung nur einen Punkt abspaltet – rekursiv 200 000 Ebenen tief
+        int n = 200_000;
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            lon[i] = i;
+            lat[i] = (double) i * i / n;
+        }
+
+        assertThat(DouglasPeucker.simplify(lat, lon, 1e-9).length).isBetween(2, n);
+    }
+
+    private static double distance(double py, double px, double ay, double ax, double by, double bx) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSq = dx * dx + dy * dy;
+        double t = lengthSq == 0 ? 0 : Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lengthSq));
+        return Math.hypot(px - (ax + t * dx), py - (ay + t * dy));
+    }
+}
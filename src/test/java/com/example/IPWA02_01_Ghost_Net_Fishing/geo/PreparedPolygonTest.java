@@ -0,0 +1,187 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Punkt-in-Polygon mit Bändern gegen das Strahlverfahren über alle Kanten, für zufällige
+ * konkave Polygone und Punkte auf Ecken, Kanten und auf der Höhe von Ecken; dazu bekannte
+ * Punkte in konkaven Formen.
+ */
+class PreparedPolygonTest {
+
+    @Test
+    void containsMatchesRayCastingOverAllEdges() {
+        Random random = new Random(37);
+        for (int round = 0; round < 300; round++) {
+            double[][] ring = radial(random, StrTreeTest.grid(random, -70, 70), StrTreeTest.grid(random, -160, 160),
+                    3 + random.nextInt(random.nextBoolean() ? 20 : 500));
+            double[] lat = ring[0];
+            double[] lon = ring[1];
+            PreparedPolygon polygon = new PreparedPolygon(lat, lon);
+            int n = lat.length;
+
+            for (int q = 0; q < 400; q++) {
+                int i = random.nextInt(n);
+                int j = (i + 1) % n;
+                double t = random.nextDouble();
+                double pLat;
+                double pLon;
+                switch (q % 5) {
+                    case 0 -> {
+                        pLat = lat[i];
+                        pLon = lon[i];
+                    }
+                    case 1 -> {
+                        pLat = (lat[i] + lat[j]) / 2;
+                        pLon = (lon[i] + lon[j]) / 2;
+                    }
+                    case 2 -> {
+                        pLat = lat[i] + t * (lat[j] - lat[i]);
+                        pLon = lon[i] + t * (lon[j] - lon[i]);
+                    }
+                    case 3 -> {
+                        // Strahl genau durch eine Ecke
+                        pLat = lat[i];
+                        pLon = polygon.getMinLon() - 1 + t * (polygon.getMaxLon() - polygon.getMinLon() + 2);
+                    }
+                    default -> {
+                        pLat = polygon.getMinLat() - 1 + random.nextDouble() * (polygon.getMaxLat() - polygon.getMinLat() + 2);
+                        pLon = polygon.getMinLon() - 1 + t * (polygon.getMaxLon() - polygon.getMinLon() + 2);
+                    }
+                }
+                assertThat(polygon.contains(pLat, pLon)).as("Runde %d, Punkt %s, %s", round, pLat, pLon)
+                        .isEqualTo(rayCasting(lat, lon, pLat, pLon));
+            }
+        }
+    }
+
+    @Test
+    void concaveShapesClassifyKnownPoints() {
+        // C-förmig, nach Osten offen: Einbuchtung bei 2 < lat < 4, lon > 2
+        PreparedPolygon c = new PreparedPolygon(
+                new double[]{0, 0, 2, 2, 4, 4, 6, 6},
+                new double[]{0, 6, 6, 2, 2, 6, 6, 0});
+
+        assertThat(c.contains(1, 3)).isTrue();
+        assertThat(c.contains(3, 1)).isTrue();
+        assertThat(c.contains(5, 5.9)).isTrue();
+        assertThat(c.contains(3, 2.5)).as("in der Einbuchtung").isFalse();
+        assertThat(c.contains(3, 5.9)).as("in der Einbuchtung").isFalse();
+        assertThat(c.contains(3, 7)).isFalse();
+        assertThat(c.contains(-1, 3)).isFalse();
+
+        // fünfzackiger Stern um (50, 10)
+        double[] lat = new double[10];
+        double[] lon = new double[10];
+        for (int k = 0; k < 10; k++) {
+            double angle = Math.PI / 2 + k * Math.PI / 5;
+            double r = k % 2 == 0 ? 5 : 2;
+            lat[k] = 50 + r * Math.sin(angle);
+            lon[k] = 10 + r * Math.cos(angle);
+        }
+        PreparedPolygon star = new PreparedPolygon(lat, lon);
+
+        assertThat(star.contains(50, 10)).isTrue();
+        assertThat(star.contains(54, 10)).as("in der oberen Zacke").isTrue();
+        double between = Math.PI / 2 + Math.PI / 5;
+        assertThat(star.contains(50 + 3 * Math.sin(between), 10 + 3 * Math.cos(between)))
+                .as("zwischen zwei Zacken").isFalse();
+    }
+
+    @Test
+    void radialPolygonsContainInnerAndExcludeOuterCircle() {
+        Random random = new Random(38);
+        for (int round = 0; round < 100; round++) {
+            int n = 3 + random.nextInt(300);
+            double[] angles = new double[n];
+            for (int k = 0; k < n; k++) {
+                angles[k] = random.nextDouble() * 2 * Math.PI;
+            }
+            Arrays.sort(angles);
+            double[] lat = new double[n];
+            double[] lon = new double[n];
+            double minRadius = Double.POSITIVE_INFINITY;
+            double maxRadius = 0;
+            for (int k = 0; k < n; k++) {
+                double r = 1 + random.nextDouble() * 7;
+                minRadius = Math.min(minRadius, r);
+                maxRadius = Math.max(maxRadius, r);
+                lat[k] = r * Math.sin(angles[k]);
+                lon[k] = r * Math.cos(angles[k]);
+            }
+            // größte Winkellücke: der Innenkreis ist nur bis zur Sehne sicher
+            double gap = angles[0] + 2 * Math.PI - angles[n - 1];
+            for (int k = 1; k < n; k++) {
+                gap = Math.max(gap, angles[k] - angles[k - 1]);
+            }
+            if (gap >= Math.PI) {
+                continue;
+            }
+            double inner = minRadius * Math.cos(gap / 2);
+            PreparedPolygon polygon = new PreparedPolygon(lat, lon);
+
+            for (int q = 0; q < 200; q++) {
+                double angle = random.nextDouble() * 2 * Math.PI;
+                double r = random.nextDouble() * inner * 0.999;
+                assertThat(polygon.contains(r * Math.sin(angle), r * Math.cos(angle))).isTrue();
+                double outside = maxRadius * 1.001 + random.nextDouble() * 5;
+                assertThat(polygon.contains(outside * Math.sin(angle), outside * Math.cos(angle))).isFalse();
+            }
+        }
+    }
+
+    @Test
+    void invalidRingsAreRejected() {
+        assertThatThrownBy(() -> new PreparedPolygon(new double[]{0, 1}, new double[]{0, 1}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PreparedPolygon(new double[]{0, 1, 2}, new double[]{0, 1}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PreparedPolygon(new double[]{0, 91, 2}, new double[]{0, 1, 2}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PreparedPolygon(new double[]{0, 1, 2}, new double[]{0, Double.NaN, 2}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Sternförmiges, meist konkaves Polygon um den Mittelpunkt: Ecken nach Winkel sortiert,
+     * Radius zufällig, Koordinaten auf 0,25° gerundet (gleiche Breiten, waagrechte Kanten).
+     *
+     * @return {@code {lat[], lon[]}}
+     */
+    static double[][] radial(Random random, double centerLat, double centerLon, int n) {
+        double[] angles = new double[n];
+        for (int k = 0; k < n; k++) {
+            angles[k] = random.nextDouble() * 2 * Math.PI;
+        }
+        Arrays.sort(angles);
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        for (int k = 0; k < n; k++) {
+            double r = 0.5 + random.nextDouble() * 7.5;
+            lat[k] = Math.round((centerLat + r * Math.sin(angles[k])) * 4) / 4.0;
+            lon[k] = Math.round((centerLon + r * Math.cos(angles[k])) * 4) / 4.0;
+        }
+        return new double[][]{lat, lon};
+    }
+
+    /** Strahlverfahren über alle Kanten, Randbehandlung wie {@link PreparedPolygon#contains}. */
+    private static boolean rayCasting(double[] lat, double[] lon, double pLat, double pLon) {
+        boolean inside = false;
+        for (int i = 0, n = lat.length; i < n; i++) {
+            int j = (i + 1) % n;
+            if ((lat[i] > pLat) != (lat[j] > pLat)) {
+                double crossLon = lon[i] + (pLat - lat[i]) * (lon[j] - lon[i]) / (lat[j] - lat[i]);
+                if (pLon < crossLon) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+}
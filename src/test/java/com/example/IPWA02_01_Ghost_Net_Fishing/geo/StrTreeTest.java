@@ -0,0 +1,117 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Punkt- und Rechteckabfragen gegen einen Brute-Force-Vergleich aller Rechtecke.
+ * Koordinaten liegen auf einem groben Raster, damit Abfragen häufig genau auf Kanten
+ * und Ecken treffen; dazu kommen entartete Rechtecke (Punkte, Linien).
+ */
+class StrTreeTest {
+
+    @Test
+    void queriesMatchBruteForce() {
+        Random random = new Random(37);
+        for (int round = 0; round < 20; round++) {
+            int n = random.nextInt(3_000);
+            double[][] boxes = new double[n][];
+            List<StrTree.Entry<Integer>> entries = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                double lat = grid(random, -90, 80);
+                double lon = grid(random, -180, 170);
+                // jedes fünfte Rechteck ohne Ausdehnung in einer oder beiden Richtungen
+                double height = random.nextInt(5) == 0 ? 0 : grid(random, 0, 10);
+                double width = random.nextInt(5) == 0 ? 0 : grid(random, 0, 10);
+                boxes[i] = new double[]{lat, lon, lat + height, lon + width};
+                entries.add(new StrTree.Entry<>(lat, lon, lat + height, lon + width, i));
+            }
+            StrTree<Integer> tree = StrTree.build(entries);
+            assertThat(tree.size()).isEqualTo(n);
+
+            for (int q = 0; q < 300; q++) {
+                double lat;
+                double lon;
+                if (n > 0 && random.nextBoolean()) {
+                    // Ecke oder Kantenmitte eines vorhandenen Rechtecks
+                    double[] b = boxes[random.nextInt(n)];
+                    lat = random.nextBoolean() ? b[random.nextBoolean() ? 0 : 2] : (b[0] + b[2]) / 2;
+                    lon = random.nextBoolean() ? b[random.nextBoolean() ? 1 : 3] : (b[1] + b[3]) / 2;
+                } else {
+                    lat = grid(random, -90, 90);
+                    lon = grid(random, -180, 180);
+                }
+                assertThat(query(tree, lat, lon, lat, lon)).as("Punkt %s, %s", lat, lon)
+                        .containsExactlyInAnyOrderElementsOf(bruteForce(boxes, lat, lon, lat, lon));
+
+                double maxLat = lat + grid(random, 0, 20);
+                double maxLon = lon + grid(random, 0, 20);
+                assertThat(query(tree, lat, lon, maxLat, maxLon)).as("Rechteck ab %s, %s", lat, lon)
+                        .containsExactlyInAnyOrderElementsOf(bruteForce(boxes, lat, lon, maxLat, maxLon));
+            }
+        }
+    }
+
+    @Test
+    void emptyTreeFindsNothing() {
+        StrTree<String> tree = StrTree.build(List.of());
+
+        assertThat(tree.size()).isZero();
+        assertThat(query(tree, 0, 0, 90, 180)).isEmpty();
+    }
+
+    @Test
+    void candidatesFilteredByPolygonMatchBruteForce() {
+        Random random = new Random(38);
+        List<PreparedPolygon> polygons = new ArrayList<>();
+        List<StrTree.Entry<PreparedPolygon>> entries = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            double[][] ring = PreparedPolygonTest.radial(random, grid(random, -70, 70), grid(random, -160, 160),
+                    3 + random.nextInt(40));
+            PreparedPolygon p = new PreparedPolygon(ring[0], ring[1]);
+            polygons.add(p);
+            entries.add(new StrTree.Entry<>(p.getMinLat(), p.getMinLon(), p.getMaxLat(), p.getMaxLon(), p));
+        }
+        StrTree<PreparedPolygon> tree = StrTree.build(entries);
+
+        for (int q = 0; q < 20_000; q++) {
+            double lat = grid(random, -80, 80);
+            double lon = grid(random, -170, 170);
+            List<PreparedPolygon> found = new ArrayList<>();
+            tree.query(lat, lon, p -> {
+                if (p.contains(lat, lon)) {
+                    found.add(p);
+                }
+            });
+            List<PreparedPolygon> expected = polygons.stream().filter(p -> p.contains(lat, lon)).toList();
+            assertThat(found).as("Punkt %s, %s", lat, lon).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    /** Zufallswert auf einem Raster von 0,5° in {@code [from, to]}. */
+    static double grid(Random random, double from, double to) {
+        return from + random.nextInt((int) ((to - from) * 2) + 1) * 0.5;
+    }
+
+    private static <T> List<T> query(StrTree<T> tree, double minLat, double minLon, double maxLat, double maxLon) {
+        List<T> found = new ArrayList<>();
+        tree.query(minLat, minLon, maxLat, maxLon, found::add);
+        return found;
+    }
+
+    private static List<Integer> bruteForce(double[][] boxes, double minLat, double minLon, double maxLat, double maxLon) {
+        List<Integer> found = new ArrayList<>();
+        for (int i = 0; i < boxes.length; i++) {
+            double[] b = boxes[i];
+            if (b[0] <= maxLat && b[2] >= minLat && b[1] <= maxLon && b[3] >= minLon) {
+                found.add(i);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.loadtest;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.config.SqlStatementMonitor;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ordnet die SQL-Statements eines Requests dem Endpunkt zu
+ * (Methode + Mapping-Muster, z. B. {@code PATCH /api/ghostnets/{id}/status}).
+ * <p>
+ * Liest die Zählung des {@link SqlStatementMonitor}, dessen Filter diesen umschließt;
+ * erfasst also nur Statements im Request-Thread – nicht die von {@code @Async}-Listenern.
+ */
+class EndpointQueryFilter extends OncePerRequestFilter {
+
+    private final SqlStatementMonitor monitor;
+    private final Map<String, LongAdder[]> stats = new ConcurrentHashMap<>();
+
+    EndpointQueryFilter(SqlStatementMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+            LongAdder[] s = stats.computeIfAbsent(endpoint, k -> new LongAdder[]{new LongAdder(), new LongAdder()});
+            s[0].increment();
+            s[1].add(monitor.currentRequestStatements());
+        }
+    }
+
+    /** Setzt die Zählung zurück (z. B. nach dem Aufwärmen). */
+    void clear() {
+        stats.clear();
+    }
+
+    /** @return durchschnittliche Statements je Request, {@code NaN} wenn nicht aufgerufen */
+    double queriesPerRequest(String endpoint) {
+        LongAdder[] s = stats.get(endpoint);
+        return s == null || s[0].sum() == 0 ? Double.NaN : (double) s[1].sum() / s[0].sum();
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.loadtest;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.Ipwa0201GhostNetFishingApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-End-Lasttest: startet die Anwendung gegen eine eingebettete H2 im
+ * PostgreSQL-Modus, legt Benutzer und Netze an und treibt einen Mix aus
+ * Liste, Meldung, Statuswechsel, Login und Registrierung über HTTP.
+ * <p>
+ * Berichtet je Endpunkt p50/p95/p99, Durchsatz, Fehler, wegen Überlast abgelehnte Requests
+ * (503, siehe {@code ghostnet.admission.*}) und SQL-Statements je Request
+ * (Log und {@code loadtest.report}). Läuft offline auf einem Rechner, nur auf Anforderung:
+ * <pre>
+ * mvn test -Dtest=LoadTest -Dloadtest=true -Dloadtest.nets=50000 -Dloadtest.clients=64
+ * </pre>
+ * Weitere Einstellungen (System-Properties, Standard in Klammern): {@code loadtest.users} (200),
+ * {@code loadtest.nets} (20000), {@code loadtest.clients} (32), {@code loadtest.requests} (5000),
+ * {@code loadtest.warmup} (500), {@code loadtest.mix} (Gewichte, siehe {@link #DEFAULT_MIX}),
+ * {@code loadtest.max-p99-ms} (0 = keine Grenze), {@code loadtest.report}.
+ * <p>
+ * Die Daten werden vor dem eigentlichen Start geschrieben, damit alle Lesemodelle sie
+ * beim Hochfahren einlesen – wie nach einem Neustart in Produktion.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class LoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    static final String DEFAULT_MIX = "list=10,add=30,status=40,login=15,register=5";
+
+    private static final String DB_URL = "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    private static final String PASSWORD = "geheim123";
+
+    private final int users = Integer.getInteger("loadtest.users", 200);
+    private final int nets = Integer.getInteger("loadtest.nets", 20_000);
+    private final int clients = Integer.getInteger("loadtest.clients", 32);
+    private final int requests = Integer.getInteger("loadtest.requests", 5_000);
+    private final int warmup = Integer.getInteger("loadtest.warmup", 500);
+    private final long maxP99Millis = Long.getLong("loadtest.max-p99-ms", 0);
+    private final Path report = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.txt"));
+    private final Endpoint[] mix = Endpoint.parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+
+    private final AtomicInteger registrations = new AtomicInteger();
+
+    @Test
+    void run() throws Exception {
+        seed();
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(Ipwa0201GhostNetFishingApplication.class)
+                .initializers(c -> ((GenericApplicationContext) c).registerBean(EndpointQueryFilter.class))
+                .run(args("--server.port=0", "--spring.jpa.hibernate.ddl-auto=none"))) {
+            EndpointQueryFilter queries = ctx.getBean(EndpointQueryFilter.class);
+            int port = ((WebServerApplicationContext) ctx).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newFixedThreadPool(8))
+                    .build();
+
+            drive(client, port, warmup, 0);
+            queries.clear();
+            long start = System.nanoTime();
+            Sample[] samples = drive(client, port, requests, 1);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            String text = report(samples, seconds, queries);
+            log.info("Lasttest-Ergebnis:\n{}", text);
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.writeString(report, text);
+
+            long errors = Arrays.stream(samples).filter(Sample::failed).count();
+            assertEquals(0, errors, "Fehlgeschlagene Requests");
+            if (maxP99Millis > 0) {
+                long[] all = Arrays.stream(samples).filter(s -> !s.shed()).mapToLong(s -> s.micros).sorted().toArray();
+                double p99 = percentile(all, 0.99);
+                assertTrue(p99 <= maxP99Millis, "p99 " + p99 + " ms > " + maxP99Millis + " ms");
+            }
+        }
+    }
+
+    /**
+     * Schema per Hibernate anlegen und Daten per JDBC-Batch schreiben (ohne Webserver).
+     */
+    private void seed() {
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(Ipwa0201GhostNetFishingApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args("--spring.jpa.hibernate.ddl-auto=create"))) {
+            JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+            // wie initdb/schema.sql: Telefonnummer optional (Registrierung setzt keine)
+            jdbc.execute("alter table users alter column phone_number set null");
+            String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Object[]> userRows = new ArrayList<>(users);
+            for (int i = 1; i <= users; i++) {
+                userRows.add(new Object[]{"user" + i, "user" + i + "@example.org", hash, "SALVOR", now, ""});
+            }
+            jdbc.batchUpdate("insert into users(username, email, password_hash, role, created_at, phone_number) "
+                    + "values (?, ?, ?, ?, ?, ?)", userRows);
+
+            SplittableRandom random = new SplittableRandom(42);
+            List<Object[]> netRows = new ArrayList<>(nets);
+            for (int i = 0; i < nets; i++) {
+                Timestamp reported = Timestamp.from(Instant.now().minusSeconds(random.nextInt(86_400 * 30)));
+                netRows.add(new Object[]{53.5 + random.nextDouble() * 4, 3 + random.nextDouble() * 11,
+                        1 + random.nextDouble() * 50, "REPORTED", (long) random.nextInt(users) + 1, reported, reported});
+            }
+            jdbc.batchUpdate("insert into ghost_nets(latitude, longitude, size, status, reported_by_user_id, "
+                    + "reported_at, created_at) values (?, ?, ?, ?, ?, ?, ?)", netRows);
+        }
+    }
+
+    /**
+     * Als Kommandozeilenargumente, damit sie die Test-{@code application.properties} überstimmen.
+     */
+    private static String[] args(String... extra) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + DB_URL,
+                "--ghostnet.sql.sample-rate=0"));
+        args.addAll(List.of(extra));
+        return args.toArray(new String[0]);
+    }
+
+    /**
+     * Geschlossenes Lastmodell: {@code clients} Threads schicken nacheinander Requests,
+     * bis {@code count} erreicht ist.
+     */
+    private Sample[] drive(HttpClient client, int port, int count, int seed) throws Exception {
+        Sample[] samples = new Sample[count];
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                SplittableRandom random = new SplittableRandom(seed * 1_000L + c);
+                futures.add(pool.submit(() -> {
+                    int n;
+                    while ((n = next.getAndIncrement()) < count) {
+                        Endpoint endpoint = mix[random.nextInt(mix.length)];
+                        HttpRequest request = endpoint.request(this, "http://localhost:" + port, random);
+                        long t = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            status = 0;
+                        }
+                        samples[n] = new Sample(endpoint, (System.nanoTime() - t) / 1_000, status);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return samples;
+    }
+
+    private String report(Sample[] samples, double seconds, EndpointQueryFilter queries) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "Lasttest: %d Benutzer, %d Netze, %d Clients, %d Requests in %.1f s (%.0f req/s)%n",
+                users, nets, clients, samples.length, seconds, samples.length / seconds));
+        sb.append(String.format(Locale.ROOT, "%-34s %7s %6s %6s %8s %8s %8s %8s %9s%n",
+                "Endpunkt", "Anzahl", "Fehler", "503", "req/s", "p50 ms", "p95 ms", "p99 ms", "SQL/Req"));
+        Map<Endpoint, List<Sample>> byEndpoint = new LinkedHashMap<>();
+        for (Endpoint e : Endpoint.values()) {
+            byEndpoint.put(e, new ArrayList<>());
+        }
+        for (Sample s : samples) {
+            byEndpoint.get(s.endpoint).add(s);
+        }
+        byEndpoint.forEach((endpoint, list) -> {
+            if (list.isEmpty()) {
+                return;
+            }
+            long[] micros = list.stream().filter(s -> !s.shed()).mapToLong(s -> s.micros).sorted().toArray();
+            long errors = list.stream().filter(Sample::failed).count();
+            long shed = list.stream().filter(Sample::shed).count();
+            if (micros.length == 0) {
+                micros = new long[]{0};
+            }
+            sb.append(String.format(Locale.ROOT, "%-34s %7d %6d %6d %8.1f %8.1f %8.1f %8.1f %9.1f%n",
+                    endpoint.pattern, list.size(), errors, shed, list.size() / seconds,
+                    percentile(micros, 0.50), percentile(micros, 0.95), percentile(micros, 0.99),
+                    queries.queriesPerRequest(endpoint.pattern)));
+        });
+        return sb.toString();
+    }
+
+    private static double percentile(long[] sortedMicros, double p) {
+        return sortedMicros[Math.min(sortedMicros.length - 1, (int) (sortedMicros.length * p))] / 1_000.0;
+    }
+
+    /**
+     * @param status HTTP-Status, 0 bei Verbindungsfehler; Antwortzeiten zählen nur für angenommene Requests
+     */
+    private record Sample(Endpoint endpoint, long micros, int status) {
+
+        /** Wegen Überlast abgelehnt (Lastbegrenzung) – kein Fehler. */
+        boolean shed() {
+            return status == 503;
+        }
+
+        boolean failed() {
+            return !shed() && (status < 200 || status >= 300);
+        }
+    }
+
+    /**
+     * Getriebene Endpunkte; {@link #pattern} entspricht dem Spring-Mapping
+     * (Schlüssel der SQL-Zählung in {@link EndpointQueryFilter}).
+     */
+    private enum Endpoint {
+        LIST("list", "GET /api/ghostnets"),
+        ADD("add", "POST /api/ghostnets/add"),
+        STATUS("status", "PATCH /api/ghostnets/{id}/status"),
+        LOGIN("login", "POST /api/user/login"),
+        REGISTER("register", "POST /api/user/register");
+
+        private static final String[] TARGET_STATUSES = {"SCHEDULED", "RECOVERED", "CANCELLED", "REPORTED"};
+
+        final String key;
+        final String pattern;
+
+        Endpoint(String key, String pattern) {
+            this.key = key;
+            this.pattern = pattern;
+        }
+
+        HttpRequest request(LoadTest test, String base, SplittableRandom random) {
+            long user = random.nextInt(test.users) + 1;
+            return switch (this) {
+                case LIST -> get(base + "/api/ghostnets");
+                case ADD -> json(base + "/api/ghostnets/add", "POST", String.format(Locale.ROOT,
+                                "{\"latitude\":%.5f,\"longitude\":%.5f,\"depth_meters\":%.1f}",
+                                53.5 + random.nextDouble() * 4, 3 + random.nextDouble() * 11, 1 + random.nextDouble() * 50),
+                        "X-User-Id", String.valueOf(user));
+                case STATUS -> json(base + "/api/ghostnets/" + (random.nextInt(test.nets) + 1) + "/status", "PATCH",
+                        "{\"status\":\"" + TARGET_STATUSES[random.nextInt(TARGET_STATUSES.length)] + "\","
+                                + "\"scheduledByUserId\":" + user + ",\"recoveredByUserId\":" + user
+                                + ",\"cancelledByUserId\":" + user + "}");
+                case LOGIN -> json(base + "/api/user/login", "POST",
+                        "{\"username\":\"user" + user + "\",\"password\":\"" + PASSWORD + "\"}");
+                case REGISTER -> {
+                    String name = "lt" + System.nanoTime() + "-" + test.registrations.incrementAndGet();
+                    yield json(base + "/api/user/register", "POST",
+                            "{\"username\":\"" + name + "\",\"email\":\"" + name + "@example.org\","
+                                    + "\"password\":\"" + PASSWORD + "\",\"confirm\":\"" + PASSWORD + "\"}");
+                }
+            };
+        }
+
+        /**
+         * Mix wie {@code list=10,add=30}: jedes Gewicht wird zu so vielen Einträgen
+         * im Auswahl-Array.
+         *
+         * @throws IllegalArgumentException bei unbekanntem Endpunkt oder ohne positives Gewicht
+         */
+        static Endpoint[] parseMix(String mix) {
+            List<Endpoint> result = new ArrayList<>();
+            for (String part : mix.split(",")) {
+                String[] kv = part.trim().split("=");
+                Endpoint endpoint = Arrays.stream(values()).filter(e -> e.key.equals(kv[0].trim())).findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Unbekannter Endpunkt im Mix: " + kv[0]));
+                int weight = kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1;
+                for (int i = 0; i < weight; i++) {
+                    result.add(endpoint);
+                }
+            }
+            if (result.isEmpty()) {
+                throw new IllegalArgumentException("Mix ohne Gewichte: " + mix);
+            }
+            return result.toArray(new Endpoint[0]);
+        }
+
+        private static HttpRequest get(String uri) {
+            return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(60)).GET().build();
+        }
+
+        private static HttpRequest json(String uri, String method, String body, String... headers) {
+            HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(uri))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body));
+            if (headers.length > 0) {
+                b.headers(headers);
+            }
+            return b.build();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetHistoryResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetArchivedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.ArchivedGhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.ArchivedGhostNetRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Archivierung gegen die Datenbank (vollständige Kopie, Frist und Status, Historie) und
+ * der Ablauf eines Laufs mit Repository-Mocks (Reihenfolge, Blöcke, Event).
+ */
+@SpringBootTest
+class GhostNetArchiveServiceTest {
+
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    private static final AtomicLong REGIONS = new AtomicLong();
+
+    @Autowired
+    private GhostNetArchiveService archiveService;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void runCopiesEveryColumnAndKeepsOpenOrRecentNets() {
+        String region = region();
+        long recovered = insertNet(region, GhostNetStatus.RECOVERED, NOW.minus(Duration.ofDays(60)), null);
+        long cancelled = insertNet(region, GhostNetStatus.CANCELLED, null, NOW.minus(Duration.ofDays(45)));
+        long recent = insertNet(region, GhostNetStatus.RECOVERED, NOW.minus(Duration.ofDays(5)), null);
+        long open = insertNet(region, GhostNetStatus.SCHEDULED, null, null);
+        Map<String, Object> before = jdbc.queryForMap("select * from ghost_nets where id = ?", recovered);
+
+        Instant started = Instant.now();
+        assertThat(archiveService.run().getArchived()).isGreaterThanOrEqualTo(2);
+
+        assertThat(ids("ghost_nets", region)).containsExactlyInAnyOrder(recent, open);
+        assertThat(ids("ghost_nets_archive", region)).containsExactlyInAnyOrder(recovered, cancelled);
+        Map<String, Object> after = jdbc.queryForMap("select * from ghost_nets_archive where id = ?", recovered);
+        before.forEach((column, value) -> assertThat(after.get(column)).as(column).isEqualTo(value));
+        assertThat(after.get("CLOSED_AT")).isEqualTo(before.get("RECOVERED_AT"));
+        assertThat(jdbc.queryForObject("select archived_at from ghost_nets_archive where id = ?", Timestamp.class,
+                recovered).toInstant()).isAfterOrEqualTo(started.truncatedTo(ChronoUnit.MILLIS));
+        assertThat(jdbc.queryForObject("select closed_at from ghost_nets_archive where id = ?", Timestamp.class,
+                cancelled).toInstant()).isEqualTo(NOW.minus(Duration.ofDays(45)));
+    }
+
+    @Test
+    void historySearchesArchiveWithFiltersAndPaging() {
+        String region = region();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(insertNet(region, GhostNetStatus.RECOVERED, NOW.minus(Duration.ofDays(40 + i)), null));
+        }
+        long cancelled = insertNet(region, GhostNetStatus.CANCELLED, null, NOW.minus(Duration.ofDays(50)));
+        archiveService.run();
+
+        GhostNetHistoryResponse first = archiveService.history(GhostNetStatus.RECOVERED, region, null, null, 0, 3);
+        assertThat(first.getNets()).extracting(ArchivedGhostNet::getId).containsExactlyElementsOf(ids.subList(0, 3));
+        assertThat(first.getNextAfterId()).isEqualTo(ids.get(2));
+        GhostNetHistoryResponse second = archiveService.history(GhostNetStatus.RECOVERED, region, null, null,
+                first.getNextAfterId(), 3);
+        assertThat(second.getNets()).extracting(ArchivedGhostNet::getId).containsExactlyElementsOf(ids.subList(3, 5));
+        assertThat(second.getNextAfterId()).isNull();
+
+        assertThat(archiveService.history(GhostNetStatus.CANCELLED, region, null, null, 0, 10).getNets())
+                .extracting(ArchivedGhostNet::getId).containsExactly(cancelled);
+        // Abschluss vor 41 bis 43 Tagen
+        assertThat(archiveService.history(null, region, NOW.minus(Duration.ofDays(43)).minusSeconds(1),
+                NOW.minus(Duration.ofDays(41)).plusSeconds(1), 0, 10).getNets())
+                .extracting(ArchivedGhostNet::getId).containsExactly(ids.get(1), ids.get(2), ids.get(3));
+        assertThat(archiveService.history(null, region + "-leer", null, null, 0, 10).getNets()).isEmpty();
+
+        assertThatThrownBy(() -> archiveService.history(null, null, null, null, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> archiveService.history(null, null, NOW, NOW, 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void runCopiesBeforeDeletingAndPublishesMovedNets() {
+        GhostNetRepository ghostNets = mock(GhostNetRepository.class);
+        ArchivedGhostNetRepository archive = mock(ArchivedGhostNetRepository.class);
+        List<Object> published = new ArrayList<>();
+        GhostNetArchiveService service = service(ghostNets, archive, published::add, 2);
+        List<GhostNet> batch = List.of(net(11L), net(12L));
+        when(ghostNets.findClosedBeforeForUpdate(any(), any())).thenReturn(batch, List.of());
+        when(archive.copyFromGhostNets(anyList(), any())).thenReturn(2);
+        when(ghostNets.deleteByIds(anyList())).thenReturn(2);
+
+        assertThat(service.run().getArchived()).isEqualTo(2);
+
+        InOrder order = inOrder(archive, ghostNets);
+        order.verify(archive).copyFromGhostNets(eq(List.of(11L, 12L)), any());
+        order.verify(ghostNets).deleteByIds(List.of(11L, 12L));
+        assertThat(published).singleElement().isInstanceOfSatisfying(GhostNetArchivedEvent.class, e -> {
+            assertThat(e.isRemote()).isFalse();
+            assertThat(e.getNets()).extracting(GhostNetSnapshot::getId).containsExactly(11L, 12L);
+        });
+    }
+
+    @Test
+    void incompleteCopyAbortsBatchWithoutEvent() {
+        GhostNetRepository ghostNets = mock(GhostNetRepository.class);
+        ArchivedGhostNetRepository archive = mock(ArchivedGhostNetRepository.class);
+        List<Object> published = new ArrayList<>();
+        GhostNetArchiveService service = service(ghostNets, archive, published::add, 2);
+        when(ghostNets.findClosedBeforeForUpdate(any(), any())).thenReturn(List.of(net(11L), net(12L)));
+        when(archive.copyFromGhostNets(anyList(), any())).thenReturn(1);
+        when(ghostNets.deleteByIds(anyList())).thenReturn(2);
+
+        assertThatThrownBy(service::run).isInstanceOf(IllegalStateException.class);
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void batchLoopEndsOnShortOrEmptyBatch() {
+        GhostNetRepository ghostNets = mock(GhostNetRepository.class);
+        ArchivedGhostNetRepository archive = mock(ArchivedGhostNetRepository.class);
+        GhostNetArchiveService service = service(ghostNets, archive, event -> { }, 2);
+        when(ghostNets.findClosedBeforeForUpdate(any(), any()))
+                .thenReturn(List.of(net(1L), net(2L)), List.of(net(3L), net(4L)), List.of(net(5L)));
+        when(archive.copyFromGhostNets(anyList(), any())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+        when(ghostNets.deleteByIds(anyList())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+
+        // kurzer Block: kein weiterer Abruf
+        assertThat(service.run().getArchived()).isEqualTo(5);
+        verify(ghostNets, times(3)).findClosedBeforeForUpdate(any(), any());
+
+        // voller Block, danach leer
+        when(ghostNets.findClosedBeforeForUpdate(any(), any())).thenReturn(List.of(net(6L), net(7L)), List.of());
+        assertThat(service.run().getBatches()).isEqualTo(1);
+        verify(ghostNets, times(5)).findClosedBeforeForUpdate(any(), any());
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        GhostNetRepository ghostNets = mock(GhostNetRepository.class);
+        ArchivedGhostNetRepository archive = mock(ArchivedGhostNetRepository.class);
+        GhostNetShardRouter router = new GhostNetShardRouter("", 2, 64, 1);
+        PlatformTransactionManager tx = mock(PlatformTransactionManager.class);
+
+        assertThatThrownBy(() -> new GhostNetArchiveService(ghostNets, archive, event -> { }, router, tx, -1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GhostNetArchiveService(ghostNets, archive, event -> { }, router, tx, 30, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static GhostNetArchiveService service(GhostNetRepository ghostNets, ArchivedGhostNetRepository archive,
+                                                  ApplicationEventPublisher publisher, int batchSize) {
+        return new GhostNetArchiveService(ghostNets, archive, publisher, new GhostNetShardRouter("", 2, 64, 1),
+                mock(PlatformTransactionManager.class), 30, batchSize);
+    }
+
+    private static GhostNet net(long id) {
+        GhostNet net = new GhostNet();
+        net.setId(id);
+        net.setLatitude(54.0);
+        net.setLongitude(8.0);
+        net.setStatus(GhostNetStatus.RECOVERED);
+        net.setRecoveredAt(NOW.minus(Duration.ofDays(60)));
+        return net;
+    }
+
+    /** Eigenes Gebiet je Test, damit Netze anderer Tests nicht mitzählen. */
+    private static String region() {
+        return "Archivtest-" + REGIONS.incrementAndGet();
+    }
+
+    private List<Long> ids(String table, String region) {
+        return jdbc.queryForList("select id from " + table + " where region = ? order by id", Long.class, region);
+    }
+
+    /** Netz mit allen Spalten belegt. */
+    private long insertNet(String region, GhostNetStatus status, Instant recovered, Instant canceld) {
+        Instant reported = NOW.minus(Duration.ofDays(90));
+        jdbc.update("insert into ghost_nets(latitude, longitude, size, status, region, reported_by_user_id, "
+                        + "scheduled_by_user_id, recovered_by_user_id, canceld_by_user_id, reported_at, scheduled_at, "
+                        + "recovered_at, canceld_at, created_at, updated_at) "
+                        + "values (54.25, 7.75, 3.5, ?, ?, 1, 2, ?, ?, ?, ?, ?, ?, ?, ?)",
+                status.name(), region, recovered != null ? 3L : null, canceld != null ? 4L : null,
+                ts(reported), ts(reported.plus(Duration.ofDays(1))), ts(recovered), ts(canceld), ts(reported),
+                ts(recovered != null ? recovered : canceld != null ? canceld : reported));
+        return jdbc.queryForObject("select max(id) from ghost_nets where region = ?", Long.class, region);
+    }
+
+    private static Timestamp ts(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+}
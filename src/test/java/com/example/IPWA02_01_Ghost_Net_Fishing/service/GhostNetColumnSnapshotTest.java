@@ -0,0 +1,222 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetFilterRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.ArchivedGhostNetRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Snapshot des Spaltenspeichers: Schreiben und Lesen, Nachladen ab dem Stand, Entfernen
+ * seitdem archivierter Netze und vollständiges Laden bei ungültiger Datei.
+ */
+class GhostNetColumnSnapshotTest {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+    private static final long MARGIN = 60_000;
+
+    @TempDir
+    Path dir;
+
+    private final GhostNetRepository repository = mock(GhostNetRepository.class);
+    private final ArchivedGhostNetRepository archive = mock(ArchivedGhostNetRepository.class);
+
+    @Test
+    void roundTripKeepsEveryColumn() throws IOException {
+        GhostNetColumnStore.Columns columns = new GhostNetColumnStore.Columns(4);
+        List<GhostNet> nets = nets(10);
+        nets.get(3).setSize(null);
+        nets.get(4).setReportedBy(null);
+        nets.forEach(net -> columns.upsert(GhostNetSnapshot.of(net)));
+        Path file = dir.resolve("columns.snap");
+
+        GhostNetColumnSnapshot.write(file, new GhostNetColumnStore.Columns(columns), 1_234L);
+        GhostNetColumnSnapshot read = GhostNetColumnSnapshot.read(file);
+
+        GhostNetColumnStore.Columns c = read.getColumns();
+        assertThat(read.getWatermark()).isEqualTo(1_234L);
+        assertThat(c.count).isEqualTo(10);
+        for (int row = 0; row < 10; row++) {
+            assertThat(c.rowById.get(columns.id[row])).isEqualTo(row);
+            assertThat(c.id[row]).isEqualTo(columns.id[row]);
+            assertThat(Double.doubleToRawLongBits(c.latitude[row])).isEqualTo(Double.doubleToRawLongBits(columns.latitude[row]));
+            assertThat(Double.doubleToRawLongBits(c.longitude[row])).isEqualTo(Double.doubleToRawLongBits(columns.longitude[row]));
+            assertThat(Double.doubleToRawLongBits(c.size[row])).isEqualTo(Double.doubleToRawLongBits(columns.size[row]));
+            assertThat(c.status[row]).isEqualTo(columns.status[row]);
+            for (int s = 0; s < c.times.length; s++) {
+                assertThat(c.times[s][row]).isEqualTo(columns.times[s][row]);
+            }
+            assertThat(c.reportedBy[row]).isEqualTo(columns.reportedBy[row]);
+            assertThat(c.scheduledBy[row]).isEqualTo(columns.scheduledBy[row]);
+            assertThat(c.recoveredBy[row]).isEqualTo(columns.recoveredBy[row]);
+        }
+        assertThat(c.size[3]).isNaN();
+        assertThat(c.reportedBy[4]).isEqualTo(GhostNetColumnStore.NONE);
+    }
+
+    @Test
+    void seedReplaysChangesAndRemovesArchivedNets() {
+        Path file = dir.resolve("columns.snap");
+        long beforeWrite = writeSnapshot(file, nets(5));
+
+        GhostNet changed = net(2);
+        changed.setStatus(GhostNetStatus.RECOVERED);
+        GhostNet created = net(6);
+        when(repository.findChangedSince(any())).thenReturn(List.of(changed, created));
+        when(archive.findIdsArchivedSince(any())).thenReturn(List.of(4L, 99L));
+        GhostNetColumnStore restarted = store(file);
+
+        restarted.seed();
+
+        verify(repository, never()).findAll();
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(repository).findChangedSince(since.capture());
+        assertThat(since.getValue().toEpochMilli()).isBetween(beforeWrite - MARGIN, System.currentTimeMillis() - MARGIN);
+        verify(archive).findIdsArchivedSince(since.getValue());
+
+        assertThat(ids(restarted, new GhostNetFilterRequest())).containsExactlyInAnyOrder(1L, 2L, 3L, 5L, 6L);
+        GhostNetFilterRequest recovered = new GhostNetFilterRequest();
+        recovered.setStatus(EnumSet.of(GhostNetStatus.RECOVERED));
+        assertThat(ids(restarted, recovered)).containsExactly(2L);
+    }
+
+    @Test
+    void corruptedPayloadFallsBackToDatabase() throws IOException {
+        Path file = dir.resolve("columns.snap");
+        writeSnapshot(file, nets(5));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(raf.length() - 1);
+            int last = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(last ^ 0xFF);
+        }
+
+        assertFallsBackToDatabase(file, "Prüfsumme");
+    }
+
+    @Test
+    void otherVersionFallsBackToDatabase() throws IOException {
+        Path file = dir.resolve("columns.snap");
+        writeSnapshot(file, nets(5));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(4);
+            raf.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(GhostNetColumnSnapshot.VERSION + 1).array());
+        }
+
+        assertFallsBackToDatabase(file, "Version");
+    }
+
+    @Test
+    void truncatedFileFallsBackToDatabase() throws IOException {
+        Path file = dir.resolve("columns.snap");
+        writeSnapshot(file, nets(5));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 8);
+        }
+        assertFallsBackToDatabase(file, "Länge");
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(10);
+        }
+        assertFallsBackToDatabase(file, "zu kurz");
+    }
+
+    @Test
+    void missingFileLoadsFromDatabase() throws IOException {
+        Path file = dir.resolve("missing.snap");
+        assertThat(GhostNetColumnSnapshot.read(file)).isNull();
+
+        when(repository.findAll()).thenReturn(nets(3));
+        GhostNetColumnStore store = store(file);
+        store.seed();
+
+        assertThat(store.size()).isEqualTo(3);
+        verify(repository, never()).findChangedSince(any());
+    }
+
+    private void assertFallsBackToDatabase(Path file, String reason) {
+        assertThatThrownBy(() -> GhostNetColumnSnapshot.read(file)).isInstanceOf(IOException.class)
+                .hasMessageContaining(reason);
+
+        GhostNetRepository database = mock(GhostNetRepository.class);
+        when(database.findAll()).thenReturn(nets(7));
+        GhostNetColumnStore store = new GhostNetColumnStore(database, archive,
+                new GhostNetShardRouter("", 2, 64, 1), file.toString(), MARGIN);
+        store.seed();
+
+        assertThat(store.size()).isEqualTo(7);
+        verify(database).findAll();
+        verify(database, never()).findChangedSince(any());
+    }
+
+    /**
+     * Befüllt einen Speicher aus {@code nets} und sichert ihn.
+     *
+     * @return Zeitpunkt unmittelbar vor dem Schreiben (Epoch-Millis)
+     */
+    private long writeSnapshot(Path file, List<GhostNet> nets) {
+        GhostNetRepository source = mock(GhostNetRepository.class);
+        when(source.findAll()).thenReturn(nets);
+        GhostNetColumnStore store = new GhostNetColumnStore(source, mock(ArchivedGhostNetRepository.class),
+                new GhostNetShardRouter("", 2, 64, 1), file.toString(), MARGIN);
+        store.resync();
+        long beforeWrite = System.currentTimeMillis();
+        store.writeSnapshot();
+        assertThat(file).exists();
+        return beforeWrite;
+    }
+
+    private GhostNetColumnStore store(Path file) {
+        return new GhostNetColumnStore(repository, archive, new GhostNetShardRouter("", 2, 64, 1),
+                file.toString(), MARGIN);
+    }
+
+    private static long[] ids(GhostNetColumnStore store, GhostNetFilterRequest filter) {
+        return store.filter(filter).getIds();
+    }
+
+    private static List<GhostNet> nets(int count) {
+        List<GhostNet> nets = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            nets.add(net(id));
+        }
+        return nets;
+    }
+
+    private static GhostNet net(long id) {
+        GhostNet net = new GhostNet();
+        net.setId(id);
+        net.setLatitude(50.0 + id / 10.0);
+        net.setLongitude(5.0 - id / 10.0);
+        net.setSize(id * 1.5);
+        net.setStatus(GhostNetStatus.REPORTED);
+        net.setReportedBy(id + 100);
+        net.setScheduledBy(id % 2 == 0 ? id + 200 : null);
+        net.setReportedAt(BASE.plusSeconds(id * 3_600));
+        net.setScheduledAt(id % 2 == 0 ? BASE.plusSeconds(id * 7_200) : null);
+        return net;
+    }
+}
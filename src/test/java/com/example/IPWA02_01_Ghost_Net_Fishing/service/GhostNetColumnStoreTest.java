@@ -0,0 +1,251 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetFilterRequest;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetArchivedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.ArchivedGhostNetRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Scan, Upsert und Entfernen des Spaltenspeichers gegen eine einfache Referenz
+ * (Map der zuletzt gemeldeten Netze, Filter Zeile für Zeile).
+ */
+class GhostNetColumnStoreTest {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+    private static final GhostNetStatus[] STATUSES = GhostNetStatus.values();
+
+    private final GhostNetRepository repository = mock(GhostNetRepository.class);
+    private final GhostNetColumnStore store = new GhostNetColumnStore(repository,
+            mock(ArchivedGhostNetRepository.class), new GhostNetShardRouter("", 2, 64, 1), "", 60_000);
+
+    @Test
+    void filterMatchesReferenceAfterUpsertsAndRemovals() {
+        assertMatchesReference(new Random(1), 3_000);
+    }
+
+    @Test
+    void parallelScanMatchesReference() {
+        assertMatchesReference(new Random(2), GhostNetColumnStore.PARALLEL_THRESHOLD + 5_000);
+    }
+
+    @Test
+    void changesDuringLoadAreReplayed() {
+        Random random = new Random(3);
+        GhostNet kept = randomNet(random, 1);
+        GhostNet updated = randomNet(random, 2);
+        GhostNet archived = randomNet(random, 3);
+        GhostNet created = randomNet(random, 4);
+        GhostNet updatedLater = copyWithStatus(updated, GhostNetStatus.RECOVERED);
+        when(repository.findAll()).thenAnswer(invocation -> {
+            // Commits nach dem Lesen, aber vor dem Austausch
+            store.onGhostNetChanged(new GhostNetChangedEvent(GhostNetSnapshot.of(updated), GhostNetSnapshot.of(updatedLater)));
+            store.onGhostNetArchived(new GhostNetArchivedEvent(List.of(GhostNetSnapshot.of(archived))));
+            store.onGhostNetChanged(new GhostNetChangedEvent(null, GhostNetSnapshot.of(created)));
+            return List.of(kept, updated, archived);
+        });
+
+        store.resync();
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(ids(new GhostNetFilterRequest())).containsExactlyInAnyOrder(1L, 2L, 4L);
+        GhostNetFilterRequest recovered = new GhostNetFilterRequest();
+        recovered.setStatus(EnumSet.of(GhostNetStatus.RECOVERED));
+        assertThat(ids(recovered)).contains(2L);
+    }
+
+    @Test
+    void failedLoadKeepsCurrentColumns() {
+        store.onGhostNetChanged(new GhostNetChangedEvent(null, GhostNetSnapshot.of(randomNet(new Random(4), 1))));
+        when(repository.findAll()).thenThrow(new IllegalStateException("Datenbank nicht erreichbar"));
+
+        assertThatThrownBy(store::resync).isInstanceOf(IllegalStateException.class);
+        store.onGhostNetChanged(new GhostNetChangedEvent(null, GhostNetSnapshot.of(randomNet(new Random(5), 2))));
+
+        assertThat(ids(new GhostNetFilterRequest())).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    private void assertMatchesReference(Random random, int nets) {
+        Map<Long, GhostNet> reference = new LinkedHashMap<>();
+        for (long id = 1; id <= nets; id++) {
+            GhostNet net = randomNet(random, id);
+            reference.put(id, net);
+            store.onGhostNetChanged(new GhostNetChangedEvent(null, GhostNetSnapshot.of(net)));
+        }
+        // Statuswechsel und Archivierungen quer durch die Zeilen
+        for (int i = 0; i < nets / 3; i++) {
+            long id = 1 + random.nextInt(nets);
+            GhostNet net = reference.get(id);
+            if (net == null) {
+                continue;
+            }
+            GhostNet changed = randomNet(random, id);
+            changed.setLatitude(net.getLatitude());
+            changed.setLongitude(net.getLongitude());
+            reference.put(id, changed);
+            store.onGhostNetChanged(new GhostNetChangedEvent(GhostNetSnapshot.of(net), GhostNetSnapshot.of(changed)));
+        }
+        List<GhostNetSnapshot> archived = new ArrayList<>();
+        for (int i = 0; i < nets / 10; i++) {
+            GhostNet net = reference.remove(1L + random.nextInt(nets));
+            if (net != null) {
+                archived.add(GhostNetSnapshot.of(net));
+            }
+        }
+        // auch unbekannte IDs dürfen gemeldet werden
+        archived.add(GhostNetSnapshot.of(randomNet(random, nets + 1)));
+        store.onGhostNetArchived(new GhostNetArchivedEvent(archived));
+
+        assertThat(store.size()).isEqualTo(reference.size());
+        for (int i = 0; i < 200; i++) {
+            GhostNetFilterRequest filter = randomFilter(random);
+            long[] expected = reference.values().stream()
+                    .filter(net -> matches(filter, net))
+                    .mapToLong(GhostNet::getId)
+                    .sorted()
+                    .toArray();
+            long[] actual = ids(filter);
+            Arrays.sort(actual);
+            assertThat(actual).as("Filter %d", i).containsExactly(expected);
+        }
+    }
+
+    private long[] ids(GhostNetFilterRequest filter) {
+        return store.filter(filter).getIds();
+    }
+
+    /** Referenzsemantik: gesetzte Kriterien verlangen einen Wert, nicht gesetzte schränken nicht ein. */
+    private static boolean matches(GhostNetFilterRequest f, GhostNet net) {
+        if (f.getStatus() != null && !f.getStatus().isEmpty() && !f.getStatus().contains(net.getStatus())) {
+            return false;
+        }
+        if (f.getMinLat() != null && net.getLatitude() < f.getMinLat()
+                || f.getMaxLat() != null && net.getLatitude() > f.getMaxLat()
+                || f.getMinLon() != null && net.getLongitude() < f.getMinLon()
+                || f.getMaxLon() != null && net.getLongitude() > f.getMaxLon()) {
+            return false;
+        }
+        if (f.getMinSize() != null || f.getMaxSize() != null) {
+            if (net.getSize() == null
+                    || f.getMinSize() != null && net.getSize() < f.getMinSize()
+                    || f.getMaxSize() != null && net.getSize() > f.getMaxSize()) {
+                return false;
+            }
+        }
+        if (f.getFrom() != null || f.getTo() != null) {
+            Instant time = timestamp(net, f.getTimeField() != null ? f.getTimeField() : GhostNetStatus.REPORTED);
+            if (time == null
+                    || f.getFrom() != null && time.isBefore(f.getFrom())
+                    || f.getTo() != null && !time.isBefore(f.getTo())) {
+                return false;
+            }
+        }
+        return (f.getReportedBy() == null || f.getReportedBy().equals(net.getReportedBy()))
+                && (f.getScheduledBy() == null || f.getScheduledBy().equals(net.getScheduledBy()))
+                && (f.getRecoveredBy() == null || f.getRecoveredBy().equals(net.getRecoveredBy()));
+    }
+
+    private static Instant timestamp(GhostNet net, GhostNetStatus field) {
+        return switch (field) {
+            case REPORTED -> net.getReportedAt();
+            case SCHEDULED -> net.getScheduledAt();
+            case RECOVERED -> net.getRecoveredAt();
+            case CANCELLED -> net.getCanceldAt();
+        };
+    }
+
+    private static GhostNetFilterRequest randomFilter(Random random) {
+        GhostNetFilterRequest f = new GhostNetFilterRequest();
+        if (random.nextBoolean()) {
+            Set<GhostNetStatus> status = EnumSet.noneOf(GhostNetStatus.class);
+            for (GhostNetStatus s : STATUSES) {
+                if (random.nextBoolean()) {
+                    status.add(s);
+                }
+            }
+            f.setStatus(status);
+        }
+        if (random.nextBoolean()) {
+            double lat = -80 + random.nextDouble() * 140;
+            f.setMinLat(lat);
+            f.setMaxLat(lat + random.nextDouble() * 40);
+        }
+        if (random.nextInt(3) == 0) {
+            f.setMinLon(-180 + random.nextDouble() * 300);
+        }
+        if (random.nextInt(3) == 0) {
+            f.setMaxLon(-120 + random.nextDouble() * 300);
+        }
+        if (random.nextInt(3) == 0) {
+            f.setMinSize(random.nextDouble() * 50);
+        }
+        if (random.nextInt(3) == 0) {
+            f.setMaxSize(random.nextDouble() * 100);
+        }
+        if (random.nextBoolean()) {
+            f.setTimeField(STATUSES[random.nextInt(STATUSES.length)]);
+        }
+        if (random.nextInt(3) == 0) {
+            f.setFrom(BASE.plusSeconds(random.nextInt(86_400 * 30)));
+        }
+        if (random.nextInt(3) == 0) {
+            f.setTo(BASE.plusSeconds(random.nextInt(86_400 * 30)));
+        }
+        if (random.nextInt(4) == 0) {
+            f.setReportedBy((long) random.nextInt(20));
+        }
+        if (random.nextInt(6) == 0) {
+            f.setScheduledBy((long) random.nextInt(20));
+        }
+        if (random.nextInt(6) == 0) {
+            f.setRecoveredBy((long) random.nextInt(20));
+        }
+        return f;
+    }
+
+    private static GhostNet randomNet(Random random, long id) {
+        GhostNet net = new GhostNet();
+        net.setId(id);
+        net.setLatitude(-90 + random.nextDouble() * 180);
+        net.setLongitude(-180 + random.nextDouble() * 360);
+        net.setSize(random.nextInt(5) == 0 ? null : random.nextDouble() * 100);
+        net.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+        net.setReportedBy(random.nextInt(4) == 0 ? null : (long) random.nextInt(20));
+        net.setScheduledBy(random.nextInt(2) == 0 ? null : (long) random.nextInt(20));
+        net.setRecoveredBy(random.nextInt(3) == 0 ? (long) random.nextInt(20) : null);
+        net.setReportedAt(random.nextInt(10) == 0 ? null : BASE.plusSeconds(random.nextInt(86_400 * 30)));
+        net.setScheduledAt(random.nextBoolean() ? null : BASE.plusSeconds(random.nextInt(86_400 * 30)));
+        net.setRecoveredAt(random.nextInt(3) == 0 ? BASE.plusSeconds(random.nextInt(86_400 * 30)) : null);
+        net.setCanceldAt(random.nextInt(5) == 0 ? BASE.plusSeconds(random.nextInt(86_400 * 30)) : null);
+        return net;
+    }
+
+    private static GhostNet copyWithStatus(GhostNet net, GhostNetStatus status) {
+        GhostNet copy = new GhostNet();
+        copy.setId(net.getId());
+        copy.setLatitude(net.getLatitude());
+        copy.setLongitude(net.getLongitude());
+        copy.setSize(net.getSize());
+        copy.setStatus(status);
+        return copy;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.controller.GhostNetController;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetHeatmapResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Heatmap gegen direkte Zählung, 400 bei ungültigen Parametern und Änderungen,
+ * die während des Aufbaus committet werden.
+ */
+@SpringBootTest
+class GhostNetDensityGridServiceTest {
+
+    @Autowired
+    private GhostNetDensityGridService densityGridService;
+    @Autowired
+    private GhostNetController controller;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void heatmapMatchesOpenNetsInBoundingBox() {
+        jdbc.update("insert into ghost_nets(latitude, longitude, size, status, created_at) values "
+                + "(-33.2, -171.4, 2.0, 'REPORTED', now()), (-33.7, -171.9, 3.0, 'SCHEDULED', now()), "
+                + "(-33.5, -171.5, 5.0, 'RECOVERED', now())");
+        densityGridService.seed();
+
+        GhostNetHeatmapResponse heatmap = densityGridService.getHeatmap(-34, -172, -33, -171, 6, true);
+
+        long count = heatmap.getCells().stream().mapToLong(GhostNetHeatmapResponse.Cell::getCount).sum();
+        double weight = heatmap.getCells().stream().mapToDouble(GhostNetHeatmapResponse.Cell::getValue).sum();
+        assertThat(count).isEqualTo(jdbc.queryForObject("select count(*) from ghost_nets where status in "
+                + "('REPORTED', 'SCHEDULED') and latitude between -34 and -33 and longitude between -172 and -171",
+                Long.class));
+        assertThat(weight).isEqualTo(jdbc.queryForObject("select coalesce(sum(size), 0) from ghost_nets where status in "
+                + "('REPORTED', 'SCHEDULED') and latitude between -34 and -33 and longitude between -172 and -171",
+                Double.class));
+    }
+
+    @Test
+    void invalidParametersAreBadRequest() {
+        assertThat(controller.getHeatmap(10, 0, -10, 20, null, false).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(controller.getHeatmap(-10, 0, 10, 20, 99, false).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(controller.getHeatmap(-10, 0, 10, 20, null, false).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void changesDuringSeedAreNotLost() {
+        // Änderung nach der Abfrage committet: Abfrage liefert noch den alten Stand
+        GhostNetSnapshot reported = snapshot(1L, 10.0, 20.0, GhostNetStatus.REPORTED);
+        GhostNetSnapshot recovered = snapshot(1L, 10.0, 20.0, GhostNetStatus.RECOVERED);
+        GhostNetSnapshot created = snapshot(2L, 10.0, 20.0, GhostNetStatus.REPORTED);
+        assertThat(countAfterSeed(List.of(location(reported)), reported, recovered, created)).isEqualTo(1);
+
+        // Änderung vor der Abfrage committet: Abfrage enthält sie bereits
+        assertThat(countAfterSeed(List.of(location(created)), reported, recovered, created)).isEqualTo(1);
+    }
+
+    @Test
+    void failedSeedKeepsCurrentGrid() {
+        GhostNetRepository repository = mock(GhostNetRepository.class);
+        GhostNetDensityGridService service = new GhostNetDensityGridService(repository, router(), 4);
+        service.onGhostNetChanged(new GhostNetChangedEvent(null, snapshot(1L, 10.0, 20.0, GhostNetStatus.REPORTED)));
+        when(repository.findActiveLocations()).thenThrow(new IllegalStateException("Datenbank nicht erreichbar"));
+
+        assertThatThrownBy(service::seed).isInstanceOf(IllegalStateException.class);
+        service.onGhostNetChanged(new GhostNetChangedEvent(null, snapshot(2L, 10.0, 20.0, GhostNetStatus.REPORTED)));
+
+        assertThat(count(service)).isEqualTo(2);
+    }
+
+    /**
+     * Baut ein Raster auf, während dessen Abfrage {@code before → after} und die Neuanlage
+     * {@code created} gemeldet werden.
+     */
+    private static long countAfterSeed(List<GhostNetRepository.Location> loaded, GhostNetSnapshot before,
+                                       GhostNetSnapshot after, GhostNetSnapshot created) {
+        GhostNetRepository repository = mock(GhostNetRepository.class);
+        GhostNetDensityGridService service = new GhostNetDensityGridService(repository, router(), 4);
+        service.onGhostNetChanged(new GhostNetChangedEvent(null, before));
+        when(repository.findActiveLocations()).thenAnswer(invocation -> {
+            service.onGhostNetChanged(new GhostNetChangedEvent(before, after));
+            service.onGhostNetChanged(new GhostNetChangedEvent(null, created));
+            return new ArrayList<>(loaded);
+        });
+        service.seed();
+        return count(service);
+    }
+
+    private static long count(GhostNetDensityGridService service) {
+        return service.getHeatmap(-90, -180, 90, 180, 0, false).getCells().stream()
+                .mapToLong(GhostNetHeatmapResponse.Cell::getCount)
+                .sum();
+    }
+
+    private static GhostNetShardRouter router() {
+        return new GhostNetShardRouter("", 2, 64, 1);
+    }
+
+    private static GhostNetSnapshot snapshot(long id, double lat, double lon, GhostNetStatus status) {
+        GhostNet net = new GhostNet();
+        net.setId(id);
+        net.setLatitude(lat);
+        net.setLongitude(lon);
+        net.setSize(1.0);
+        net.setStatus(status);
+        return GhostNetSnapshot.of(net);
+    }
+
+    private static GhostNetRepository.Location location(GhostNetSnapshot net) {
+        return new GhostNetRepository.Location() {
+            public Long getId() { return net.getId(); }
+            public Double getLatitude() { return net.getLatitude(); }
+            public Double getLongitude() { return net.getLongitude(); }
+            public Double getSize() { return net.getSize(); }
+        };
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.DispatchResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.geo.GeoMath;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rangliste gegen eine Brute-Force-Bewertung aller offenen Meldungen (Nachbarn per
+ * paarweiser Haversine-Distanz), mit und ohne Schiffsposition. Die Netze liegen in
+ * Gruppen auf Zellgrenzen, an der Datumsgrenze und an den Polen.
+ */
+class GhostNetDispatchServiceTest {
+
+    private static final double W_SIZE = 1.0;
+    private static final double W_AGE = 0.5;
+    private static final double W_PROXIMITY = 5.0;
+    private static final double W_DISTANCE = 0.2;
+    private static final double PROXIMITY_M = 5_000;
+    private static final double CELL_DEG = Math.toDegrees(PROXIMITY_M / GeoMath.EARTH_RADIUS_M);
+
+    /** Gruppenzentren: Zellecke, Datumsgrenze (beide Seiten), Pole, offene See. */
+    private static final double[][] CENTERS = {
+            {200 * CELL_DEG, -180 + 4_000 * CELL_DEG},
+            {0.0, 179.999},
+            {0.0, -179.999},
+            {-60.0, 180.0},
+            {89.99, 0.0},
+            {-89.97, 100.0},
+            {54.3, 8.1},
+    };
+
+    private static final double[][] VESSELS = {{0.0, 179.99}, {0.01, -179.98}, {54.0, 8.0}, {-89.9, -80.0}};
+
+    private final GhostNetRepository repository = mock(GhostNetRepository.class);
+    private final GhostNetDispatchService service = new GhostNetDispatchService(repository,
+            new GhostNetShardRouter("", 2, 64, 1), W_SIZE, W_AGE, W_PROXIMITY, W_DISTANCE, PROXIMITY_M);
+
+    @Test
+    void seededRankingMatchesBruteForce() {
+        Random random = new Random(31);
+        Map<Long, GhostNet> reference = new LinkedHashMap<>();
+        for (long id = 1; id <= 700; id++) {
+            reference.put(id, randomNet(random, id));
+        }
+        when(repository.findByStatus(GhostNetStatus.REPORTED)).thenReturn(reported(reference));
+
+        service.seed();
+
+        assertMatchesBruteForce(reference);
+    }
+
+    @Test
+    void incrementalChangesMatchBruteForce() {
+        Random random = new Random(32);
+        Map<Long, GhostNet> reference = new LinkedHashMap<>();
+        for (long id = 1; id <= 600; id++) {
+            GhostNet net = randomNet(random, id);
+            reference.put(id, net);
+            service.onGhostNetChanged(new GhostNetChangedEvent(null, GhostNetSnapshot.of(net)));
+        }
+        // Statuswechsel (Bergung, Wiedereröffnung) und Größenänderungen
+        for (int i = 0; i < 400; i++) {
+            GhostNet before = reference.get(1L + random.nextInt(600));
+            GhostNet after = copy(before);
+            if (random.nextBoolean()) {
+                after.setStatus(before.getStatus() == GhostNetStatus.REPORTED
+                        ? GhostNetStatus.RECOVERED : GhostNetStatus.REPORTED);
+            } else {
+                after.setSize(random.nextDouble() * 50);
+            }
+            reference.put(after.getId(), after);
+            service.onGhostNetChanged(new GhostNetChangedEvent(GhostNetSnapshot.of(before), GhostNetSnapshot.of(after)));
+        }
+
+        assertMatchesBruteForce(reference);
+    }
+
+    @Test
+    void changesCommittedDuringSeedAreNotLost() {
+        Random random = new Random(33);
+        Map<Long, GhostNet> reference = new LinkedHashMap<>();
+        for (long id = 1; id <= 300; id++) {
+            reference.put(id, randomNet(random, id));
+        }
+        List<GhostNet> loaded = reported(reference);
+        when(repository.findByStatus(GhostNetStatus.REPORTED)).thenAnswer(invocation -> {
+            // Commits, die die Abfrage nicht mehr (oder nur teilweise) gesehen hat
+            for (GhostNet before : loaded.subList(0, 40)) {
+                GhostNet after = copy(before);
+                if (before.getId() % 2 == 0) {
+                    after.setStatus(GhostNetStatus.RECOVERED);
+                } else {
+                    after.setSize(random.nextDouble() * 50);
+                }
+                reference.put(after.getId(), after);
+                service.onGhostNetChanged(new GhostNetChangedEvent(GhostNetSnapshot.of(before), GhostNetSnapshot.of(after)));
+            }
+            GhostNet created = randomNet(random, 301);
+            created.setStatus(GhostNetStatus.REPORTED);
+            reference.put(301L, created);
+            service.onGhostNetChanged(new GhostNetChangedEvent(null, GhostNetSnapshot.of(created)));
+            return loaded;
+        });
+
+        service.seed();
+
+        assertMatchesBruteForce(reference);
+    }
+
+    private void assertMatchesBruteForce(Map<Long, GhostNet> reference) {
+        List<GhostNet> open = reported(reference);
+        assertThat(open.stream().mapToInt(net -> neighbours(net, open)).max().orElse(0))
+                .as("Testdaten ohne Nachbarn").isGreaterThan(3);
+
+        for (int limit : new int[]{1, 10, GhostNetDispatchService.MAX_LIMIT}) {
+            assertTopN(service.topN(limit, null, null), limit, open, null);
+            for (double[] vessel : VESSELS) {
+                assertTopN(service.topN(limit, vessel[0], vessel[1]), limit, open, vessel);
+            }
+        }
+    }
+
+    private static void assertTopN(DispatchResponse response, int limit, List<GhostNet> open, double[] vessel) {
+        long now = response.getComputedAt().toEpochMilli();
+        Map<Long, Double> expected = new LinkedHashMap<>();
+        Map<Long, Integer> expectedNeighbours = new LinkedHashMap<>();
+        for (GhostNet net : open) {
+            int neighbours = neighbours(net, open);
+            double score = W_SIZE * (net.getSize() != null ? net.getSize() : 0)
+                    + W_AGE * (now - net.getReportedAt().toEpochMilli()) / 3_600_000.0
+                    + W_PROXIMITY * neighbours;
+            if (vessel != null) {
+                score -= W_DISTANCE * GeoMath.haversineMeters(vessel[0], vessel[1],
+                        net.getLatitude(), net.getLongitude()) / 1000.0;
+            }
+            expected.put(net.getId(), score);
+            expectedNeighbours.put(net.getId(), neighbours);
+        }
+        List<Double> ranked = new ArrayList<>(expected.values());
+        ranked.sort((a, b) -> Double.compare(b, a));
+
+        List<DispatchResponse.Candidate> candidates = response.getCandidates();
+        assertThat(response.getCandidateCount()).isEqualTo(open.size());
+        assertThat(candidates).hasSize(Math.min(limit, open.size()));
+        for (int i = 0; i < candidates.size(); i++) {
+            DispatchResponse.Candidate c = candidates.get(i);
+            assertThat(c.getNeighbours()).as("Nachbarn von %d", c.getId()).isEqualTo(expectedNeighbours.get(c.getId()));
+            assertThat(c.getScore()).as("Score von %d", c.getId()).isCloseTo(expected.get(c.getId()), within(1e-6));
+            // Rang i muss (bis auf Rundung) dem i-besten Brute-Force-Score entsprechen
+            assertThat(c.getScore()).isCloseTo(ranked.get(i), within(1e-6));
+            assertThat(c.getDistanceKm() != null).isEqualTo(vessel != null);
+        }
+    }
+
+    private static int neighbours(GhostNet net, List<GhostNet> open) {
+        int count = 0;
+        for (GhostNet other : open) {
+            if (other.getId() != net.getId().longValue() && GeoMath.haversineMeters(net.getLatitude(), net.getLongitude(),
+                    other.getLatitude(), other.getLongitude()) <= PROXIMITY_M) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static List<GhostNet> reported(Map<Long, GhostNet> reference) {
+        return reference.values().stream().filter(net -> net.getStatus() == GhostNetStatus.REPORTED).toList();
+    }
+
+    private static GhostNet randomNet(Random random, long id) {
+        double[] center = CENTERS[random.nextInt(CENTERS.length)];
+        double lat = Math.max(-90, Math.min(90, center[0] + (random.nextDouble() - 0.5) * 3 * CELL_DEG));
+        double lon = center[1] + (random.nextDouble() - 0.5) * 3 * CELL_DEG;
+        if (lon > 180) {
+            lon -= 360;
+        } else if (lon < -180) {
+            lon += 360;
+        }
+        GhostNet net = new GhostNet();
+        net.setId(id);
+        net.setLatitude(lat);
+        net.setLongitude(lon);
+        net.setSize(random.nextInt(5) == 0 ? null : random.nextDouble() * 50);
+        net.setStatus(random.nextInt(4) == 0 ? GhostNetStatus.SCHEDULED : GhostNetStatus.REPORTED);
+        net.setReportedAt(Instant.now().minusSeconds(random.nextInt(86_400 * 30)));
+        return net;
+    }
+
+    private static GhostNet copy(GhostNet net) {
+        GhostNet copy = new GhostNet();
+        copy.setId(net.getId());
+        copy.setLatitude(net.getLatitude());
+        copy.setLongitude(net.getLongitude());
+        copy.setSize(net.getSize());
+        copy.setStatus(net.getStatus());
+        copy.setReportedAt(net.getReportedAt());
+        return copy;
+    }
+}
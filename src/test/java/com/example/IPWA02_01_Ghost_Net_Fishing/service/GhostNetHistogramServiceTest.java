@@ -0,0 +1,166 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.controller.GhostNetController;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.GhostNetHistogramResponse;
+import com.example.IPWA02_01_Ghost_Net_Fishing.dto.HistogramGranularity;
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.ArchivedGhostNetRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Backfill in Abschnitten von einem Tag: Zeitstempel auf und neben den Abschnittsgrenzen,
+ * Netze über mehrere Abschnitte und das Archiv zählen genau einmal – auch bei Änderungen,
+ * die während des Backfills committet werden.
+ */
+@SpringBootTest(properties = "ghostnet.histogram.backfill-chunk-days=1")
+class GhostNetHistogramServiceTest {
+
+    private static final Instant DAY = Instant.parse("2001-03-10T00:00:00Z");
+    private static final Instant FROM = DAY.minus(Duration.ofDays(2));
+    private static final Instant TO = DAY.plus(Duration.ofDays(5));
+
+    @Autowired
+    private GhostNetHistogramService histogramService;
+    @Autowired
+    private GhostNetController controller;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void chunkedBackfillCountsEveryTimestampOnce() {
+        insertNet(DAY, null, null, null);
+        insertNet(DAY.minusMillis(1), DAY, null, null);
+        insertNet(DAY.plus(Duration.ofHours(5)), DAY.plus(Duration.ofDays(1)), DAY.plus(Duration.ofDays(3)), null);
+        insertNet(DAY.plus(Duration.ofDays(1)), null, null, DAY.plus(Duration.ofDays(1)).minusMillis(1));
+        insertArchived(9_000_001L, DAY.minus(Duration.ofDays(1)), DAY.plus(Duration.ofDays(2)), DAY.plus(Duration.ofDays(2)));
+        insertArchived(9_000_002L, DAY, null, null);
+
+        histogramService.backfill();
+
+        GhostNetHistogramResponse histogram = histogramService.getHistogram(FROM, TO, HistogramGranularity.HOUR);
+        Map<GhostNetStatus, Long> counted = new EnumMap<>(GhostNetStatus.class);
+        histogram.getBuckets().forEach(b -> b.getCounts().forEach((status, n) -> counted.merge(status, n, Long::sum)));
+
+        assertThat(counted.get(GhostNetStatus.REPORTED)).isEqualTo(expected("reported_at"));
+        assertThat(counted.get(GhostNetStatus.SCHEDULED)).isEqualTo(expected("scheduled_at"));
+        assertThat(counted.get(GhostNetStatus.RECOVERED)).isEqualTo(expected("recovered_at"));
+        assertThat(counted.get(GhostNetStatus.CANCELLED)).isEqualTo(expected("canceld_at"));
+        assertThat(counted.get(GhostNetStatus.REPORTED)).isGreaterThanOrEqualTo(6);
+    }
+
+    @Test
+    void changesCommittedDuringBackfillAreNotLost() {
+        GhostNetRepository repository = mock(GhostNetRepository.class);
+        GhostNetHistogramService service = new GhostNetHistogramService(repository,
+                mock(ArchivedGhostNetRepository.class), new GhostNetShardRouter("", 2, 64, 1), 1);
+        GhostNetSnapshot reported = snapshot(1L, DAY, null);
+        GhostNetSnapshot scheduled = snapshot(1L, DAY, DAY.plus(Duration.ofHours(1)));
+        GhostNetSnapshot created = snapshot(2L, DAY.plus(Duration.ofHours(25)), null);
+        when(repository.findTransitionBounds()).thenReturn(bounds(DAY, created.getReportedAt()));
+        when(repository.findTransitionTimesBetween(any(), any())).thenAnswer(invocation -> {
+            Instant from = invocation.getArgument(0);
+            if (from.equals(DAY)) {
+                // Neuanlage committet, nachdem der erste Abschnitt gelesen hat
+                service.onGhostNetChanged(new GhostNetChangedEvent(null, created));
+                return List.of(times(reported));
+            }
+            // Planung fällt in den bereits gelesenen ersten Abschnitt; die Neuanlage liest der zweite mit
+            service.onGhostNetChanged(new GhostNetChangedEvent(reported, scheduled));
+            return List.of(times(created));
+        });
+
+        service.backfill();
+
+        Map<GhostNetStatus, Long> counted = new EnumMap<>(GhostNetStatus.class);
+        service.getHistogram(FROM, TO, HistogramGranularity.HOUR).getBuckets()
+                .forEach(b -> b.getCounts().forEach((status, n) -> counted.merge(status, n, Long::sum)));
+        assertThat(counted).containsEntry(GhostNetStatus.REPORTED, 2L).containsEntry(GhostNetStatus.SCHEDULED, 1L);
+    }
+
+    @Test
+    void invalidRangeIsBadRequest() {
+        assertThat(controller.getHistogram(TO, FROM, HistogramGranularity.DAY).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(controller.getHistogram(FROM, TO, HistogramGranularity.DAY).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    /** Vergleichswert direkt aus beiden Tabellen. */
+    private long expected(String column) {
+        String where = " where " + column + " >= ? and " + column + " < ?";
+        Timestamp from = Timestamp.from(FROM);
+        Timestamp to = Timestamp.from(TO);
+        return jdbc.queryForObject("select count(*) from ghost_nets" + where, Long.class, from, to)
+                + jdbc.queryForObject("select count(*) from ghost_nets_archive" + where, Long.class, from, to);
+    }
+
+    private void insertNet(Instant reported, Instant scheduled, Instant recovered, Instant canceld) {
+        jdbc.update("insert into ghost_nets(latitude, longitude, status, reported_at, scheduled_at, recovered_at, "
+                        + "canceld_at, created_at) values (54.0, 8.0, 'REPORTED', ?, ?, ?, ?, ?)",
+                ts(reported), ts(scheduled), ts(recovered), ts(canceld), ts(reported));
+    }
+
+    private void insertArchived(long id, Instant reported, Instant recovered, Instant closed) {
+        jdbc.update("insert into ghost_nets_archive(id, latitude, longitude, status, reported_at, recovered_at, "
+                        + "closed_at, archived_at) values (?, 54.0, 8.0, 'RECOVERED', ?, ?, ?, ?)",
+                id, ts(reported), ts(recovered), ts(closed), ts(TO));
+    }
+
+    private static GhostNetSnapshot snapshot(long id, Instant reported, Instant scheduled) {
+        GhostNet net = new GhostNet();
+        net.setId(id);
+        net.setLatitude(54.0);
+        net.setLongitude(8.0);
+        net.setStatus(scheduled == null ? GhostNetStatus.REPORTED : GhostNetStatus.SCHEDULED);
+        net.setReportedAt(reported);
+        net.setScheduledAt(scheduled);
+        return GhostNetSnapshot.of(net);
+    }
+
+    private static GhostNetRepository.TransitionTimes times(GhostNetSnapshot net) {
+        return new GhostNetRepository.TransitionTimes() {
+            public Long getId() { return net.getId(); }
+            public Instant getReportedAt() { return net.getReportedAt(); }
+            public Instant getScheduledAt() { return net.getScheduledAt(); }
+            public Instant getRecoveredAt() { return net.getRecoveredAt(); }
+            public Instant getCanceldAt() { return net.getCanceldAt(); }
+        };
+    }
+
+    private static GhostNetRepository.TransitionBounds bounds(Instant min, Instant max) {
+        return new GhostNetRepository.TransitionBounds() {
+            public Instant getMinReportedAt() { return min; }
+            public Instant getMaxReportedAt() { return max; }
+            public Instant getMinScheduledAt() { return null; }
+            public Instant getMaxScheduledAt() { return null; }
+            public Instant getMinRecoveredAt() { return null; }
+            public Instant getMaxRecoveredAt() { return null; }
+            public Instant getMinCanceldAt() { return null; }
+            public Instant getMaxCanceldAt() { return null; }
+        };
+    }
+
+    private static Timestamp ts(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetRegionsReassignedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Gebietszuordnung gegen bekannte Punkte (Löcher, MultiPolygon, Überlappung, außerhalb),
+ * Backfill beim Start und Dauer einer Zuordnung bei 200 Gebieten.
+ */
+class GhostNetRegionServiceTest {
+
+    /** Koordinaten als {@code [lon, lat]}. */
+    private static final String AREAS = """
+            {"type": "FeatureCollection", "features": [
+              {"type": "Feature", "properties": {"name": "Becken"}, "geometry": {"type": "Polygon", "coordinates": [
+                [[0, 0], [10, 0], [10, 10], [0, 10], [0, 0]],
+                [[4, 4], [6, 4], [6, 6], [4, 6], [4, 4]]]}},
+              {"type": "Feature", "properties": {"name": "Hafen"}, "geometry": {"type": "Polygon", "coordinates": [
+                [[1, 1], [2, 1], [2, 2], [1, 2], [1, 1]]]}},
+              {"type": "Feature", "properties": {"name": "Inseln"}, "geometry": {"type": "MultiPolygon", "coordinates": [
+                [[[0, 20], [2, 20], [2, 22], [0, 22], [0, 20]]],
+                [[[10, 20], [12, 20], [12, 22], [10, 22], [10, 20]]]]}},
+              {"type": "Feature", "properties": {}, "geometry": {"type": "Polygon", "coordinates": [
+                [[-20, -20], [20, -20], [20, 20], [-20, 20], [-20, -20]]]}},
+              {"type": "Feature", "properties": {"name": "Route"}, "geometry": {"type": "LineString", "coordinates": [
+                [0, 0], [30, 30]]}}
+            ]}
+            """;
+
+    @TempDir
+    Path dir;
+
+    private final GhostNetRepository repository = mock(GhostNetRepository.class);
+    private final List<Object> published = new ArrayList<>();
+
+    @Test
+    void classifiesKnownPoints() throws IOException {
+        GhostNetRegionService service = service(AREAS, true);
+
+        assertThat(service.classify(3, 3)).isEqualTo("Becken");
+        assertThat(service.classify(5, 5)).as("im Loch").isNull();
+        assertThat(service.classify(4, 7)).as("neben dem Loch").isEqualTo("Becken");
+        assertThat(service.classify(1.5, 1.5)).as("kleinstes Gebiet gewinnt").isEqualTo("Hafen");
+        assertThat(service.classify(21, 1)).isEqualTo("Inseln");
+        assertThat(service.classify(21, 11)).isEqualTo("Inseln");
+        assertThat(service.classify(21, 6)).as("zwischen den Teilpolygonen").isNull();
+        assertThat(service.classify(-5, -5)).as("außerhalb aller Gebiete, auch des namenlosen").isNull();
+        assertThat(service.classify(15, 15)).as("LineString wird ignoriert").isNull();
+    }
+
+    @Test
+    void startupBackfillWritesOneUpdatePerRegion() throws IOException {
+        when(repository.findLocationsAfter(eq(0L), eq(false), any())).thenReturn(List.of(
+                location(1L, 3, 3), location(2L, 1.5, 1.5), location(3L, -5, -5), location(4L, 8, 8)));
+        when(repository.findLocationsAfter(eq(4L), eq(false), any())).thenReturn(List.of());
+        GhostNetRegionService service = service(AREAS, true);
+
+        service.backfillOnStartup();
+
+        verify(repository).updateRegion("Becken", List.of(1L, 4L));
+        verify(repository).updateRegion("Hafen", List.of(2L));
+        verify(repository, never()).updateRegion(isNull(), any());
+        assertThat(published).singleElement().isInstanceOfSatisfying(GhostNetRegionsReassignedEvent.class,
+                e -> assertThat(e.getCount()).isEqualTo(3));
+    }
+
+    @Test
+    void fullBackfillResetsNetsOutsideAllRegions() throws IOException {
+        when(repository.findLocationsAfter(eq(0L), eq(true), any())).thenReturn(List.of(
+                location(1L, 3, 3), location(3L, -5, -5)));
+        when(repository.findLocationsAfter(eq(3L), eq(true), any())).thenReturn(List.of());
+        GhostNetRegionService service = service(AREAS, true);
+
+        assertThat(service.backfill(true).getClassified()).isEqualTo(1);
+
+        verify(repository).updateRegion("Becken", List.of(1L));
+        verify(repository).updateRegion(null, List.of(3L));
+    }
+
+    @Test
+    void startupBackfillCanBeDisabled() throws IOException {
+        service(AREAS, false).backfillOnStartup();
+
+        verifyNoInteractions(repository);
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void classificationWithTwoHundredRegionsTakesLessThanOneMillisecond() throws IOException {
+        // 200 Gebiete zu je 5 000 Punkten; das Zacken-Muster (0.05°) übersteht die Vereinfachung
+        StringBuilder json = new StringBuilder("{\"type\": \"FeatureCollection\", \"features\": [");
+        int vertices = 5_000;
+        for (int region = 0; region < 200; region++) {
+            double centerLat = -72 + (region / 20) * 16;
+            double centerLon = -171 + (region % 20) * 18;
+            json.append(region == 0 ? "" : ",").append("{\"type\": \"Feature\", \"properties\": {\"name\": \"G")
+                    .append(region).append("\"}, \"geometry\": {\"type\": \"Polygon\", \"coordinates\": [[");
+            for (int i = 0; i <= vertices; i++) {
+                double angle = 2 * Math.PI * (i % vertices) / vertices;
+                double radius = 8 + (i % 2 == 0 ? 0.05 : -0.05);
+                json.append(i == 0 ? "[" : ",[").append(centerLon + radius * Math.cos(angle))
+                        .append(',').append(centerLat + radius * Math.sin(angle)).append(']');
+            }
+            json.append("]]}}");
+        }
+        GhostNetRegionService service = service(json.append("]}").toString(), false);
+
+        Random random = new Random(38);
+        int points = 200_000;
+        double[] lat = new double[points];
+        double[] lon = new double[points];
+        for (int i = 0; i < points; i++) {
+            lat[i] = -80 + random.nextDouble() * 160;
+            lon[i] = -180 + random.nextDouble() * 360;
+        }
+        int hits = 0;
+        for (int i = 0; i < points / 4; i++) {
+            hits += service.classify(lat[i], lon[i]) != null ? 1 : 0;
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < points; i++) {
+            hits += service.classify(lat[i], lon[i]) != null ? 1 : 0;
+        }
+        double micros = (System.nanoTime() - started) / 1_000.0 / points;
+
+        assertThat(hits).isPositive();
+        assertThat(service.classify(-72, -171)).isEqualTo("G0");
+        assertThat(micros).as("µs je Zuordnung").isLessThan(1_000);
+    }
+
+    private GhostNetRegionService service(String geojson, boolean backfillOnStartup) throws IOException {
+        Path file = Files.writeString(dir.resolve("areas.geojson"), geojson);
+        GhostNetRegionService service = new GhostNetRegionService(repository, new GhostNetShardRouter("", 2, 64, 1),
+                published::add, new DefaultResourceLoader(), new ObjectMapper(), file.toUri().toString(), "name",
+                0.001, backfillOnStartup, 100);
+        service.load();
+        return service;
+    }
+
+    private static GhostNetRepository.Location location(long id, double lat, double lon) {
+        return new GhostNetRepository.Location() {
+            public Long getId() { return id; }
+            public Double getLatitude() { return lat; }
+            public Double getLongitude() { return lon; }
+            public Double getSize() { return null; }
+        };
+    }
+}
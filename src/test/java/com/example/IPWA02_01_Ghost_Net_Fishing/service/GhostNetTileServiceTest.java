@@ -0,0 +1,102 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.GhostNetChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNet;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetSnapshot;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.GhostNetStatus;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.GhostNetRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cache-Verhalten des Kacheldienstes, insbesondere Commits während einer Kodierung
+ * und Netze auf Kachelkanten.
+ */
+class GhostNetTileServiceTest {
+
+    private final GhostNetRepository repository = mock(GhostNetRepository.class);
+    private final GhostNetTileService tileService =
+            new GhostNetTileService(repository, new GhostNetShardRouter("", 2, 64, 1), 16);
+
+    @Test
+    void cachedTileIsReusedUntilEvicted() {
+        when(repository.findByLatitudeBetweenAndLongitudeBetween(any(), any(), any(), any()))
+                .thenReturn(List.of(net(GhostNetStatus.REPORTED)));
+
+        GhostNetTileService.Tile first = tileService.getTile(0, 0, 0);
+        assertThat(tileService.getTile(0, 0, 0)).isSameAs(first);
+        verify(repository, times(1)).findByLatitudeBetweenAndLongitudeBetween(any(), any(), any(), any());
+
+        tileService.onGhostNetChanged(new GhostNetChangedEvent(null, GhostNetSnapshot.of(net(GhostNetStatus.SCHEDULED))));
+        tileService.getTile(0, 0, 0);
+        verify(repository, times(2)).findByLatitudeBetweenAndLongitudeBetween(any(), any(), any(), any());
+    }
+
+    @Test
+    void tileEvictedWhileEncodingIsNotCached() {
+        GhostNet before = net(GhostNetStatus.REPORTED);
+        GhostNet after = net(GhostNetStatus.RECOVERED);
+        when(repository.findByLatitudeBetweenAndLongitudeBetween(any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    // Commit nach dem Lesen, aber vor dem Ablegen im Cache
+                    tileService.onGhostNetChanged(new GhostNetChangedEvent(
+                            GhostNetSnapshot.of(before), GhostNetSnapshot.of(after)));
+                    return List.of(before);
+                })
+                .thenReturn(List.of(after));
+
+        GhostNetTileService.Tile stale = tileService.getTile(0, 0, 0);
+        GhostNetTileService.Tile fresh = tileService.getTile(0, 0, 0);
+
+        assertThat(fresh.getEtag()).isNotEqualTo(stale.getEtag());
+        assertThat(tileService.getTile(0, 0, 0)).isSameAs(fresh);
+        verify(repository, times(2)).findByLatitudeBetweenAndLongitudeBetween(any(), any(), any(), any());
+    }
+
+    @Test
+    void netOnTileEdgeEvictsEveryTileContainingIt() {
+        // (0, 0) liegt auf z=1 auf der Ecke aller vier Kacheln, auf z=2 auf der Ecke der inneren vier
+        GhostNet corner = net(GhostNetStatus.REPORTED, 0.0, 0.0);
+        when(repository.findByLatitudeBetweenAndLongitudeBetween(any(), any(), any(), any()))
+                .thenReturn(List.of(corner));
+        int[][] tiles = {{1, 0, 0}, {1, 0, 1}, {1, 1, 0}, {1, 1, 1}, {2, 1, 1}, {2, 2, 2}, {2, 0, 0}, {2, 3, 1}};
+        GhostNetTileService.Tile[] before = new GhostNetTileService.Tile[tiles.length];
+        for (int i = 0; i < tiles.length; i++) {
+            before[i] = tileService.getTile(tiles[i][0], tiles[i][1], tiles[i][2]);
+        }
+
+        tileService.onGhostNetChanged(new GhostNetChangedEvent(GhostNetSnapshot.of(corner),
+                GhostNetSnapshot.of(net(GhostNetStatus.SCHEDULED, 0.0, 0.0))));
+
+        for (int i = 0; i < tiles.length; i++) {
+            GhostNetTileService.Tile after = tileService.getTile(tiles[i][0], tiles[i][1], tiles[i][2]);
+            if (i < 6) {
+                assertThat(after).as("Kachel %s", List.of(tiles[i][0], tiles[i][1], tiles[i][2])).isNotSameAs(before[i]);
+            } else {
+                assertThat(after).as("Kachel %s", List.of(tiles[i][0], tiles[i][1], tiles[i][2])).isSameAs(before[i]);
+            }
+        }
+    }
+
+    private static GhostNet net(GhostNetStatus status) {
+        return net(status, 54.0, 8.0);
+    }
+
+    private static GhostNet net(GhostNetStatus status, double lat, double lon) {
+        GhostNet net = new GhostNet();
+        net.setId(1L);
+        net.setLatitude(lat);
+        net.setLongitude(lon);
+        net.setSize(1.0);
+        net.setStatus(status);
+        return net;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap-Invariante nach zufälligen Folgen von Einfügen, Ändern und Entfernen:
+ * {@link IndexedMaxHeap#visitDescending} liefert genau die Referenzeinträge in
+ * absteigender Reihenfolge – das gelingt nur, wenn jeder Elternknoten mindestens
+ * so groß ist wie seine Kinder und der Positionsindex stimmt.
+ */
+class IndexedMaxHeapTest {
+
+    @Test
+    void randomPutUpdateRemoveKeepsHeapOrder() {
+        Random random = new Random(21);
+        IndexedMaxHeap heap = new IndexedMaxHeap();
+        Map<Long, Double> reference = new HashMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            // Vielfache der Shard-Schrittweite, damit IDs im Positionsindex kollidieren
+            long id = 64L * random.nextInt(500) + 1;
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    heap.remove(id);
+                    reference.remove(id);
+                }
+                case 1 -> {
+                    // Score nur leicht verschieben (siftUp/siftDown über wenige Ebenen)
+                    double score = reference.getOrDefault(id, 0.0) + random.nextGaussian();
+                    heap.put(id, score);
+                    reference.put(id, score);
+                }
+                default -> {
+                    double score = random.nextInt(10) == 0 ? 1.0 : random.nextDouble() * 1_000 - 500;
+                    heap.put(id, score);
+                    reference.put(id, score);
+                }
+            }
+            if (i % 500 == 0) {
+                assertMatches(heap, reference);
+            }
+        }
+        assertMatches(heap, reference);
+
+        for (Long id : new ArrayList<>(reference.keySet())) {
+            heap.remove(id);
+            reference.remove(id);
+            assertThat(heap.contains(id)).isFalse();
+        }
+        assertThat(heap.size()).isZero();
+        heap.visitDescending((id, score) -> {
+            throw new AssertionError("leerer Heap besucht " + id);
+        });
+    }
+
+    @Test
+    void visitDescendingStopsEarly() {
+        IndexedMaxHeap heap = new IndexedMaxHeap();
+        for (long id = 1; id <= 100; id++) {
+            heap.put(id, id);
+        }
+        List<Long> visited = new ArrayList<>();
+        heap.visitDescending((id, score) -> {
+            visited.add(id);
+            return visited.size() < 3;
+        });
+        assertThat(visited).containsExactly(100L, 99L, 98L);
+    }
+
+    private static void assertMatches(IndexedMaxHeap heap, Map<Long, Double> reference) {
+        assertThat(heap.size()).isEqualTo(reference.size());
+        Map<Long, Double> seen = new HashMap<>();
+        double[] previous = {Double.POSITIVE_INFINITY};
+        heap.visitDescending((id, score) -> {
+            assertThat(score).isLessThanOrEqualTo(previous[0]);
+            previous[0] = score;
+            assertThat(seen.put(id, score)).isNull();
+            return true;
+        });
+        assertThat(seen).isEqualTo(reference);
+        reference.keySet().forEach(id -> assertThat(heap.contains(id)).isTrue());
+    }
+}
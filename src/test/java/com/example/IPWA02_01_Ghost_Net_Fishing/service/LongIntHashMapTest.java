@@ -0,0 +1,50 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Zufällige Folgen von put/remove gegen {@link HashMap}, auch mit kollidierenden
+ * Schlüsseln (Vielfache der Shard-Schrittweite) und Extremwerten.
+ */
+class LongIntHashMapTest {
+
+    @Test
+    void behavesLikeHashMap() {
+        Random random = new Random(11);
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> reference = new HashMap<>();
+        long[] special = {0, -1, Long.MIN_VALUE, Long.MAX_VALUE};
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = switch (random.nextInt(4)) {
+                case 0 -> special[random.nextInt(special.length)];
+                case 1 -> 64L * random.nextInt(2_000);
+                default -> random.nextInt(5_000);
+            };
+            if (random.nextInt(3) == 0) {
+                Integer expected = reference.remove(key);
+                assertThat(map.remove(key)).isEqualTo(expected != null ? expected : LongIntHashMap.MISSING);
+            } else {
+                int value = random.nextInt(Integer.MAX_VALUE);
+                Integer expected = reference.put(key, value);
+                assertThat(map.put(key, value)).isEqualTo(expected != null ? expected : LongIntHashMap.MISSING);
+            }
+            assertThat(map.size()).isEqualTo(reference.size());
+        }
+        for (long key = -10; key < 5_000; key++) {
+            Integer expected = reference.get(key);
+            assertThat(map.get(key)).isEqualTo(expected != null ? expected : LongIntHashMap.MISSING);
+        }
+        reference.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+
+        map.clear();
+        assertThat(map.size()).isZero();
+        assertThat(map.containsKey(0)).isFalse();
+    }
+}
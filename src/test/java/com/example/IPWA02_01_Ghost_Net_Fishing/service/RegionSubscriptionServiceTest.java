@@ -0,0 +1,72 @@
+package com.example.IPWA02_01_Ghost_Net_Fishing.service;
+
+import com.example.IPWA02_01_Ghost_Net_Fishing.event.RegionSubscriptionChangedEvent;
+import com.example.IPWA02_01_Ghost_Net_Fishing.model.RegionSubscription;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.RegionSubscriptionRepository;
+import com.example.IPWA02_01_Ghost_Net_Fishing.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Abgleich des Abo-Index mit Änderungen anderer Instanzen und nach einem Resync.
+ */
+class RegionSubscriptionServiceTest {
+
+    private final RegionSubscriptionRepository repository = mock(RegionSubscriptionRepository.class);
+    private final RegionSubscriptionService service = new RegionSubscriptionService(repository,
+            mock(UserRepository.class), mock(InboxService.class), new ObjectMapper(),
+            mock(ApplicationEventPublisher.class), 1000);
+
+    @Test
+    void remoteChangesUpdateIndex() {
+        RegionSubscription nordsee = subscription(1L, "Nordsee", "[[53,3],[53,9],[58,9],[58,3]]");
+        when(repository.findById(1L)).thenReturn(Optional.of(nordsee));
+
+        service.onRegionSubscriptionChanged(new RegionSubscriptionChangedEvent(1L, true));
+        assertThat(service.match(54.0, 6.0)).extracting(RegionSubscriptionService.Region::getName)
+                .containsExactly("Nordsee");
+
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+        service.onRegionSubscriptionChanged(new RegionSubscriptionChangedEvent(1L, true));
+        assertThat(service.match(54.0, 6.0)).isEmpty();
+    }
+
+    @Test
+    void localChangesAreAlreadyIndexed() {
+        service.onRegionSubscriptionChanged(new RegionSubscriptionChangedEvent(1L, false));
+        verify(repository, never()).findById(1L);
+    }
+
+    @Test
+    void resyncReplacesAllSubscriptions() {
+        when(repository.findAll()).thenReturn(List.of(
+                subscription(1L, "Nordsee", "[[53,3],[53,9],[58,9],[58,3]]"),
+                subscription(2L, "kaputt", "kein JSON")));
+        service.seed();
+        assertThat(service.match(54.0, 6.0)).hasSize(1);
+
+        when(repository.findAll()).thenReturn(List.of(subscription(3L, "Ostsee", "[[54,10],[54,20],[60,20],[60,10]]")));
+        service.seed();
+        assertThat(service.match(54.0, 6.0)).isEmpty();
+        assertThat(service.match(55.0, 15.0)).extracting(RegionSubscriptionService.Region::getId).containsExactly(3L);
+    }
+
+    private static RegionSubscription subscription(long id, String name, String polygon) {
+        RegionSubscription s = new RegionSubscription();
+        s.setId(id);
+        s.setUserId(7L);
+        s.setName(name);
+        s.setPolygon(polygon);
+        return s;
+    }
+}